@@ -0,0 +1,118 @@
+package com.example.demo.model;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.google.firebase.database.utilities.encoding.CustomClassMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ChatMessage 변환 비용: 리플렉션 경로(Firebase CustomClassMapper, 어노테이션을 끈 Jackson 빈 매핑) 대 ChatMessageCodec.
+ * 메시지당 바이트 수는 Setup 에서 한 번 출력한다.
+ * 실행: ./gradlew jmh -PjmhIncludes=ChatMessageCodec
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ChatMessageCodecBenchmark {
+
+    private ChatMessage message;
+
+    // 리플렉션 경로
+    private ObjectMapper beanMapper;
+    private Object reflectionValue;
+    private byte[] beanJson;
+
+    // 코덱 경로
+    private ObjectMapper codecMapper;
+    private Map<String, Object> codecValue;
+    private byte[] codecBinary;
+    private byte[] codecJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        message = new ChatMessage("user-1024", "홍길동",
+                "내일 회의 자료 공유드립니다. 3페이지 일정표 확인 부탁드려요.", "project_42", "42");
+        message.setMessageId("-NsFq3kZx1Yb7AqP0m2c");
+        message.setSeq(123_456L);
+
+        beanMapper = JsonMapper.builder().disable(MapperFeature.USE_ANNOTATIONS).build();
+        reflectionValue = CustomClassMapper.convertToPlainJavaTypes(message);
+        beanJson = beanMapper.writeValueAsBytes(message);
+
+        codecMapper = new ObjectMapper();
+        codecValue = ChatMessageCodec.toMap(message);
+        codecBinary = ChatMessageCodec.toBytes(message);
+        codecJson = codecMapper.writeValueAsBytes(message);
+
+        System.out.printf("%nbytes/message: bean JSON=%d, codec JSON=%d, firebase map as JSON=%d/%d (reflection/codec), codec binary=%d%n",
+                beanJson.length, codecJson.length,
+                beanMapper.writeValueAsBytes(reflectionValue).length, beanMapper.writeValueAsBytes(codecValue).length,
+                codecBinary.length);
+    }
+
+    // ===== Firebase 값 (Map) =====
+
+    @Benchmark
+    public Object firebaseReflectionEncode() {
+        return CustomClassMapper.convertToPlainJavaTypes(message);
+    }
+
+    @Benchmark
+    public ChatMessage firebaseReflectionDecode() {
+        return CustomClassMapper.convertToCustomClass(reflectionValue, ChatMessage.class);
+    }
+
+    @Benchmark
+    public Map<String, Object> codecMapEncode() {
+        return ChatMessageCodec.toMap(message);
+    }
+
+    @Benchmark
+    public ChatMessage codecMapDecode() {
+        return ChatMessageCodec.fromMap("-NsFq3kZx1Yb7AqP0m2c", codecValue);
+    }
+
+    // ===== embedded 로그 레코드 =====
+
+    @Benchmark
+    public byte[] beanJsonEncode() throws Exception {
+        return beanMapper.writeValueAsBytes(message);
+    }
+
+    @Benchmark
+    public ChatMessage beanJsonDecode() throws Exception {
+        return beanMapper.readValue(beanJson, ChatMessage.class);
+    }
+
+    @Benchmark
+    public byte[] codecBinaryEncode() {
+        return ChatMessageCodec.toBytes(message);
+    }
+
+    @Benchmark
+    public ChatMessage codecBinaryDecode() {
+        return ChatMessageCodec.fromBytes(codecBinary);
+    }
+
+    // ===== REST / 웹소켓 JSON =====
+
+    @Benchmark
+    public byte[] codecJsonEncode() throws Exception {
+        return codecMapper.writeValueAsBytes(message);
+    }
+
+    @Benchmark
+    public ChatMessage codecJsonDecode() throws Exception {
+        return codecMapper.readValue(codecJson, ChatMessage.class);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.demo.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * API 요청 한 번의 인증 비용: access 토큰 서명 검증(캐시 없음) 대 검증 캐시 적중, 그리고 발급 비용.
+ * 이전 kid 로 서명된 토큰(키 교체 직후)도 같은 경로로 검증되는지 함께 잰다.
+ * 실행: ./gradlew jmh -PjmhIncludes=JwtAuth
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtAuthBenchmark {
+
+    private JwtTokenProvider uncached;
+    private JwtTokenProvider cached;
+    private String token;
+    private String rotatedToken;
+
+    @Setup
+    public void setup() {
+        String oldKey = Base64.getEncoder().encodeToString(new byte[32]);
+        byte[] newSecret = new byte[32];
+        newSecret[0] = 1;
+        String keys = "k1:" + oldKey + ",k2:" + Base64.getEncoder().encodeToString(newSecret);
+
+        JwtTokenProvider oldProvider = new JwtTokenProvider(new JwtKeyRing("k1:" + oldKey, "k1", "", "", "PKCS12"),
+                900, 1209600, 0);
+        JwtKeyRing ring = new JwtKeyRing(keys, "k2", "", "", "PKCS12");
+        uncached = new JwtTokenProvider(ring, 900, 1209600, 0);
+        cached = new JwtTokenProvider(ring, 900, 1209600, 10000);
+
+        token = uncached.createAccessToken("member@example.com", "USER");
+        rotatedToken = oldProvider.createAccessToken("member@example.com", "USER");
+        cached.verifyAccessToken(token);
+    }
+
+    @Benchmark
+    public JwtTokenProvider.VerifiedToken verifyUncached() {
+        return uncached.verifyAccessToken(token);
+    }
+
+    @Benchmark
+    public JwtTokenProvider.VerifiedToken verifyRotatedKidUncached() {
+        return uncached.verifyAccessToken(rotatedToken);
+    }
+
+    @Benchmark
+    public JwtTokenProvider.VerifiedToken verifyCached() {
+        return cached.verifyAccessToken(token);
+    }
+
+    @Benchmark
+    public String issueAccessToken() {
+        return uncached.createAccessToken("member@example.com", "USER");
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.demo.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 공지 목록 1쪽 대 5000쪽: OFFSET 페이징(Spring Page 처럼 COUNT(*) 포함) 대 (created_date, id) 키셋 페이징.
+ * H2 메모리 DB 의 notice_board 에 한 프로젝트 글 100,000건과 다른 프로젝트 글 100,000건을 채우고
+ * NoticeBoardRepository 의 키셋 쿼리와 같은 조건으로 잰다. 키셋 기준점은 Setup 에서 해당 쪽의 직전 행으로 구해 둔다.
+ * index=none 은 project_id 외래 키 인덱스만 있는 현재 스키마, project_created_id 는 (project_id, created_date, id) 복합 인덱스.
+ * 실행: ./gradlew jmh -PjmhIncludes=KeysetPaging
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class KeysetPagingBenchmark {
+
+    private static final long PROJECT_ID = 1;
+    private static final int PAGE_SIZE = 10;
+    private static final int PROJECT_ROWS = 100_000;
+    private static final int OTHER_ROWS = 100_000;
+
+    @Param({"1", "5000"})
+    private int page;
+
+    @Param({"none", "project_created_id"})
+    private String index;
+
+    private Connection connection;
+    private Timestamp boundaryCreatedDate;
+    private long boundaryId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:keyset_" + index + "_" + page + ";DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE notice_board (id BIGINT AUTO_INCREMENT PRIMARY KEY, project_id BIGINT NOT NULL, " +
+                    "title VARCHAR(255), contents VARCHAR(5000), cname VARCHAR(255), created_date TIMESTAMP)");
+            statement.execute("CREATE INDEX idx_notice_board_project ON notice_board (project_id)");
+            if ("project_created_id".equals(index)) {
+                statement.execute("CREATE INDEX idx_notice_board_project_created ON notice_board (project_id, created_date, id)");
+            }
+        }
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.now().minusYears(2);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO notice_board (project_id, title, contents, cname, created_date) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < PROJECT_ROWS + OTHER_ROWS; i++) {
+                insert.setLong(1, i < PROJECT_ROWS ? PROJECT_ID : 2 + random.nextInt(100));
+                insert.setString(2, "공지 " + i);
+                insert.setString(3, "내용 ".repeat(20) + i);
+                insert.setString(4, "작성자");
+                // 초 단위라 같은 시각이 섞인다 (id 로 순서를 정함)
+                insert.setTimestamp(5, Timestamp.valueOf(start.plusSeconds(random.nextInt(2 * 365 * 86_400))));
+                insert.addBatch();
+                if (i % 1000 == 999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        if (page > 1) {
+            // 앞 쪽의 마지막 행 = 이 쪽의 커서
+            try (PreparedStatement boundary = connection.prepareStatement(
+                    "SELECT created_date, id FROM notice_board WHERE project_id = ? " +
+                            "ORDER BY created_date DESC, id DESC LIMIT 1 OFFSET ?")) {
+                boundary.setLong(1, PROJECT_ID);
+                boundary.setLong(2, (long) (page - 1) * PAGE_SIZE - 1);
+                try (ResultSet rs = boundary.executeQuery()) {
+                    rs.next();
+                    boundaryCreatedDate = rs.getTimestamp(1);
+                    boundaryId = rs.getLong(2);
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    // 예전 방식: Page<NoticeBoard> = COUNT(*) + LIMIT/OFFSET
+    @Benchmark
+    public List<Long> offsetWithCount() throws SQLException {
+        try (PreparedStatement count = connection.prepareStatement(
+                "SELECT COUNT(*) FROM notice_board WHERE project_id = ?")) {
+            count.setLong(1, PROJECT_ID);
+            try (ResultSet rs = count.executeQuery()) {
+                rs.next();
+            }
+        }
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT id, title, cname, created_date FROM notice_board WHERE project_id = ? " +
+                        "ORDER BY created_date DESC, id DESC LIMIT ? OFFSET ?")) {
+            select.setLong(1, PROJECT_ID);
+            select.setInt(2, PAGE_SIZE);
+            select.setLong(3, (long) (page - 1) * PAGE_SIZE);
+            return ids(select);
+        }
+    }
+
+    // 키셋: size + 1 건, COUNT 없음
+    @Benchmark
+    public List<Long> keyset() throws SQLException {
+        if (page == 1) {
+            try (PreparedStatement select = connection.prepareStatement(
+                    "SELECT id, title, cname, created_date FROM notice_board WHERE project_id = ? " +
+                            "ORDER BY created_date DESC, id DESC LIMIT ?")) {
+                select.setLong(1, PROJECT_ID);
+                select.setInt(2, PAGE_SIZE + 1);
+                return ids(select);
+            }
+        }
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT id, title, cname, created_date FROM notice_board WHERE project_id = ? " +
+                        "AND (created_date < ? OR (created_date = ? AND id < ?)) " +
+                        "ORDER BY created_date DESC, id DESC LIMIT ?")) {
+            select.setLong(1, PROJECT_ID);
+            select.setTimestamp(2, boundaryCreatedDate);
+            select.setTimestamp(3, boundaryCreatedDate);
+            select.setLong(4, boundaryId);
+            select.setInt(5, PAGE_SIZE + 1);
+            return ids(select);
+        }
+    }
+
+    private static List<Long> ids(PreparedStatement select) throws SQLException {
+        List<Long> ids = new ArrayList<>(PAGE_SIZE + 1);
+        try (ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.demo.service.admin;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 모니터링 일별/게시판별 활동 유형 통계: 예전 방식(날짜 x 유형마다 COUNT, 게시판마다 GROUP BY) 대 큐브(GROUP BY 한 번).
+ * H2 메모리 DB 의 log_board 에 최근 30일 로그를 채워 실제 쿼리 왕복을 포함해 잰다. 쿼리 수는 Setup 에서 출력한다.
+ * 실행: ./gradlew jmh -PjmhIncludes=ActivityStatsCube
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ActivityStatsCubeBenchmark {
+
+    private static final List<String> ACTIONS = List.of("ADD", "Update");
+    private static final List<String> BOARDS = List.of("noticeboard", "issues", "calendar", "invitation", "comment");
+    private static final int DAYS = 30;
+
+    @Param({"100000"})
+    private int logs;
+
+    private Connection connection;
+    private LocalDate firstDay;
+    private LocalDate lastDay;
+    private List<Object[]> cubeRows;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:stats_cube;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE log_board (log_no BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                    "board_nm VARCHAR(50), action VARCHAR(50), action_date TIMESTAMP)");
+            statement.execute("CREATE INDEX idx_log_board_action_date ON log_board (action_date)");
+        }
+        lastDay = LocalDate.now();
+        firstDay = lastDay.minusDays(DAYS - 1);
+        Random random = new Random(42);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO log_board (board_nm, action, action_date) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < logs; i++) {
+                insert.setString(1, BOARDS.get(random.nextInt(BOARDS.size())));
+                insert.setString(2, ACTIONS.get(random.nextInt(ACTIONS.size())));
+                insert.setTimestamp(3, Timestamp.valueOf(firstDay.atStartOfDay().plusSeconds(random.nextInt(DAYS * 86_400))));
+                insert.addBatch();
+                if (i % 1000 == 999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        cubeRows = queryCubeRows();
+        System.out.printf("%nqueries per view: per-day/per-action daily=%d, per-board=%d, cube=1%n",
+                DAYS * ACTIONS.size(), BOARDS.size());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    // 예전 getDailyActionTypeStats: 날짜마다, 유형마다 COUNT 쿼리
+    @Benchmark
+    public Map<String, List<Long>> dailyPerDayPerActionQueries() throws SQLException {
+        Map<String, List<Long>> actionData = new HashMap<>();
+        try (PreparedStatement count = connection.prepareStatement(
+                "SELECT COUNT(*) FROM log_board WHERE action = ? AND action_date BETWEEN ? AND ?")) {
+            for (String action : ACTIONS) {
+                List<Long> daily = new ArrayList<>(DAYS);
+                for (int day = 0; day < DAYS; day++) {
+                    LocalDateTime start = firstDay.plusDays(day).atStartOfDay();
+                    count.setString(1, action);
+                    count.setTimestamp(2, Timestamp.valueOf(start));
+                    count.setTimestamp(3, Timestamp.valueOf(start.plusDays(1).minusNanos(1000)));
+                    try (ResultSet rs = count.executeQuery()) {
+                        rs.next();
+                        daily.add(rs.getLong(1));
+                    }
+                }
+                actionData.put(action, daily);
+            }
+        }
+        return actionData;
+    }
+
+    // 예전 getBoardActionTypeStats: 게시판마다 유형별 GROUP BY
+    @Benchmark
+    public Map<String, Map<String, Long>> boardPerBoardQueries() throws SQLException {
+        Map<String, Map<String, Long>> boardStats = new HashMap<>();
+        try (PreparedStatement byAction = connection.prepareStatement(
+                "SELECT action, COUNT(*) FROM log_board WHERE board_nm = ? AND action_date BETWEEN ? AND ? GROUP BY action")) {
+            for (String board : BOARDS) {
+                byAction.setString(1, board);
+                byAction.setTimestamp(2, Timestamp.valueOf(firstDay.atStartOfDay()));
+                byAction.setTimestamp(3, Timestamp.valueOf(lastDay.plusDays(1).atStartOfDay()));
+                Map<String, Long> counts = new HashMap<>();
+                try (ResultSet rs = byAction.executeQuery()) {
+                    while (rs.next()) {
+                        counts.put(rs.getString(1), rs.getLong(2));
+                    }
+                }
+                boardStats.put(board, counts);
+            }
+        }
+        return boardStats;
+    }
+
+    // 큐브: GROUP BY 한 번 + 두 화면의 집계
+    @Benchmark
+    public long[][] cubeSingleQuery() throws SQLException {
+        ActivityStatsCube cube = ActivityStatsCube.of(firstDay, lastDay, ACTIONS, BOARDS, queryCubeRows());
+        cube.dailyTotals(ACTIONS);
+        return cube.boardByAction();
+    }
+
+    // 큐브 계산만 (쿼리 결과는 미리 읽어 둠)
+    @Benchmark
+    public long[][] cubeBuildOnly() {
+        ActivityStatsCube cube = ActivityStatsCube.of(firstDay, lastDay, ACTIONS, BOARDS, cubeRows);
+        cube.dailyTotals(ACTIONS);
+        return cube.boardByAction();
+    }
+
+    private List<Object[]> queryCubeRows() throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        try (PreparedStatement grouped = connection.prepareStatement(
+                "SELECT CAST(action_date AS DATE), action, board_nm, COUNT(*) FROM log_board " +
+                        "WHERE action_date >= ? AND action_date < ? GROUP BY CAST(action_date AS DATE), action, board_nm")) {
+            grouped.setTimestamp(1, Timestamp.valueOf(firstDay.atStartOfDay()));
+            grouped.setTimestamp(2, Timestamp.valueOf(lastDay.plusDays(1).atStartOfDay()));
+            try (ResultSet rs = grouped.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(new Object[]{rs.getDate(1), rs.getString(2), rs.getString(3), rs.getLong(4)});
+                }
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.demo.service.chat;
+
+import com.example.demo.config.ProjectAccessCache;
+import com.example.demo.model.ChatMessage;
+import com.example.demo.service.ChatService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 채팅 팬아웃 허브 부하: 200개 방에 세션 5,000개(방마다 25개)를 붙이고 메시지 20,000건을 한꺼번에 흘린다.
+ * 실제 소켓 대신 메모리 전송 수단을 쓰며, slowEvery=50 이면 세션 50개 중 하나가 프레임마다 2ms 씩 걸린다.
+ * 한 번의 측정은 빠른 세션들이 자기 몫의 프레임을 모두 받을 때까지의 시간이고,
+ * 발행 -> 수신 지연의 p50 / p99 (빠른 세션 기준) 와 초당 전달 프레임 수는 TearDown 에서 출력한다.
+ * 실행: ./gradlew jmh -PjmhIncludes=ChatFanoutHub
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ChatFanoutHubBenchmark {
+
+    private static final int ROOMS = 200;
+    private static final int SESSIONS = 5_000;
+    private static final int MESSAGES = 20_000;
+    private static final long SLOW_SEND_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    @Param({"0", "50"})
+    private int slowEvery;
+
+    private FakeChatStore store;
+    private ChatFanoutHub hub;
+    private final List<ChatSocketSession> sessions = new ArrayList<>();
+    private List<ChatMessage> messages;
+    private long[] publishedAt;
+    private long[] latencies;
+    private final AtomicInteger latencyCount = new AtomicInteger();
+    private final LongAdder fastReceived = new LongAdder();
+    private long expectedFastFrames;
+    private long startedAt;
+    private long finishedAt;
+    private final List<String> summaries = new ArrayList<>();
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        store = new FakeChatStore();
+        hub = new ChatFanoutHub(
+                new ChatService(store, new ChatRecentCache(store, false, 0, 0, 0), new ChatWriteCoalescer(store)),
+                new ProjectAccessCache(null, null, event -> { }), new ObjectMapper(), 256, 32, 8);
+        // 느린 세션이 특정 방에 몰리지 않도록 고정 시드로 고른다
+        Random random = new Random(7);
+        int fastSessions = 0;
+        for (int i = 0; i < SESSIONS; i++) {
+            boolean slow = slowEvery > 0 && random.nextInt(slowEvery) == 0;
+            ChatSocketSession session = hub.open("s" + i, null, new MeasuringTransport(slow));
+            hub.attach("project_" + (i % ROOMS), session);
+            sessions.add(session);
+            if (!slow) {
+                fastSessions++;
+            }
+        }
+        // 방마다 세션 수가 같으므로 빠른 세션 하나가 받는 프레임 = 방 하나의 메시지 수
+        expectedFastFrames = (long) fastSessions * (MESSAGES / ROOMS);
+
+        messages = new ArrayList<>(MESSAGES);
+        for (int i = 0; i < MESSAGES; i++) {
+            String roomId = "project_" + (i % ROOMS);
+            ChatMessage message = new ChatMessage("user-" + i % 97, "사용자", "메시지 본문 " + i, roomId, String.valueOf(i % ROOMS));
+            message.setMessageId(String.valueOf(i));
+            message.setSeq((long) i);
+            messages.add(message);
+        }
+        publishedAt = new long[MESSAGES];
+        latencies = new long[(int) expectedFastFrames];
+        latencyCount.set(0);
+        fastReceived.reset();
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        Map<String, Object> stats = hub.getStats();
+        // 느린 세션의 남은 큐를 비운 뒤 writer 를 내린다
+        sessions.forEach(hub::close);
+        sessions.clear();
+        hub.shutdown();
+        int count = Math.min(latencyCount.get(), latencies.length);
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        double seconds = (finishedAt - startedAt) / 1e9;
+        summaries.add(String.format("frames/s=%.0f p50=%.1fms p99=%.1fms dropped=%s resyncs=%s",
+                (double) count / seconds,
+                percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6,
+                stats.get("dropped"), stats.get("resyncs")));
+    }
+
+    @TearDown(Level.Trial)
+    public void printSummary() {
+        System.out.printf("%nslowEvery=%d%n", slowEvery);
+        summaries.forEach(summary -> System.out.println("  " + summary));
+        summaries.clear();
+    }
+
+    @Benchmark
+    public long fanOut() {
+        startedAt = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++) {
+            ChatMessage message = messages.get(i);
+            publishedAt[i] = System.nanoTime();
+            store.publish(message.getRoomId(), message);
+        }
+        while (fastReceived.sum() < expectedFastFrames) {
+            LockSupport.parkNanos(50_000);
+        }
+        finishedAt = System.nanoTime();
+        return fastReceived.sum();
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * quantile))];
+    }
+
+    // 프레임의 "seq":n 으로 발행 시각을 찾아 지연을 기록한다
+    private final class MeasuringTransport implements ChatSocketSession.Transport {
+        private final boolean slow;
+
+        private MeasuringTransport(boolean slow) {
+            this.slow = slow;
+        }
+
+        @Override
+        public void send(String frame) {
+            if (slow) {
+                LockSupport.parkNanos(SLOW_SEND_NANOS);
+                return;
+            }
+            int start = frame.indexOf("\"seq\":");
+            if (start < 0) {
+                return;
+            }
+            long now = System.nanoTime();
+            int seq = 0;
+            for (int i = start + 6; i < frame.length() && Character.isDigit(frame.charAt(i)); i++) {
+                seq = seq * 10 + (frame.charAt(i) - '0');
+            }
+            int slot = latencyCount.getAndIncrement();
+            if (slot < latencies.length) {
+                latencies[slot] = now - publishedAt[seq];
+            }
+            fastReceived.increment();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class FakeChatStore implements ChatStore {
+        private final Map<String, List<Consumer<ChatMessage>>> listeners = new ConcurrentHashMap<>();
+
+        void publish(String roomId, ChatMessage message) {
+            for (Consumer<ChatMessage> listener : listeners.getOrDefault(roomId, List.of())) {
+                listener.accept(message);
+            }
+        }
+
+        @Override
+        public CompletableFuture<String> append(ChatMessage message) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<List<ChatMessage>> findLatest(String roomId, int limit) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        @Override
+        public CompletableFuture<List<ChatMessage>> findBefore(String roomId, String beforeMessageId, int limit) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        @Override
+        public CompletableFuture<List<ChatMessage>> findAfter(String roomId, String afterMessageId, int limit) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        @Override
+        public ChatSubscription subscribe(String roomId, Consumer<ChatMessage> listener) {
+            List<Consumer<ChatMessage>> roomListeners = listeners.computeIfAbsent(roomId, id -> new CopyOnWriteArrayList<>());
+            roomListeners.add(listener);
+            return () -> roomListeners.remove(listener);
+        }
+
+        @Override
+        public String getName() {
+            return "benchmark";
+        }
+    }
+}
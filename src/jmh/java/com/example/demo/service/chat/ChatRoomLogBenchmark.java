@@ -0,0 +1,127 @@
+package com.example.demo.service.chat;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * embedded 채팅 저장소의 방 로그(ChatRoomLog) 비용.
+ * - append: 200바이트 payload 한 건 기록 (fsync 켬/끔, 8MB 세그먼트)
+ * - readAllPaged: 200,000건을 50건씩 처음부터 끝까지 읽기
+ * - recover: 200,000건 로그를 다시 열어 인덱스 재구성 (CRC 검증 포함)
+ * Firebase 쪽은 외부 서비스라 여기서 재지 않는다.
+ * 실행: ./gradlew jmh -PjmhIncludes=ChatRoomLog
+ */
+@BenchmarkMode(Mode.AverageTime)
+public class ChatRoomLogBenchmark {
+
+    private static final long SEGMENT_BYTES = 8L * 1024 * 1024;
+    private static final int FILLED_RECORDS = 200_000;
+    private static final int PAGE_SIZE = 50;
+    private static final byte[] PAYLOAD = "x".repeat(200).getBytes(StandardCharsets.UTF_8);
+
+    @State(Scope.Benchmark)
+    public static class AppendState {
+
+        @Param({"false", "true"})
+        private boolean fsync;
+
+        private Path directory;
+        private ChatRoomLog log;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("chat-log-append");
+            log = new ChatRoomLog(directory, SEGMENT_BYTES, fsync);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            System.out.printf("%nappended=%d, segments on disk=%d%n", log.lastSeq(), countSegments(directory));
+            log.close();
+            deleteRecursively(directory);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class FilledState {
+
+        private Path directory;
+        private ChatRoomLog log;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("chat-log-filled");
+            log = new ChatRoomLog(directory, SEGMENT_BYTES, false);
+            for (int i = 0; i < FILLED_RECORDS; i += 1000) {
+                log.appendAll(Collections.nCopies(1000, seq -> PAYLOAD));
+            }
+            System.out.printf("%nrecords=%d, segments=%d, bytes=%d%n", log.lastSeq(), countSegments(directory),
+                    (long) FILLED_RECORDS * (ChatRoomLog.HEADER_BYTES + PAYLOAD.length));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            log.close();
+            deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long append(AppendState state) throws IOException {
+        return state.log.append(seq -> PAYLOAD);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long readAllPaged(FilledState state) throws IOException {
+        long bytes = 0;
+        for (long from = 1; from <= FILLED_RECORDS; from += PAGE_SIZE) {
+            List<byte[]> page = state.log.read(from, from + PAGE_SIZE - 1);
+            for (byte[] payload : page) {
+                bytes += payload.length;
+            }
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long recover(FilledState state) throws IOException {
+        try (ChatRoomLog reopened = new ChatRoomLog(state.directory, SEGMENT_BYTES, false)) {
+            return reopened.lastSeq();
+        }
+    }
+
+    private static long countSegments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.demo.service.chat;
+
+import com.example.demo.model.ChatMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * 채팅 전송: 메시지마다 바로 저장(direct) 대 ChatWriteCoalescer 배치(coalesced), embedded 저장소 기준.
+ * 64개 스레드가 20개 방에 나눠 각자 응답을 받은 뒤 다음 메시지를 보낸다(closed loop).
+ * Throughput 은 초당 메시지 수, SampleTime 은 전송 지연 분포(p99 포함)이며, 평균 배치 크기는 TearDown 에서 출력한다.
+ * Firebase 는 외부 서비스라 여기서 재지 않는다.
+ * 실행: ./gradlew jmh -PjmhIncludes=ChatWriteCoalescer
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(64)
+public class ChatWriteCoalescerBenchmark {
+
+    private static final int ROOMS = 20;
+
+    @State(Scope.Benchmark)
+    public static class Stores {
+
+        @Param({"direct", "coalesced"})
+        private String mode;
+
+        @Param({"false", "true"})
+        private boolean fsync;
+
+        private Path directory;
+        private EmbeddedChatStore store;
+        private ChatWriteCoalescer coalescer;
+        private final AtomicInteger threads = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("chat-write");
+            store = new EmbeddedChatStore(new ObjectMapper());
+            inject(store, "baseDirectory", directory.toString());
+            inject(store, "segmentBytes", 8L * 1024 * 1024);
+            inject(store, "fsync", fsync);
+            inject(store, "maxOpenRooms", 256);
+            inject(store, "idleCloseMillis", 600_000L);
+
+            // @Value 기본값과 같은 값
+            coalescer = new ChatWriteCoalescer(store);
+            inject(coalescer, "enabled", "coalesced".equals(mode));
+            inject(coalescer, "windowMs", 5L);
+            inject(coalescer, "maxBatch", 256);
+            inject(coalescer, "queueSize", 10_000);
+            inject(coalescer, "timeoutMs", 10_000L);
+            coalescer.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            System.out.printf("%nmode=%s fsync=%s stats=%s%n", mode, fsync, coalescer.getStats());
+            coalescer.stop();
+            store.close();
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        private String roomId;
+        private int sent;
+
+        @Setup(Level.Trial)
+        public void setUp(Stores stores) {
+            roomId = "project_" + stores.threads.getAndIncrement() % ROOMS;
+        }
+    }
+
+    // enabled=false 인 coalescer 는 메시지마다 저장소 append 를 바로 호출한다 (direct)
+    @Benchmark
+    public String send(Stores stores, Client client) {
+        ChatMessage message = new ChatMessage("user-" + client.roomId, "사용자",
+                "부하 테스트 메시지 " + client.sent++, client.roomId, client.roomId.substring("project_".length()));
+        return stores.coalescer.submit(message).join();
+    }
+
+    private static void inject(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        if (field == null) {
+            throw new IllegalStateException(target.getClass().getSimpleName() + "." + name + " 필드가 없습니다.");
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.demo.service.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
+
+/**
+ * 메모리 역색인 검색 비용: 드문 한글 2-gram, 흔한 영문 단어 AND, 한 글자 한글(2-gram 합집합), 프로젝트 필터.
+ * 문서는 프로젝트 1,000개에 고르게 나눈 합성 이슈/공지이며, 필터는 서비스처럼 미리 구한 id 집합이다.
+ * 실행: ./gradlew jmh -PjmhIncludes=SearchIndex
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchIndexBenchmark {
+
+    private static final String[] WORDS = {
+            "회의록", "배포", "일정", "로그인", "오류", "수정", "요청", "검토", "공유", "자료",
+            "주간보고", "서버", "장애", "테스트", "완료", "진행", "확인", "회고", "디자인", "기획"};
+    private static final String[] LATIN = {"deploy", "login", "bug", "api", "release", "hotfix", "review", "build"};
+
+    @Param({"100000", "1000000"})
+    private int documents;
+
+    private SearchIndex index;
+    private LongPredicate allProjects;
+    private LongPredicate tenProjects;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        index = new SearchIndex();
+        long started = System.nanoTime();
+        for (int i = 0; i < documents; i++) {
+            StringBuilder content = new StringBuilder();
+            for (int w = 0; w < 12; w++) {
+                content.append(random.nextInt(4) == 0 ? LATIN[random.nextInt(LATIN.length)] : WORDS[random.nextInt(WORDS.length)]);
+                content.append(random.nextInt(3) == 0 ? "" : " ");
+            }
+            index.add(SearchDocument.builder()
+                    .type(i % 2 == 0 ? "issues" : "noticeboard")
+                    .id((long) i)
+                    .projectId((long) (i % 1000))
+                    .title(WORDS[random.nextInt(WORDS.length)] + " " + LATIN[random.nextInt(LATIN.length)] + " " + i)
+                    .content(content.toString())
+                    .createdDate(LocalDateTime.now())
+                    .build());
+        }
+        System.out.printf("%nindexed %d documents in %d ms: %s%n",
+                documents, (System.nanoTime() - started) / 1_000_000, index.getStats());
+
+        allProjects = projectId -> true;
+        Set<Long> ten = new HashSet<>();
+        for (long id = 0; id < 10; id++) {
+            ten.add(id);
+        }
+        tenProjects = ten::contains;
+    }
+
+    @Benchmark
+    public SearchIndex.SearchResult koreanPhrase() {
+        return index.search("주간보고 회고", null, allProjects, 0, 20);
+    }
+
+    @Benchmark
+    public SearchIndex.SearchResult commonLatinAnd() {
+        return index.search("deploy login", null, allProjects, 0, 20);
+    }
+
+    @Benchmark
+    public SearchIndex.SearchResult singleHangulCharacter() {
+        return index.search("검", null, allProjects, 0, 20);
+    }
+
+    @Benchmark
+    public SearchIndex.SearchResult filteredToTenProjects() {
+        return index.search("배포 오류", null, tenProjects, 0, 20);
+    }
+}
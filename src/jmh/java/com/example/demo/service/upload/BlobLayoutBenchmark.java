@@ -0,0 +1,104 @@
+package com.example.demo.service.upload;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 첨부 파일 배치별 Files.exists 비용: 한 디렉토리에 모두 두기(flat) 대 BlobStore 의 blobs/ab/cd/{hash} 두 단계(fanout).
+ * 빈 파일 files 개를 만들어 두고 있는 파일(hit) / 없는 파일(miss) 을 무작위로 찾는다.
+ * 디렉토리 엔트리가 페이지 캐시에 올라간 상태의 값이며, 가장 큰 디렉토리의 엔트리 수는 Setup 에서 출력한다.
+ * 실행: ./gradlew jmh -PjmhIncludes=BlobLayout
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlobLayoutBenchmark {
+
+    @Param({"flat", "fanout"})
+    private String layout;
+
+    @Param({"100000"})
+    private int files;
+
+    private Path directory;
+    private BlobStore blobStore;
+    private Path[] present;
+    private Path[] absent;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("blob-layout");
+        blobStore = new BlobStore(null, null, null);
+        Field uploadDir = ReflectionUtils.findField(BlobStore.class, "uploadDir");
+        ReflectionUtils.makeAccessible(uploadDir);
+        ReflectionUtils.setField(uploadDir, blobStore, directory.toString());
+
+        MessageDigest digest = UploadFiles.newDigest();
+        present = new Path[files];
+        absent = new Path[files];
+        for (int i = 0; i < files; i++) {
+            present[i] = pathOf(hash(digest, "present-" + i));
+            absent[i] = pathOf(hash(digest, "absent-" + i));
+            Files.createDirectories(present[i].getParent());
+            Files.createFile(present[i]);
+        }
+
+        Map<Path, Long> entries;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            entries = paths.filter(Files::isRegularFile)
+                    .collect(Collectors.groupingBy(Path::getParent, Collectors.counting()));
+        }
+        System.out.printf("%nlayout=%s files=%d directories=%d largest directory=%d entries%n", layout, files,
+                entries.size(), entries.values().stream().mapToLong(Long::longValue).max().orElse(0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean existsHit() {
+        return Files.exists(present[ThreadLocalRandom.current().nextInt(files)]);
+    }
+
+    @Benchmark
+    public boolean existsMiss() {
+        return Files.exists(absent[ThreadLocalRandom.current().nextInt(files)]);
+    }
+
+    private Path pathOf(String hash) {
+        return "flat".equals(layout) ? directory.resolve("flat").resolve(hash) : blobStore.blobPath(hash);
+    }
+
+    private static String hash(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        return UploadFiles.hex(digest);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.demo.service.upload;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 이미지 첨부 축소본 생성 비용: ImageDerivativeService.generate 와 같은 순서
+ * (EXIF 방향 -> subsampling 디코딩 -> preview 1280px -> thumb 320px, JPEG quality 0.82).
+ * 저장소에 실제 사진이 없어 4032x3024 폰 사진 크기의 합성 JPEG(그라디언트 + 잡음, quality 0.92) 를 photos 장 만들어 쓴다.
+ * 한 번의 측정은 사진 한 장의 두 크기 생성이며, 원본 / preview / thumb 바이트 합계는 TearDown 에서 출력한다.
+ * 실행: ./gradlew jmh -PjmhIncludes=ImageDerivative
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ImageDerivativeBenchmark {
+
+    private static final int WIDTH = 4032;
+    private static final int HEIGHT = 3024;
+    private static final int PREVIEW = 1280;
+    private static final int THUMB = 320;
+    private static final float QUALITY = 0.82f;
+    private static final long MAX_PIXELS = 100_000_000L;
+
+    @Param({"4"})
+    private int photos;
+
+    private Path directory;
+    private Path[] sources;
+    private long[] previewBytes;
+    private long[] thumbBytes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("image-derivative");
+        sources = new Path[photos];
+        previewBytes = new long[photos];
+        thumbBytes = new long[photos];
+        Random random = new Random(11);
+        for (int i = 0; i < photos; i++) {
+            sources[i] = directory.resolve("photo-" + i + ".jpg");
+            ImageThumbnails.write(photo(random), "jpg", 0.92f, sources[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        long original = 0;
+        long preview = 0;
+        long thumb = 0;
+        for (int i = 0; i < photos; i++) {
+            original += Files.size(sources[i]);
+            preview += previewBytes[i];
+            thumb += thumbBytes[i];
+        }
+        System.out.printf("%nphotos=%d original=%d preview=%d thumb=%d bytes%n", photos, original, preview, thumb);
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public long derive() throws IOException {
+        int index = next++ % photos;
+        Path source = sources[index];
+        int orientation = ImageThumbnails.exifOrientation(source);
+        BufferedImage image = ImageThumbnails.read(source, PREVIEW, MAX_PIXELS);
+
+        image = ImageThumbnails.fit(image, PREVIEW);
+        Path preview = directory.resolve("photo-" + index + ".preview.jpg");
+        ImageThumbnails.write(ImageThumbnails.orient(image, orientation), "jpg", QUALITY, preview);
+
+        image = ImageThumbnails.fit(image, THUMB);
+        Path thumb = directory.resolve("photo-" + index + ".thumb.jpg");
+        ImageThumbnails.write(ImageThumbnails.orient(image, orientation), "jpg", QUALITY, thumb);
+
+        previewBytes[index] = Files.size(preview);
+        thumbBytes[index] = Files.size(thumb);
+        return previewBytes[index] + thumbBytes[index];
+    }
+
+    // 부드러운 그라디언트 위에 센서 잡음 정도의 무작위 값을 더한 사진 비슷한 이미지
+    private static BufferedImage photo(Random random) {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        int hue = random.nextInt(256);
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                int r = clamp(hue + x * 128 / WIDTH + random.nextInt(24));
+                int g = clamp(y * 200 / HEIGHT + random.nextInt(24));
+                int b = clamp(255 - hue + (x + y) * 64 / (WIDTH + HEIGHT) + random.nextInt(24));
+                image.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+        return image;
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.demo.service.upload;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 업로드 본문을 디스크에 기록하는 경로별 비용 (JVM 메모리의 본문 -> 로컬 디스크).
+ * - multipartCopy: 컨테이너가 임시 파일로 받아 둔 본문을 Files.copy (본문 크기의 두 배를 쓴다)
+ * - multipartTransferTo: 같은 임시 파일을 MultipartFile.transferTo 처럼 옮긴다 (같은 파일 시스템이면 rename)
+ * - streamingWithHash: UploadFiles.write (SHA-256 계산 + transferFrom)
+ * - streamingWithoutHash: 같은 기록에서 해시만 뺀 것
+ * multipart 쪽의 임시 파일은 측정 전에 매번 새로 만들며, 컨테이너가 요청을 받는 시간은 재지 않는다.
+ * MB/s 는 sizeMb / 측정 시간으로 계산한다.
+ * 실행: ./gradlew jmh -PjmhIncludes=UploadWrite
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UploadWriteBenchmark {
+
+    private static final int CHUNK = 1024 * 1024;
+
+    @Param({"512"})
+    private int sizeMb;
+
+    private byte[] chunk;
+    private Path directory;
+    private Path spooled;
+    private Path target;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        chunk = new byte[CHUNK];
+        new Random(42).nextBytes(chunk);
+        directory = Files.createTempDirectory("upload-write");
+    }
+
+    @Setup(Level.Invocation)
+    public void prepare() throws IOException {
+        target = directory.resolve("target.bin");
+        Files.deleteIfExists(target);
+        // 컨테이너가 받아 둔 multipart 임시 파일 (streaming 측정에서는 쓰지 않지만 조건을 같게 둔다)
+        spooled = directory.resolve("spooled.bin");
+        try (InputStream in = body(); FileChannel channel = FileChannel.open(spooled,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.transferFrom(Channels.newChannel(in), 0, (long) sizeMb * CHUNK);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public long multipartCopy() throws IOException {
+        return Files.copy(spooled, target, StandardCopyOption.REPLACE_EXISTING).toFile().length();
+    }
+
+    @Benchmark
+    public long multipartTransferTo() throws IOException {
+        return Files.move(spooled, target, StandardCopyOption.REPLACE_EXISTING).toFile().length();
+    }
+
+    @Benchmark
+    public String streamingWithHash() throws IOException {
+        MessageDigest digest = UploadFiles.newDigest();
+        try (InputStream in = body(); FileChannel channel = open(target)) {
+            UploadFiles.write(channel, 0, in, digest, (long) sizeMb * CHUNK);
+        }
+        return UploadFiles.hex(digest);
+    }
+
+    @Benchmark
+    public long streamingWithoutHash() throws IOException {
+        long written = 0;
+        try (InputStream in = body(); FileChannel channel = open(target)) {
+            ReadableByteChannel source = Channels.newChannel(in);
+            long transferred;
+            while ((transferred = channel.transferFrom(source, written, Long.MAX_VALUE - written)) > 0) {
+                written += transferred;
+            }
+        }
+        return written;
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    // sizeMb 만큼 같은 1MB 조각을 되풀이하는 요청 본문 (힙에 본문 전체를 두지 않는다)
+    private InputStream body() {
+        long total = (long) sizeMb * CHUNK;
+        return new InputStream() {
+            private long position;
+
+            @Override
+            public int read() {
+                if (position >= total) {
+                    return -1;
+                }
+                return chunk[(int) (position++ % CHUNK)] & 0xff;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                if (position >= total) {
+                    return -1;
+                }
+                int index = (int) (position % CHUNK);
+                int count = (int) Math.min(Math.min(length, CHUNK - index), total - position);
+                System.arraycopy(chunk, index, buffer, offset, count);
+                position += count;
+                return count;
+            }
+        };
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.demo.service.upload;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 첨부 ZIP 내보내기를 작은 힙(-Xmx48m)에서 돌린다: 16MB 사진 64개 + 4KB 텍스트 2,000개 (약 1.08GB).
+ * 응답 대신 버리는 스트림에 쓰며, 힙 사용량은 측정마다 heap 메모리 풀의 최고치(GC 직후 값 포함)로 확인한다.
+ * 사진은 압축 수준 0, 텍스트는 기본 압축으로 담긴다. 결과 크기와 힙 최고치는 TearDown 에서 출력한다.
+ * 실행: ./gradlew jmh -PjmhIncludes=ZipExport
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx48m")
+public class ZipExportBenchmark {
+
+    private static final int PHOTOS = 64;
+    private static final int PHOTO_BYTES = 16 * 1024 * 1024;
+    private static final int NOTES = 2_000;
+    private static final int NOTE_BYTES = 4 * 1024;
+
+    private Path directory;
+    private ZipExportService service;
+    private List<ZipExportService.ZipItem> items;
+    private List<MemoryPoolMXBean> heapPools;
+    private long archiveBytes;
+    private final List<String> summaries = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("zip-export");
+        // @Value 기본값과 같은 값
+        service = new ZipExportService(4, 8, 1024 * 1024);
+        items = new ArrayList<>();
+        Random random = new Random(3);
+        // 압축되지 않는 무작위 바이트를 1MB 씩 써서 사진을 만든다 (작은 힙에 16MB 배열을 두지 않음)
+        byte[] chunk = new byte[1024 * 1024];
+        for (int i = 0; i < PHOTOS; i++) {
+            Path file = directory.resolve("photo-" + i + ".jpg");
+            try (OutputStream out = Files.newOutputStream(file)) {
+                for (int written = 0; written < PHOTO_BYTES; written += chunk.length) {
+                    random.nextBytes(chunk);
+                    out.write(chunk);
+                }
+            }
+            items.add(new ZipExportService.ZipItem("photos/" + file.getFileName(), file));
+        }
+        byte[] note = ("회의 메모 " + "-".repeat(NOTE_BYTES)).substring(0, NOTE_BYTES).getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < NOTES; i++) {
+            Path file = Files.write(directory.resolve("note-" + i + ".txt"), note);
+            items.add(new ZipExportService.ZipItem("notes/" + file.getFileName(), file));
+        }
+        heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+    }
+
+    @Setup(Level.Invocation)
+    public void resetPeak() {
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    @TearDown(Level.Invocation)
+    public void recordPeak() {
+        long peak = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        long afterGc = heapPools.stream()
+                .mapToLong(pool -> pool.getCollectionUsage() == null ? 0 : pool.getCollectionUsage().getUsed())
+                .sum();
+        summaries.add(String.format("archive=%dMB heap peak=%dMB live after last GC=%dMB prefetched peak=%dKB",
+                archiveBytes >> 20, peak >> 20, afterGc >> 20, service.getPeakBufferedBytes() >> 10));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.printf("%nmax heap=%dMB%n", Runtime.getRuntime().maxMemory() >> 20);
+        summaries.forEach(summary -> System.out.println("  " + summary));
+        service.shutdown();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public long export() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        long written = service.export(items, out);
+        archiveBytes = out.count;
+        return written;
+    }
+
+    // 응답 스트림 대신 크기만 센다
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -4,13 +4,16 @@ import com.google.auth.oauth2.GoogleCredentials;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
 import com.google.firebase.database.FirebaseDatabase;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
 
 import java.io.IOException;
 
+// chat.store=embedded 이면 Firebase 자격 증명 없이 기동한다
 @Configuration
+@ConditionalOnProperty(name = "chat.store", havingValue = "firebase", matchIfMissing = true)
 public class FirebaseConfig {
 
     @Bean
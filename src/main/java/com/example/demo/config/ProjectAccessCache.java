@@ -0,0 +1,155 @@
+package com.example.demo.config;
+
+import com.example.demo.repository.ProjectRepository;
+import com.example.demo.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * 프로젝트 접근 권한 판정 캐시.
+ * (projectId, userId) 단위로 접근 가능 여부를 보관하고, 캐시 미스일 때만 존재 여부 쿼리 1회를 수행한다.
+ * 멤버십이 바뀌는 경로에서는 evict* 메서드로 무효화하며, 트랜잭션 안에서 호출되면 커밋 이후에 반영된다.
+ * 무효화 후에는 AccessChanged 이벤트를 발행해 열린 구독(채팅 웹소켓 등)이 권한을 다시 확인하게 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjectAccessCache {
+
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${project.security.cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${project.security.cache.max-entries:50000}")
+    private int maxEntries;
+
+    // (projectId, userId) -> 판정 결과
+    private final Map<AccessKey, Decision> decisions = new ConcurrentHashMap<>();
+    // 소문자 이메일 -> userId (principal에는 이메일만 있으므로 id 변환 결과를 보관)
+    private final Map<String, Long> userIds = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public boolean hasAccess(Long projectId, String email) {
+        if (projectId == null || email == null) {
+            return false;
+        }
+        Long userId = resolveUserId(email);
+        if (userId == null) {
+            return false;
+        }
+        return hasAccess(projectId, userId);
+    }
+
+    public boolean hasAccess(Long projectId, Long userId) {
+        AccessKey key = new AccessKey(projectId, userId);
+        long now = System.currentTimeMillis();
+
+        Decision cached = decisions.get(key);
+        if (cached != null && cached.expiresAt() > now) {
+            hits.increment();
+            return cached.allowed();
+        }
+
+        misses.increment();
+        boolean allowed = projectRepository.existsAccessByProjectIdAndUserId(projectId, userId);
+        if (decisions.size() >= maxEntries) {
+            // 상한 도달 시 전체 비우기 (판정은 다시 쿼리 1회로 복구 가능)
+            decisions.clear();
+        }
+        decisions.put(key, new Decision(allowed, now + ttlSeconds * 1000L));
+        return allowed;
+    }
+
+    private Long resolveUserId(String email) {
+        String normalized = email.toLowerCase(Locale.ROOT);
+        Long cached = userIds.get(normalized);
+        if (cached != null) {
+            return cached;
+        }
+        Long userId = userRepository.findIdByEmail(email).orElse(null);
+        if (userId != null) {
+            if (userIds.size() >= maxEntries) {
+                userIds.clear();
+            }
+            userIds.put(normalized, userId);
+        }
+        return userId;
+    }
+
+    // 특정 프로젝트-사용자 판정 무효화 (초대 수락, 추방, 나가기, 역할 변경).
+    // 무효화는 모두 커밋 이후에 한다 (커밋 전에 지우면 동시 요청이 이전 상태를 다시 캐시할 수 있음)
+    public void evict(Long projectId, Long userId) {
+        TransactionHooks.afterCommit(() -> {
+            if (decisions.remove(new AccessKey(projectId, userId)) != null) {
+                evictions.increment();
+            }
+            eventPublisher.publishEvent(new AccessChanged(projectId, userId));
+        });
+    }
+
+    // 프로젝트 단위 무효화 (프로젝트 삭제 등)
+    public void evictProject(Long projectId) {
+        TransactionHooks.afterCommit(() -> {
+            removeIf(key -> key.projectId().equals(projectId));
+            eventPublisher.publishEvent(new AccessChanged(projectId, null));
+        });
+    }
+
+    // 사용자 단위 무효화 (회원 탈퇴, 관리자 삭제 시 멤버십 재할당)
+    public void evictUser(Long userId, String email) {
+        TransactionHooks.afterCommit(() -> {
+            removeIf(key -> key.userId().equals(userId));
+            if (email != null) {
+                userIds.remove(email.toLowerCase(Locale.ROOT));
+            }
+            eventPublisher.publishEvent(new AccessChanged(null, userId));
+        });
+    }
+
+    private void removeIf(Predicate<AccessKey> predicate) {
+        decisions.keySet().removeIf(key -> {
+            boolean matched = predicate.test(key);
+            if (matched) {
+                evictions.increment();
+            }
+            return matched;
+        });
+    }
+
+    // 캐시 통계: hits 값이 곧 절약된 DB 조회 횟수
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("evictions", evictions.sum());
+        stats.put("entries", (long) decisions.size());
+        stats.put("hitRatePercent", hitCount + missCount == 0 ? 0L : hitCount * 100 / (hitCount + missCount));
+        return stats;
+    }
+
+    /** 접근 권한이 바뀌었을 수 있음 (null 이면 해당 축 전체). 받는 쪽은 hasAccess 로 다시 확인한다 */
+    public record AccessChanged(Long projectId, Long userId) {
+    }
+
+    private record AccessKey(Long projectId, Long userId) {
+    }
+
+    private record Decision(boolean allowed, long expiresAt) {
+    }
+}
@@ -2,6 +2,7 @@ package com.example.demo.controller;
 
 import com.example.demo.domain.dto.LoginRequest;
 import com.example.demo.domain.dto.LoginResponse;
+import com.example.demo.domain.dto.TokenRefreshRequest;
 import com.example.demo.exception.ErrorResponse;
 import com.example.demo.service.AuthService;
 import lombok.RequiredArgsConstructor;
@@ -27,5 +28,14 @@ public class AuthController {
             return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
         }
     }
-}
 
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody TokenRefreshRequest request) {
+        try {
+            LoginResponse response = authService.refresh(request);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
+        }
+    }
+}
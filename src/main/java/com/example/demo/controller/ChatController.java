@@ -1,8 +1,15 @@
 package com.example.demo.controller;
 
+import com.example.demo.config.ProjectAccessCache;
+import com.example.demo.domain.dto.ChatRoomSummaryDTO;
+import com.example.demo.domain.dto.CursorPage;
 import com.example.demo.model.ChatMessage;
+import com.example.demo.security.CurrentUser;
 import com.example.demo.service.ChatService;
+import com.example.demo.service.chat.ChatReadService;
+import com.example.demo.service.chat.ChatRooms;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,9 +21,50 @@ import java.util.concurrent.CompletableFuture;
 public class ChatController {
 
     private final ChatService chatService;
+    private final ChatReadService chatReadService;
+    private final CurrentUser currentUser;
+    private final ProjectAccessCache projectAccessCache;
 
-    public ChatController(ChatService chatService) {
+    public ChatController(ChatService chatService,
+                          ChatReadService chatReadService,
+                          CurrentUser currentUser,
+                          ProjectAccessCache projectAccessCache) {
         this.chatService = chatService;
+        this.chatReadService = chatReadService;
+        this.currentUser = currentUser;
+        this.projectAccessCache = projectAccessCache;
+    }
+
+    // 참여 중인 채팅방 목록과 안 읽은 수 (최신 seq - 마지막으로 읽은 seq)
+    @GetMapping("/rooms")
+    public CompletableFuture<ResponseEntity<List<ChatRoomSummaryDTO>>> getRooms() {
+        Long userId = currentUser.requireUser().getId();
+        return chatReadService.getRooms(userId).thenApply(ResponseEntity::ok);
+    }
+
+    // 이력 페이지: before 커서(messageId) 직전 limit 개, nextCursor 로 더 오래된 페이지를 이어서 조회
+    @GetMapping("/rooms/{roomId}/history")
+    public CompletableFuture<ResponseEntity<CursorPage<ChatMessage>>> getHistory(
+            @PathVariable String roomId,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "30") int limit) {
+
+        requireRoomAccess(roomId);
+        int size = Math.max(1, Math.min(limit, 100));
+        return chatService.getHistoryPage(roomId, before, size).thenApply(ResponseEntity::ok);
+    }
+
+    // seq 까지 읽음 표시 (뒤로는 이동하지 않음). 저장된 마지막 읽은 seq 를 돌려준다
+    @PostMapping("/rooms/{roomId}/read")
+    public CompletableFuture<ResponseEntity<Long>> markRead(
+            @PathVariable String roomId,
+            @RequestParam long seq) {
+
+        Long userId = requireRoomAccess(roomId);
+        if (seq < 0) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        return chatReadService.markRead(userId, roomId, seq).thenApply(ResponseEntity::ok);
     }
 
     @PostMapping("/rooms/{roomId}/messages")
@@ -24,18 +72,35 @@ public class ChatController {
             @PathVariable String roomId,
             @RequestBody ChatMessage message) {
 
+        Long userId = requireRoomAccess(roomId);
+        // 발신자 / 프로젝트는 요청 본문을 믿지 않고 로그인 사용자와 방 ID 로 정한다 (chat.html 의 auth_{id} 규칙)
+        message.setSenderId("auth_" + userId);
+        message.setSenderName(currentUser.getDisplayName());
         message.setRoomId(roomId);
+        message.setProjectId(String.valueOf(ChatRooms.projectIdOf(roomId)));
         return chatService.sendMessage(message)
                 .thenApply(messageId -> ResponseEntity.ok(messageId));
     }
 
+    // before / after 중 하나를 주면 해당 메시지 기준 범위 조회, 없으면 최근 limit 개
     @GetMapping("/rooms/{roomId}/messages")
     public CompletableFuture<ResponseEntity<List<ChatMessage>>> getMessages(
             @PathVariable String roomId,
-            @RequestParam(defaultValue = "50") int limit) {
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after) {
 
-        return chatService.getMessages(roomId, limit)
-                .thenApply(ResponseEntity::ok);
+        requireRoomAccess(roomId);
+        int size = Math.max(1, Math.min(limit, 200));
+        CompletableFuture<List<ChatMessage>> messages;
+        if (before != null) {
+            messages = chatService.getMessagesBefore(roomId, before, size);
+        } else if (after != null) {
+            messages = chatService.getMessagesAfter(roomId, after, size);
+        } else {
+            messages = chatService.getMessages(roomId, size);
+        }
+        return messages.thenApply(ResponseEntity::ok);
     }
 
     @GetMapping("/projects/{projectId}/membership")
@@ -47,4 +112,13 @@ public class ChatController {
         return chatService.isProjectMember(projectId, userId)
                 .thenApply(isMember -> ResponseEntity.ok(isMember));
     }
-}
\ No newline at end of file
+
+    private Long requireRoomAccess(String roomId) {
+        Long userId = currentUser.requireUser().getId();
+        Long projectId = ChatRooms.projectIdOf(roomId);
+        if (projectId == null || !projectAccessCache.hasAccess(projectId, userId)) {
+            throw new AccessDeniedException("채팅방에 접근할 권한이 없습니다.");
+        }
+        return userId;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.demo.controller;
+
+import com.example.demo.config.ProjectAccessCache;
+import com.example.demo.security.CurrentUser;
+import com.example.demo.service.chat.ChatFanoutHub;
+import com.example.demo.service.chat.ChatRooms;
+import com.example.demo.service.chat.ChatSocketSession;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * 채팅 웹소켓 (/ws/chat).
+ * 클라이언트 → 서버: {"type":"subscribe"|"unsubscribe","roomId":"project_{id}"}
+ * 서버 → 클라이언트: {"type":"message","roomId",...,"message":{...}} / {"type":"resync","roomId"} / {"type":"error","message"}
+ *                  / {"type":"revoked","roomId"} (멤버십을 잃어 구독이 해제됨)
+ * 메시지 전송은 기존 REST API(/api/chat/rooms/{roomId}/messages)를 사용한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChatWebSocketHandler extends TextWebSocketHandler {
+
+    private static final String SESSION_ATTRIBUTE = ChatSocketSession.class.getName();
+
+    private final ChatFanoutHub chatFanoutHub;
+    private final ProjectAccessCache projectAccessCache;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        String user = session.getPrincipal() instanceof Authentication authentication
+                ? CurrentUser.extractEmail(authentication.getPrincipal())
+                : null;
+        ChatSocketSession chatSession = chatFanoutHub.open(session.getId(), user, new ChatSocketSession.Transport() {
+            @Override
+            public void send(String frame) throws IOException {
+                session.sendMessage(new TextMessage(frame));
+            }
+
+            @Override
+            public void close() {
+                try {
+                    session.close(CloseStatus.SESSION_NOT_RELIABLE);
+                } catch (IOException e) {
+                    log.debug("채팅 웹소켓 닫기 실패 (session {}): {}", session.getId(), e.getMessage());
+                }
+            }
+        });
+        session.getAttributes().put(SESSION_ATTRIBUTE, chatSession);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage textMessage) throws IOException {
+        ChatSocketSession chatSession = (ChatSocketSession) session.getAttributes().get(SESSION_ATTRIBUTE);
+        JsonNode request = objectMapper.readTree(textMessage.getPayload());
+        String type = request.path("type").asText();
+        String roomId = request.path("roomId").asText();
+
+        switch (type) {
+            case "subscribe" -> {
+                if (!canAccess(session.getPrincipal(), roomId)) {
+                    chatSession.sendControl(error("채팅방 접근 권한이 없습니다: " + roomId));
+                    return;
+                }
+                if (!chatFanoutHub.attach(roomId, chatSession)) {
+                    chatSession.sendControl(error("구독할 수 있는 채팅방 수를 넘었습니다."));
+                }
+            }
+            case "unsubscribe" -> chatFanoutHub.detach(roomId, chatSession);
+            default -> chatSession.sendControl(error("알 수 없는 요청입니다: " + type));
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        ChatSocketSession chatSession = (ChatSocketSession) session.getAttributes().remove(SESSION_ATTRIBUTE);
+        if (chatSession != null) {
+            chatFanoutHub.close(chatSession);
+        }
+    }
+
+    // 채팅방 ID 는 project_{projectId} 형식이며, 프로젝트 생성자/멤버만 구독할 수 있다
+    private boolean canAccess(Principal principal, String roomId) {
+        Long projectId = ChatRooms.projectIdOf(roomId);
+        if (projectId == null || !(principal instanceof Authentication authentication)) {
+            return false;
+        }
+        String email = CurrentUser.extractEmail(authentication.getPrincipal());
+        return email != null && projectAccessCache.hasAccess(projectId, email);
+    }
+
+    private String error(String message) throws IOException {
+        return objectMapper.writeValueAsString(Map.of("type", "error", "message", message));
+    }
+}
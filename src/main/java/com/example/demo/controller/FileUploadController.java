@@ -1,24 +1,39 @@
 package com.example.demo.controller;
 
+import com.example.demo.config.ProjectAccessCache;
+import com.example.demo.domain.entity.FileUploadSession;
 import com.example.demo.domain.entity.Issue;
 import com.example.demo.domain.entity.IssuePostFile;
 import com.example.demo.repository.IssueRepository;
+import com.example.demo.security.CurrentUser;
 import com.example.demo.service.FileUploadService;
+import com.example.demo.service.upload.FileDeliveryService;
+import com.example.demo.service.upload.ImageDerivativeService;
+import com.example.demo.service.upload.ResumableUploadService;
+import com.example.demo.service.upload.UploadFiles;
+import com.example.demo.service.upload.ZipExportService;
 import jakarta.servlet.http.HttpServletRequest;
-import org.springframework.core.io.Resource;
+import jakarta.servlet.http.HttpServletResponse;
 
 //import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Slf4j
 @RestController
@@ -27,10 +42,142 @@ FileUploadController {
 
     private final FileUploadService fileUploadService;
     private final IssueRepository issueRepository;
-
-    public FileUploadController(FileUploadService fileUploadService, IssueRepository issueRepository) {
+    private final ResumableUploadService resumableUploadService;
+    private final FileDeliveryService fileDeliveryService;
+    private final ImageDerivativeService imageDerivativeService;
+    private final ZipExportService zipExportService;
+    private final CurrentUser currentUser;
+    private final ProjectAccessCache projectAccessCache;
+
+    public FileUploadController(FileUploadService fileUploadService,
+                                IssueRepository issueRepository,
+                                ResumableUploadService resumableUploadService,
+                                FileDeliveryService fileDeliveryService,
+                                ImageDerivativeService imageDerivativeService,
+                                ZipExportService zipExportService,
+                                CurrentUser currentUser,
+                                ProjectAccessCache projectAccessCache) {
         this.fileUploadService = fileUploadService;
         this.issueRepository = issueRepository;
+        this.resumableUploadService = resumableUploadService;
+        this.fileDeliveryService = fileDeliveryService;
+        this.imageDerivativeService = imageDerivativeService;
+        this.zipExportService = zipExportService;
+        this.currentUser = currentUser;
+        this.projectAccessCache = projectAccessCache;
+    }
+
+    /**
+     * 스트리밍 업로드 - 요청 본문이 곧 파일 내용 (multipart 임시 파일 없이 최종 위치에 바로 기록)
+     */
+    @PutMapping("/api/files/stream/{projectId}/{issueId}")
+    public ResponseEntity<?> uploadStream(@PathVariable Long projectId,
+                                          @PathVariable Long issueId,
+                                          @RequestParam String fileName,
+                                          HttpServletRequest request) {
+        try {
+            Issue issue = requireIssue(projectId, issueId);
+            IssuePostFile savedFile = fileUploadService.storeStream(issue, fileName, request.getContentType(), request.getInputStream());
+            return ResponseEntity.status(HttpStatus.CREATED).body(fileSummary(savedFile));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IOException e) {
+            log.error("스트리밍 업로드 중 오류 발생", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("파일 업로드 중 오류가 발생했습니다: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 분할 업로드 시작 - uploadId 와 다음 offset(0)을 돌려준다
+     */
+    @PostMapping("/api/files/uploads/{projectId}/{issueId}")
+    public ResponseEntity<?> startUpload(@PathVariable Long projectId,
+                                         @PathVariable Long issueId,
+                                         @RequestParam String fileName,
+                                         @RequestParam long size,
+                                         @RequestParam(required = false) String contentType) {
+        try {
+            Issue issue = requireIssue(projectId, issueId);
+            FileUploadSession session = resumableUploadService.start(issue, currentUserId(), fileName, contentType, size);
+            return ResponseEntity.status(HttpStatus.CREATED).body(uploadStatus(session));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IOException e) {
+            log.error("분할 업로드 시작 중 오류 발생", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("업로드를 시작할 수 없습니다.");
+        }
+    }
+
+    /**
+     * 분할 업로드 진행 상태 (끊긴 뒤 이어 보낼 offset 확인)
+     */
+    @GetMapping("/api/files/uploads/{uploadId}")
+    public ResponseEntity<?> getUploadStatus(@PathVariable String uploadId) {
+        try {
+            return ResponseEntity.ok(uploadStatus(resumableUploadService.getSession(uploadId, currentUserId())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    /**
+     * 조각 업로드 - offset 은 지금까지 받은 크기와 같아야 하며, 다르면 409 와 현재 상태를 돌려준다
+     */
+    @PutMapping("/api/files/uploads/{uploadId}")
+    public ResponseEntity<?> uploadChunk(@PathVariable String uploadId,
+                                         @RequestParam long offset,
+                                         HttpServletRequest request) {
+        Long userId = currentUserId();
+        try {
+            FileUploadSession session = resumableUploadService.appendChunk(uploadId, userId, offset, request.getInputStream());
+            return ResponseEntity.ok(uploadStatus(session));
+        } catch (IllegalStateException e) {
+            Map<String, Object> status = uploadStatus(resumableUploadService.getSession(uploadId, userId));
+            status.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(status);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IOException e) {
+            // 끊긴 조각은 버려졌으므로 같은 offset 부터 다시 보내면 된다
+            log.warn("조각 업로드 중단: {} - {}", uploadId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("조각을 받지 못했습니다. 같은 offset 부터 다시 보내주세요.");
+        }
+    }
+
+    /**
+     * 분할 업로드 완료 - sha256 을 주면 서버가 계산한 값과 비교한다
+     */
+    @PostMapping("/api/files/uploads/{uploadId}/complete")
+    public ResponseEntity<?> completeUpload(@PathVariable String uploadId,
+                                            @RequestParam(required = false) String sha256) {
+        try {
+            IssuePostFile savedFile = resumableUploadService.complete(uploadId, currentUserId(), sha256);
+            return ResponseEntity.status(HttpStatus.CREATED).body(fileSummary(savedFile));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IOException e) {
+            log.error("분할 업로드 완료 처리 중 오류 발생", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("업로드를 완료할 수 없습니다.");
+        }
+    }
+
+    /**
+     * 분할 업로드 취소
+     */
+    @DeleteMapping("/api/files/uploads/{uploadId}")
+    public ResponseEntity<?> abortUpload(@PathVariable String uploadId) {
+        try {
+            resumableUploadService.abort(uploadId, currentUserId());
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IOException e) {
+            log.error("분할 업로드 취소 중 오류 발생", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("업로드를 취소할 수 없습니다.");
+        }
     }
 
     /**
@@ -78,49 +225,45 @@ FileUploadController {
     }
 
     /**
-     * 파일 미리보기 (이미지 파일만)
+     * 파일 미리보기 (래스터 이미지 파일만, SVG 는 제외). size=thumb|preview 면 축소본을 보내고, 아직 만들어지지 않았으면 원본으로 대신한다
      */
     @GetMapping("/api/files/view/{fileId}")
-    public ResponseEntity<Resource> viewFile(@PathVariable Long fileId) {
+    public void viewFile(@PathVariable Long fileId,
+                         @RequestParam(required = false) String size,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        IssuePostFile issuePostFile = fileUploadService.getFileById(fileId);
+
+        if (!UploadFiles.isInlineSafe(issuePostFile.getFileType())) {
+            response.sendError(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE, "미리보기가 지원되지 않는 파일 형식입니다.");
+            return;
+        }
+        ImageDerivativeService.Variant variant;
         try {
-            IssuePostFile issuePostFile = fileUploadService.getFileById(fileId);
-
-            if (!issuePostFile.getFileType().startsWith("image/")) {
-                throw new RuntimeException("미리보기가 지원되지 않는 파일 형식입니다.");
-            }
-
-            // 파일 경로에서 파일명만 추출 (UUID_originalFileName 형식)
-            String savedFileName = Paths.get(issuePostFile.getFilePath()).getFileName().toString();
-
-            // 리소스 로드
-            Resource resource = fileUploadService.loadFileAsResource(savedFileName).getBody();
-
-            // Content-Type 설정 (이미지 타입에 맞게)
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(issuePostFile.getFileType()))
-                    .header("Content-Disposition", "inline; filename=\"" + issuePostFile.getFileName() + "\"")
-                    .body(resource);
-        } catch (Exception e) {
-            log.error("파일 미리보기 중 오류 발생", e);
-            throw new RuntimeException("파일을 미리볼 수 없습니다.", e);
+            variant = ImageDerivativeService.Variant.from(size);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        if (variant == null) {
+            fileDeliveryService.deliver(issuePostFile, true, request, response);
+            return;
+        }
+        Optional<ImageDerivativeService.Derivative> derivative = imageDerivativeService.lookup(issuePostFile, variant);
+        if (derivative.isPresent()) {
+            fileDeliveryService.deliverDerivative(issuePostFile, derivative.get(), request, response);
+        } else {
+            // 축소본이 생기면 바로 바뀌도록 원본은 재검증 캐시로 보낸다
+            fileDeliveryService.deliver(issuePostFile, true, false, request, response);
         }
     }
 
     @GetMapping("/api/files/download/{fileId}")
-    public ResponseEntity<Resource> downloadFile(@PathVariable Long fileId) {
-        try {
-            IssuePostFile issuePostFile = fileUploadService.getFileById(fileId);
-
-            // 파일 경로에서 파일명만 추출 (UUID_originalFileName 형식)
-            String savedFileName = Paths.get(issuePostFile.getFilePath()).getFileName().toString();
-
-            // 파일 다운로드
-            return fileUploadService.loadFileAsResource(savedFileName, issuePostFile.getFileName());
-
-        } catch (Exception e) {
-            log.error("파일 다운로드 중 오류 발생", e);
-            throw new RuntimeException("파일을 다운로드할 수 없습니다: " + e.getMessage(), e);
-        }
+    public void downloadFile(@PathVariable Long fileId,
+                             HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        IssuePostFile issuePostFile = fileUploadService.getFileById(fileId);
+        fileDeliveryService.deliver(issuePostFile, false, request, response);
     }
 
     @PostMapping("/api/files/delete/{fileId}")
@@ -149,84 +292,128 @@ FileUploadController {
     @GetMapping(value = {"/api/issues/{issueId}/files/download/{fileName:.+}",
             "api/issues/{issueId}/files/download/{fileName:.+}"},
             produces = MediaType.ALL_VALUE)
-    public ResponseEntity<Resource> downloadFileByIssueAndName(
+    public void downloadFileByIssueAndName(
             @PathVariable Long issueId,
             @PathVariable String fileName,
-            HttpServletRequest request) {
-
-        String path = request.getServletPath();
-        log.info("파일 다운로드 요청: path={}, issueId={}, fileName={}", path, issueId, fileName);
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
 
-        try {
-            // 이슈의 모든 파일 가져오기
-            List<IssuePostFile> files = fileUploadService.getFilesByIssueId(issueId);
+        log.info("파일 다운로드 요청: path={}, issueId={}, fileName={}", request.getServletPath(), issueId, fileName);
 
-            // 디버깅: 모든 파일 정보 로깅
-            for (IssuePostFile f : files) {
-                log.info("파일 정보: ID={}, 원본명={}, 저장경로={}",
-                        f.getId(), f.getFileName(), f.getFilePath());
-            }
+        IssuePostFile file = findIssueFile(issueId, fileName);
+        if (file == null) {
+            log.error("이슈 {}에서 파일 {}을 찾을 수 없습니다.", issueId, fileName);
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "파일을 찾을 수 없습니다: " + fileName);
+            return;
+        }
+        fileDeliveryService.deliver(file, false, request, response);
+    }
 
-            // 파일명으로 파일 찾기 (원본명 또는 저장된 파일명)
-            IssuePostFile file = files.stream()
-                    .filter(f -> f.getFileName().equals(fileName) ||
-                            Paths.get(f.getFilePath()).getFileName().toString().equals(fileName))
-                    .findFirst()
-                    .orElseThrow(() -> {
-                        log.error("이슈 {}에서 파일 {}을 찾을 수 없습니다.", issueId, fileName);
-                        return new RuntimeException("파일을 찾을 수 없습니다: " + fileName);
-                    });
+    /**
+     * 이슈의 모든 첨부를 ZIP 으로 내려받기 (응답에 바로 압축하며 씀)
+     */
+    @GetMapping("/api/issues/{issueId}/files/zip")
+    public void downloadIssueZip(@PathVariable Long issueId,
+                                 HttpServletResponse response) throws IOException {
+        Issue issue = issueRepository.findById(issueId)
+                .orElseThrow(() -> new IllegalArgumentException("이슈를 찾을 수 없습니다."));
+        requireProjectAccess(issue.getProject().getId());
+
+        List<ZipExportService.ZipItem> items = fileUploadService.getFilesByIssueId(issueId).stream()
+                .map(f -> new ZipExportService.ZipItem(f.getFileName(), fileUploadService.resolveStoredPath(f)))
+                .toList();
+        writeZip(items, "issue-" + issueId + "-files.zip", response);
+    }
 
-            // 파일 경로에서 저장된 파일명 추출
-            String savedFileName = Paths.get(file.getFilePath()).getFileName().toString();
+    /**
+     * 프로젝트의 모든 첨부를 ZIP 으로 내려받기 (이슈별 폴더)
+     */
+    @GetMapping("/api/projects/{projectId}/files/zip")
+    public void downloadProjectZip(@PathVariable Long projectId,
+                                   HttpServletResponse response) throws IOException {
+        requireProjectAccess(projectId);
+
+        List<ZipExportService.ZipItem> items = fileUploadService.getFilesByProjectId(projectId).stream()
+                .map(f -> new ZipExportService.ZipItem(
+                        issueFolder(f.getIssue()) + "/" + f.getFileName(), fileUploadService.resolveStoredPath(f)))
+                .toList();
+        writeZip(items, "project-" + projectId + "-files.zip", response);
+    }
 
-            log.info("파일 찾음: ID={}, 저장된 파일명={}, 원본 파일명={}",
-                    file.getId(), savedFileName, file.getFileName());
+    private void writeZip(List<ZipExportService.ZipItem> items, String fileName, HttpServletResponse response) throws IOException {
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(fileName, StandardCharsets.UTF_8)
+                .build()
+                .toString());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        try {
+            long bytes = zipExportService.export(items, response.getOutputStream());
+            log.info("첨부 ZIP 내보내기 완료: {} ({}개, {} bytes)", fileName, items.size(), bytes);
+        } catch (IOException e) {
+            // 받는 쪽이 중간에 끊은 경우가 대부분
+            log.info("첨부 ZIP 내보내기 중단: {} - {}", fileName, e.getMessage());
+        }
+    }
 
-            // 파일 다운로드
-            return fileUploadService.loadFileAsResource(savedFileName, file.getFileName());
-        } catch (Exception e) {
-            log.error("파일 다운로드 중 오류 발생: {}", e.getMessage(), e);
-            throw new RuntimeException("파일을 다운로드할 수 없습니다: " + e.getMessage(), e);
+    // 이슈별 폴더 이름 (ID_제목, 경로에 쓸 수 없는 문자는 _)
+    private static String issueFolder(Issue issue) {
+        String title = issue.getTitle() == null ? "" : issue.getTitle().replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_").trim();
+        if (title.length() > 50) {
+            title = title.substring(0, 50).trim();
         }
+        return title.isEmpty() ? String.valueOf(issue.getId()) : issue.getId() + "_" + title;
     }
+
     /**
-     * 파일 다운로드 처리 공통 메서드
+     * 이슈 첨부 중 원본 파일명 또는 저장된 파일명이 일치하는 파일 (없으면 null)
      */
-    private ResponseEntity<Resource> processFileDownload(Long issueId, String fileName) {
-        try {
-            log.info("이슈 ID와 파일명으로 다운로드 처리: issueId={}, fileName={}", issueId, fileName);
-
-            // 이슈의 모든 파일 가져오기
-            List<IssuePostFile> files = fileUploadService.getFilesByIssueId(issueId);
-            log.info("이슈의 파일 목록 개수: {}", files.size());
+    private IssuePostFile findIssueFile(Long issueId, String fileName) {
+        return fileUploadService.getFilesByIssueId(issueId).stream()
+                .filter(f -> f.getFileName().equals(fileName) ||
+                        Paths.get(f.getFilePath()).getFileName().toString().equals(fileName))
+                .findFirst()
+                .orElse(null);
+    }
 
-            // 파일 정보 로깅
-            for (IssuePostFile f : files) {
-                log.info("파일: ID={}, 원본명={}, 경로={}", f.getId(), f.getFileName(), f.getFilePath());
-            }
+    // 이슈가 해당 프로젝트 소속이고 현재 사용자가 접근할 수 있는지 확인
+    private Issue requireIssue(Long projectId, Long issueId) {
+        Issue issue = issueRepository.findById(issueId)
+                .orElseThrow(() -> new IllegalArgumentException("이슈를 찾을 수 없습니다."));
+        if (!projectId.equals(issue.getProject().getId())) {
+            throw new AccessDeniedException("해당 프로젝트에 접근할 권한이 없습니다.");
+        }
+        requireProjectAccess(projectId);
+        return issue;
+    }
 
-            // 파일명이 일치하는 파일 찾기 (원본 파일명으로 비교 또는 경로의 파일명으로 비교)
-            IssuePostFile file = files.stream()
-                    .filter(f -> f.getFileName().equals(fileName) ||
-                            Paths.get(f.getFilePath()).getFileName().toString().equals(fileName))
-                    .findFirst()
-                    .orElseThrow(() -> {
-                        log.error("이슈 {}에서 파일 {}을 찾을 수 없습니다.", issueId, fileName);
-                        return new RuntimeException("파일을 찾을 수 없습니다: " + fileName);
-                    });
+    private void requireProjectAccess(Long projectId) {
+        if (!projectAccessCache.hasAccess(projectId, currentUserId())) {
+            throw new AccessDeniedException("해당 프로젝트에 접근할 권한이 없습니다.");
+        }
+    }
 
-            // 파일 경로에서 저장된 파일명 추출
-            String savedFileName = Paths.get(file.getFilePath()).getFileName().toString();
+    private Long currentUserId() {
+        return currentUser.requireUser().getId();
+    }
 
-            log.info("파일 찾음: ID={}, 저장된 파일명={}, 원본 파일명={}",
-                    file.getId(), savedFileName, file.getFileName());
+    private static Map<String, Object> uploadStatus(FileUploadSession session) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("uploadId", session.getId());
+        status.put("fileName", session.getFileName());
+        status.put("offset", session.getReceivedBytes());
+        status.put("size", session.getTotalSize());
+        status.put("complete", session.getReceivedBytes() == session.getTotalSize());
+        return status;
+    }
 
-            // 파일 다운로드
-            return fileUploadService.loadFileAsResource(savedFileName, file.getFileName());
-        } catch (Exception e) {
-            log.error("파일 다운로드 중 오류 발생: {}", e.getMessage(), e);
-            throw new RuntimeException("파일을 다운로드할 수 없습니다: " + e.getMessage(), e);
-        }
+    private static Map<String, Object> fileSummary(IssuePostFile file) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("id", file.getId());
+        summary.put("fileName", file.getFileName());
+        summary.put("fileType", file.getFileType());
+        summary.put("fileSize", file.getFileSize());
+        summary.put("checksum", file.getChecksum());
+        return summary;
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,7 @@
 package com.example.demo.controller;
 
+import com.example.demo.config.ProjectAccessCache;
+import com.example.demo.domain.dto.BulkInvitationResultDTO;
 import com.example.demo.domain.entity.Invitation;
 import com.example.demo.domain.entity.Project;
 import com.example.demo.domain.entity.ProjectMember;
@@ -8,15 +10,15 @@ import com.example.demo.repository.InvitationRepository;
 import com.example.demo.repository.ProjectMemberRepository;
 import com.example.demo.repository.ProjectRepository;
 import com.example.demo.repository.UserRepository;
-import com.example.demo.service.EmailService;
+import com.example.demo.security.CurrentUser;
 import com.example.demo.service.InvitationService;
 import com.example.demo.service.ProjectService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -30,11 +32,12 @@ import java.util.List;
 @RequiredArgsConstructor
 public class InvitationController {
     private final InvitationService invitationService;
-    private final EmailService emailService;       // 이메일 전송 서비스 (예시)
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
+    private final CurrentUser currentUser;
+    private final ProjectAccessCache projectAccessCache;
 
-    //초대 생성 및 이메일 전송 처리
+    //초대 생성 및 이메일 전송 예약
     //요청 후 생성된 초대 정보를 view에 전달
     @PostMapping("/create")
     public String createInvitation(@RequestParam("emails") String emails,
@@ -51,8 +54,8 @@ public class InvitationController {
         for (String email : emailArr) {
             email = email.trim();
             if (!email.isEmpty()) {
+                // 초대 메일은 outbox 에 넣고 바로 돌아온다 (메일 서버를 기다리지 않음)
                 Invitation invitation = invitationService.createInvitation(email, project);
-                emailService.sendInvitationEmail(invitation, project);
                 invitations.add(invitation);
             }
         }
@@ -62,6 +65,33 @@ public class InvitationController {
         return "redirect:/projects/" + projectId + "/management"; // 초대 생성 완료 후 이동할 뷰 이름
     }
 
+    //일괄 초대 (JSON 이메일 배열)
+    //이메일마다 처리 결과(INVITED, ALREADY_MEMBER, ALREADY_INVITED, DUPLICATE, INVALID)를 돌려준다
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public BulkInvitationResultDTO createInvitations(@PathVariable("projectId") Long projectId,
+                                                     @RequestBody List<String> emails) {
+        return inviteAll(projectId, emails);
+    }
+
+    //일괄 초대 (CSV 또는 줄바꿈/쉼표로 구분한 텍스트)
+    @PostMapping(value = "/bulk", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    @ResponseBody
+    public BulkInvitationResultDTO createInvitationsFromCsv(@PathVariable("projectId") Long projectId,
+                                                            @RequestBody String csv) {
+        return inviteAll(projectId, InvitationService.parseEmails(csv));
+    }
+
+    private BulkInvitationResultDTO inviteAll(Long projectId, List<String> emails) {
+        User loginUser = currentUser.requireUser();
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new AccessDeniedException("프로젝트를 찾을 수 없습니다."));
+        if (!projectAccessCache.hasAccess(projectId, loginUser.getId())) {
+            throw new AccessDeniedException("해당 프로젝트에 접근할 권한이 없습니다.");
+        }
+        return invitationService.createInvitations(emails, project, loginUser);
+    }
+
     //초대수락
     @GetMapping("/accept")
     public String acceptInvitation(@RequestParam("token") String token,
@@ -69,13 +99,7 @@ public class InvitationController {
                                    Model model,
                                    Authentication authentication) {
         // 현재 로그인한 사용자의 이메일 추출
-        String currentEmail;
-        if (authentication.getPrincipal() instanceof OAuth2User) {
-            OAuth2User oauth2User = (OAuth2User) authentication.getPrincipal();
-            currentEmail = (String) oauth2User.getAttribute("email");
-        } else {
-            currentEmail = authentication.getName();
-        }
+        String currentEmail = currentUser.getEmail().orElse("");
 
         // 초대 수락 처리 (InvitationService 내부에서 ProjectMember 생성 등)
         Invitation invitation = invitationService.acceptInvitation(token);
@@ -96,22 +120,13 @@ public class InvitationController {
                              @RequestParam("userId") Long userId,
                              Authentication authentication,
                              RedirectAttributes redirectAttributes) {
-        // 현재 로그인한 사용자 이메일 추출
-        String email;
-        if (authentication.getPrincipal() instanceof OAuth2User) {
-            OAuth2User oauth2User = (OAuth2User) authentication.getPrincipal();
-            email = (String) oauth2User.getAttribute("email");
-        } else {
-            email = authentication.getName();
-        }
-
         // 현재 로그인한 User 객체 조회
-        User currentUser = userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException("사용자 정보를 찾을 수 없습니다: " + email));
+        User loginUser = currentUser.getUser()
+                .orElseThrow(() -> new IllegalArgumentException("사용자 정보를 찾을 수 없습니다: " + currentUser.getEmail().orElse("")));
 
         try {
             // InvitationService의 kickMember 메서드 호출
-            invitationService.kickMember(projectId, userId, currentUser);
+            invitationService.kickMember(projectId, userId, loginUser);
             redirectAttributes.addFlashAttribute("successMessage", "팀원 추방이 완료되었습니다.");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
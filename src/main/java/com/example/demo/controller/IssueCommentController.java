@@ -5,6 +5,7 @@ import com.example.demo.domain.dto.IssueDTO;
 import com.example.demo.domain.entity.Project;
 import com.example.demo.domain.entity.User;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.security.CurrentUser;
 import com.example.demo.service.IssueCommentService;
 import com.example.demo.service.IssueService;
 import com.example.demo.service.ProjectService;
@@ -13,8 +14,6 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -30,6 +29,7 @@ public class IssueCommentController {
     private final IssueService issueService;
     private final UserRepository userRepository;
     private final ProjectService projectService;
+    private final CurrentUser currentUser;
 
     /**
      * ✅ 댓글 목록 조회 (JSON, 기존 코드 유지)
@@ -64,8 +64,7 @@ public class IssueCommentController {
                               @PathVariable Long parentCommentId,
                               Authentication authentication,
                               @RequestParam String content) {
-        String userEmail = getUserEmail(authentication, null);
-        User user = userRepository.findByEmail(userEmail)
+        User user = currentUser.getUser()
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
         issueCommentService.createReply(issueId, user.getId(), parentCommentId, content);
 
@@ -101,12 +100,7 @@ public class IssueCommentController {
     // ✅ 사용자 이메일 추출 (기존 코드 유지)
     private String getUserEmail(Authentication authentication, String formEmail) {
         if (authentication == null) return formEmail;
-        if (authentication.getPrincipal() instanceof OAuth2User) {
-            return ((OAuth2User) authentication.getPrincipal()).getAttribute("email");
-        }
-        if (authentication.getPrincipal() instanceof UserDetails) {
-            return authentication.getName();
-        }
-        return formEmail;
+        String email = CurrentUser.extractEmail(authentication.getPrincipal());
+        return email != null ? email : formEmail;
     }
 }
\ No newline at end of file
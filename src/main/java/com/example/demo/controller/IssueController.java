@@ -1,5 +1,6 @@
 package com.example.demo.controller;
 
+import com.example.demo.domain.dto.CursorPage;
 import com.example.demo.domain.dto.IssueCommentDTO;
 import com.example.demo.domain.dto.IssueDTO;
 import com.example.demo.domain.entity.IssuePostFile;
@@ -44,10 +45,20 @@ public class IssueController {
                                @RequestParam(value = "sortBy", required = false, defaultValue = "latest") String sortBy,
                                @RequestParam(value = "status", required = false) IssueStatus status, // ✅ 추가됨
                                @PageableDefault(size = 10) Pageable pageable, // ✅ 페이징 처리 추가
+                               @RequestParam(value = "mode", required = false) String mode, // ✅ "cursor"면 키셋 페이징
+                               @RequestParam(value = "cursor", required = false) String cursor,
+                               @RequestParam(value = "withTotal", required = false, defaultValue = "false") boolean withTotal,
                                Model model) {
         Page<IssueDTO> issuePage;
 
-        if (status != null) { // ✅ 상태별 필터링 적용
+        // ✅ 커서(키셋) 페이징: 최신순 목록/검색에서만 사용 (깊은 페이지에서도 OFFSET, COUNT(*) 없음)
+        boolean cursorMode = status == null && "latest".equals(sortBy)
+                && ("cursor".equalsIgnoreCase(mode) || (cursor != null && !cursor.isBlank()));
+        if (cursorMode) {
+            CursorPage<IssueDTO> cursorPage = issueService.getIssuesByCursor(projectId, keyword, cursor, pageable.getPageSize(), withTotal);
+            model.addAttribute("issuePaging", cursorPage.getContent());
+            model.addAttribute("cursorPage", cursorPage);
+        } else if (status != null) { // ✅ 상태별 필터링 적용
             issuePage = issueService.getIssuesByProjectAndStatus(projectId, status, pageable); // ✅ Pageable 추가
             model.addAttribute("issuePaging", issuePage.getContent());
             model.addAttribute("totalPages", issuePage.getTotalPages());
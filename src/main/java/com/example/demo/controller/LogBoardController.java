@@ -1,5 +1,6 @@
 package com.example.demo.controller;
 
+import com.example.demo.domain.dto.CursorPage;
 import com.example.demo.domain.entity.LogBoard;
 import com.example.demo.domain.entity.Project;
 import com.example.demo.service.LogBoardService;
@@ -36,11 +37,21 @@ public class LogBoardController {
     public String logBoardPage(
             @PathVariable("projectId") Long projectId,
             Model model,
-            @PageableDefault(size = 20, sort = "logNo", direction = Sort.Direction.DESC) Pageable pageable) {
-        // projectId에 해당하는 로그만 필터링해서 조회하도록 service 메소드 호출
-        Page<LogBoard> logPage = logBoardService.getLogsByProject(projectId, pageable);
-        model.addAttribute("logs", logPage.getContent());
-        model.addAttribute("page", logPage);
+            @PageableDefault(size = 20, sort = "logNo", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestParam(value = "mode", required = false) String mode,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal) {
+        if ("cursor".equalsIgnoreCase(mode) || (cursor != null && !cursor.isBlank())) {
+            // 커서(키셋) 페이징: (actionDate, logNo) 기준 조회, 깊은 페이지에서도 OFFSET 비용 없음
+            CursorPage<LogBoard> cursorPage = logBoardService.getLogsByCursor(projectId, cursor, pageable.getPageSize(), withTotal);
+            model.addAttribute("logs", cursorPage.getContent());
+            model.addAttribute("cursorPage", cursorPage);
+        } else {
+            // projectId에 해당하는 로그만 필터링해서 조회하도록 service 메소드 호출
+            Page<LogBoard> logPage = logBoardService.getLogsByProject(projectId, pageable);
+            model.addAttribute("logs", logPage.getContent());
+            model.addAttribute("page", logPage);
+        }
         model.addAttribute("projectId", projectId);
         // projectId를 이용하여 프로젝트 객체를 조회 (서비스 또는 리포지토리 사용)
         Project project = projectService.getProjectById(projectId);//RYAN navbar에서 project.projectName 을 쓰기위해 모델 추가
@@ -56,6 +67,17 @@ public class LogBoardController {
                                                      @PageableDefault(size = 100) Pageable pageable) {
         return ResponseEntity.ok(logBoardService.getLogsByProject(projectId, pageable));
     }
+
+    // 커서(키셋) 페이징 JSON API: 응답의 nextCursor / prevCursor 를 cursor 파라미터로 다시 전달
+    @GetMapping("/logboard/cursor")
+    @ResponseBody
+    @PreAuthorize("@projectSecurity.hasAccessToProject(#projectId, principal)")
+    public ResponseEntity<CursorPage<LogBoard>> getLogsByCursorApi(@PathVariable("projectId") Long projectId,
+                                                                   @RequestParam(value = "cursor", required = false) String cursor,
+                                                                   @RequestParam(value = "size", defaultValue = "100") int size,
+                                                                   @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal) {
+        return ResponseEntity.ok(logBoardService.getLogsByCursor(projectId, cursor, Math.max(1, Math.min(size, 500)), withTotal));
+    }
     //다른 게시판 생성되면
     //private final LogBoardSerivce logBoardService; 주입 후
     //logBoardService.saveLog("A 게시판", "ADD", "새 글 등록: " + post.getTitle(), userName); 메서드 호출
@@ -1,8 +1,10 @@
 package com.example.demo.controller;
 
+import com.example.demo.domain.dto.CursorPage;
 import com.example.demo.domain.dto.GlobalNoticeDTO;
 import com.example.demo.domain.dto.NoticeBoardDTO;
 import com.example.demo.domain.entity.*;
+import com.example.demo.security.CurrentUser;
 import com.example.demo.service.LogBoardService;
 import com.example.demo.service.NoticeBoardService;
 import com.example.demo.service.ProjectService;
@@ -37,6 +39,7 @@ public class NoticeBoardController {
     private final LogBoardService logBoardService;
     private final ProjectService projectService;
     private final GlobalNoticeService globalNoticeService;
+    private final CurrentUser currentUser;
 
 //    @PreAuthorize("@projectSecurity.hasAccessToProject(#projectId, principal)")
 //    @GetMapping
@@ -84,14 +87,27 @@ public class NoticeBoardController {
     public String listNoticeBoards(@PathVariable("projectId") Long projectId,
                                    @RequestParam(defaultValue = "0") int page,
                                    @RequestParam(defaultValue = "10") int size,
+                                   @RequestParam(required = false) String mode,
+                                   @RequestParam(required = false) String cursor,
+                                   @RequestParam(defaultValue = "false") boolean withTotal,
                                    Model model,
                                    Authentication authentication) {
-        // 페이징 처리된 프로젝트별 게시글 목록 조회
-        PageRequest pageable = PageRequest.of(page, size, Sort.by("createdDate").descending());
-        Page<NoticeBoardDTO> noticeBoardPage = noticeBoardService.getNoticeBoardsByProjectPaging(projectId, pageable);
-        model.addAttribute("noticeBoards", noticeBoardPage.getContent());
-        model.addAttribute("currentPage", page);
-        model.addAttribute("totalPages", noticeBoardPage.getTotalPages());
+        // 음수나 너무 큰 size 는 PageRequest 에서 500 이 되므로 미리 자른다
+        size = Math.max(1, Math.min(size, 100));
+        page = Math.max(page, 0);
+        if ("cursor".equalsIgnoreCase(mode) || (cursor != null && !cursor.isBlank())) {
+            // 커서(키셋) 페이징: OFFSET, COUNT(*) 없이 (createdDate, id) 기준 조회
+            CursorPage<NoticeBoardDTO> cursorPage = noticeBoardService.getNoticeBoardsByCursor(projectId, cursor, size, withTotal);
+            model.addAttribute("noticeBoards", cursorPage.getContent());
+            model.addAttribute("cursorPage", cursorPage);
+        } else {
+            // 페이징 처리된 프로젝트별 게시글 목록 조회
+            PageRequest pageable = PageRequest.of(page, size, Sort.by("createdDate").descending());
+            Page<NoticeBoardDTO> noticeBoardPage = noticeBoardService.getNoticeBoardsByProjectPaging(projectId, pageable);
+            model.addAttribute("noticeBoards", noticeBoardPage.getContent());
+            model.addAttribute("currentPage", page);
+            model.addAttribute("totalPages", noticeBoardPage.getTotalPages());
+        }
         model.addAttribute("projectId", projectId);
 
         // 프로젝트 객체 조회 및 모델에 추가 (예: navbar에서 사용)
@@ -99,15 +115,7 @@ public class NoticeBoardController {
         model.addAttribute("project", project);
 
         // 현재 인증된 사용자 이메일 추출 (폼 로그인 / OAuth2 고려)
-        String email;
-        if (authentication.getPrincipal() instanceof OAuth2User) {
-            OAuth2User oauth2User = (OAuth2User) authentication.getPrincipal();
-            email = (String) oauth2User.getAttribute("email");
-            log.info("OAuth2 로그인 사용자 이메일: {}", email);
-        } else {
-            email = authentication.getName();
-            log.info("일반 로그인 사용자 이메일: {}", email);
-        }
+        String email = currentUser.getEmail().orElse("");
         // 현재 프로젝트 내 사용자의 역할을 모델에 추가
         Optional<ProjectMember> currentMemberOpt = project.getProjectMembers().stream()
                 .filter(pm -> pm.getUser() != null && pm.getUser().getEmail().equalsIgnoreCase(email))
@@ -3,9 +3,11 @@ package com.example.demo.controller;
 import com.example.demo.domain.dto.CalendarEventDTO;
 import com.example.demo.domain.dto.IssueDTO;
 import com.example.demo.domain.dto.NoticeBoardDTO;
+import com.example.demo.domain.dto.ProjectDashboardDTO;
 import com.example.demo.domain.dto.ProjectRequest;
 import com.example.demo.domain.entity.*;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.security.CurrentUser;
 import com.example.demo.service.*;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -15,7 +17,6 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Controller;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.ui.Model;
@@ -40,9 +41,11 @@ import java.util.stream.Stream;
 public class ProjectViewController {
     private final ProjectService projectService;
     private final UserRepository userRepository;
+    private final CurrentUser currentUser;
     private final NoticeBoardService noticeBoardService;
     private final IssueService issueService;
     private final LogBoardService logBoardService;
+    private final ProjectDashboardService projectDashboardService;
 
     private final CalendarEventService calendarEventService;
 
@@ -62,18 +65,8 @@ public class ProjectViewController {
             Model model) {
 
         // 현재 사용자 이메일 정보 가져오기
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = null;
-
-        if (authentication.getPrincipal() instanceof OAuth2User) {
-            OAuth2User oauth2User = (OAuth2User) authentication.getPrincipal();
-            email = (String) oauth2User.getAttribute("email");
-            log.info("OAuth2 로그인 사용자 이메일: {}", email);
-        } else {
-            email = authentication.getName();
-            log.info("일반 로그인 사용자 이메일: {}", email);
-        }
-        final String userEmail = email;
+        final String userEmail = currentUser.getEmail().orElse(null);
+        log.info("로그인 사용자 이메일: {}", userEmail);
 
         List<Project> projects = new ArrayList<>();
 
@@ -136,20 +129,8 @@ public class ProjectViewController {
         System.out.println("Name: " + authentication.getName());
         System.out.println("Details: " + authentication.getDetails());
 
-        // Principal이 OAuth2User인 경우를 처리
-        String email;
-        if (authentication.getPrincipal() instanceof OAuth2User) {
-            OAuth2User oauth2User = (OAuth2User) authentication.getPrincipal();
-            email = oauth2User.getAttribute("email");
-            System.out.println("OAuth2 Email: " + email);
-        } else {
-            email = authentication.getName();
-            System.out.println("Regular Email: " + email);
-        }
-
-        // 사용자 조회
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다. Email: " + email));
+        // 사용자 조회 (OAuth2 / 일반 로그인 공통)
+        User user = currentUser.requireUser();
 
         projectService.createProject(projectRequest, user);
         redirectAttributes.addFlashAttribute("message", "프로젝트가 생성되었습니다.");
@@ -159,18 +140,7 @@ public class ProjectViewController {
     @GetMapping("/{projectId}")
     @PreAuthorize("@projectSecurity.hasAccessToProject(#projectId, principal)")
     public String viewProject(@PathVariable Long projectId, Model model, Authentication authentication) {
-        String email;
-        if (authentication.getPrincipal() instanceof OAuth2User) {
-            OAuth2User oauth2User = (OAuth2User) authentication.getPrincipal();
-            email = (String) oauth2User.getAttribute("email");
-            log.info("OAuth2 로그인 사용자 이메일: {}", email);
-        } else {
-            email = authentication.getName();
-            log.info("일반 로그인 사용자 이메일: {}", email);
-        }
-
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다: " + email));
+        User user = currentUser.requireUser();
 
         Project project = projectService.getProject(projectId, user);
         model.addAttribute("project", project);
@@ -178,25 +148,11 @@ public class ProjectViewController {
         // projectId를 명시적으로 모델에 추가 (캘린더 관련)
         model.addAttribute("projectId", projectId);
 
-        // 최근 공지사항 3개 추가
-        List<NoticeBoardDTO> latestNotices = noticeBoardService.getAllNoticeBoardsByProject(projectId)
-                .stream()
-                .sorted(Comparator.comparing(NoticeBoardDTO::getCreatedDate).reversed())
-                .limit(3)
-                .collect(Collectors.toList());
-        model.addAttribute("latestNotices", latestNotices);
-
-        // 최근 이슈 3개 추가
-        List<IssueDTO> latestIssues = issueService.getAllIssuesByProject(projectId)
-                .stream()
-                .sorted(Comparator.comparing(IssueDTO::getCreatedDate).reversed())
-                .limit(3)
-                .collect(Collectors.toList());
-        model.addAttribute("latestIssues", latestIssues);
-
-        // 최근 로그 추가
-        List<LogBoard> latestLogs = logBoardService.getLatestLogs(projectId);
-        model.addAttribute("latestLogs", latestLogs);
+        // 최근 공지사항 / 이슈 / 로그 3개씩 (LIMIT 조회 + 프로젝트별 스냅샷 캐시)
+        ProjectDashboardDTO dashboard = projectDashboardService.getDashboard(projectId);
+        model.addAttribute("latestNotices", dashboard.getLatestNotices());
+        model.addAttribute("latestIssues", dashboard.getLatestIssues());
+        model.addAttribute("latestLogs", dashboard.getLatestLogs());
 
         // 사용자 이름 추가
         model.addAttribute("username", user.getName());
@@ -227,15 +183,7 @@ public class ProjectViewController {
                                  Authentication authentication,
                                  RedirectAttributes redirectAttributes) {
         // 현재 로그인한 사용자의 이메일 추출
-        String email;
-        if (authentication.getPrincipal() instanceof OAuth2User) {
-            OAuth2User oauth2User = (OAuth2User) authentication.getPrincipal();
-            email = (String) oauth2User.getAttribute("email");
-            log.info("OAuth2 로그인 사용자 이메일: {}", email);
-        } else {
-            email = authentication.getName();
-            log.info("일반 로그인 사용자 이메일: {}", email);
-        }
+        String email = currentUser.getEmail().orElse(null);
         model.addAttribute("email", email);
 
         // 검색어(query)가 존재하면 사용자 검색 수행
@@ -250,8 +198,7 @@ public class ProjectViewController {
 
         try {
             // 도메인 User 객체 조회
-            User user = userRepository.findByEmail(email)
-                    .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다: " + email));
+            User user = currentUser.requireUser();
 
             // 보안 검증까지 포함한 프로젝트 조회
             Project project = projectService.getProject(projectId, user);
@@ -313,13 +260,7 @@ public class ProjectViewController {
                               Authentication authentication,  // Principal 대신 Authentication 사용
                               Model model) {
         // 현재 사용자의 이메일 가져오기
-        String currentUserEmail;
-        if (authentication.getPrincipal() instanceof OAuth2User) {
-            OAuth2User oauth2User = (OAuth2User) authentication.getPrincipal();
-            currentUserEmail = oauth2User.getAttribute("email");
-        } else {
-            currentUserEmail = authentication.getName();
-        }
+        String currentUserEmail = currentUser.getEmail().orElse(null);
 
         // 검색어에 해당하는 사용자 목록 검색하고 현재 사용자 제외
         List<User> users = userRepository.findByEmailContainingIgnoreCaseOrNameContainingIgnoreCase(query, query)
@@ -352,18 +293,8 @@ public class ProjectViewController {
             return "projects/management";
         }
 
-        // Authentication 객체에서 이메일 추출
-        String email;
-        if (authentication.getPrincipal() instanceof OAuth2User) {
-            OAuth2User oauth2User = (OAuth2User) authentication.getPrincipal();
-            email = (String) oauth2User.getAttribute("email");
-        } else {
-            email = authentication.getName();
-        }
-
         // 도메인 User 조회
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다: " + email));
+        User user = currentUser.requireUser();
 
         try {
             // 프로젝트 수정 및 버전 체크
@@ -390,19 +321,8 @@ public class ProjectViewController {
     public String deleteProject(@PathVariable Long projectId,
                                 RedirectAttributes redirectAttributes,
                                 Authentication authentication) {
-        // Authentication 객체에서 이메일 추출
-        String email;
-        if (authentication.getPrincipal() instanceof org.springframework.security.core.userdetails.User) {
-            email = ((org.springframework.security.core.userdetails.User) authentication.getPrincipal()).getUsername();
-        } else if (authentication.getPrincipal() instanceof OAuth2User) {
-            email = ((OAuth2User) authentication.getPrincipal()).getAttribute("email");
-        } else {
-            email = authentication.getName();
-        }
-
         // 도메인 User 객체 조회
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다: " + email));
+        User user = currentUser.requireUser();
 
         // 현재 인증된 사용자 정보 로그 출력
         System.out.println("현재 인증된 User id: " + user.getId() + ", email: " + user.getEmail());
@@ -419,7 +339,7 @@ public class ProjectViewController {
                 .anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN"));
 
         // 프로젝트 멤버 중 현재 사용자의 정보를 찾아 해당 사용자의 역할을 확인 (이메일 기준, 대소문자 무시)
-        final String currentUserEmail = email;
+        final String currentUserEmail = user.getEmail();
         Optional<ProjectMember> projectMemberOpt = project.getProjectMembers().stream()
                 .filter(pm -> pm.getUser() != null && pm.getUser().getEmail().equalsIgnoreCase(currentUserEmail))
                 .findFirst();
@@ -449,19 +369,8 @@ public class ProjectViewController {
     public String exitProject(@PathVariable Long projectId,
                               RedirectAttributes redirectAttributes,
                               Authentication authentication) {
-        // Authentication 객체에서 이메일 추출
-        String email;
-        if (authentication.getPrincipal() instanceof org.springframework.security.core.userdetails.User) {
-            email = ((org.springframework.security.core.userdetails.User) authentication.getPrincipal()).getUsername();
-        } else if (authentication.getPrincipal() instanceof OAuth2User) {
-            email = ((OAuth2User) authentication.getPrincipal()).getAttribute("email");
-        } else {
-            email = authentication.getName();
-        }
-
         // 도메인 User 객체 조회
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다: " + email));
+        User user = currentUser.requireUser();
 
         try {
             projectService.leaveProject(projectId, user);
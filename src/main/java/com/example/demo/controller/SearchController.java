@@ -0,0 +1,41 @@
+package com.example.demo.controller;
+
+import com.example.demo.domain.dto.SearchHitDTO;
+import com.example.demo.service.search.SearchIndexService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 통합 검색 API (이슈 / 공지 / 댓글 / 일정)
+ * type 파라미터로 issues, noticeboard, comment, calendar 중 하나만 검색할 수 있다.
+ */
+@RestController
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchIndexService searchIndexService;
+
+    // 내가 속한 모든 프로젝트에서 검색
+    @GetMapping("/api/search")
+    public ResponseEntity<Page<SearchHitDTO>> search(@RequestParam("q") String query,
+                                                     @RequestParam(value = "type", required = false) String type,
+                                                     @RequestParam(value = "page", defaultValue = "0") int page,
+                                                     @RequestParam(value = "size", defaultValue = "20") int size) {
+        return ResponseEntity.ok(searchIndexService.search(query, null, type, page, size));
+    }
+
+    // 특정 프로젝트 안에서 검색
+    @GetMapping("/api/projects/{projectId}/search")
+    public ResponseEntity<Page<SearchHitDTO>> searchInProject(@PathVariable("projectId") Long projectId,
+                                                              @RequestParam("q") String query,
+                                                              @RequestParam(value = "type", required = false) String type,
+                                                              @RequestParam(value = "page", defaultValue = "0") int page,
+                                                              @RequestParam(value = "size", defaultValue = "20") int size) {
+        return ResponseEntity.ok(searchIndexService.search(query, projectId, type, page, size));
+    }
+}
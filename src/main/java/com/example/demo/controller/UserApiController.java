@@ -1,57 +1,37 @@
 package com.example.demo.controller;
 
-import com.example.demo.domain.entity.User;
-import com.example.demo.repository.UserRepository;
+import com.example.demo.domain.dto.UserSnapshot;
+import com.example.demo.security.CurrentUser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AnonymousAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/user")
 @RequiredArgsConstructor
 public class UserApiController {
 
-    private final UserRepository userRepository;
+    private final CurrentUser currentUser;
 
     @GetMapping("/current")
     public ResponseEntity<Map<String, String>> getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         Map<String, String> response = new HashMap<>();
 
-        if (authentication != null && authentication.isAuthenticated()
-                && !(authentication instanceof AnonymousAuthenticationToken)) {
-
-            String userEmail;
-
-            // OAuth2 사용자인 경우
-            if (authentication.getPrincipal() instanceof OAuth2User) {
-                OAuth2User oauth2User = (OAuth2User) authentication.getPrincipal();
-                userEmail = oauth2User.getAttribute("email");
-            } else {
-                // 일반 로그인 사용자인 경우
-                userEmail = authentication.getName();
-            }
-
-            // 이메일로 사용자 조회
-            User user = userRepository.findByEmail(userEmail)
-                    .orElse(null);
-
-            if (user != null) {
-                response.put("username", user.getName());
-                return ResponseEntity.ok(response);
-            }
+        // OAuth2 / 일반 로그인 사용자 공통 조회 (인증되지 않은 경우 empty)
+        Optional<UserSnapshot> user = currentUser.getSnapshot();
+        if (user.isPresent()) {
+            response.put("id", String.valueOf(user.get().getId()));
+            response.put("username", user.get().getName());
+            return ResponseEntity.ok(response);
         }
 
         // 인증되지 않은 경우 빈 응답
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+}
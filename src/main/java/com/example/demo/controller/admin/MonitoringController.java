@@ -1,5 +1,7 @@
 package com.example.demo.controller.admin;
 
+import com.example.demo.config.ProjectAccessCache;
+import com.example.demo.domain.dto.CursorPage;
 import com.example.demo.domain.entity.LogBoard;
 import com.example.demo.domain.entity.Project;
 import com.example.demo.domain.entity.ProjectMember;
@@ -8,9 +10,21 @@ import com.example.demo.repository.LogBoardRepository;
 import com.example.demo.repository.ProjectMemberRepository;
 import com.example.demo.repository.ProjectRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.security.JwtTokenProvider;
+import com.example.demo.service.ChatService;
 import com.example.demo.service.ProjectService;
+import com.example.demo.service.TemporaryTokenStorage;
 import com.example.demo.service.UserService;
+import com.example.demo.service.admin.ActivityRollupService;
+import com.example.demo.service.admin.MonitoringDashboardService;
 import com.example.demo.service.admin.MonitoringService;
+import com.example.demo.service.chat.ChatFanoutHub;
+import com.example.demo.service.log.ActivityLogPipeline;
+import com.example.demo.service.mail.EmailOutboxService;
+import com.example.demo.service.search.SearchIndexService;
+import com.example.demo.service.upload.BlobMigrationService;
+import com.example.demo.service.upload.BlobStore;
+import com.example.demo.service.upload.ImageDerivativeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.data.domain.Page;
@@ -47,43 +61,166 @@ public class MonitoringController {
     private final UserRepository userRepository;
     private final ProjectRepository projectRepository;
     private final ProjectMemberRepository projectMemberRepository;
+    private final ProjectAccessCache projectAccessCache;
+    private final SearchIndexService searchIndexService;
+    private final ActivityLogPipeline activityLogPipeline;
+    private final ActivityRollupService activityRollupService;
+    private final MonitoringDashboardService monitoringDashboardService;
+    private final ChatFanoutHub chatFanoutHub;
+    private final ChatService chatService;
+    private final BlobStore blobStore;
+    private final BlobMigrationService blobMigrationService;
+    private final ImageDerivativeService imageDerivativeService;
+    private final EmailOutboxService emailOutboxService;
+    private final TemporaryTokenStorage temporaryTokenStorage;
+    private final JwtTokenProvider jwtTokenProvider;
 
     // 모니터링 대시보드
+    // 통계 조회는 MonitoringDashboardService 가 병렬로 실행하고 (기간, 추세 일수) 별 스냅샷으로 캐시한다
     @GetMapping("/monitoring")
-    public String dashboard(Model model) {
-        // 시스템 통계 조회
-        Map<String, Object> statistics = monitoringService.getSystemStatistics();
-        model.addAttribute("statistics", statistics);
+    public String dashboard(@RequestParam(value = "days", defaultValue = "30") int days, Model model) {
+        // 조회 기간은 1 ~ 365일 (캐시 키가 무한히 늘어나지 않도록 제한)
+        int rangeDays = Math.max(1, Math.min(days, 365));
 
-        // 최근 활동 로그 조회 (최근 10개)
-        model.addAttribute("recentActivities", monitoringService.getRecentActivities(10));
+        // 시스템 통계, 최근 활동 로그(10개), 최근 일주일 활동 추세, TOP 6 통계
+        model.addAllAttributes(monitoringDashboardService.getDashboard(rangeDays, 7));
 
-        // 최근 일주일간 활동 추세
-        model.addAttribute("activityTrends", monitoringService.getActivityTrends(7));
+        return "admin/monitoring/dashboard";
+    }
+
+    // 프로젝트 접근 권한 캐시 통계 (hits = 절약된 DB 조회 수)
+    @GetMapping("/monitoring/access-cache")
+    @ResponseBody
+    public Map<String, Long> accessCacheStats() {
+        return projectAccessCache.getStats();
+    }
 
-        // TOP 6 통계 데이터 추가
-        LocalDateTime startDate = LocalDateTime.now().minusDays(30);
-        LocalDateTime endDate = LocalDateTime.now();
+    // 활동 로그 write-behind 파이프라인 상태 (버퍼 적재량, 배치 수, spool 건수)
+    @GetMapping("/monitoring/activity-log")
+    @ResponseBody
+    public Map<String, Long> activityLogStats() {
+        return activityLogPipeline.getStats();
+    }
+
+    // 통합 검색 색인 상태
+    @GetMapping("/monitoring/search-index")
+    @ResponseBody
+    public Map<String, Object> searchIndexStats() {
+        return searchIndexService.getStats();
+    }
 
-        // 1. 시간대별 활동량 통계
-        model.addAttribute("hourlyStats", monitoringService.getHourlyActivityStats(startDate, endDate));
+    // 통합 검색 색인 전체 재구성 (백그라운드 실행, 이미 실행 중이면 started=false)
+    @PostMapping("/monitoring/search-index/rebuild")
+    @ResponseBody
+    public Map<String, Object> rebuildSearchIndex() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("started", searchIndexService.rebuildAsync());
+        return response;
+    }
 
-        // 2. 게시판별 활동 비율
-        model.addAttribute("boardStats", monitoringService.getBoardActivityStats(startDate, endDate));
+    // 모니터링 대시보드 스냅샷 캐시 상태 (fresh/stale 적중, 갱신 횟수)
+    @GetMapping("/monitoring/dashboard-cache")
+    @ResponseBody
+    public Map<String, Object> dashboardCacheStats() {
+        return monitoringDashboardService.getStats();
+    }
 
-        // 3. 활동 유형별 통계
-        model.addAttribute("actionTypeStats", monitoringService.getActionTypeStats(startDate, endDate));
+    // 채팅 실시간 전달 허브 상태 (방/세션 수, 전송/버림/resync 수)
+    @GetMapping("/monitoring/chat-fanout")
+    @ResponseBody
+    public Map<String, Object> chatFanoutStats() {
+        return chatFanoutHub.getStats();
+    }
 
-        // 4. 가장 활동적인 사용자 목록
-        model.addAttribute("topUsers", monitoringService.getTopActiveUsers(startDate, endDate, 5));
+    // 채팅 최근 메시지 캐시 상태 (적중률, 캐시된 방 수, 추정 메모리)
+    @GetMapping("/monitoring/chat-cache")
+    @ResponseBody
+    public Map<String, Object> chatCacheStats() {
+        return chatService.getCacheStats();
+    }
 
-        // 5. 프로젝트별 활동 통계
-        model.addAttribute("projectStats", monitoringService.getProjectActivityStats(startDate, endDate, 5));
+    // 채팅 쓰기 묶음 처리 상태 (배치 수, 평균/최대 배치 크기, 실패/거절 수)
+    @GetMapping("/monitoring/chat-writes")
+    @ResponseBody
+    public Map<String, Object> chatWriteStats() {
+        return chatService.getWriteStats();
+    }
 
-        // 6. 일별 활동 통계
-        model.addAttribute("dailyStats", monitoringService.getDailyActivityStats(startDate, endDate));
+    // 스트리밍 스케치 기반 근사 활동 통계 (verify=true 면 log_board 정확 집계와 비교 결과도 포함)
+    @GetMapping("/monitoring/sketches")
+    @ResponseBody
+    public Map<String, Object> activitySketches(@RequestParam(value = "days", defaultValue = "30") int days,
+                                                @RequestParam(value = "limit", defaultValue = "10") int limit,
+                                                @RequestParam(value = "verify", defaultValue = "false") boolean verify) {
+        int windowDays = Math.max(1, Math.min(days, 30));
+        int topLimit = Math.max(1, Math.min(limit, 100));
+        Map<String, Object> response = new LinkedHashMap<>(monitoringService.getApproximateActivity(windowDays, topLimit));
+        if (verify) {
+            response.put("exact", monitoringService.compareApproximateActivity(windowDays, topLimit));
+        }
+        return response;
+    }
 
-        return "admin/monitoring/dashboard";
+    // 시간 단위 활동 집계 상태 (백필 진행 여부, 행 수, 마지막 정리 시각)
+    @GetMapping("/monitoring/rollups")
+    @ResponseBody
+    public Map<String, Object> rollupStats() {
+        return activityRollupService.getStats();
+    }
+
+    // 활동 집계 전체 재계산 (백그라운드 실행, 이미 실행 중이면 started=false)
+    @PostMapping("/monitoring/rollups/backfill")
+    @ResponseBody
+    public Map<String, Object> backfillRollups() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("started", activityRollupService.backfillAsync());
+        return response;
+    }
+
+    // 첨부 blob 저장소 (blob 수, 저장 / 논리 바이트, 중복 제거량, 수거 건수)와 마지막 이전 결과 (전후 사용량, 조회 비용)
+    @GetMapping("/monitoring/file-blobs")
+    @ResponseBody
+    public Map<String, Object> fileBlobStats() {
+        Map<String, Object> response = new LinkedHashMap<>(blobStore.getStats());
+        response.put("migration", blobMigrationService.getStatus());
+        return response;
+    }
+
+    // 이전 방식으로 저장된 첨부를 blob 저장소로 이전 (백그라운드 실행, 이미 실행 중이면 started=false)
+    @PostMapping("/monitoring/file-blobs/migrate")
+    @ResponseBody
+    public Map<String, Object> migrateFileBlobs() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("started", blobMigrationService.migrateAsync());
+        return response;
+    }
+
+    // 이미지 축소본 생성 상태 (대기 / 생성 / 실패 건수, 원본 대비 축소본 바이트, 축소본 적중과 원본 대체 횟수)
+    @GetMapping("/monitoring/image-derivatives")
+    @ResponseBody
+    public Map<String, Object> imageDerivativeStats() {
+        return imageDerivativeService.getStats();
+    }
+
+    // 메일 outbox 상태 (상태별 행 수, 발송 / 재시도 / 포기 건수, 묶음당 평균 발송 시간)
+    @GetMapping("/monitoring/email-outbox")
+    @ResponseBody
+    public Map<String, Object> emailOutboxStats() {
+        return emailOutboxService.getStats();
+    }
+
+    // OAuth2 가입 임시 토큰 저장소 (저장 건수, 만료 / 상한 초과로 밀려난 건수)
+    @GetMapping("/monitoring/signup-tokens")
+    @ResponseBody
+    public Map<String, Object> signupTokenStats() {
+        return temporaryTokenStorage.getStats();
+    }
+
+    // API JWT 인증 (현재 서명 kid, 검증 캐시 적중 / 미스, 거부 건수)
+    @GetMapping("/monitoring/jwt")
+    @ResponseBody
+    public Map<String, Object> jwtStats() {
+        return jwtTokenProvider.getStats();
     }
 
     // 활동 로그 조회
@@ -94,6 +231,9 @@ public class MonitoringController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @PageableDefault(size = 20) Pageable pageable,
+            @RequestParam(required = false) String mode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean withTotal,
             Model model) {
 
         // 날짜 범위 설정 (기본값: 최근 30일)
@@ -104,9 +244,16 @@ public class MonitoringController {
         LocalDateTime endDateTime = endDate.atTime(LocalTime.MAX);
 
         // 로그 조회
-        Page<LogBoard> logs = monitoringService.getActivities(boardNm, action, startDateTime, endDateTime, pageable);
-
-        model.addAttribute("logs", logs);
+        if ("cursor".equalsIgnoreCase(mode) || (cursor != null && !cursor.isBlank())) {
+            // 커서(키셋) 페이징: 전체 로그 범위에서도 OFFSET, COUNT(*) 없이 조회
+            CursorPage<LogBoard> cursorPage = monitoringService.getActivitiesByCursor(
+                    boardNm, action, startDateTime, endDateTime, cursor, pageable.getPageSize(), withTotal);
+            model.addAttribute("logs", cursorPage.getContent());
+            model.addAttribute("cursorPage", cursorPage);
+        } else {
+            Page<LogBoard> logs = monitoringService.getActivities(boardNm, action, startDateTime, endDateTime, pageable);
+            model.addAttribute("logs", logs);
+        }
         model.addAttribute("boardTypes", monitoringService.getBoardTypes());
         model.addAttribute("actionTypes", monitoringService.getActionTypes());
         model.addAttribute("startDate", startDate);
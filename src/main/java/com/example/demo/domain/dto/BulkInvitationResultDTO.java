@@ -0,0 +1,34 @@
+package com.example.demo.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 일괄 초대 결과 (요청한 이메일마다 처리 결과)
+ */
+@Getter
+@Builder
+public class BulkInvitationResultDTO {
+
+    private final int requested;
+    private final int invited;
+    private final List<EmailResult> results;
+
+    public enum Outcome {
+        INVITED,          // 초대 생성, 메일 발송 예약
+        ALREADY_MEMBER,   // 이미 프로젝트 팀원
+        ALREADY_INVITED,  // 만료되지 않은 초대가 이미 있음
+        DUPLICATE,        // 요청 안에서 중복
+        INVALID           // 이메일 형식 오류
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class EmailResult {
+        private final String email;
+        private final Outcome outcome;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo.domain.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 채팅방 목록 항목 (안 읽은 수 = 최신 seq - 마지막으로 읽은 seq)
+ */
+@Getter
+@Builder
+public class ChatRoomSummaryDTO {
+
+    private final String roomId;
+    private final Long projectId;
+    private final String projectName;
+    private final long latestSeq;
+    private final long lastReadSeq;
+    private final long unreadCount;
+}
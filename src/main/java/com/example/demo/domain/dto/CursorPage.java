@@ -0,0 +1,84 @@
+package com.example.demo.domain.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 키셋(커서) 페이징 결과.
+ * 정확한 COUNT(*) 대신 선택적으로 상한이 있는 추정 전체 건수(estimatedTotal)를 담는다.
+ */
+@Getter
+@Builder
+public class CursorPage<T> {
+    private final List<T> content;
+    private final int size;
+    private final String nextCursor; // 더 오래된 항목 (없으면 null)
+    private final String prevCursor; // 더 최신 항목 (첫 페이지면 null)
+    private final Long estimatedTotal; // 추정 전체 건수 (요청하지 않은 경우 null)
+    private final boolean totalCapped; // true 면 estimatedTotal 건 "이상"
+
+    /** 추정 전체 건수 (capped 면 count 건 이상) */
+    public record Total(long count, boolean capped) {
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean isHasPrevious() {
+        return prevCursor != null;
+    }
+
+    /**
+     * size + 1 건으로 조회한 결과로 페이지를 구성한다.
+     * 정방향(다음 페이지)은 최신순, 역방향(이전 페이지)은 오래된순으로 조회된 rows를 받는다.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows,
+                                          PageCursor cursor,
+                                          int size,
+                                          Function<E, LocalDateTime> keyOf,
+                                          Function<E, Long> idOf,
+                                          Function<E, T> mapper,
+                                          Total total) {
+        boolean backward = cursor != null && cursor.isBackward();
+        boolean hasMore = rows.size() > size;
+        List<E> page = new ArrayList<>(hasMore ? rows.subList(0, size) : rows);
+        if (backward) {
+            // 이전 페이지는 오래된순으로 조회했으므로 화면 순서(최신순)로 뒤집음
+            Collections.reverse(page);
+        }
+
+        String next = null;
+        String prev = null;
+        if (!page.isEmpty()) {
+            E first = page.get(0);
+            E last = page.get(page.size() - 1);
+            // 정방향: 더 조회된 행이 있으면 다음 페이지 존재, 커서로 들어왔으면 이전 페이지 존재
+            // 역방향: 더 조회된 행이 있으면 이전 페이지 존재, 다음 페이지는 항상 존재
+            boolean hasNext = backward || hasMore;
+            boolean hasPrev = backward ? hasMore : cursor != null;
+            if (hasNext) {
+                next = PageCursor.next(keyOf.apply(last), idOf.apply(last)).encode();
+            }
+            if (hasPrev) {
+                prev = PageCursor.prev(keyOf.apply(first), idOf.apply(first)).encode();
+            }
+        }
+
+        return CursorPage.<T>builder()
+                .content(page.stream().map(mapper).collect(Collectors.toList()))
+                .size(size)
+                .nextCursor(next)
+                .prevCursor(prev)
+                .estimatedTotal(total == null ? null : total.count())
+                .totalCapped(total != null && total.capped())
+                .build();
+    }
+}
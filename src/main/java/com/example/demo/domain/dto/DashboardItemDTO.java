@@ -0,0 +1,18 @@
+package com.example.demo.domain.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// 프로젝트 홈 미리보기용 게시글 요약 (본문/첨부파일 없이 목록 표시에 필요한 컬럼만 조회)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DashboardItemDTO {
+    private Long id;
+    private String title;
+    private String cName; // 작성자 이름
+    private LocalDateTime createdDate; // 등록일
+}
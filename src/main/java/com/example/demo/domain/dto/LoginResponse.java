@@ -8,7 +8,9 @@ import lombok.Setter;
 @Setter
 @Builder
 public class LoginResponse {
-    private String token;
+    private String token;          // access 토큰 (Authorization: Bearer)
+    private String refreshToken;   // /api/auth/refresh 로 새 토큰을 받을 때 사용
+    private long expiresIn;        // access 토큰 유효 시간 (초)
     private String email;
     private String name;
     // 필요한 추가 정보
@@ -0,0 +1,67 @@
+package com.example.demo.domain.dto;
+
+import com.example.demo.exception.InvalidCursorException;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 키셋(커서) 페이징 위치.
+ * 정렬 키(createdDate / actionDate)와 id를 함께 담아 (key, id) 기준으로 다음/이전 페이지를 탐색한다.
+ * 클라이언트에는 Base64 URL-safe 문자열로만 노출된다.
+ */
+@Getter
+public class PageCursor {
+
+    private static final char NEXT = 'n'; // 더 오래된 쪽 (다음 페이지)
+    private static final char PREV = 'p'; // 더 최신 쪽 (이전 페이지)
+
+    private final LocalDateTime key;
+    private final Long id;
+    private final boolean backward;
+
+    private PageCursor(LocalDateTime key, Long id, boolean backward) {
+        this.key = key;
+        this.id = id;
+        this.backward = backward;
+    }
+
+    public static PageCursor next(LocalDateTime key, Long id) {
+        return new PageCursor(key, id, false);
+    }
+
+    public static PageCursor prev(LocalDateTime key, Long id) {
+        return new PageCursor(key, id, true);
+    }
+
+    // 커서 문자열 해석 (없으면 null = 첫 페이지, 형식이 틀리면 InvalidCursorException = 400)
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3 || parts[0].length() != 1) {
+                throw new InvalidCursorException("잘못된 페이지 커서입니다.");
+            }
+            char direction = parts[0].charAt(0);
+            if (direction != NEXT && direction != PREV) {
+                throw new InvalidCursorException("잘못된 페이지 커서입니다.");
+            }
+            return new PageCursor(LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]), direction == PREV);
+        } catch (InvalidCursorException e) {
+            throw e;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("잘못된 페이지 커서입니다.", e);
+        }
+    }
+
+    public String encode() {
+        String raw = (backward ? PREV : NEXT) + "|" + key + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.demo.domain.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 프로젝트 홈 화면 스냅샷 (최근 공지 / 이슈 / 활동 로그)
+@Getter
+@Builder
+public class ProjectDashboardDTO {
+    private final Long projectId;
+    private final List<DashboardItemDTO> latestNotices;
+    private final List<DashboardItemDTO> latestIssues;
+    private final List<LogBoardDTO> latestLogs;
+    private final LocalDateTime loadedAt; // 스냅샷 생성 시각
+}
@@ -0,0 +1,50 @@
+package com.example.demo.domain.dto;
+
+import com.example.demo.service.search.SearchDocument;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 통합 검색 결과 항목
+ */
+@Getter
+@Builder
+public class SearchHitDTO {
+
+    private final String type;
+    private final Long id;
+    private final Long projectId;
+    private final String title;
+    private final String snippet;
+    private final String cName;
+    private final LocalDateTime createdDate;
+    private final double score;
+    private final String url;
+
+    public static SearchHitDTO from(SearchDocument document, double score) {
+        return SearchHitDTO.builder()
+                .type(document.getType())
+                .id(document.getId())
+                .projectId(document.getProjectId())
+                .title(document.getTitle())
+                .snippet(document.getContent())
+                .cName(document.getCName())
+                .createdDate(document.getCreatedDate())
+                .score(score)
+                .url(urlOf(document))
+                .build();
+    }
+
+    // 검색 결과에서 이동할 화면 경로
+    private static String urlOf(SearchDocument document) {
+        String base = "/projects/" + document.getProjectId();
+        return switch (document.getType()) {
+            case "issues" -> base + "/board/issues/" + document.getId();
+            case "noticeboard" -> base + "/board/noticeboard/" + document.getId();
+            case "comment" -> base + "/board/issues/" + document.getParentId();
+            default -> base;
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.demo.domain.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class TokenRefreshRequest {
+    private String refreshToken;
+}
@@ -0,0 +1,30 @@
+package com.example.demo.domain.dto;
+
+import com.example.demo.domain.entity.Role;
+import com.example.demo.domain.entity.User;
+import lombok.*;
+import java.time.LocalDateTime;
+
+// 현재 로그인 사용자의 불변 스냅샷 (화면 표시, 작성자 이름 설정 등 읽기 전용 용도)
+@Getter
+@Builder
+@ToString
+public class UserSnapshot {
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final Role role;
+    private final String provider;
+    private final LocalDateTime updatedAt;
+
+    public static UserSnapshot from(User user) {
+        return UserSnapshot.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .role(user.getRole())
+                .provider(user.getProvider())
+                .updatedAt(user.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 활동 로그 시간 단위 집계 (hour, projectId, boardNm, action, cName).
+ * 로그 저장 시 증분(delta) 행이 추가되고, 집계 정리 작업이 log_board 기준으로 다시 계산해 키당 한 행으로 합친다.
+ * 같은 키의 행이 여러 개일 수 있으므로 조회는 항상 SUM(activityCount) 로 한다.
+ */
+@Entity
+@Table(name = "activity_rollup",
+        indexes = @Index(name = "idx_activity_rollup_bucket", columnList = "bucket_hour"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ActivityRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "bucket_hour", nullable = false)
+    private LocalDateTime bucketHour; // 정시로 자른 활동 시각
+
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Column(name = "board_nm")
+    private String boardNm;
+
+    private String action;
+
+    @Column(name = "cname")
+    private String cName; // 활동한 사용자 이름
+
+    @Column(name = "activity_count", nullable = false)
+    private long activityCount;
+}
@@ -0,0 +1,37 @@
+package com.example.demo.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별 채팅방 마지막 읽음 위치 (userId, roomId) -> 마지막으로 읽은 메시지 seq.
+ * 안 읽은 수는 방의 최신 seq 와의 차이로 계산하므로 메시지를 세지 않는다.
+ */
+@Entity
+@Table(name = "chat_read_marker",
+        uniqueConstraints = @UniqueConstraint(name = "uk_chat_read_marker_user_room", columnNames = {"user_id", "room_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatReadMarker {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "room_id", nullable = false, length = 100)
+    private String roomId;
+
+    @Column(name = "last_read_seq", nullable = false)
+    private long lastReadSeq;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
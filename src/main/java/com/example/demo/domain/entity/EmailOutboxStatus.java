@@ -0,0 +1,8 @@
+package com.example.demo.domain.entity;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
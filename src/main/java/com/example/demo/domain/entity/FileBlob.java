@@ -0,0 +1,59 @@
+package com.example.demo.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 내용 주소 첨부 파일 (SHA-256 이 키). 같은 내용은 디스크에 한 번만 저장하고 참조 수로 공유한다.
+ * 파일 위치: {upload.path}/blobs/{hash 앞 2자}/{다음 2자}/{hash}
+ */
+@Entity
+@Table(name = "file_blob")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FileBlob implements Persistable<String> {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private long refCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // 참조가 0 이 된 시각 (수거 유예 기준)
+    @Column(name = "released_at")
+    private LocalDateTime releasedAt;
+
+    // 키를 직접 정하므로 save 가 merge 대신 persist 하도록 (같은 hash 동시 생성 시 키 충돌로 드러남)
+    @Transient
+    @Builder.Default
+    private boolean newBlob = true;
+
+    @Override
+    public String getId() {
+        return hash;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newBlob;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        newBlob = false;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.demo.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 이어받기 가능한 분할 업로드 진행 상태.
+ * 받은 바이트는 {upload.path}/.partial/{id} 파일에 쌓이고, 완료되면 업로드 디렉토리로 옮겨 IssuePostFile 이 된다.
+ */
+@Entity
+@Table(name = "file_upload_session", indexes = @Index(name = "idx_file_upload_session_updated", columnList = "updated_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FileUploadSession {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "issue_id", nullable = false)
+    private Long issueId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "total_size", nullable = false)
+    private long totalSize;
+
+    @Column(name = "received_bytes", nullable = false)
+    private long receivedBytes;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
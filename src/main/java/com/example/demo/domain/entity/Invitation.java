@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "invitations")
+@Table(name = "invitations",
+        uniqueConstraints = @UniqueConstraint(name = "uk_invitation_pending", columnNames = {"project_id", "pending_email"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -29,6 +30,10 @@ public class Invitation extends Board{
     // 초대 토큰 (URL에 포함될 값, UUID를 사용하여 생성)
     @Column(nullable = false, unique = true)
     private String token = UUID.randomUUID().toString();
+    // 대기 중인 초대의 소문자 이메일 (수락되거나 다시 초대할 수 있게 되면 NULL).
+    // (project_id, pending_email) 유니크로 동시 요청이 같은 이메일을 두 번 초대하지 못하게 한다
+    @Column(name = "pending_email")
+    private String pendingEmail;
     // 초대 상태 (예: PENDING, ACCEPTED, EXPIRED)
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -24,6 +24,10 @@ public class IssuePostFile {
     private String filePath;   // ✅ 저장된 파일 경로
     private String fileType;   // ✅ 파일 유형
     private long fileSize;     // ✅ 파일 크기 (Byte)
+    private String checksum;   // SHA-256 (hex)
+
+    @Column(name = "blob_hash", length = 64)
+    private String blobHash;   // 내용 주소 저장소의 FileBlob (이전 방식으로 저장된 파일은 null)
 }
 
 //✅ 파일을 DB에서 조회할 수 있도록 IssuePostFile 엔티티 추가
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.example.demo.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * OAuth2 신규 가입 임시 토큰 (oauth2.token-store=jdbc 일 때 사용).
+ * 여러 서버가 같은 DB 를 보므로 로그인 콜백과 회원가입 요청이 다른 서버로 가도 이어진다.
+ */
+@Entity
+@Table(name = "oauth2_signup_token", indexes = @Index(name = "idx_oauth2_signup_token_expires", columnList = "expires_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SignupToken {
+
+    @Id
+    @Column(length = 64)
+    private String token;
+
+    private String email;
+
+    private String name;
+
+    @Column(length = 30)
+    private String provider;
+
+    @Column(name = "provider_id")
+    private String providerId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,19 @@
+package com.example.demo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 해석할 수 없는 페이지 커서. 클라이언트 입력 오류이므로 400 으로 응답한다.
+ */
+@ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "잘못된 페이지 커서입니다.")
+public class InvalidCursorException extends IllegalArgumentException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
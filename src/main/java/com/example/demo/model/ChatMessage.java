@@ -1,26 +1,63 @@
 package com.example.demo.model;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import org.springframework.util.StringUtils;
-import java.util.Date;
 
+// 저장소 / REST / 웹소켓 변환은 리플렉션 대신 ChatMessageCodec 으로
+@JsonSerialize(using = ChatMessageCodec.JsonWriter.class)
+@JsonDeserialize(using = ChatMessageCodec.JsonReader.class)
 public class ChatMessage {
     private String messageId;
+    // 방 안에서 서버가 부여하는 순번 (1 부터 증가, 클라이언트 timestamp 와 무관하게 전송 순서를 나타냄)
+    private Long seq;
     private String senderId;
     private String senderName;
     private String content;
-    private Date timestamp;
+    // epoch millis
+    private long timestamp;
     private String roomId;
-            private String projectId;
+    private String projectId;
     private MessageType type;
 
-    // 메시지 타입 열거형
+    // 메시지 타입 열거형 (저장 시에는 한 글자 코드로 기록)
     public enum MessageType {
-        TEXT, FILE, SYSTEM
+        TEXT('T'), FILE('F'), SYSTEM('S');
+
+        private final char code;
+
+        MessageType(char code) {
+            this.code = code;
+        }
+
+        public char getCode() {
+            return code;
+        }
+
+        /** 코드 또는 이름으로 찾는다 (모르는 값이면 TEXT) */
+        public static MessageType from(String value) {
+            if (value == null || value.isEmpty()) {
+                return TEXT;
+            }
+            if (value.length() == 1) {
+                for (MessageType type : values()) {
+                    if (type.code == value.charAt(0)) {
+                        return type;
+                    }
+                }
+            }
+            for (MessageType type : values()) {
+                if (type.name().equals(value)) {
+                    return type;
+                }
+            }
+            return TEXT;
+        }
     }
 
     // 기본 생성자 (Firebase에서 필요)
     public ChatMessage() {
-        this.timestamp = new Date();
+        this.timestamp = System.currentTimeMillis();
         this.type = MessageType.TEXT;
     }
 
@@ -29,7 +66,7 @@ public class ChatMessage {
         this.senderId = senderId;
         this.senderName = senderName;
         this.content = content;
-        this.timestamp = new Date();
+        this.timestamp = System.currentTimeMillis();
         this.roomId = roomId;
         this.projectId = projectId;
         this.type = MessageType.TEXT;
@@ -54,6 +91,14 @@ public class ChatMessage {
         this.messageId = messageId;
     }
 
+    public Long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(Long seq) {
+        this.seq = seq;
+    }
+
     public String getSenderId() {
         return senderId;
     }
@@ -78,11 +123,11 @@ public class ChatMessage {
         this.content = content;
     }
 
-    public Date getTimestamp() {
+    public long getTimestamp() {
         return timestamp;
     }
 
-    public void setTimestamp(Date timestamp) {
+    public void setTimestamp(long timestamp) {
         this.timestamp = timestamp;
     }
 
@@ -110,18 +155,11 @@ public class ChatMessage {
         this.type = type;
     }
 
-    // toString 메서드 추가 (디버깅에 유용)
+    // toString 메서드 (디버깅용, 본문은 길이만)
     @Override
     public String toString() {
-        return "ChatMessage{" +
-                "messageId='" + messageId + '\'' +
-                ", senderId='" + senderId + '\'' +
-                ", senderName='" + senderName + '\'' +
-                ", content='" + content + '\'' +
-                ", timestamp=" + timestamp +
-                ", roomId='" + roomId + '\'' +
-                ", projectId='" + projectId + '\'' +
-                ", type=" + type +
-                '}';
+        return "ChatMessage{roomId=" + roomId + ", seq=" + seq + ", messageId=" + messageId
+                + ", senderId=" + senderId + ", type=" + type
+                + ", contentLength=" + (content == null ? 0 : content.length()) + "}";
     }
 }
\ No newline at end of file
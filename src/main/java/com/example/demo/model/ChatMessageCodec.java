@@ -0,0 +1,313 @@
+package com.example.demo.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ChatMessage 직접 변환기 (리플렉션 없음).
+ * - Map: Firebase Realtime Database 값 (messageId 는 노드 키라 넣지 않음)
+ * - 바이너리: embedded 저장소 로그 레코드
+ * - JSON: REST / 웹소켓 (Jackson 직렬화기로 등록)
+ * timestamp 는 epoch millis, type 은 저장 시 한 글자 코드(T/F/S)로 기록한다.
+ * 읽을 때는 이전 형식(Date 객체 / ISO 문자열 timestamp, 이름으로 된 type)도 받아들인다.
+ */
+public final class ChatMessageCodec {
+
+    // 바이너리 형식 버전 (첫 바이트). 이전 JSON 레코드는 '{' 로 시작한다
+    static final byte BINARY_V1 = 1;
+
+    private ChatMessageCodec() {
+    }
+
+    // ===== Map (Firebase) =====
+
+    public static Map<String, Object> toMap(ChatMessage message) {
+        Map<String, Object> map = new HashMap<>(16);
+        putIfNotNull(map, "seq", message.getSeq());
+        putIfNotNull(map, "senderId", message.getSenderId());
+        putIfNotNull(map, "senderName", message.getSenderName());
+        putIfNotNull(map, "content", message.getContent());
+        map.put("timestamp", message.getTimestamp());
+        putIfNotNull(map, "roomId", message.getRoomId());
+        putIfNotNull(map, "projectId", message.getProjectId());
+        map.put("type", String.valueOf(typeOf(message).getCode()));
+        return map;
+    }
+
+    /** key 가 null 이면 값 안의 messageId 를 쓴다 */
+    public static ChatMessage fromMap(String key, Map<?, ?> map) {
+        ChatMessage message = new ChatMessage();
+        message.setMessageId(key != null ? key : asString(map.get("messageId")));
+        Object seq = map.get("seq");
+        message.setSeq(seq instanceof Number number ? number.longValue() : null);
+        message.setSenderId(asString(map.get("senderId")));
+        message.setSenderName(asString(map.get("senderName")));
+        message.setContent(asString(map.get("content")));
+        message.setTimestamp(toEpochMillis(map.get("timestamp")));
+        message.setRoomId(asString(map.get("roomId")));
+        message.setProjectId(asString(map.get("projectId")));
+        message.setType(ChatMessage.MessageType.from(asString(map.get("type"))));
+        return message;
+    }
+
+    // ===== 바이너리 (embedded 로그) =====
+    // [버전 1][seq varlong, 0 = 없음][timestamp 8바이트][type 코드 1바이트]
+    // [messageId][senderId][senderName][content][roomId][projectId] 문자열: varint(UTF-8 길이 + 1, 0 = null) + 바이트
+
+    public static byte[] toBytes(ChatMessage message) {
+        byte[][] strings = {
+                utf8(message.getMessageId()), utf8(message.getSenderId()), utf8(message.getSenderName()),
+                utf8(message.getContent()), utf8(message.getRoomId()), utf8(message.getProjectId())
+        };
+        int size = 1 + 10 + 8 + 1;
+        for (byte[] string : strings) {
+            size += 5 + (string == null ? 0 : string.length);
+        }
+        Writer out = new Writer(size);
+        out.buffer[out.position++] = BINARY_V1;
+        Long seq = message.getSeq();
+        out.varLong(seq == null ? 0 : seq);
+        out.fixedLong(message.getTimestamp());
+        out.buffer[out.position++] = (byte) typeOf(message).getCode();
+        for (byte[] string : strings) {
+            out.bytes(string);
+        }
+        return out.position == out.buffer.length ? out.buffer : Arrays.copyOf(out.buffer, out.position);
+    }
+
+    /** 바이너리 레코드가 아니면(이전 JSON 레코드) IllegalArgumentException */
+    public static ChatMessage fromBytes(byte[] payload) {
+        if (payload.length == 0 || payload[0] != BINARY_V1) {
+            throw new IllegalArgumentException("지원하지 않는 채팅 메시지 형식입니다.");
+        }
+        Reader in = new Reader(payload);
+        in.position = 1;
+        ChatMessage message = new ChatMessage();
+        long seq = in.varLong();
+        message.setSeq(seq == 0 ? null : seq);
+        message.setTimestamp(in.fixedLong());
+        message.setType(ChatMessage.MessageType.from(String.valueOf((char) payload[in.position++])));
+        message.setMessageId(in.string());
+        message.setSenderId(in.string());
+        message.setSenderName(in.string());
+        message.setContent(in.string());
+        message.setRoomId(in.string());
+        message.setProjectId(in.string());
+        return message;
+    }
+
+    public static boolean isBinary(byte[] payload) {
+        return payload.length > 0 && payload[0] == BINARY_V1;
+    }
+
+    // ===== JSON (REST / 웹소켓) =====
+
+    /** REST 응답과 웹소켓 프레임용. type 은 읽기 쉽도록 이름으로 쓴다 */
+    public static final class JsonWriter extends StdSerializer<ChatMessage> {
+
+        public JsonWriter() {
+            super(ChatMessage.class);
+        }
+
+        @Override
+        public void serialize(ChatMessage message, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            writeString(generator, "messageId", message.getMessageId());
+            if (message.getSeq() != null) {
+                generator.writeNumberField("seq", message.getSeq());
+            }
+            writeString(generator, "senderId", message.getSenderId());
+            writeString(generator, "senderName", message.getSenderName());
+            writeString(generator, "content", message.getContent());
+            generator.writeNumberField("timestamp", message.getTimestamp());
+            writeString(generator, "roomId", message.getRoomId());
+            writeString(generator, "projectId", message.getProjectId());
+            generator.writeStringField("type", typeOf(message).name());
+            generator.writeEndObject();
+        }
+
+        private static void writeString(JsonGenerator generator, String name, String value) throws IOException {
+            if (value != null) {
+                generator.writeStringField(name, value);
+            }
+        }
+    }
+
+    /** 요청 본문용. 모르는 필드와, 알려진 필드에 온 객체 / 배열 값은 건너뛴다 */
+    public static final class JsonReader extends StdDeserializer<ChatMessage> {
+
+        public JsonReader() {
+            super(ChatMessage.class);
+        }
+
+        @Override
+        public ChatMessage deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            String field;
+            if (parser.currentToken() == JsonToken.START_OBJECT) {
+                field = parser.nextFieldName();
+            } else if (parser.currentToken() == JsonToken.FIELD_NAME) {
+                field = parser.currentName();
+            } else {
+                return (ChatMessage) context.handleUnexpectedToken(ChatMessage.class, parser);
+            }
+            ChatMessage message = new ChatMessage();
+            for (; field != null; field = parser.nextFieldName()) {
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                if (token.isStructStart()) {
+                    // 이전 형식의 Date 객체 timestamp 만 읽고, 나머지는 하위 토큰까지 건너뛰어 다음 필드와 어긋나지 않게 한다
+                    if (field.equals("timestamp") && token == JsonToken.START_OBJECT) {
+                        message.setTimestamp(toEpochMillis(context.readValue(parser, Map.class)));
+                    } else {
+                        parser.skipChildren();
+                    }
+                    continue;
+                }
+                switch (field) {
+                    case "messageId" -> message.setMessageId(parser.getValueAsString());
+                    case "seq" -> message.setSeq(parser.getValueAsLong());
+                    case "senderId" -> message.setSenderId(parser.getValueAsString());
+                    case "senderName" -> message.setSenderName(parser.getValueAsString());
+                    case "content" -> message.setContent(parser.getValueAsString());
+                    case "timestamp" -> message.setTimestamp(token.isNumeric()
+                            ? parser.getLongValue()
+                            : toEpochMillis(parser.getValueAsString()));
+                    case "roomId" -> message.setRoomId(parser.getValueAsString());
+                    case "projectId" -> message.setProjectId(parser.getValueAsString());
+                    case "type" -> message.setType(ChatMessage.MessageType.from(parser.getValueAsString()));
+                    default -> parser.skipChildren();
+                }
+            }
+            return message;
+        }
+    }
+
+    // ===== 내부 =====
+
+    private static ChatMessage.MessageType typeOf(ChatMessage message) {
+        return message.getType() == null ? ChatMessage.MessageType.TEXT : message.getType();
+    }
+
+    private static void putIfNotNull(Map<String, Object> map, String key, Object value) {
+        if (value != null) {
+            map.put(key, value);
+        }
+    }
+
+    private static String asString(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    // epoch millis 숫자 / 이전 Date 직렬화 형태({time: ...}) / ISO-8601 문자열
+    private static long toEpochMillis(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value instanceof Map<?, ?> map && map.get("time") instanceof Number time) {
+            return time.longValue();
+        }
+        if (value instanceof String text && !text.isEmpty()) {
+            try {
+                return OffsetDateTime.parse(text).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e) {
+                return 0L;
+            }
+        }
+        return 0L;
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class Writer {
+        private final byte[] buffer;
+        private int position;
+
+        private Writer(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        private void varLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void fixedLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void bytes(byte[] value) {
+            if (value == null) {
+                varLong(0);
+                return;
+            }
+            varLong(value.length + 1L);
+            System.arraycopy(value, 0, buffer, position, value.length);
+            position += value.length;
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        private Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        private long varLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buffer[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("잘못된 채팅 메시지 레코드입니다.");
+        }
+
+        private long fixedLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        private String string() {
+            long length = varLong();
+            if (length == 0) {
+                return null;
+            }
+            int size = (int) (length - 1);
+            if (size > buffer.length - position) {
+                throw new IllegalArgumentException("잘못된 채팅 메시지 레코드입니다.");
+            }
+            String value = new String(buffer, position, size, StandardCharsets.UTF_8);
+            position += size;
+            return value;
+        }
+    }
+}
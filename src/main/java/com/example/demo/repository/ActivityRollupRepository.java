@@ -0,0 +1,95 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.entity.ActivityRollup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 활동 집계 조회. LogBoardRepository 의 통계 쿼리와 같은 행 형태(Object[])를 돌려준다.
+ * 범위 조건은 bucketHour 기준이므로 시작 시각은 정시로 내려서 넘긴다.
+ */
+@Repository
+public interface ActivityRollupRepository extends JpaRepository<ActivityRollup, Long> {
+
+    // 재계산 구간 삭제 (집계 정리 / 백필)
+    @Modifying
+    @Query("DELETE FROM ActivityRollup r WHERE r.bucketHour >= :from AND r.bucketHour < :to")
+    int deleteByBucketHourRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // 1. 시간대별 활동량
+    @Query("SELECT FUNCTION('HOUR', r.bucketHour) as hour, SUM(r.activityCount) " +
+            "FROM ActivityRollup r " +
+            "WHERE r.bucketHour BETWEEN :startDate AND :endDate " +
+            "GROUP BY FUNCTION('HOUR', r.bucketHour) " +
+            "ORDER BY hour")
+    List<Object[]> sumHourlyActivities(@Param("startDate") LocalDateTime startDate,
+                                       @Param("endDate") LocalDateTime endDate);
+
+    // 2. 게시판별 활동량
+    @Query("SELECT r.boardNm, SUM(r.activityCount) FROM ActivityRollup r " +
+            "WHERE r.bucketHour BETWEEN :startDate AND :endDate " +
+            "GROUP BY r.boardNm")
+    List<Object[]> sumByBoardNm(@Param("startDate") LocalDateTime startDate,
+                                @Param("endDate") LocalDateTime endDate);
+
+    // 3. 활동 유형별 활동량
+    @Query("SELECT r.action, SUM(r.activityCount) FROM ActivityRollup r " +
+            "WHERE r.bucketHour BETWEEN :startDate AND :endDate " +
+            "GROUP BY r.action")
+    List<Object[]> sumByAction(@Param("startDate") LocalDateTime startDate,
+                               @Param("endDate") LocalDateTime endDate);
+
+    // 4. 가장 활동적인 사용자
+    @Query("SELECT r.cName, SUM(r.activityCount) as cnt " +
+            "FROM ActivityRollup r " +
+            "WHERE r.bucketHour BETWEEN :startDate AND :endDate " +
+            "GROUP BY r.cName " +
+            "ORDER BY cnt DESC")
+    List<Object[]> findTopActiveUsers(@Param("startDate") LocalDateTime startDate,
+                                      @Param("endDate") LocalDateTime endDate,
+                                      Pageable pageable);
+
+    // 5. 프로젝트별 활동량
+    @Query("SELECT p.id, p.projectName, SUM(r.activityCount) " +
+            "FROM ActivityRollup r JOIN Project p ON p.id = r.projectId " +
+            "WHERE r.bucketHour BETWEEN :startDate AND :endDate " +
+            "GROUP BY p.id, p.projectName " +
+            "ORDER BY SUM(r.activityCount) DESC")
+    List<Object[]> sumByProject(@Param("startDate") LocalDateTime startDate,
+                                @Param("endDate") LocalDateTime endDate,
+                                Pageable pageable);
+
+    // 6. 일별 활동량
+    @Query("SELECT FUNCTION('DATE', r.bucketHour) as date, SUM(r.activityCount) " +
+            "FROM ActivityRollup r " +
+            "WHERE r.bucketHour BETWEEN :startDate AND :endDate " +
+            "GROUP BY FUNCTION('DATE', r.bucketHour) " +
+            "ORDER BY date")
+    List<Object[]> sumDailyActivities(@Param("startDate") LocalDateTime startDate,
+                                      @Param("endDate") LocalDateTime endDate);
+
+    @Query("SELECT FUNCTION('DATE', r.bucketHour) as date, SUM(r.activityCount) " +
+            "FROM ActivityRollup r " +
+            "WHERE r.bucketHour >= :startDate " +
+            "GROUP BY FUNCTION('DATE', r.bucketHour) " +
+            "ORDER BY date")
+    List<Object[]> sumDailyActivitiesAfter(@Param("startDate") LocalDateTime startDate);
+
+    // 일 x 활동 유형 x 게시판 건수 (ActivityStatsCube 용, [from, to) 구간)
+    @Query("SELECT FUNCTION('DATE', r.bucketHour), r.action, r.boardNm, SUM(r.activityCount) " +
+            "FROM ActivityRollup r " +
+            "WHERE r.bucketHour >= :from AND r.bucketHour < :to " +
+            "GROUP BY FUNCTION('DATE', r.bucketHour), r.action, r.boardNm")
+    List<Object[]> sumDailyByActionAndBoard(@Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to);
+
+    @Query("SELECT COALESCE(SUM(r.activityCount), 0) FROM ActivityRollup r WHERE r.bucketHour >= :startDate")
+    Long sumSince(@Param("startDate") LocalDateTime startDate);
+}
@@ -15,6 +15,9 @@ import java.util.Optional;
 
 @Repository
 public interface CalendarEventRepository extends JpaRepository<CalendarEvent, Long> {
+
+    // 검색 색인 재구성용: id 순서로 일정 개수씩 조회 (OFFSET 없음)
+    List<CalendarEvent> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
     // 기존 메서드
     List<CalendarEvent> findByProjectAndStartDateBetween(Project project, LocalDateTime start, LocalDateTime end);
     Optional<CalendarEvent> findByIdAndProject(Long id, Project project);
@@ -0,0 +1,34 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.entity.ChatReadMarker;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ChatReadMarkerRepository extends JpaRepository<ChatReadMarker, Long> {
+
+    // 사용자의 모든 방 읽음 위치 (roomId, lastReadSeq)
+    @Query("SELECT m.roomId, m.lastReadSeq FROM ChatReadMarker m WHERE m.userId = :userId")
+    List<Object[]> findSeqsByUserId(@Param("userId") Long userId);
+
+    // 읽음 위치는 앞으로만 이동 (늦게 도착한 이전 요청이 되돌리지 않도록)
+    @Transactional
+    @Modifying
+    @Query("UPDATE ChatReadMarker m SET m.lastReadSeq = :seq, m.updatedAt = :now " +
+            "WHERE m.userId = :userId AND m.roomId = :roomId AND m.lastReadSeq < :seq")
+    int advance(@Param("userId") Long userId,
+                @Param("roomId") String roomId,
+                @Param("seq") long seq,
+                @Param("now") LocalDateTime now);
+
+    @Query("SELECT m.lastReadSeq FROM ChatReadMarker m WHERE m.userId = :userId AND m.roomId = :roomId")
+    Optional<Long> findLastReadSeq(@Param("userId") Long userId, @Param("roomId") String roomId);
+}
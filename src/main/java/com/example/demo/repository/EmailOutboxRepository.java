@@ -0,0 +1,40 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.entity.EmailOutbox;
+import com.example.demo.domain.entity.EmailOutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    // 보낼 때가 된 메일 (오래된 순)
+    @Query("SELECT e FROM EmailOutbox e WHERE e.status = :status AND e.nextAttemptAt <= :now ORDER BY e.id")
+    List<EmailOutbox> findDue(@Param("status") EmailOutboxStatus status,
+                              @Param("now") LocalDateTime now,
+                              Pageable pageable);
+
+    // 아직 PENDING 일 때만 가져간다 (여러 서버가 같은 행을 보내지 않도록)
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = :sending, e.claimedAt = :now WHERE e.id = :id AND e.status = :pending")
+    int claim(@Param("id") Long id,
+              @Param("pending") EmailOutboxStatus pending,
+              @Param("sending") EmailOutboxStatus sending,
+              @Param("now") LocalDateTime now);
+
+    // 보내던 중 서버가 내려가 SENDING 으로 남은 행을 되돌린다
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = :pending WHERE e.status = :sending AND e.claimedAt < :cutoff")
+    int releaseStale(@Param("pending") EmailOutboxStatus pending,
+                     @Param("sending") EmailOutboxStatus sending,
+                     @Param("cutoff") LocalDateTime cutoff);
+
+    long countByStatus(EmailOutboxStatus status);
+}
@@ -0,0 +1,54 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.entity.FileBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface FileBlobRepository extends JpaRepository<FileBlob, String> {
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE FileBlob b SET b.refCount = b.refCount + 1, b.releasedAt = null WHERE b.hash = :hash")
+    int addReference(@Param("hash") String hash);
+
+    @Transactional
+    @Modifying
+    // releasedAt 을 먼저 적는다 (MariaDB 는 SET 을 왼쪽부터 적용하므로 이전 refCount 로 판단하도록)
+    @Query("UPDATE FileBlob b SET b.releasedAt = CASE WHEN b.refCount = 1 THEN :now ELSE b.releasedAt END, " +
+            "b.refCount = b.refCount - 1 " +
+            "WHERE b.hash = :hash AND b.refCount > 0")
+    int releaseReference(@Param("hash") String hash, @Param("now") LocalDateTime now);
+
+    // 실제 첨부 행 수와 다른 참조 수를 바로잡는다 (프로젝트 삭제 등 cascade 로 지워진 첨부 포함)
+    @Transactional
+    @Modifying
+    @Query("UPDATE FileBlob b SET b.refCount = " +
+            "(SELECT COUNT(f) FROM IssuePostFile f WHERE f.blobHash = b.hash) " +
+            "WHERE b.refCount <> (SELECT COUNT(f) FROM IssuePostFile f WHERE f.blobHash = b.hash)")
+    int reconcileReferences();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE FileBlob b SET b.releasedAt = :now WHERE b.refCount = 0 AND b.releasedAt IS NULL")
+    int markReleased(@Param("now") LocalDateTime now);
+
+    @Query("SELECT b.hash FROM FileBlob b WHERE b.refCount = 0 AND b.releasedAt < :cutoff")
+    List<String> findCollectable(@Param("cutoff") LocalDateTime cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM FileBlob b WHERE b.hash = :hash AND b.refCount = 0")
+    int deleteIfUnreferenced(@Param("hash") String hash);
+
+    // (blob 수, 저장 바이트, 참조 수 합)
+    @Query("SELECT COUNT(b), COALESCE(SUM(b.size), 0), COALESCE(SUM(b.refCount), 0) FROM FileBlob b")
+    List<Object[]> summarize();
+}
@@ -0,0 +1,15 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.entity.FileUploadSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface FileUploadSessionRepository extends JpaRepository<FileUploadSession, String> {
+
+    // 오래 갱신되지 않은 (중단된) 업로드
+    List<FileUploadSession> findByUpdatedAtBefore(LocalDateTime cutoff);
+}
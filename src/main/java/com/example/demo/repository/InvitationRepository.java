@@ -1,13 +1,41 @@
 package com.example.demo.repository;
 
 import com.example.demo.domain.entity.Invitation;
+import com.example.demo.domain.entity.InvitationStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface InvitationRepository extends JpaRepository<Invitation, Long> {
     // 토큰으로 Invitation 엔티티를 조회하는 메서드
     Optional<Invitation> findByToken(String token);
+
+    // 주어진 이메일 중 아직 유효한 초대가 있는 이메일 (소문자)
+    @Query("SELECT DISTINCT LOWER(i.email) FROM Invitation i WHERE i.project.id = :projectId " +
+            "AND i.status = :status AND i.expiresAt > :now AND LOWER(i.email) IN :emails")
+    List<String> findInvitedEmails(@Param("projectId") Long projectId,
+                                   @Param("status") InvitationStatus status,
+                                   @Param("now") LocalDateTime now,
+                                   @Param("emails") Collection<String> emails);
+
+    // 만료된 초대의 유니크 키를 비운다 (같은 이메일을 다시 초대할 수 있도록)
+    @Modifying
+    @Query("UPDATE Invitation i SET i.pendingEmail = NULL WHERE i.project.id = :projectId " +
+            "AND i.pendingEmail IN :emails AND i.expiresAt <= :now")
+    int releaseExpiredPendingEmails(@Param("projectId") Long projectId,
+                                    @Param("emails") Collection<String> emails,
+                                    @Param("now") LocalDateTime now);
+
+    // 재초대: 이전 초대는 유효한 채로 두고 유니크 키만 새 초대로 넘긴다
+    @Modifying
+    @Query("UPDATE Invitation i SET i.pendingEmail = NULL WHERE i.project.id = :projectId AND i.pendingEmail = :email")
+    int releasePendingEmail(@Param("projectId") Long projectId, @Param("email") String email);
 }
\ No newline at end of file
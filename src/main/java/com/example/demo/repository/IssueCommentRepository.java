@@ -14,6 +14,9 @@ import java.util.List;
 @Repository
 public interface IssueCommentRepository extends JpaRepository<IssueComment, Long> {
 
+    // 검색 색인 재구성용: id 순서로 일정 개수씩 조회 (OFFSET 없음)
+    List<IssueComment> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
     // 특정 이슈의 모든 댓글 조회 (생성일 오름차순)
     List<IssueComment> findByIssueOrderByCreatedDateAsc(Issue issue);
 
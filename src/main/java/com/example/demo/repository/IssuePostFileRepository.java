@@ -1,7 +1,10 @@
 package com.example.demo.repository;
 
 import com.example.demo.domain.entity.IssuePostFile;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,6 +17,23 @@ public interface IssuePostFileRepository extends JpaRepository<IssuePostFile, Lo
     List<IssuePostFile> findByIssueId(Long issueId);
 
     Optional<IssuePostFile> findByFileName(String fileName);
+
+    // 프로젝트 전체 첨부 (ZIP 내보내기용, 이슈 순)
+    @Query("SELECT f FROM IssuePostFile f JOIN FETCH f.issue i WHERE i.project.id = :projectId ORDER BY i.id, f.id")
+    List<IssuePostFile> findByProjectIdWithIssue(@Param("projectId") Long projectId);
+
+    // 내용 주소 저장소로 옮기기 전 파일 (id 순서로 나눠 읽는다)
+    List<IssuePostFile> findByBlobHashIsNullAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    long countByBlobHashIsNull();
+
+    // 저장 위치만 (조회 비용 측정 표본용)
+    @Query("SELECT f.filePath FROM IssuePostFile f ORDER BY f.id")
+    List<String> findFilePaths(Pageable pageable);
+
+    // 첨부 행 기준 논리 크기 합 (중복 제거 전)
+    @Query("SELECT COALESCE(SUM(f.fileSize), 0) FROM IssuePostFile f WHERE f.blobHash IS NOT NULL")
+    long sumBlobBackedFileSize();
 }
 
 
@@ -1,5 +1,6 @@
 package com.example.demo.repository;
 
+import com.example.demo.domain.dto.DashboardItemDTO;
 import com.example.demo.domain.entity.Issue;
 import com.example.demo.domain.entity.IssueStatus;
 import com.example.demo.domain.entity.Project;
@@ -10,12 +11,16 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface IssueRepository extends JpaRepository<Issue, Long> {
 
+    // 검색 색인 재구성용: id 순서로 일정 개수씩 조회 (OFFSET 없음)
+    List<Issue> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
     // ✅ 특정 프로젝트에 속한 모든 이슈 조회 (페이징 지원)
     Page<Issue> findByProject(Project project, Pageable pageable);
 
@@ -24,6 +29,55 @@ public interface IssueRepository extends JpaRepository<Issue, Long> {
     // ✅ 특정 프로젝트 내 특정 이슈 조회
     Optional<Issue> findByIdAndProject(Long id, Project project);
 
+    // ✅ 프로젝트 홈 미리보기용 최근 이슈 (개수는 Pageable로 제한, 본문/첨부파일 제외)
+    @Query("SELECT new com.example.demo.domain.dto.DashboardItemDTO(i.id, i.title, i.cName, i.createdDate) " +
+            "FROM Issue i WHERE i.project.id = :projectId " +
+            "ORDER BY i.createdDate DESC, i.id DESC")
+    List<DashboardItemDTO> findLatestItemsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+    // ✅ 키셋(커서) 페이징: (createdDate, id) 기준 탐색, keyword가 빈 문자열이면 전체 조회
+    @Query("SELECT i FROM Issue i WHERE i.project.id = :projectId " +
+            "AND (:keyword = '' OR LOWER(i.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+            "OR LOWER(i.content) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+            "OR LOWER(i.cName) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
+            "ORDER BY i.createdDate DESC, i.id DESC")
+    List<Issue> findKeysetFirst(@Param("projectId") Long projectId,
+                                @Param("keyword") String keyword,
+                                Pageable limit);
+
+    // ✅ 다음 페이지 (기준보다 오래된 이슈, 최신순)
+    @Query("SELECT i FROM Issue i WHERE i.project.id = :projectId " +
+            "AND (:keyword = '' OR LOWER(i.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+            "OR LOWER(i.content) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+            "OR LOWER(i.cName) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
+            "AND (i.createdDate < :createdDate OR (i.createdDate = :createdDate AND i.id < :id)) " +
+            "ORDER BY i.createdDate DESC, i.id DESC")
+    List<Issue> findKeysetAfter(@Param("projectId") Long projectId,
+                                @Param("keyword") String keyword,
+                                @Param("createdDate") LocalDateTime createdDate,
+                                @Param("id") Long id,
+                                Pageable limit);
+
+    // ✅ 이전 페이지 (기준보다 최신 이슈, 오래된순으로 조회 후 뒤집어서 사용)
+    @Query("SELECT i FROM Issue i WHERE i.project.id = :projectId " +
+            "AND (:keyword = '' OR LOWER(i.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+            "OR LOWER(i.content) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+            "OR LOWER(i.cName) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
+            "AND (i.createdDate > :createdDate OR (i.createdDate = :createdDate AND i.id > :id)) " +
+            "ORDER BY i.createdDate ASC, i.id ASC")
+    List<Issue> findKeysetBefore(@Param("projectId") Long projectId,
+                                 @Param("keyword") String keyword,
+                                 @Param("createdDate") LocalDateTime createdDate,
+                                 @Param("id") Long id,
+                                 Pageable limit);
+
+    // ✅ 커서 페이징의 추정 전체 건수용: limit 건까지만 id를 읽는다 (전체 COUNT(*) 없음)
+    @Query("SELECT i.id FROM Issue i WHERE i.project.id = :projectId " +
+            "AND (:keyword = '' OR LOWER(i.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+            "OR LOWER(i.content) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+            "OR LOWER(i.cName) LIKE LOWER(CONCAT('%', :keyword, '%')))")
+    List<Long> findIdsByProjectIdAndKeyword(@Param("projectId") Long projectId, @Param("keyword") String keyword, Pageable limit);
+
     // ✅ 검색 기능 추가 (제목, 내용, 작성자에서 검색)
     @Query("SELECT i FROM Issue i WHERE i.project = :project AND " +
             "(LOWER(i.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
@@ -1,5 +1,6 @@
 package com.example.demo.repository;
 
+import com.example.demo.domain.dto.LogBoardDTO;
 import com.example.demo.domain.entity.LogBoard;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -16,6 +17,87 @@ public interface LogBoardRepository extends JpaRepository<LogBoard, Long> {
     // 기본 조회 메서드 (유지)
     Page<LogBoard> findByProjectIdOrderByActionDateDesc(Long projectId, Pageable pageable);
     List<LogBoard> findTop10ByOrderByActionDateDesc();
+
+    // 프로젝트 홈 미리보기용 최근 로그 (개수는 Pageable로 제한)
+    @Query("SELECT new com.example.demo.domain.dto.LogBoardDTO(l.logNo, l.boardNm, l.postId, l.action, " +
+            "l.createdBy, l.modifiedBy, l.actionDate, l.cName) " +
+            "FROM LogBoard l WHERE l.project.id = :projectId " +
+            "ORDER BY l.actionDate DESC, l.logNo DESC")
+    List<LogBoardDTO> findLatestByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+    // 키셋(커서) 페이징: 프로젝트 로그 (actionDate, logNo) 기준 탐색 - 첫 페이지
+    @Query("SELECT l FROM LogBoard l WHERE l.project.id = :projectId " +
+            "ORDER BY l.actionDate DESC, l.logNo DESC")
+    List<LogBoard> findProjectKeysetFirst(@Param("projectId") Long projectId, Pageable limit);
+
+    // 프로젝트 로그 다음 페이지 (기준보다 오래된 로그)
+    @Query("SELECT l FROM LogBoard l WHERE l.project.id = :projectId " +
+            "AND (l.actionDate < :actionDate OR (l.actionDate = :actionDate AND l.logNo < :logNo)) " +
+            "ORDER BY l.actionDate DESC, l.logNo DESC")
+    List<LogBoard> findProjectKeysetAfter(@Param("projectId") Long projectId,
+                                          @Param("actionDate") LocalDateTime actionDate,
+                                          @Param("logNo") Long logNo,
+                                          Pageable limit);
+
+    // 프로젝트 로그 이전 페이지 (기준보다 최신 로그, 오래된순으로 조회)
+    @Query("SELECT l FROM LogBoard l WHERE l.project.id = :projectId " +
+            "AND (l.actionDate > :actionDate OR (l.actionDate = :actionDate AND l.logNo > :logNo)) " +
+            "ORDER BY l.actionDate ASC, l.logNo ASC")
+    List<LogBoard> findProjectKeysetBefore(@Param("projectId") Long projectId,
+                                           @Param("actionDate") LocalDateTime actionDate,
+                                           @Param("logNo") Long logNo,
+                                           Pageable limit);
+
+    // 추정 전체 건수용: limit 건까지만 읽음
+    @Query("SELECT l.logNo FROM LogBoard l WHERE l.project.id = :projectId")
+    List<Long> findLogNosByProjectId(@Param("projectId") Long projectId, Pageable limit);
+
+    // 키셋(커서) 페이징: 관리자 활동 로그 (boardNm / action 이 빈 문자열이면 필터 미적용)
+    @Query("SELECT l FROM LogBoard l WHERE l.actionDate BETWEEN :start AND :end " +
+            "AND (:boardNm = '' OR l.boardNm = :boardNm) " +
+            "AND (:action = '' OR l.action = :action) " +
+            "ORDER BY l.actionDate DESC, l.logNo DESC")
+    List<LogBoard> findActivityKeysetFirst(@Param("boardNm") String boardNm,
+                                           @Param("action") String action,
+                                           @Param("start") LocalDateTime start,
+                                           @Param("end") LocalDateTime end,
+                                           Pageable limit);
+
+    @Query("SELECT l FROM LogBoard l WHERE l.actionDate BETWEEN :start AND :end " +
+            "AND (:boardNm = '' OR l.boardNm = :boardNm) " +
+            "AND (:action = '' OR l.action = :action) " +
+            "AND (l.actionDate < :actionDate OR (l.actionDate = :actionDate AND l.logNo < :logNo)) " +
+            "ORDER BY l.actionDate DESC, l.logNo DESC")
+    List<LogBoard> findActivityKeysetAfter(@Param("boardNm") String boardNm,
+                                           @Param("action") String action,
+                                           @Param("start") LocalDateTime start,
+                                           @Param("end") LocalDateTime end,
+                                           @Param("actionDate") LocalDateTime actionDate,
+                                           @Param("logNo") Long logNo,
+                                           Pageable limit);
+
+    @Query("SELECT l FROM LogBoard l WHERE l.actionDate BETWEEN :start AND :end " +
+            "AND (:boardNm = '' OR l.boardNm = :boardNm) " +
+            "AND (:action = '' OR l.action = :action) " +
+            "AND (l.actionDate > :actionDate OR (l.actionDate = :actionDate AND l.logNo > :logNo)) " +
+            "ORDER BY l.actionDate ASC, l.logNo ASC")
+    List<LogBoard> findActivityKeysetBefore(@Param("boardNm") String boardNm,
+                                            @Param("action") String action,
+                                            @Param("start") LocalDateTime start,
+                                            @Param("end") LocalDateTime end,
+                                            @Param("actionDate") LocalDateTime actionDate,
+                                            @Param("logNo") Long logNo,
+                                            Pageable limit);
+
+    // 추정 전체 건수용: limit 건까지만 읽음
+    @Query("SELECT l.logNo FROM LogBoard l WHERE l.actionDate BETWEEN :start AND :end " +
+            "AND (:boardNm = '' OR l.boardNm = :boardNm) " +
+            "AND (:action = '' OR l.action = :action)")
+    List<Long> findActivityLogNos(@Param("boardNm") String boardNm,
+                                  @Param("action") String action,
+                                  @Param("start") LocalDateTime start,
+                                  @Param("end") LocalDateTime end,
+                                  Pageable limit);
     Page<LogBoard> findByActionDateBetween(LocalDateTime start, LocalDateTime end, Pageable pageable);
     Page<LogBoard> findByBoardNm(String boardNm, Pageable pageable);
     Page<LogBoard> findByAction(String action, Pageable pageable);
@@ -33,6 +115,20 @@ public interface LogBoardRepository extends JpaRepository<LogBoard, Long> {
     // 기본 카운트 메서드 (유지)
     long countByActionDateAfter(LocalDateTime date);
 
+    // 기간 내 고유 활동 사용자 수 (활동 스케치 정확도 비교용)
+    @Query("SELECT COUNT(DISTINCT l.createdBy) FROM LogBoard l WHERE l.actionDate >= :since")
+    long countDistinctUsersSince(@Param("since") LocalDateTime since);
+
+    // 활동 집계(activity_rollup) 재계산용: 시간 단위 (날짜, 시, 프로젝트, 게시판, 액션, 사용자) 집계
+    @Query("SELECT FUNCTION('DATE', l.actionDate), FUNCTION('HOUR', l.actionDate), l.project.id, l.boardNm, l.action, l.cName, COUNT(l) " +
+            "FROM LogBoard l " +
+            "WHERE l.actionDate >= :from AND l.actionDate < :to " +
+            "GROUP BY FUNCTION('DATE', l.actionDate), FUNCTION('HOUR', l.actionDate), l.project.id, l.boardNm, l.action, l.cName")
+    List<Object[]> aggregateHourly(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT MIN(l.actionDate) FROM LogBoard l")
+    LocalDateTime findMinActionDate();
+
     // TOP 6 통계를 위한 메서드
 
     // 1. 시간대별 활동량 통계 (추가)
@@ -118,4 +214,12 @@ public interface LogBoardRepository extends JpaRepository<LogBoard, Long> {
 
     @Query("SELECT CAST(DATE(lb.actionDate) AS date), lb.action, COUNT(lb) FROM LogBoard lb WHERE lb.actionDate BETWEEN :startDateTime AND :endDateTime GROUP BY CAST(DATE(lb.actionDate) AS date), lb.action ORDER BY CAST(DATE(lb.actionDate) AS date)")
     List<Object[]> countDailyActivitiesByActionType(LocalDateTime startDateTime, LocalDateTime endDateTime);
+
+    // 일 x 활동 유형 x 게시판 건수 (ActivityStatsCube 용, [from, to) 구간)
+    @Query("SELECT FUNCTION('DATE', l.actionDate), l.action, l.boardNm, COUNT(l) " +
+            "FROM LogBoard l " +
+            "WHERE l.actionDate >= :from AND l.actionDate < :to " +
+            "GROUP BY FUNCTION('DATE', l.actionDate), l.action, l.boardNm")
+    List<Object[]> countDailyByActionAndBoard(@Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to);
 }
\ No newline at end of file
@@ -1,15 +1,22 @@
 package com.example.demo.repository;
 
+import com.example.demo.domain.dto.DashboardItemDTO;
 import com.example.demo.domain.entity.NoticeBoard;
 import com.example.demo.domain.entity.Project;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface NoticeBoardRepository extends JpaRepository<NoticeBoard, Long> {
+
+    // 검색 색인 재구성용: id 순서로 일정 개수씩 조회 (OFFSET 없음)
+    List<NoticeBoard> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
     // 특정 프로젝트에 속한 게시글 목록 조회
     List<NoticeBoard> findByProject(Project project);
 
@@ -17,4 +24,37 @@ public interface NoticeBoardRepository extends JpaRepository<NoticeBoard, Long>
     Optional<NoticeBoard> findByIdAndProject(Long id, Project project);
     // 페이징 처리를 위한 메서드 추가
     Page<NoticeBoard> findByProject(Project project, Pageable pageable);
+
+    // 프로젝트 홈 미리보기용 최근 게시글 (개수는 Pageable로 제한, 본문 제외)
+    @Query("SELECT new com.example.demo.domain.dto.DashboardItemDTO(n.id, n.title, n.cName, n.createdDate) " +
+            "FROM NoticeBoard n WHERE n.project.id = :projectId " +
+            "ORDER BY n.createdDate DESC, n.id DESC")
+    List<DashboardItemDTO> findLatestItemsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+    // 키셋(커서) 페이징: (createdDate, id) 기준 탐색 - 첫 페이지
+    @Query("SELECT n FROM NoticeBoard n WHERE n.project.id = :projectId " +
+            "ORDER BY n.createdDate DESC, n.id DESC")
+    List<NoticeBoard> findKeysetFirst(@Param("projectId") Long projectId, Pageable limit);
+
+    // 다음 페이지 (기준보다 오래된 게시글, 최신순)
+    @Query("SELECT n FROM NoticeBoard n WHERE n.project.id = :projectId " +
+            "AND (n.createdDate < :createdDate OR (n.createdDate = :createdDate AND n.id < :id)) " +
+            "ORDER BY n.createdDate DESC, n.id DESC")
+    List<NoticeBoard> findKeysetAfter(@Param("projectId") Long projectId,
+                                      @Param("createdDate") LocalDateTime createdDate,
+                                      @Param("id") Long id,
+                                      Pageable limit);
+
+    // 이전 페이지 (기준보다 최신 게시글, 오래된순으로 조회 후 뒤집어서 사용)
+    @Query("SELECT n FROM NoticeBoard n WHERE n.project.id = :projectId " +
+            "AND (n.createdDate > :createdDate OR (n.createdDate = :createdDate AND n.id > :id)) " +
+            "ORDER BY n.createdDate ASC, n.id ASC")
+    List<NoticeBoard> findKeysetBefore(@Param("projectId") Long projectId,
+                                       @Param("createdDate") LocalDateTime createdDate,
+                                       @Param("id") Long id,
+                                       Pageable limit);
+
+    // 커서 페이징의 추정 전체 건수용: limit 건까지만 id를 읽는다
+    @Query("SELECT n.id FROM NoticeBoard n WHERE n.project.id = :projectId")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Pageable limit);
 }
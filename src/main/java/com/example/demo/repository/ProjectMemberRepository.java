@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +18,10 @@ public interface ProjectMemberRepository extends JpaRepository<ProjectMember, Pr
     boolean existsByProjectAndUser(Project project, User user);
     Optional<ProjectMember> findByProjectIdAndUserId(Long projectId, Long userId);
 
+    // 주어진 이메일 중 이미 프로젝트 팀원인 이메일 (소문자)
+    @Query("SELECT LOWER(u.email) FROM ProjectMember pm JOIN pm.user u WHERE pm.project.id = :projectId AND LOWER(u.email) IN :emails")
+    List<String> findMemberEmails(@Param("projectId") Long projectId, @Param("emails") Collection<String> emails);
+
     // 추가 메서드 - 프로젝트별 멤버 수 카운트
     @Query("SELECT COUNT(pm) FROM ProjectMember pm WHERE pm.project.id = :projectId")
     long countByProjectId(@Param("projectId") Long projectId);
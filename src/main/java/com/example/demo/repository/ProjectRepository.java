@@ -22,6 +22,29 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     Optional<Project> findById(Long id);
     List<Project> findByCreator(User creator);
 
+    // 접근 권한 판정용 존재 여부 조회 (생성자이거나 프로젝트 멤버인 경우)
+    @Query("SELECT CASE WHEN COUNT(p) > 0 THEN true ELSE false END FROM Project p " +
+            "LEFT JOIN p.creator c " +
+            "WHERE p.id = :projectId " +
+            "AND (c.id = :userId OR EXISTS (SELECT pm FROM ProjectMember pm " +
+            "WHERE pm.project.id = :projectId AND pm.user.id = :userId))")
+    boolean existsAccessByProjectIdAndUserId(@Param("projectId") Long projectId, @Param("userId") Long userId);
+
+    // 검색 범위용: 생성자이거나 멤버인 프로젝트 id
+    @Query("SELECT p.id FROM Project p " +
+            "LEFT JOIN p.creator c " +
+            "WHERE c.id = :userId OR EXISTS (SELECT pm FROM ProjectMember pm " +
+            "WHERE pm.project.id = p.id AND pm.user.id = :userId)")
+    List<Long> findAccessibleProjectIds(@Param("userId") Long userId);
+
+    // 채팅방 목록용: 생성자이거나 멤버인 프로젝트 (id, projectName)
+    @Query("SELECT p.id, p.projectName FROM Project p " +
+            "LEFT JOIN p.creator c " +
+            "WHERE c.id = :userId OR EXISTS (SELECT pm FROM ProjectMember pm " +
+            "WHERE pm.project.id = p.id AND pm.user.id = :userId) " +
+            "ORDER BY p.id")
+    List<Object[]> findAccessibleProjectNames(@Param("userId") Long userId);
+
     // 추가 메서드 - 상태별 프로젝트 조회
     Page<Project> findByStatus(ProjectStatus status, Pageable pageable);
 
@@ -0,0 +1,25 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.entity.SignupToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SignupTokenRepository extends JpaRepository<SignupToken, String> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SignupToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SignupToken t WHERE t.token = :token")
+    int deleteByToken(@Param("token") String token);
+}
@@ -18,6 +18,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // 기존 메서드
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    // 이메일로 사용자 ID만 조회 (엔티티 로딩 없이)
+    @Query("SELECT u.id FROM User u WHERE u.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
     List<User> findByEmailContainingIgnoreCaseOrNameContainingIgnoreCase(String email, String name);
 
     // 추가 메서드 - 최근 가입자 조회
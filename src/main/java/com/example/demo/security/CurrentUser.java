@@ -0,0 +1,99 @@
+package com.example.demo.security;
+
+import com.example.demo.domain.dto.UserSnapshot;
+import com.example.demo.domain.entity.User;
+import com.example.demo.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 현재 로그인 사용자 조회기.
+ * principal(폼 로그인 / Google / Naver / Kakao)에서 이메일을 꺼내고, 사용자 조회는 요청당 1회만 수행한다.
+ * 요청 범위 밖(스케줄러 등)에서 호출되면 캐시 없이 매번 조회한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUser {
+
+    private static final String USER_ATTRIBUTE = CurrentUser.class.getName() + ".USER";
+
+    private final UserRepository userRepository;
+
+    // principal 종류별 이메일 추출
+    @SuppressWarnings("unchecked")
+    public static String extractEmail(Object principal) {
+        if (principal instanceof OAuth2User) {
+            OAuth2User oauth2User = (OAuth2User) principal;
+            if (oauth2User.getAttribute("email") != null) { // Google
+                return oauth2User.getAttribute("email");
+            } else if (oauth2User.getAttribute("response") != null) { // Naver
+                Map<String, Object> response = (Map<String, Object>) oauth2User.getAttribute("response");
+                return (String) response.get("email");
+            } else if (oauth2User.getAttribute("kakao_account") != null) { // Kakao
+                Map<String, Object> kakaoAccount = (Map<String, Object>) oauth2User.getAttribute("kakao_account");
+                return (String) kakaoAccount.get("email");
+            }
+            return null;
+        }
+        if (principal instanceof UserDetails) {
+            // 일반 로그인 (email을 username으로 사용)
+            return ((UserDetails) principal).getUsername();
+        }
+        return null;
+    }
+
+    // 현재 인증된 사용자의 이메일 (DB 조회 없음)
+    public Optional<String> getEmail() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null
+                || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return Optional.empty();
+        }
+        String email = extractEmail(authentication.getPrincipal());
+        return Optional.ofNullable(email != null ? email : authentication.getName());
+    }
+
+    // 현재 사용자 엔티티 (요청당 1회 조회)
+    @SuppressWarnings("unchecked")
+    public Optional<User> getUser() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            Object cached = attributes.getAttribute(USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (cached != null) {
+                return (Optional<User>) cached;
+            }
+        }
+
+        Optional<User> user = getEmail().flatMap(userRepository::findByEmail);
+        if (attributes != null) {
+            // 조회 결과가 없는 경우도 저장하여 같은 요청 안에서 재조회하지 않음
+            attributes.setAttribute(USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+
+    public User requireUser() {
+        return getUser().orElseThrow(() ->
+                new IllegalArgumentException("사용자를 찾을 수 없습니다: " + getEmail().orElse("anonymous")));
+    }
+
+    public Optional<UserSnapshot> getSnapshot() {
+        return getUser().map(UserSnapshot::from);
+    }
+
+    // 화면 표시용 사용자 이름
+    public String getDisplayName() {
+        return getUser().map(User::getName).orElse("Unknown User");
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.demo.security;
+
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authorization: Bearer 토큰으로 인증 (세션 없음).
+ * principal 은 폼 로그인과 같은 UserDetails(username = 이메일) 이므로 CurrentUser, ProjectSecurity 가 그대로 동작한다.
+ * 빈으로 등록하지 않는다 (서블릿 필터로 자동 등록되어 모든 요청에 두 번 돌지 않도록). SecurityConfig 에서 API 체인에만 넣는다.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final JwtTokenProvider jwtTokenProvider;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        JwtTokenProvider.VerifiedToken token;
+        try {
+            token = jwtTokenProvider.verifyAccessToken(header.substring(BEARER.length()).trim());
+        } catch (JwtException e) {
+            log.debug("JWT 검증 실패: {}", e.getMessage());
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "유효하지 않은 토큰입니다.");
+            return;
+        }
+
+        List<SimpleGrantedAuthority> authorities = token.role() == null
+                ? List.of()
+                : List.of(new SimpleGrantedAuthority("ROLE_" + token.role()));
+        UserDetails principal = User.withUsername(token.subject())
+                .password("")
+                .authorities(authorities)
+                .build();
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, authorities));
+        SecurityContextHolder.setContext(context);
+        chain.doFilter(request, response);
+    }
+}
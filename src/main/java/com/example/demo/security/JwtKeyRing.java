@@ -0,0 +1,117 @@
+package com.example.demo.security;
+
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JWT 서명 키 묶음 (kid -> HS256 키). 모든 서버가 같은 키를 쓰므로 어느 서버가 발급한 토큰이든 검증된다.
+ * - jwt.keystore.path 가 있으면 키스토어(PKCS12)의 비밀 키 항목을 별칭(alias)을 kid 로 읽는다.
+ * - 없으면 jwt.keys (kid:Base64키, 쉼표 구분) 를 읽는다.
+ * - 둘 다 없으면 임시 키를 만든다 (재시작하면 기존 토큰이 무효, 단일 서버 개발용).
+ * 교체: 새 키를 추가하고 jwt.active-kid 를 바꾼 뒤, 이전 키는 refresh 토큰 수명이 지나면 뺀다.
+ */
+@Component
+@Slf4j
+public class JwtKeyRing {
+
+    private final Map<String, SecretKey> keys;
+    private final String activeKid;
+
+    public JwtKeyRing(@Value("${jwt.keys:}") String configuredKeys,
+                      @Value("${jwt.active-kid:}") String activeKid,
+                      @Value("${jwt.keystore.path:}") String keystorePath,
+                      @Value("${jwt.keystore.password:}") String keystorePassword,
+                      @Value("${jwt.keystore.type:PKCS12}") String keystoreType) {
+        Map<String, SecretKey> loaded = !keystorePath.isBlank()
+                ? loadKeystore(Path.of(keystorePath), keystorePassword.toCharArray(), keystoreType)
+                : parseKeys(configuredKeys);
+        if (loaded.isEmpty()) {
+            byte[] secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+            String kid = "ephemeral-" + Long.toHexString(new SecureRandom().nextLong());
+            loaded.put(kid, Keys.hmacShaKeyFor(secret));
+            log.warn("JWT 서명 키가 설정되지 않아 임시 키를 사용합니다. 재시작하면 발급한 토큰이 무효가 되고 다른 서버에서 검증할 수 없습니다.");
+            activeKid = kid;
+        }
+        if (activeKid.isBlank()) {
+            if (loaded.size() > 1) {
+                throw new IllegalStateException("JWT 키가 여러 개이면 jwt.active-kid 를 지정해야 합니다.");
+            }
+            activeKid = loaded.keySet().iterator().next();
+        }
+        if (!loaded.containsKey(activeKid)) {
+            throw new IllegalStateException("jwt.active-kid 에 해당하는 키가 없습니다: " + activeKid);
+        }
+        this.keys = Collections.unmodifiableMap(loaded);
+        this.activeKid = activeKid;
+        log.info("JWT 서명 키 {}개, 서명 kid={}", keys.size(), activeKid);
+    }
+
+    /** 새 토큰에 서명할 키의 kid */
+    public String getActiveKid() {
+        return activeKid;
+    }
+
+    public SecretKey getActiveKey() {
+        return keys.get(activeKid);
+    }
+
+    /** 검증용 키 (모르는 kid 면 null) */
+    public SecretKey find(String kid) {
+        return kid == null ? null : keys.get(kid);
+    }
+
+    // "kid:Base64, kid:Base64"
+    static Map<String, SecretKey> parseKeys(String configured) {
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        if (configured == null || configured.isBlank()) {
+            return keys;
+        }
+        for (String entry : configured.split(",")) {
+            entry = entry.trim();
+            int colon = entry.indexOf(':');
+            if (colon <= 0) {
+                throw new IllegalStateException("jwt.keys 형식은 kid:Base64키 입니다.");
+            }
+            // 256비트 미만이면 WeakKeyException
+            keys.put(entry.substring(0, colon).trim(), Keys.hmacShaKeyFor(Base64.getDecoder().decode(entry.substring(colon + 1).trim())));
+        }
+        return keys;
+    }
+
+    private static Map<String, SecretKey> loadKeystore(Path path, char[] password, String type) {
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        try (InputStream in = Files.newInputStream(path)) {
+            KeyStore keyStore = KeyStore.getInstance(type);
+            keyStore.load(in, password);
+            Enumeration<String> aliases = keyStore.aliases();
+            while (aliases.hasMoreElements()) {
+                String alias = aliases.nextElement();
+                Key key = keyStore.isKeyEntry(alias) ? keyStore.getKey(alias, password) : null;
+                if (key instanceof SecretKey) {
+                    keys.put(alias, Keys.hmacShaKeyFor(key.getEncoded()));
+                }
+            }
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("JWT 키스토어를 읽을 수 없습니다: " + path, e);
+        }
+        return keys;
+    }
+}
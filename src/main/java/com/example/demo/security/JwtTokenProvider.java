@@ -1,33 +1,158 @@
 package com.example.demo.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * API 인증용 JWT 발급 / 검증 (HS256, 헤더의 kid 로 JwtKeyRing 에서 검증 키를 고른다).
+ * - access 토큰: 짧게 (기본 15분) 유효, 요청마다 검증. 검증 결과는 토큰 문자열 기준으로 만료 전까지 캐시한다 (jwt.cache-size=0 이면 끔).
+ * - refresh 토큰: 길게 (기본 14일) 유효, /api/auth/refresh 에서만 받는다.
+ */
 @Component
 public class JwtTokenProvider {
-    private final Key key;
-    private final long validityInMilliseconds = 3600000; // 1시간
 
-    public JwtTokenProvider() {
-        this.key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+    static final String TYPE_CLAIM = "token_type";
+    static final String ROLE_CLAIM = "role";
+    static final String ACCESS = "access";
+    static final String REFRESH = "refresh";
+
+    private final JwtKeyRing keyRing;
+    private final JwtParser parser;
+    private final long accessTtlMillis;
+    private final long refreshTtlMillis;
+    private final int cacheSize;
+
+    // 검증을 통과한 access 토큰 -> 내용
+    private final Map<String, VerifiedToken> verified = new ConcurrentHashMap<>();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /** 검증된 access 토큰 (subject 는 이메일) */
+    public record VerifiedToken(String subject, String role, long expiresAtMillis) {
     }
 
-    public String createToken(String email) {
-        Claims claims = Jwts.claims().setSubject(email);
-        Date now = new Date();
-        Date validity = new Date(now.getTime() + validityInMilliseconds);
+    public JwtTokenProvider(JwtKeyRing keyRing,
+                            @Value("${jwt.access-ttl-seconds:900}") long accessTtlSeconds,
+                            @Value("${jwt.refresh-ttl-seconds:1209600}") long refreshTtlSeconds,
+                            @Value("${jwt.cache-size:10000}") int cacheSize) {
+        this.keyRing = keyRing;
+        this.accessTtlMillis = accessTtlSeconds * 1000;
+        this.refreshTtlMillis = refreshTtlSeconds * 1000;
+        this.cacheSize = cacheSize;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = keyRing.find(header.getKeyId());
+                        if (key == null) {
+                            throw new JwtException("알 수 없는 서명 키입니다: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .setAllowedClockSkewSeconds(30)
+                .build();
+    }
+
+    public String createAccessToken(String email, String role) {
+        return create(email, role, ACCESS, accessTtlMillis);
+    }
+
+    public String createRefreshToken(String email) {
+        return create(email, null, REFRESH, refreshTtlMillis);
+    }
+
+    public long getAccessTtlSeconds() {
+        return accessTtlMillis / 1000;
+    }
 
-        return Jwts.builder()
-                .setClaims(claims)
+    /**
+     * access 토큰 검증 (서명, 만료, 종류). 실패하면 JwtException
+     */
+    public VerifiedToken verifyAccessToken(String token) {
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verified.get(token);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > now) {
+                cacheHits.increment();
+                return cached;
+            }
+            verified.remove(token);
+        }
+        cacheMisses.increment();
+
+        Claims claims = parse(token, ACCESS);
+        VerifiedToken result = new VerifiedToken(claims.getSubject(), claims.get(ROLE_CLAIM, String.class),
+                claims.getExpiration().getTime());
+        if (cacheSize > 0) {
+            if (verified.size() >= cacheSize) {
+                // 상한 도달 시 전체 비우기 (다시 검증하면 복구됨)
+                verified.clear();
+            }
+            verified.put(token, result);
+        }
+        return result;
+    }
+
+    /**
+     * refresh 토큰 검증 후 subject(이메일). 실패하면 JwtException
+     */
+    public String verifyRefreshToken(String token) {
+        return parse(token, REFRESH).getSubject();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("activeKid", keyRing.getActiveKid());
+        stats.put("cacheSize", verified.size());
+        stats.put("cacheHits", cacheHits.sum());
+        stats.put("cacheMisses", cacheMisses.sum());
+        stats.put("rejected", rejected.sum());
+        return stats;
+    }
+
+    // ===== 내부 =====
+
+    private String create(String email, String role, String type, long ttlMillis) {
+        Date now = new Date();
+        JwtBuilder builder = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyRing.getActiveKid())
+                .setSubject(email)
+                .claim(TYPE_CLAIM, type)
                 .setIssuedAt(now)
-                .setExpiration(validity)
-                .signWith(key)
-                .compact();
+                .setExpiration(new Date(now.getTime() + ttlMillis));
+        if (role != null) {
+            builder.claim(ROLE_CLAIM, role);
+        }
+        return builder.signWith(keyRing.getActiveKey(), SignatureAlgorithm.HS256).compact();
+    }
+
+    private Claims parse(String token, String expectedType) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (!expectedType.equals(claims.get(TYPE_CLAIM, String.class)) || claims.getSubject() == null) {
+                throw new JwtException("토큰 종류가 올바르지 않습니다.");
+            }
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            rejected.increment();
+            throw e instanceof JwtException jwtException ? jwtException : new JwtException(e.getMessage(), e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -2,9 +2,11 @@ package com.example.demo.service;
 
 import com.example.demo.domain.dto.LoginRequest;
 import com.example.demo.domain.dto.LoginResponse;
+import com.example.demo.domain.dto.TokenRefreshRequest;
 import com.example.demo.domain.entity.User;
 import com.example.demo.repository.UserRepository;
 import com.example.demo.security.JwtTokenProvider;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -16,7 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final JwtTokenProvider jwtTokenProvider;  // 추가
+    private final JwtTokenProvider jwtTokenProvider;
 
     @Transactional
     public LoginResponse login(LoginRequest request) {
@@ -27,10 +29,34 @@ public class AuthService {
             throw new IllegalArgumentException("비밀번호가 일치하지 않습니다.");
         }
 
-        String token = jwtTokenProvider.createToken(user.getEmail());  // 토큰 생성
+        return issueTokens(user);
+    }
+
+    /**
+     * refresh 토큰으로 새 access / refresh 토큰 발급. 그 사이 탈퇴한 사용자는 거부한다
+     */
+    @Transactional(readOnly = true)
+    public LoginResponse refresh(TokenRefreshRequest request) {
+        if (request.getRefreshToken() == null || request.getRefreshToken().isBlank()) {
+            throw new IllegalArgumentException("refresh 토큰이 필요합니다.");
+        }
+        String email;
+        try {
+            email = jwtTokenProvider.verifyRefreshToken(request.getRefreshToken());
+        } catch (JwtException e) {
+            throw new IllegalArgumentException("유효하지 않은 refresh 토큰입니다.");
+        }
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new IllegalArgumentException("이메일이 존재하지 않습니다."));
+        return issueTokens(user);
+    }
 
+    private LoginResponse issueTokens(User user) {
+        String role = user.getRole() != null ? user.getRole().name() : null;
         return LoginResponse.builder()
-                .token(token)
+                .token(jwtTokenProvider.createAccessToken(user.getEmail(), role))
+                .refreshToken(jwtTokenProvider.createRefreshToken(user.getEmail()))
+                .expiresIn(jwtTokenProvider.getAccessTtlSeconds())
                 .email(user.getEmail())
                 .name(user.getName())
                 .build();
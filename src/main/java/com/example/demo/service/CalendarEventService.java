@@ -7,11 +7,10 @@ import com.example.demo.domain.entity.User;
 import com.example.demo.repository.CalendarEventRepository;
 import com.example.demo.repository.ProjectRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.security.CurrentUser;
+import com.example.demo.service.search.SearchIndexService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,7 +24,9 @@ public class CalendarEventService {
     private final CalendarEventRepository calendarEventRepository;
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
+    private final CurrentUser currentUser;
     private final LogBoardService logBoardService;
+    private final SearchIndexService searchIndexService;
 
     @PreAuthorize("@projectSecurity.hasAccessToProject(#projectId, principal)")
     public List<CalendarEventDTO> getEventsByDateRange(Long projectId, LocalDateTime start, LocalDateTime end) {
@@ -47,20 +48,10 @@ public class CalendarEventService {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new IllegalArgumentException("Project not found"));
 
-        // OAuth2 사용자 정보 가져오기
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String userEmail;
-
-        if (auth.getPrincipal() instanceof OAuth2User) {
-            OAuth2User oauth2User = (OAuth2User) auth.getPrincipal();
-            userEmail = oauth2User.getAttribute("email");
-        } else {
-            userEmail = auth.getName();
-        }
-
-        // 이메일로 사용자 찾기
-        User user = userRepository.findByEmail(userEmail)
+        // 현재 로그인 사용자 (OAuth2 / 일반 로그인 공통)
+        User user = currentUser.getUser()
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        String userEmail = user.getEmail();
 
         CalendarEvent event = new CalendarEvent(
                 project,
@@ -87,6 +78,8 @@ public class CalendarEventService {
                 savedEvent.getCName()
         );
 
+        searchIndexService.index(savedEvent);
+
         return CalendarEventDTO.fromEntity(savedEvent);
     }
 
@@ -118,6 +111,8 @@ public class CalendarEventService {
                 updatedEvent.getCName()
         );
 
+        searchIndexService.index(updatedEvent);
+
         return CalendarEventDTO.fromEntity(updatedEvent);
     }
 
@@ -130,5 +125,6 @@ public class CalendarEventService {
                 .orElseThrow(() -> new IllegalArgumentException("Event not found"));
 
         calendarEventRepository.delete(event);
+        searchIndexService.remove(SearchIndexService.TYPE_CALENDAR, eventId);
     }
 }
\ No newline at end of file
@@ -1,104 +1,127 @@
 package com.example.demo.service;
 
+import com.example.demo.domain.dto.CursorPage;
 import com.example.demo.model.ChatMessage;
-import com.google.firebase.database.*;
+import com.example.demo.service.chat.ChatRecentCache;
+import com.example.demo.service.chat.ChatStore;
+import com.example.demo.service.chat.ChatSubscription;
+import com.example.demo.service.chat.ChatWriteCoalescer;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 @Service
+@Slf4j
 public class ChatService {
 
-    private final FirebaseDatabase firebaseDatabase;
-
-    public ChatService(FirebaseDatabase firebaseDatabase) {
-        this.firebaseDatabase = firebaseDatabase;
+    // 저장소 구현은 chat.store 설정으로 선택 (firebase / embedded)
+    private final ChatStore chatStore;
+    // 방별 최근 메시지 캐시 (범위 안의 조회는 저장소를 거치지 않음)
+    private final ChatRecentCache recentCache;
+    // 짧은 시간 안에 들어온 전송을 모아 한 번에 기록
+    private final ChatWriteCoalescer writeCoalescer;
+
+    public ChatService(ChatStore chatStore, ChatRecentCache recentCache, ChatWriteCoalescer writeCoalescer) {
+        this.chatStore = chatStore;
+        this.recentCache = recentCache;
+        this.writeCoalescer = writeCoalescer;
     }
 
-    // 메시지 전송
+    // 메시지 전송 (timestamp 와 방 안의 순번 seq 는 서버가 정함)
     public CompletableFuture<String> sendMessage(ChatMessage message) {
-        DatabaseReference chatRef = firebaseDatabase.getReference("chats/" + message.getRoomId());
-        DatabaseReference newMessageRef = chatRef.push();
-
-        CompletableFuture<String> future = new CompletableFuture<>();
+        return writeCoalescer.submit(message).thenApply(messageId -> {
+            recentCache.onMessage(message);
+            return messageId;
+        });
+    }
 
-        newMessageRef.setValueAsync(message).addListener(() -> {
-            message.setMessageId(newMessageRef.getKey());
-            future.complete(newMessageRef.getKey());
-        }, Runnable::run);
+    // 채팅방의 메시지 가져오기 (최근 limit 개)
+    public CompletableFuture<List<ChatMessage>> getMessages(String roomId, int limit) {
+        return recentCache.findLatest(roomId, limit);
+    }
 
-        return future;
+    // 특정 메시지 이전 limit 개 (위로 스크롤)
+    public CompletableFuture<List<ChatMessage>> getMessagesBefore(String roomId, String beforeMessageId, int limit) {
+        return recentCache.findBefore(roomId, beforeMessageId, limit);
     }
 
-    // 채팅방의 메시지 가져오기
-    public CompletableFuture<List<ChatMessage>> getMessages(String roomId, int limit) {
-        DatabaseReference chatRef = firebaseDatabase.getReference("chats/" + roomId);
-        Query query = chatRef.orderByChild("timestamp").limitToLast(limit);
-
-        CompletableFuture<List<ChatMessage>> future = new CompletableFuture<>();
-
-        query.addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(DataSnapshot dataSnapshot) {
-                List<ChatMessage> messages = new ArrayList<>();
-                for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                    ChatMessage message = snapshot.getValue(ChatMessage.class);
-                    if (message != null) {
-                        message.setMessageId(snapshot.getKey());
-                        messages.add(message);
-                    }
-                }
-                future.complete(messages);
-            }
+    // 특정 메시지 이후 limit 개 (놓친 메시지 따라잡기)
+    public CompletableFuture<List<ChatMessage>> getMessagesAfter(String roomId, String afterMessageId, int limit) {
+        return recentCache.findAfter(roomId, afterMessageId, limit);
+    }
 
-            @Override
-            public void onCancelled(DatabaseError databaseError) {
-                future.completeExceptionally(databaseError.toException());
-            }
+    /**
+     * 이력 페이지 (오래된 순). before 가 없으면 최근 limit 개, 있으면 그 메시지 직전 limit 개.
+     * limit + 1 개를 읽어 더 오래된 메시지가 남아 있으면 nextCursor 에 이 페이지 첫 messageId 를 담는다.
+     */
+    public CompletableFuture<CursorPage<ChatMessage>> getHistoryPage(String roomId, String beforeMessageId, int limit) {
+        CompletableFuture<List<ChatMessage>> rows = beforeMessageId == null
+                ? recentCache.findLatest(roomId, limit + 1)
+                : recentCache.findBefore(roomId, beforeMessageId, limit + 1);
+        return rows.thenApply(messages -> {
+            boolean hasMore = messages.size() > limit;
+            List<ChatMessage> content = hasMore ? messages.subList(messages.size() - limit, messages.size()) : messages;
+            return CursorPage.<ChatMessage>builder()
+                    .content(content)
+                    .size(limit)
+                    .nextCursor(hasMore ? content.get(0).getMessageId() : null)
+                    .prevCursor(beforeMessageId)
+                    .build();
         });
+    }
 
-        return future;
+    // 방의 마지막 seq (안 읽은 수 계산용)
+    public CompletableFuture<Long> getLatestSeq(String roomId) {
+        return chatStore.latestSeq(roomId);
     }
 
-    // 실시간 메시지 리스너 등록
-    public void subscribeToMessages(String roomId, Consumer<ChatMessage> onMessageReceived) {
-        DatabaseReference chatRef = firebaseDatabase.getReference("chats/" + roomId);
-
-        chatRef.addChildEventListener(new ChildEventListener() {
-            @Override
-            public void onChildAdded(DataSnapshot snapshot, String previousChildName) {
-                ChatMessage message = snapshot.getValue(ChatMessage.class);
-                if (message != null) {
-                    message.setMessageId(snapshot.getKey());
-                    onMessageReceived.accept(message);
-                }
+    /**
+     * 여러 방의 마지막 seq. 최근 메시지 캐시에 올라와 있는 방은 캐시 값을 쓰고, 나머지만 저장소에 동시에 묻는다.
+     * 조회에 실패한 방은 0 (목록 전체가 실패하지 않도록).
+     */
+    public CompletableFuture<Map<String, Long>> getLatestSeqs(Collection<String> roomIds) {
+        Map<String, Long> result = new HashMap<>();
+        Map<String, CompletableFuture<Long>> pending = new HashMap<>();
+        for (String roomId : roomIds) {
+            Long cached = recentCache.latestSeq(roomId);
+            if (cached != null) {
+                result.put(roomId, cached);
+            } else {
+                pending.put(roomId, chatStore.latestSeq(roomId).exceptionally(e -> {
+                    log.warn("채팅방 {} 최신 순번 조회 실패: {}", roomId, e.getMessage());
+                    return 0L;
+                }));
             }
+        }
+        return CompletableFuture.allOf(pending.values().toArray(new CompletableFuture[0])).thenApply(done -> {
+            pending.forEach((roomId, seq) -> result.put(roomId, seq.join()));
+            return result;
+        });
+    }
 
-            @Override
-            public void onChildChanged(DataSnapshot snapshot, String previousChildName) {
-                // 필요한 경우 구현
-            }
+    // 실시간 메시지 리스너 등록 (반환된 구독을 닫으면 해제)
+    public ChatSubscription subscribeToMessages(String roomId, Consumer<ChatMessage> onMessageReceived) {
+        return chatStore.subscribe(roomId, onMessageReceived);
+    }
 
-            @Override
-            public void onChildRemoved(DataSnapshot snapshot) {
-                // 필요한 경우 구현
-            }
+    public String getStoreName() {
+        return chatStore.getName();
+    }
 
-            @Override
-            public void onChildMoved(DataSnapshot snapshot, String previousChildName) {
-                // 필요한 경우 구현
-            }
+    public Map<String, Object> getCacheStats() {
+        return recentCache.getStats();
+    }
 
-            @Override
-            public void onCancelled(DatabaseError error) {
-                // 에러 처리
-            }
-        });
+    public Map<String, Object> getWriteStats() {
+        return writeCoalescer.getStats();
     }
 
     @Autowired
@@ -1,53 +1,121 @@
 package com.example.demo.service;
 
+import com.example.demo.domain.entity.EmailOutbox;
 import com.example.demo.domain.entity.Invitation;
 import com.example.demo.domain.entity.Project;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 메일 본문 작성과 SMTP 발송. 요청 처리 중에는 본문만 만들어 outbox 에 넣고,
+ * 실제 발송은 EmailOutboxService 가 여러 통을 묶어 한 번의 SMTP 연결로 보낸다.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class EmailService {
     private final JavaMailSender mailSender;
 
     // 보내는 사람 이메일 (application.properties에 설정)
-    @Value("${spring.mail.username}")
-    private String fromEmail;
+    private final String fromEmail;
+
+    // 초대 수락 링크의 주소
+    private final String baseUrl;
+
+    /** 발송할 메일 제목과 HTML 본문 */
+    public record MailContent(String subject, String html) {
+    }
+
+    public EmailService(JavaMailSender mailSender,
+                        @Value("${spring.mail.username}") String fromEmail,
+                        //Local: http://localhost:5000
+                        @Value("${app.base-url:http://alb-demo-public-1294612864.ap-northeast-2.elb.amazonaws.com}") String baseUrl) {
+        this.mailSender = mailSender;
+        this.fromEmail = fromEmail;
+        this.baseUrl = baseUrl;
+    }
+
+    /** 초대 메일 틀. 프로젝트마다 한 번 만들고 초대 토큰만 끼워 넣는다 */
+    public record InvitationTemplate(String subject, String htmlBeforeToken, String htmlAfterToken) {
+
+        public MailContent render(String token) {
+            return new MailContent(subject, htmlBeforeToken + token + htmlAfterToken);
+        }
+    }
+
+    public MailContent renderInvitation(Invitation invitation, Project project) {
+        return invitationTemplate(project).render(invitation.getToken());
+    }
 
-    public void sendInvitationEmail(Invitation invitation, Project project) {
+    public InvitationTemplate invitationTemplate(Project project) {
         String subject = "프로젝트 초대 메일";
-//        String url = "http://goottproject2-env.eba-buwhqs5i.us-east-2.elasticbeanstalk.com/projects/" + project.getId() +
-        //AWS
-        String url = "http://alb-demo-public-1294612864.ap-northeast-2.elb.amazonaws.com/projects/" + project.getId() +
-        //Local
-//        String url = "http://localhost:5000/projects/" + project.getId() +
-                "/management/invitations/accept?token=" + invitation.getToken();
+        String url = baseUrl + "/projects/" + project.getId() +
+                "/management/invitations/accept?token=";
         // HTML 본문에 a 태그를 사용하여 클릭 가능한 링크 생성
-        String text = "<p>안녕하세요!</p>" +
+        String before = "<p>안녕하세요!</p>" +
                 "<p>아래 링크를 클릭하여 초대를 수락하세요:</p>" +
-                "<p><a href=\"" + url + "\">초대 수락하기</a></p>" +
+                "<p><a href=\"" + url;
+        String after = "\">초대 수락하기</a></p>" +
                 "<p>감사합니다.</p>";
+        return new InvitationTemplate(subject, before, after);
+    }
+
+    /**
+     * outbox 메일들을 한 번의 SMTP 연결로 보낸다 (JavaMailSender 는 배열로 받은 메일을 같은 연결로 보냄).
+     * 보내지 못한 메일의 outbox ID 와 원인을 돌려준다 (모두 보냈으면 빈 Map)
+     */
+    public Map<Long, Exception> sendBatch(List<EmailOutbox> mails) {
+        Map<Long, Exception> failures = new LinkedHashMap<>();
+        Map<MimeMessage, Long> ids = new IdentityHashMap<>();
+        List<MimeMessage> messages = new ArrayList<>(mails.size());
+        for (EmailOutbox mail : mails) {
+            try {
+                MimeMessage mimeMessage = mailSender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "utf-8");
+                helper.setFrom(fromEmail);
+                helper.setTo(mail.getRecipient());
+                helper.setSubject(mail.getSubject());
+                helper.setText(mail.getBody(), true); // 두 번째 파라미터 true : HTML 형식 사용
+                ids.put(mimeMessage, mail.getId());
+                messages.add(mimeMessage);
+            } catch (MessagingException e) {
+                // 주소 형식 오류 등: 이 메일만 실패
+                failures.put(mail.getId(), e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return failures;
+        }
 
         try {
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "utf-8");
-            helper.setFrom(fromEmail);
-            helper.setTo(invitation.getEmail());
-            helper.setSubject(subject);
-            helper.setText(text, true); // 두 번째 파라미터 true : HTML 형식 사용
-
-            mailSender.send(mimeMessage);
-        } catch (MessagingException e) {
-            log.error("메일 전송 실패", e);
-            // 필요한 예외 처리 추가
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            // 연결 실패면 모든 메일이, 아니면 거부된 메일만 들어 있다
+            if (e.getFailedMessages().isEmpty()) {
+                ids.values().forEach(id -> failures.put(id, e));
+            }
+            e.getFailedMessages().forEach((message, cause) -> {
+                Long id = ids.get(message);
+                if (id != null) {
+                    failures.put(id, cause);
+                }
+            });
+        } catch (MailException e) {
+            // 인증 실패 등
+            ids.values().forEach(id -> failures.put(id, e));
         }
+        return failures;
     }
-}
\ No newline at end of file
+}
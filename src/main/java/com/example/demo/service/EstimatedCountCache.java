@@ -0,0 +1,53 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.dto.CursorPage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 커서 페이징용 추정 전체 건수 캐시.
+ * COUNT(*) 대신 키(id)를 cap + 1 건까지만 읽어 센다. cap 을 넘으면 "cap 건 이상"으로 표시한다.
+ * 결과는 키별로 TTL 동안 재사용한다.
+ */
+@Component
+public class EstimatedCountCache {
+
+    @Value("${paging.estimated-count.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${paging.estimated-count.max-keys:10000}")
+    private int maxKeys;
+
+    @Value("${paging.estimated-count.cap:1000}")
+    private int cap;
+
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    /**
+     * @param idsUpTo 주어진 limit 건까지만 키를 읽는 조회
+     */
+    public CursorPage.Total estimate(String key, Function<Pageable, List<?>> idsUpTo) {
+        long now = System.currentTimeMillis();
+        CachedCount cached = counts.get(key);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.total();
+        }
+        int read = idsUpTo.apply(PageRequest.of(0, cap + 1)).size();
+        CursorPage.Total total = new CursorPage.Total(Math.min(read, cap), read > cap);
+        if (counts.size() >= maxKeys) {
+            counts.clear();
+        }
+        counts.put(key, new CachedCount(total, now + ttlSeconds * 1000L));
+        return total;
+    }
+
+    private record CachedCount(CursorPage.Total total, long expiresAt) {
+    }
+}
@@ -4,25 +4,23 @@ import com.example.demo.repository.IssueRepository;
 import com.example.demo.domain.entity.Issue;
 import com.example.demo.domain.entity.IssuePostFile;
 import com.example.demo.repository.IssuePostFileRepository;
+import com.example.demo.service.upload.BlobStore;
+import com.example.demo.service.upload.ImageDerivativeService;
+import com.example.demo.service.upload.UploadFiles;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.io.IOException;
 import java.util.List;
-import java.util.UUID;
 
 @Slf4j
 @Service
@@ -31,10 +29,16 @@ public class FileUploadService {
 
     private final IssuePostFileRepository issuePostFileRepository;
     private final IssueRepository issueRepository;
+    private final BlobStore blobStore;
+    private final ImageDerivativeService imageDerivativeService;
 
     @Value("${upload.path:/var/app/current/uploads}")
     private String uploadDir;
 
+    // 스트리밍 업로드 최대 크기 (multipart 업로드와 같은 1GB)
+    @Value("${upload.max-size:1073741824}")
+    private long maxUploadSize;
+
     /**
      * 파일 저장 메서드 (이슈 엔티티와 함께)
      */
@@ -46,9 +50,6 @@ public class FileUploadService {
         // 원본 파일 이름 정리
         String originalFileName = StringUtils.cleanPath(file.getOriginalFilename());
 
-        // 고유한 파일 이름 생성 (UUID 사용)
-        String uniqueFileName = UUID.randomUUID().toString() + "_" + originalFileName;
-
         // 업로드 디렉토리 경로 생성
         Path uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
 
@@ -63,34 +64,94 @@ public class FileUploadService {
             }
         }
 
-
-        // 파일 저장 경로
-        Path targetLocation = uploadPath.resolve(uniqueFileName);
-
+        BlobStore.StoredBlob blob;
+        Path partial = blobStore.newPartialFile();
         try {
-            // 파일 저장
-            Files.copy(file.getInputStream(), targetLocation);
-            log.info("파일 저장 완료: {}", targetLocation);
+            // 임시 위치로 받은 뒤 (컨테이너가 임시 파일로 받아 둔 경우 다시 쓰지 않고 옮긴다) 같은 내용이 있으면 버린다
+            file.transferTo(partial.toFile());
+            blob = blobStore.adopt(partial);
+            log.info("파일 저장 완료: {} (중복: {})", blob.path(), blob.duplicate());
         } catch (IOException e) {
+            Files.deleteIfExists(partial);
             log.error("파일 저장 실패", e);
             throw new IOException("파일을 저장할 수 없습니다.", e);
         }
 
         // DB에 파일 정보 저장
+        try {
+            return registerFile(issue, originalFileName, blob, file.getContentType());
+        } catch (Exception e) {
+            blobStore.release(blob.hash());
+            log.error("파일 정보 DB 저장 실패", e);
+            throw new RuntimeException("파일 정보를 저장할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 요청 본문을 임시 파일로 한 번만 쓰면서 크기와 SHA-256 을 계산 (같은 내용이 이미 있으면 임시 파일을 버리고 기존 blob 을 참조)
+     */
+    public IssuePostFile storeStream(Issue issue, String fileName, String contentType, InputStream in) throws IOException {
+        String originalFileName = cleanFileName(fileName);
+        BlobStore.StoredBlob blob = blobStore.ingest(in, maxUploadSize);
+        log.info("스트리밍 업로드 저장 완료: {} ({} bytes, 중복: {})", blob.path(), blob.size(), blob.duplicate());
+        try {
+            return registerFile(issue, originalFileName, blob, contentType);
+        } catch (RuntimeException e) {
+            blobStore.release(blob.hash());
+            throw e;
+        }
+    }
+
+    /**
+     * 저장소에 등록된 blob 을 이슈 첨부로 등록 (blob 참조는 이미 하나 더해진 상태).
+     * 파일 형식은 클라이언트가 보낸 값 대신 내용과 허용 목록으로 정한다
+     */
+    public IssuePostFile registerFile(Issue issue, String originalFileName, BlobStore.StoredBlob blob, String contentType) {
         IssuePostFile issuePostFile = IssuePostFile.builder()
                 .issue(issue)
                 .fileName(originalFileName)
-                .filePath(targetLocation.toString())
-                .fileType(file.getContentType())
-                .fileSize(file.getSize())
+                .filePath(blob.path().toString())
+                .fileType(storedContentType(contentType, blob.path()))
+                .fileSize(blob.size())
+                .checksum(blob.hash())
+                .blobHash(blob.hash())
                 .build();
+        IssuePostFile saved = issuePostFileRepository.save(issuePostFile);
+        // 이미지면 축소본 생성 예약 (같은 내용은 한 번만)
+        imageDerivativeService.enqueue(saved);
+        return saved;
+    }
 
+    private static String storedContentType(String declared, Path stored) {
         try {
-            return issuePostFileRepository.save(issuePostFile);
-        } catch (Exception e) {
-            log.error("파일 정보 DB 저장 실패", e);
-            throw new RuntimeException("파일 정보를 저장할 수 없습니다.", e);
+            return UploadFiles.contentType(declared, stored);
+        } catch (IOException e) {
+            log.warn("파일 형식 확인 실패, 기본 형식으로 저장: {}", stored, e);
+            return UploadFiles.DEFAULT_CONTENT_TYPE;
+        }
+    }
+
+    /**
+     * 첨부의 실제 파일 위치 (업로드 디렉토리가 바뀐 이전 방식 파일은 현재 업로드 디렉토리에서 같은 이름으로 찾는다)
+     */
+    public Path resolveStoredPath(IssuePostFile issuePostFile) {
+        Path root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Path stored = Paths.get(issuePostFile.getFilePath()).toAbsolutePath().normalize();
+        return stored.startsWith(root) ? stored : root.resolve(stored.getFileName());
+    }
+
+    /**
+     * 경로 구분자를 없앤 원본 파일명
+     */
+    public static String cleanFileName(String fileName) {
+        if (!StringUtils.hasText(fileName)) {
+            throw new IllegalArgumentException("파일명은 필수입니다.");
+        }
+        String cleaned = StringUtils.getFilename(StringUtils.cleanPath(fileName));
+        if (!StringUtils.hasText(cleaned) || cleaned.contains("..")) {
+            throw new IllegalArgumentException("올바르지 않은 파일명입니다: " + fileName);
         }
+        return cleaned;
     }
 
     /**
@@ -113,6 +174,13 @@ public class FileUploadService {
         return issuePostFileRepository.findByIssueId(issueId);
     }
 
+    /**
+     * 프로젝트의 모든 첨부 (이슈 함께 조회)
+     */
+    public List<IssuePostFile> getFilesByProjectId(Long projectId) {
+        return issuePostFileRepository.findByProjectIdWithIssue(projectId);
+    }
+
     /**
      * ID로 파일 정보 조회
      */
@@ -124,43 +192,6 @@ public class FileUploadService {
                 });
     }
 
-    /**
-     * 파일을 리소스로 로드 - 파일명으로만 로드 (기존 메서드)
-     */
-
-    public ResponseEntity<Resource> loadFileAsResource(String fileName) {
-        try {
-            // UUID_originalFileName 형식으로 저장된 파일명 처리
-            Path filePath = Paths.get(uploadDir).resolve(fileName).normalize();
-            log.info("파일 로드 시도: {}", filePath.toString());
-
-            Resource resource = new UrlResource(filePath.toAbsolutePath().toUri());
-
-            if (resource.exists() && resource.isReadable()) {
-                // 올바른 Content-Type 설정
-
-                String contentType = Files.probeContentType(filePath);
-                if (contentType == null) {
-                    contentType = "application/octet-stream";
-                }
-
-
-                log.info("파일 타입: {}", contentType);
-
-                return ResponseEntity.ok()
-                        .contentType(MediaType.parseMediaType(contentType))
-                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + resource.getFilename() + "\"")
-                        .body(resource);
-
-            } else {
-                log.error("❌ 파일이 존재하지 않음: " + filePath.toAbsolutePath());
-                throw new RuntimeException("파일을 찾을 수 없습니다: " + fileName);
-            }
-        } catch (Exception e) {
-            log.error("❌ 파일 다운로드 중 오류 발생", e);
-            throw new RuntimeException("파일을 찾을 수 없습니다: " + fileName, e);
-        }
-    }
     /**
      * 파일 삭제 기능 추가
      */
@@ -171,52 +202,32 @@ public class FileUploadService {
                     return new RuntimeException("파일을 찾을 수 없습니다.");
                 });
 
-        try {
-            Path filePath = Paths.get(issuePostFile.getFilePath()).normalize();
-            Files.deleteIfExists(filePath);
-            log.info("🗑️ 파일 삭제 완료: {}", filePath);
-        } catch (IOException e) {
-            log.error("❌ 파일 삭제 실패: {}", issuePostFile.getFilePath(), e);
-        }
-
+        releaseStoredFile(issuePostFile);
         issuePostFileRepository.delete(issuePostFile);
         log.info("🗑️ DB에서 파일 정보 삭제 완료: {}", fileId);
     }
 
     /**
-     * 파일을 리소스로 로드 - 저장된 파일명과 원본 파일명 구분 (새로운 메서드)
+     * 이슈 삭제 시 첨부 파일 참조 해제 (행은 cascade 로 지워진다)
      */
-    public ResponseEntity<Resource> loadFileAsResource(String savedFileName, String originalFileName) {
+    public void releaseFiles(List<IssuePostFile> files) {
+        if (files != null) {
+            files.forEach(this::releaseStoredFile);
+        }
+    }
+
+    // blob 이면 참조 수만 줄이고 (실제 삭제는 수거기가), 이전 방식 파일이면 바로 지운다
+    private void releaseStoredFile(IssuePostFile issuePostFile) {
+        if (issuePostFile.getBlobHash() != null) {
+            blobStore.release(issuePostFile.getBlobHash());
+            return;
+        }
         try {
-            Path filePath = Paths.get(uploadDir).resolve(savedFileName).normalize();
-            log.info("파일 로드 시도: {}, 원본 파일명: {}", filePath.toString(), originalFileName);
-
-            Resource resource = new UrlResource(filePath.toAbsolutePath().toUri());
-
-            if (resource.exists() && resource.isReadable()) {
-                // 올바른 Content-Type 설정
-                String contentType = Files.probeContentType(filePath);
-                if (contentType == null) {
-                    contentType = "application/octet-stream";  // 기본 값
-                }
-
-                log.info("파일 타입: {}", contentType);
-
-                // 한글 파일명 처리
-                String encodedFileName = new String(originalFileName.getBytes("UTF-8"), "ISO-8859-1");
-
-                return ResponseEntity.ok()
-                        .contentType(MediaType.parseMediaType(contentType))
-                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + encodedFileName + "\"")
-                        .body(resource);
-            } else {
-                log.error("파일을 찾을 수 없거나 읽을 수 없습니다: {}", savedFileName);
-                throw new RuntimeException("파일을 찾을 수 없거나 읽을 수 없습니다: " + savedFileName);
-            }
+            Path filePath = Paths.get(issuePostFile.getFilePath()).normalize();
+            Files.deleteIfExists(filePath);
+            log.info("🗑️ 파일 삭제 완료: {}", filePath);
         } catch (IOException e) {
-            log.error("파일을 로드할 수 없습니다", e);
-            throw new RuntimeException("파일을 로드할 수 없습니다: " + savedFileName, e);
+            log.error("❌ 파일 삭제 실패: {}", issuePostFile.getFilePath(), e);
         }
     }
 }
-
@@ -1,41 +1,227 @@
 package com.example.demo.service;
 
+import com.example.demo.config.ProjectAccessCache;
+import com.example.demo.domain.dto.BulkInvitationResultDTO;
 import com.example.demo.domain.entity.*;
 import com.example.demo.repository.InvitationRepository;
 import com.example.demo.repository.ProjectMemberRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.service.mail.EmailOutboxService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 @Log4j2
 public class InvitationService {
+    private static final String INSERT_PREFIX = "INSERT INTO invitations "
+            + "(board_nm, created_by, modified_by, created_date, modified_date, cname, project_id, email, pending_email, token, status, created_at, expires_at) VALUES ";
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int INSERT_CHUNK = 200;
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s,;]+@[^@\\s,;]+\\.[^@\\s,;]+$");
+
     private final InvitationRepository invitationRepository;
     private final ProjectMemberRepository projectMemberRepository;
     private final UserRepository userRepository;
     private final ProjectService projectService; // 프로젝트 조회 및 검증을 위해 추가
     private final LogBoardService logBoardService; // LogBoard 기록을 위한 서비스
+    private final ProjectAccessCache projectAccessCache; // 접근 권한 캐시 무효화
+    private final EmailService emailService; // 초대 메일 본문 작성
+    private final EmailOutboxService emailOutboxService; // 초대 메일은 커밋 후 따로 발송
+    private final JdbcTemplate jdbcTemplate; // 일괄 초대 다중 행 INSERT
+
+    // 한 번에 초대할 수 있는 최대 이메일 수
+    @Value("${invitation.bulk-max:500}")
+    private int bulkMax;
 
     //초대 생성
+    //초대 메일은 같은 트랜잭션에서 outbox 에 넣고, 커밋 후 작업 스레드가 보낸다
     @Transactional
     public Invitation createInvitation(String email, Project project) {
+        String pendingEmail = email.trim().toLowerCase(Locale.ROOT);
+        invitationRepository.releasePendingEmail(project.getId(), pendingEmail);
         Invitation invitation = new Invitation();
         invitation.setEmail(email);
+        invitation.setPendingEmail(pendingEmail);
         invitation.setProject(project);
         invitation.setToken(UUID.randomUUID().toString());
         invitation.setExpiresAt(LocalDateTime.now().plusDays(3)); // 7일간 유효
         invitation.setStatus(InvitationStatus.PENDING);
 
-        return invitationRepository.save(invitation);
+        Invitation saved = invitationRepository.save(invitation);
+        emailOutboxService.enqueue("INVITATION", email, emailService.renderInvitation(saved, project));
+        return saved;
+    }
+
+    //일괄 초대
+    //이미 팀원이거나 유효한 초대가 있는 이메일은 한 번의 조회로 걸러내고, 나머지는 다중 행 INSERT 로 저장한 뒤
+    //메일 본문 틀을 한 번만 만들어 토큰만 바꿔 outbox 에 함께 넣는다
+    //조회 이후 동시 요청이 먼저 초대한 이메일은 유니크 키 충돌로 걸러 ALREADY_INVITED 로 돌려준다
+    @Transactional
+    public BulkInvitationResultDTO createInvitations(Collection<String> emails, Project project, User inviter) {
+        if (emails.size() > bulkMax) {
+            throw new IllegalArgumentException("한 번에 최대 " + bulkMax + "명까지 초대할 수 있습니다.");
+        }
+        // 입력 순서대로 결과를 돌려주기 위해 요청한 이메일마다 판정
+        List<BulkInvitationResultDTO.EmailResult> results = new ArrayList<>(emails.size());
+        Set<String> candidates = new LinkedHashSet<>();
+        List<String> requested = new ArrayList<>(emails.size());
+        for (String raw : emails) {
+            String email = raw == null ? "" : raw.trim().toLowerCase(Locale.ROOT);
+            requested.add(email);
+            if (EMAIL.matcher(email).matches() && email.length() <= 255) {
+                candidates.add(email);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Set<String> members = new HashSet<>();
+        Set<String> invited = new HashSet<>();
+        if (!candidates.isEmpty()) {
+            members.addAll(projectMemberRepository.findMemberEmails(project.getId(), candidates));
+            invited.addAll(invitationRepository.findInvitedEmails(project.getId(), InvitationStatus.PENDING,
+                    now, candidates));
+        }
+
+        List<String> toInvite = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (String email : requested) {
+            BulkInvitationResultDTO.Outcome outcome;
+            if (!candidates.contains(email)) {
+                outcome = BulkInvitationResultDTO.Outcome.INVALID;
+            } else if (!seen.add(email)) {
+                outcome = BulkInvitationResultDTO.Outcome.DUPLICATE;
+            } else if (members.contains(email)) {
+                outcome = BulkInvitationResultDTO.Outcome.ALREADY_MEMBER;
+            } else if (invited.contains(email)) {
+                outcome = BulkInvitationResultDTO.Outcome.ALREADY_INVITED;
+            } else {
+                outcome = BulkInvitationResultDTO.Outcome.INVITED;
+                toInvite.add(email);
+            }
+            results.add(new BulkInvitationResultDTO.EmailResult(email, outcome));
+        }
+
+        int invitedCount = 0;
+        if (!toInvite.isEmpty()) {
+            invitationRepository.releaseExpiredPendingEmails(project.getId(), toInvite, now);
+            Map<String, String> tokens = insertInvitations(toInvite, project, inviter, now);
+            if (tokens.size() < toInvite.size()) {
+                results.replaceAll(result -> result.getOutcome() == BulkInvitationResultDTO.Outcome.INVITED
+                        && !tokens.containsKey(result.getEmail())
+                        ? new BulkInvitationResultDTO.EmailResult(result.getEmail(), BulkInvitationResultDTO.Outcome.ALREADY_INVITED)
+                        : result);
+            }
+            EmailService.InvitationTemplate template = emailService.invitationTemplate(project);
+            List<EmailService.MailContent> mails = new ArrayList<>(tokens.size());
+            for (String token : tokens.values()) {
+                mails.add(template.render(token));
+            }
+            emailOutboxService.enqueueAll("INVITATION", new ArrayList<>(tokens.keySet()), mails);
+            invitedCount = tokens.size();
+        }
+        log.info("일괄 초대: projectId={}, 요청 {}건, 초대 {}건", project.getId(), emails.size(), invitedCount);
+
+        return BulkInvitationResultDTO.builder()
+                .requested(emails.size())
+                .invited(invitedCount)
+                .results(results)
+                .build();
+    }
+
+    // 초대 행을 INSERT_CHUNK 개씩 다중 행 INSERT 로 저장하고 저장한 이메일 -> 토큰을 순서대로 돌려준다.
+    // 유니크 키가 겹친 묶음은 한 건씩 다시 넣어 겹친 이메일만 뺀다
+    private Map<String, String> insertInvitations(List<String> emails, Project project, User inviter, LocalDateTime now) {
+        Map<String, String> tokens = new LinkedHashMap<>();
+        for (int start = 0; start < emails.size(); start += INSERT_CHUNK) {
+            Map<String, String> chunk = new LinkedHashMap<>();
+            for (String email : emails.subList(start, Math.min(start + INSERT_CHUNK, emails.size()))) {
+                chunk.put(email, UUID.randomUUID().toString());
+            }
+            try {
+                insertRows(chunk, project, inviter, now);
+                tokens.putAll(chunk);
+            } catch (DuplicateKeyException e) {
+                for (Map.Entry<String, String> row : chunk.entrySet()) {
+                    try {
+                        insertRows(Map.of(row.getKey(), row.getValue()), project, inviter, now);
+                        tokens.put(row.getKey(), row.getValue());
+                    } catch (DuplicateKeyException rowError) {
+                        log.info("동시에 초대된 이메일 제외: projectId={}, email={}", project.getId(), row.getKey());
+                    }
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private void insertRows(Map<String, String> rows, Project project, User inviter, LocalDateTime now) {
+        LocalDateTime expiresAt = now.plusDays(3);
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        Object[] args = new Object[rows.size() * 13];
+        int i = 0;
+        for (Map.Entry<String, String> row : rows.entrySet()) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(INSERT_ROW);
+            args[i++] = "invitation";
+            args[i++] = inviter.getEmail();
+            args[i++] = inviter.getEmail();
+            args[i++] = now;
+            args[i++] = now;
+            args[i++] = inviter.getName();
+            args[i++] = project.getId();
+            args[i++] = row.getKey();
+            args[i++] = row.getKey();
+            args[i++] = row.getValue();
+            args[i++] = InvitationStatus.PENDING.name();
+            args[i++] = now;
+            args[i++] = expiresAt;
+        }
+        jdbcTemplate.update(sql.toString(), args);
+    }
+
+    /**
+     * 쉼표, 세미콜론, 줄바꿈으로 구분된 이메일 목록 (CSV 포함). '@' 가 없는 칸(헤더, 이름 열 등)은 건너뛴다
+     */
+    public static List<String> parseEmails(String text) {
+        List<String> emails = new ArrayList<>();
+        if (text == null) {
+            return emails;
+        }
+        for (String cell : text.split("[,;\\r\\n\\t]+")) {
+            String value = cell.trim();
+            // CSV 따옴표
+            if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                value = value.substring(1, value.length() - 1).trim();
+            }
+            if (value.contains("@")) {
+                emails.add(value);
+            }
+        }
+        return emails;
     }
 
     //초대 수락
@@ -62,10 +248,12 @@ public class InvitationService {
             projectMember.setUser(user);
             projectMember.setProjectRole(ProjectRole.Member); // 기본 역할: MEMBER
             projectMemberRepository.save(projectMember);
+            projectAccessCache.evict(invitation.getProject().getId(), user.getId());
         }
 
-        // 초대 상태 업데이트
+        // 초대 상태 업데이트 (같은 이메일을 다시 초대할 수 있도록 유니크 키를 비운다)
         invitation.setStatus(InvitationStatus.ACCEPTED);
+        invitation.setPendingEmail(null);
         Invitation savedInvitation = invitationRepository.save(invitation);
 
         // LogBoard에 기록 남기기
@@ -124,6 +312,7 @@ public class InvitationService {
         // Repository를 통해 삭제 및 flush 처리
         projectMemberRepository.delete(projectMember);
         projectMemberRepository.flush();
+        projectAccessCache.evict(projectId, userId);
         log.info("팀원 엔티티 삭제 요청 완료: projectId={}, userId={}", projectId, userId);
     }
 
@@ -9,6 +9,7 @@ import com.example.demo.repository.IssueCommentRepository;
 import com.example.demo.repository.IssueRepository;
 import com.example.demo.repository.ProjectRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.service.search.SearchIndexService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -28,6 +29,7 @@ public class IssueCommentService {
     private final UserRepository userRepository;
     private final ProjectRepository projectRepository;
     private final LogBoardService logBoardService; // ✅ LogBoardService 의존성 추가
+    private final SearchIndexService searchIndexService; // ✅ 통합 검색 색인
 
     /**
      * 특정 이슈의 모든 댓글(대댓글 포함) 조회
@@ -100,6 +102,7 @@ public class IssueCommentService {
                 issue.getCName()
         );
         IssueComment savedComment = issueCommentRepository.save(comment);
+        searchIndexService.index(savedComment);
         return IssueCommentDTO.fromEntity(savedComment);
     }
 
@@ -138,6 +141,7 @@ public class IssueCommentService {
                 issue.getCName()
         );
         IssueComment savedReply = issueCommentRepository.save(reply);
+        searchIndexService.index(savedReply);
         if (parentComment.getReplies() != null) {
             parentComment.getReplies().add(savedReply);
         }
@@ -152,7 +156,9 @@ public class IssueCommentService {
         IssueComment comment = issueCommentRepository.findById(commentId)
                 .orElseThrow(() -> new RuntimeException("댓글을 찾을 수 없습니다."));
         comment.setContents(newContents);
-        return IssueCommentDTO.fromEntity(issueCommentRepository.save(comment));
+        IssueComment updatedComment = issueCommentRepository.save(comment);
+        searchIndexService.index(updatedComment);
+        return IssueCommentDTO.fromEntity(updatedComment);
     }
 
     /**
@@ -162,6 +168,7 @@ public class IssueCommentService {
     public void deleteComment(Long commentId) {
         IssueComment comment = issueCommentRepository.findById(commentId)
                 .orElseThrow(() -> new RuntimeException("댓글을 찾을 수 없습니다."));
+        searchIndexService.removeComment(comment); // ✅ cascade 삭제되는 답글 포함
         issueCommentRepository.delete(comment);
     }
 }
@@ -1,6 +1,8 @@
 package com.example.demo.service;
 
+import com.example.demo.domain.dto.CursorPage;
 import com.example.demo.domain.dto.IssueDTO;
+import com.example.demo.domain.dto.PageCursor;
 import com.example.demo.domain.entity.Issue;
 import com.example.demo.domain.entity.IssueStatus;
 import com.example.demo.domain.entity.Project;
@@ -8,6 +10,8 @@ import com.example.demo.domain.entity.User;
 import com.example.demo.repository.IssueRepository;
 import com.example.demo.repository.ProjectRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.security.CurrentUser;
+import com.example.demo.service.search.SearchIndexService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,10 +19,6 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.authentication.AnonymousAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -37,6 +37,10 @@ public class IssueService {
     private final ProjectRepository projectRepository;
     private final FileUploadService fileUploadService;
     private final UserRepository userRepository;
+    private final CurrentUser currentUser;
+    private final ProjectDashboardService projectDashboardService; // ✅ 프로젝트 홈 스냅샷 무효화
+    private final EstimatedCountCache estimatedCountCache; // ✅ 커서 페이징 추정 건수
+    private final SearchIndexService searchIndexService; // ✅ 통합 검색 색인
     private final LogBoardService logBoardService; // ✅ LogBoardService 의존성 추가
 
     /**
@@ -96,6 +100,39 @@ public class IssueService {
     }
 
 
+    /**
+     * ✅ 키셋(커서) 방식 이슈 목록 (최신순, keyword 선택)
+     * OFFSET / COUNT(*) 없이 (createdDate, id) 기준으로 탐색하므로 깊은 페이지도 첫 페이지와 비용이 같음
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<IssueDTO> getIssuesByCursor(Long projectId, String keyword, String cursorToken, int size, boolean withTotal) {
+        String kw = keyword == null ? "" : keyword.trim();
+        PageCursor cursor = PageCursor.decode(cursorToken);
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<Issue> rows;
+        if (cursor == null) {
+            rows = issueRepository.findKeysetFirst(projectId, kw, limit);
+        } else if (cursor.isBackward()) {
+            rows = issueRepository.findKeysetBefore(projectId, kw, cursor.getKey(), cursor.getId(), limit);
+        } else {
+            rows = issueRepository.findKeysetAfter(projectId, kw, cursor.getKey(), cursor.getId(), limit);
+        }
+
+        CursorPage.Total total = withTotal
+                ? estimatedCountCache.estimate("issues:" + projectId + ":" + kw,
+                        cap -> issueRepository.findIdsByProjectIdAndKeyword(projectId, kw, cap))
+                : null;
+
+        return CursorPage.of(rows, cursor, size, Issue::getCreatedDate, Issue::getId, issue -> {
+            IssueDTO dto = IssueDTO.fromEntity(issue);
+            if (dto.getStatus() == null) {
+                dto.setStatus(IssueStatus.IN_PROGRESS); // ✅ 기본값 적용
+            }
+            return dto;
+        }, total);
+    }
+
     private Sort getSortOrder(String sortBy) {
         return switch (sortBy) {
             case "oldest" -> Sort.by(Sort.Direction.ASC, "createdDate");
@@ -157,33 +194,10 @@ public class IssueService {
      */
     @Transactional
     public void createIssue(IssueDTO issueDTO, Long projectId, MultipartFile file) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null
-                && authentication.isAuthenticated()
-                && !(authentication instanceof AnonymousAuthenticationToken)) {
-
-            // 사용자 정보 처리
-            String userEmail = null;
-            if (authentication.getPrincipal() instanceof OAuth2User) {
-                OAuth2User oauth2User = (OAuth2User) authentication.getPrincipal();
-                // OAuth2 속성에서 이메일 추출
-                userEmail = oauth2User.getAttribute("email");
-            } else if (authentication.getPrincipal() instanceof org.springframework.security.core.userdetails.User) {
-                userEmail = ((org.springframework.security.core.userdetails.User) authentication.getPrincipal()).getUsername();
-            } else {
-                userEmail = authentication.getName();
-            }
-
-            // 이메일로 사용자 조회 후 실제 사용자 이름 획득
-            if (userEmail != null) {
-                Optional<User> userOptional = userRepository.findByEmail(userEmail);
-                if (userOptional.isPresent()) {
-                    issueDTO.setCName(userOptional.get().getName());
-                } else {
-                    // 이메일로 사용자를 찾을 수 없는 경우 기본값 설정
-                    issueDTO.setCName("Unknown User");
-                }
-            }
+        // 로그인 사용자의 실제 이름을 작성자로 설정 (요청 내 캐시된 사용자 사용)
+        if (currentUser.getEmail().isPresent()) {
+            // 이메일로 사용자를 찾을 수 없는 경우 기본값 "Unknown User"
+            issueDTO.setCName(currentUser.getDisplayName());
         }
 
         Project project = projectRepository.findById(projectId)
@@ -213,6 +227,8 @@ public class IssueService {
                 LocalDateTime.now(),
                 savedIssue.getCName()
         );
+        projectDashboardService.evict(projectId);
+        searchIndexService.index(savedIssue);
     }
 
     /**
@@ -263,6 +279,9 @@ public class IssueService {
                 updatedIssue.getCName()
         );
 
+        projectDashboardService.evict(projectId);
+        searchIndexService.index(updatedIssue);
+
         return IssueDTO.fromEntity(updatedIssue);
     }
 
@@ -289,6 +308,9 @@ public class IssueService {
                 issue.getCName()
         );
 
+        searchIndexService.removeIssue(issue); // ✅ cascade 삭제되는 댓글 포함
+        fileUploadService.releaseFiles(issue.getFiles()); // ✅ cascade 삭제되는 첨부의 blob 참조 해제
         issueRepository.delete(issue);
+        projectDashboardService.evict(projectId);
     }
 }
\ No newline at end of file
@@ -1,9 +1,16 @@
 package com.example.demo.service;
 
+import com.example.demo.domain.dto.CursorPage;
+import com.example.demo.domain.dto.PageCursor;
 import com.example.demo.domain.entity.LogBoard;
 import com.example.demo.domain.entity.Project;
 import com.example.demo.repository.LogBoardRepository;
+import com.example.demo.service.admin.ActivityRollupService;
+import com.example.demo.service.log.ActivityLogEvent;
+import com.example.demo.service.log.ActivityLogPipeline;
+import com.example.demo.service.sketch.ActivitySketchService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -22,8 +29,32 @@ import java.util.stream.Collectors;
 @Transactional
 public class LogBoardService {
     private final LogBoardRepository logBoardRepository;
+    private final ProjectDashboardService projectDashboardService;
+    private final EstimatedCountCache estimatedCountCache;
+    private final ActivityLogPipeline activityLogPipeline;
+    private final ActivityRollupService activityRollupService;
+    private final ActivitySketchService activitySketchService;
+    private final AuditorAware<String> auditorAwareImpl;
 
     public void saveLog(Project project, String boardNm, Long postId, String createdBy, String modifiedBy, String action, LocalDateTime actionDate, String cName) {
+        if (activityLogPipeline.isEnabled()) {
+            // 비동기 write-behind: 커밋 후 버퍼에 넣고 배치 INSERT 로 저장
+            // 감사(auditing) 값은 요청 스레드에서만 알 수 있으므로 여기서 확정한다
+            String auditor = auditorAwareImpl.getCurrentAuditor().orElse(null);
+            activityLogPipeline.submit(new ActivityLogEvent(
+                    project != null ? project.getId() : null,
+                    boardNm,
+                    postId,
+                    auditor != null ? auditor : createdBy,
+                    auditor != null ? auditor : modifiedBy,
+                    action,
+                    actionDate,
+                    cName,
+                    LocalDateTime.now()
+            ));
+            return;
+        }
+
         LogBoard log = LogBoard.builder()
                 .boardNm(boardNm)
                 .postId(postId)
@@ -35,6 +66,16 @@ public class LogBoardService {
         log.setCName(cName);
         log.setProject(project);
         logBoardRepository.save(log);
+        ActivityLogEvent event = new ActivityLogEvent(
+                project != null ? project.getId() : null,
+                boardNm, postId, log.getCreatedBy(), log.getModifiedBy(), action, actionDate, cName, log.getCreatedDate());
+        // 시간 단위 집계 delta 도 같은 트랜잭션에서 기록
+        activityRollupService.appendDeltas(List.of(event));
+        activitySketchService.recordAfterCommit(event);
+        // 프로젝트 홈의 최근 로그 스냅샷 무효화
+        if (project != null) {
+            projectDashboardService.evict(project.getId());
+        }
     }
 
     @PreAuthorize("@projectSecurity.hasAccessToProject(#projectId, principal)")
@@ -43,6 +84,28 @@ public class LogBoardService {
         return logBoardRepository.findByProjectIdOrderByActionDateDesc(projectId, pageable);
     }
 
+    // 커서(키셋) 페이징: (actionDate, logNo) 기준 탐색
+    @PreAuthorize("@projectSecurity.hasAccessToProject(#projectId, principal)")
+    @Transactional(readOnly = true)
+    public CursorPage<LogBoard> getLogsByCursor(Long projectId, String cursorToken, int size, boolean withTotal) {
+        PageCursor cursor = PageCursor.decode(cursorToken);
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<LogBoard> rows;
+        if (cursor == null) {
+            rows = logBoardRepository.findProjectKeysetFirst(projectId, limit);
+        } else if (cursor.isBackward()) {
+            rows = logBoardRepository.findProjectKeysetBefore(projectId, cursor.getKey(), cursor.getId(), limit);
+        } else {
+            rows = logBoardRepository.findProjectKeysetAfter(projectId, cursor.getKey(), cursor.getId(), limit);
+        }
+
+        CursorPage.Total total = withTotal
+                ? estimatedCountCache.estimate("logboard:" + projectId, cap -> logBoardRepository.findLogNosByProjectId(projectId, cap))
+                : null;
+        return CursorPage.of(rows, cursor, size, LogBoard::getActionDate, LogBoard::getLogNo, logBoard -> logBoard, total);
+    }
+
     @PreAuthorize("@projectSecurity.hasAccessToProject(#projectId, principal)")
     public List<LogBoard> getLatestLogs(Long projectId) {
         return logBoardRepository.findByProjectIdOrderByActionDateDesc(
@@ -1,22 +1,23 @@
 package com.example.demo.service;
 
+import com.example.demo.domain.dto.CursorPage;
 import com.example.demo.domain.dto.NoticeBoardDTO;
+import com.example.demo.domain.dto.PageCursor;
 import com.example.demo.domain.entity.NoticeBoard;
 import com.example.demo.domain.entity.Project;
 import com.example.demo.domain.entity.User;
 import com.example.demo.repository.NoticeBoardRepository;
 import com.example.demo.repository.ProjectRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.security.CurrentUser;
+import com.example.demo.service.search.SearchIndexService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
-
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -32,6 +33,10 @@ public class NoticeBoardService {
     private final ProjectRepository projectRepository;
     private final LogBoardService logBoardService;
     private final UserRepository userRepository;
+    private final CurrentUser currentUser;
+    private final ProjectDashboardService projectDashboardService;
+    private final EstimatedCountCache estimatedCountCache;
+    private final SearchIndexService searchIndexService;
 
 
     //게시글 등록11111111111111111
@@ -39,18 +44,8 @@ public class NoticeBoardService {
     //현재 인증된 사용자 이름을 cName 필드에 설정.
     @PreAuthorize("@projectSecurity.hasAccessToProject(#projectId, principal)")
     public NoticeBoard saveNoticeBoard(NoticeBoard noticeBoard, Long projectId) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String userEmail;
-        if (authentication.getPrincipal() instanceof OAuth2User) {
-            OAuth2User oauth2User = (OAuth2User) authentication.getPrincipal();
-            userEmail = oauth2User.getAttribute("email");
-        } else {
-            userEmail = authentication.getName();
-        }
-
-        // 이메일로 사용자 조회 후 실제 사용자 이름을 획득
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다: " + userEmail));
+        // 현재 로그인 사용자 조회 후 실제 사용자 이름을 획득
+        User user = currentUser.requireUser();
         // 실제 사용자 이름을 cName에 설정
         noticeBoard.setCName(user.getName());
 
@@ -72,6 +67,8 @@ public class NoticeBoardService {
                 LocalDateTime.now(),
                 savedBoard.getCName()
         );
+        projectDashboardService.evict(projectId);
+        searchIndexService.index(savedBoard);
 
         return savedBoard;
     }
@@ -108,6 +105,30 @@ public class NoticeBoardService {
         return noticeBoardPage.map(NoticeBoardDTO::fromEntity);
     }
 
+    //NoticeBoard 커서(키셋) 페이징
+    //(createdDate, id) 기준으로 다음/이전 페이지를 찾으므로 OFFSET, COUNT(*) 쿼리가 없음
+    @PreAuthorize("@projectSecurity.hasAccessToProject(#projectId, principal)")
+    public CursorPage<NoticeBoardDTO> getNoticeBoardsByCursor(Long projectId, String cursorToken, int size, boolean withTotal) {
+        PageCursor cursor = PageCursor.decode(cursorToken);
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<NoticeBoard> rows;
+        if (cursor == null) {
+            rows = noticeBoardRepository.findKeysetFirst(projectId, limit);
+        } else if (cursor.isBackward()) {
+            rows = noticeBoardRepository.findKeysetBefore(projectId, cursor.getKey(), cursor.getId(), limit);
+        } else {
+            rows = noticeBoardRepository.findKeysetAfter(projectId, cursor.getKey(), cursor.getId(), limit);
+        }
+
+        CursorPage.Total total = withTotal
+                ? estimatedCountCache.estimate("noticeboard:" + projectId,
+                        cap -> noticeBoardRepository.findIdsByProjectId(projectId, cap))
+                : null;
+        return CursorPage.of(rows, cursor, size, NoticeBoard::getCreatedDate, NoticeBoard::getId,
+                NoticeBoardDTO::fromEntity, total);
+    }
+
     //게시글 수정
     //프로젝트 ID와 게시글 ID를 기반으로 해당 게시글을 조회한 후, DTO의 내용으로 업데이트합니다.
     @PreAuthorize("@projectSecurity.hasAccessToProject(#projectId, principal)")
@@ -131,6 +152,8 @@ public class NoticeBoardService {
                 LocalDateTime.now(),
                 updatedBoard.getCName()
         );
+        projectDashboardService.evict(projectId);
+        searchIndexService.index(updatedBoard);
         return updatedBoard;
     }
 
@@ -143,6 +166,8 @@ public class NoticeBoardService {
         NoticeBoard noticeBoard = noticeBoardRepository.findByIdAndProject(id, project)
                 .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다. id: " + id));
         noticeBoardRepository.delete(noticeBoard);
+        projectDashboardService.evict(projectId);
+        searchIndexService.remove(SearchIndexService.TYPE_NOTICE, id);
         // 필요 시 삭제 로그 추가 가능
     }
 }
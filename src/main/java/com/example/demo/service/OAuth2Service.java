@@ -31,7 +31,7 @@ public class OAuth2Service {
             throw new IllegalArgumentException("유효하지 않은 토큰입니다.");
         }
 
-        log.info("Storing user info for token: {}", token);
+        log.debug("Storing user info for temporary token");
         tokenStorage.store(token, userInfo);
     }
 
@@ -40,7 +40,7 @@ public class OAuth2Service {
      * 토큰으로부터 사용자 정보를 가져옵니다.
      */
     public OAuth2UserInfo getUserInfoFromToken(String token) {
-        log.info("Retrieving user info for token: {}", token);
+        log.debug("Retrieving user info for temporary token");
         return tokenStorage.get(token);
     }
 
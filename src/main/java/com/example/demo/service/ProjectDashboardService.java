@@ -0,0 +1,79 @@
+package com.example.demo.service;
+
+import com.example.demo.config.TransactionHooks;
+import com.example.demo.domain.dto.ProjectDashboardDTO;
+import com.example.demo.repository.IssueRepository;
+import com.example.demo.repository.LogBoardRepository;
+import com.example.demo.repository.NoticeBoardRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 프로젝트 홈(viewProject) 대시보드 조회 서비스.
+ * 최근 공지 / 이슈 / 로그를 LIMIT 쿼리로 필요한 컬럼만 조회하고, 프로젝트별 스냅샷을 캐시한다.
+ * 게시글/로그 쓰기 시 evict(projectId)로 무효화된다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ProjectDashboardService {
+
+    private final NoticeBoardRepository noticeBoardRepository;
+    private final IssueRepository issueRepository;
+    private final LogBoardRepository logBoardRepository;
+
+    @Value("${dashboard.preview-size:3}")
+    private int previewSize;
+
+    @Value("${dashboard.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private final Map<Long, ProjectDashboardDTO> snapshots = new ConcurrentHashMap<>();
+    // 무효화 세대 번호: 조회 도중 무효화가 일어나면 오래된 스냅샷을 캐시에 넣지 않기 위함
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+
+    @PreAuthorize("@projectSecurity.hasAccessToProject(#projectId, principal)")
+    public ProjectDashboardDTO getDashboard(Long projectId) {
+        ProjectDashboardDTO cached = snapshots.get(projectId);
+        if (cached != null && cached.getLoadedAt().plusSeconds(ttlSeconds).isAfter(LocalDateTime.now())) {
+            return cached;
+        }
+
+        Long generation = generations.get(projectId);
+        PageRequest limit = PageRequest.of(0, previewSize);
+        ProjectDashboardDTO dashboard = ProjectDashboardDTO.builder()
+                .projectId(projectId)
+                .latestNotices(noticeBoardRepository.findLatestItemsByProjectId(projectId, limit))
+                .latestIssues(issueRepository.findLatestItemsByProjectId(projectId, limit))
+                .latestLogs(logBoardRepository.findLatestByProjectId(projectId, limit))
+                .loadedAt(LocalDateTime.now())
+                .build();
+
+        if (Objects.equals(generations.get(projectId), generation)) {
+            snapshots.put(projectId, dashboard);
+        }
+        return dashboard;
+    }
+
+    // 프로젝트 대시보드 스냅샷 무효화 (트랜잭션 안에서는 커밋 이후 반영)
+    public void evict(Long projectId) {
+        if (projectId == null) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> evictNow(projectId));
+    }
+
+    private void evictNow(Long projectId) {
+        generations.merge(projectId, 1L, Long::sum);
+        snapshots.remove(projectId);
+    }
+}
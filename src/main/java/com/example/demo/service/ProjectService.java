@@ -1,11 +1,13 @@
 package com.example.demo.service;
 
+import com.example.demo.config.ProjectAccessCache;
 import com.example.demo.domain.dto.ProjectRequest;
 import com.example.demo.domain.entity.*;
 import com.example.demo.repository.NoticeBoardRepository;
 import com.example.demo.repository.ProjectMemberRepository;
 import com.example.demo.repository.ProjectRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.service.search.SearchIndexService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
@@ -32,6 +34,9 @@ public class ProjectService {
     private final UserRepository userRepository;
     private final NoticeBoardRepository noticeBoardRepository;
     private final LogBoardService logBoardSerivce;
+    private final ProjectAccessCache projectAccessCache;
+    private final ProjectDashboardService projectDashboardService;
+    private final SearchIndexService searchIndexService;
 
     // 프로젝트 생성
     @Transactional
@@ -212,6 +217,7 @@ public class ProjectService {
         ProjectMember member = optMember.get();
         member.setProjectRole(newRole);
         projectMemberRepository.save(member);
+        projectAccessCache.evict(projectId, userId);
     }
 
 
@@ -252,6 +258,9 @@ public class ProjectService {
 
             // 프로젝트 삭제
             projectRepository.delete(project);
+            projectAccessCache.evictProject(projectId);
+            projectDashboardService.evict(projectId);
+            searchIndexService.removeProject(projectId);
         } catch (ObjectOptimisticLockingFailureException ex) {
             // 버전 충돌 예외 처리
             throw new OptimisticLockingFailureException("프로젝트를 삭제하는 동안 충돌이 발생했습니다. 다시 시도하십시오.");
@@ -284,6 +293,7 @@ public class ProjectService {
             // 명시적으로 repository에서 삭제하고 flush하여 DB에 반영
             projectMemberRepository.delete(projectMember);
             projectMemberRepository.flush();
+            projectAccessCache.evict(projectId, user.getId());
         } else {
             throw new IllegalArgumentException("해당 사용자는 이 프로젝트의 멤버가 아닙니다.");
         }
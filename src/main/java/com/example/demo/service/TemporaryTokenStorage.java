@@ -1,65 +1,24 @@
 package com.example.demo.service;
 
 import com.example.demo.domain.dto.OAuth2UserInfo;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
-@Slf4j
-@Service
-public class TemporaryTokenStorage {
+/**
+ * OAuth2 신규 가입 중인 사용자 정보를 회원가입 화면까지 넘기는 임시 토큰 저장소 (기본 30분 유효).
+ * oauth2.token-store 설정으로 구현을 고른다: memory (기본값, 타이밍 휠) / jdbc (DB, 여러 서버가 함께 쓸 때).
+ */
+public interface TemporaryTokenStorage {
 
-    private final Map<String, TokenData> storage = new ConcurrentHashMap<>();
-    private static final long DEFAULT_EXPIRATION_MINUTES = 30;
+    /** 토큰 저장 (같은 토큰이면 덮어씀) */
+    void store(String token, OAuth2UserInfo userInfo);
 
-    // 토큰 저장
-    public void store(String token, OAuth2UserInfo userInfo) {
-        LocalDateTime expirationTime = LocalDateTime.now().plusMinutes(DEFAULT_EXPIRATION_MINUTES);
-        storage.put(token, new TokenData(userInfo, expirationTime));
-        log.info("[STORE] Token stored: {} | Expiration: {} | UserInfo: {}", token, expirationTime, userInfo);
-    }
+    /** 토큰 검색. 없거나 만료되었으면 IllegalArgumentException */
+    OAuth2UserInfo get(String token);
 
-    // 토큰 검색
-    public OAuth2UserInfo get(String token) {
-        log.info("[GET] Attempting to retrieve token: {}", token);
+    /** 토큰 삭제 */
+    void remove(String token);
 
-        TokenData tokenData = storage.get(token);
-
-        if (tokenData == null) {
-            log.warn("[GET] Token not found in storage: {}", token);
-            throw new IllegalArgumentException("유효하지 않은 토큰입니다.");
-        }
-
-        if (tokenData.expirationTime.isBefore(LocalDateTime.now())) {
-            log.warn("[GET] Token expired: {} | Expiration Time: {}", token, tokenData.expirationTime);
-            storage.remove(token); // 만료된 토큰 제거
-            throw new IllegalArgumentException("유효하지 않은 토큰입니다.");
-        }
-
-        log.info("[GET] Token successfully retrieved: {} | Expiration Time: {} | UserInfo: {}", token, tokenData.expirationTime, tokenData.userInfo);
-        return tokenData.userInfo;
-    }
-
-    // 토큰 삭제
-    public void remove(String token) {
-        if (storage.containsKey(token)) {
-            log.info("[REMOVE] Removing token: {}", token);
-        } else {
-            log.warn("[REMOVE] Attempted to remove non-existing token: {}", token);
-        }
-        storage.remove(token);
-    }
-
-    private static class TokenData {
-        private final OAuth2UserInfo userInfo;
-        private final LocalDateTime expirationTime;
-
-        public TokenData(OAuth2UserInfo userInfo, LocalDateTime expirationTime) {
-            this.userInfo = userInfo;
-            this.expirationTime = expirationTime;
-        }
-    }
-}
\ No newline at end of file
+    /** 저장 건수와 만료 / 제거 통계 */
+    Map<String, Object> getStats();
+}
@@ -1,5 +1,6 @@
 package com.example.demo.service;
 
+import com.example.demo.config.ProjectAccessCache;
 import com.example.demo.domain.dto.UserSignUpRequest;
 import com.example.demo.domain.dto.UserResponse;
 import com.example.demo.domain.dto.UserUpdateRequest;
@@ -30,6 +31,7 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
     private final ProjectRepository projectRepository;
     private final ProjectMemberRepository projectMemberRepository;
+    private final ProjectAccessCache projectAccessCache;
 
 
     @Transactional
@@ -190,6 +192,9 @@ public class UserService {
             pm.getProject().getProjectMembers().add(newPm);
         }//RYAN
         userRepository.delete(user);
+        // 삭제된 사용자와 멤버십을 넘겨받은 관리자의 접근 권한 캐시 무효화
+        projectAccessCache.evictUser(user.getId(), user.getEmail());
+        projectAccessCache.evictUser(adminUser.getId(), null);
     }
 
     @Transactional
@@ -231,6 +236,9 @@ public class UserService {
             pm.getProject().getProjectMembers().add(newPm);
         }//RYAN
         userRepository.delete(user);
+        // 삭제된 사용자와 멤버십을 넘겨받은 관리자의 접근 권한 캐시 무효화
+        projectAccessCache.evictUser(user.getId(), user.getEmail());
+        projectAccessCache.evictUser(adminUser.getId(), null);
     }
 
     @Transactional(readOnly = true)
@@ -278,6 +286,8 @@ public class UserService {
 
         // 최종적으로 유저 삭제
         userRepository.delete(user);
+        projectAccessCache.evictUser(user.getId(), user.getEmail());
+        projectAccessCache.evictUser(adminUser.getId(), null);
         log.info("사용자 '{}' 삭제 완료", email);
     }
 
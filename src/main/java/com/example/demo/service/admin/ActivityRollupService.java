@@ -0,0 +1,254 @@
+package com.example.demo.service.admin;
+
+import com.example.demo.config.TransactionHooks;
+import com.example.demo.repository.ActivityRollupRepository;
+import com.example.demo.repository.LogBoardRepository;
+import com.example.demo.service.log.ActivityLogEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 활동 로그 시간 단위 집계(activity_rollup) 관리.
+ * - 증분: 로그가 저장되는 트랜잭션 안에서 (hour, project, board, action, user) 별 delta 행을 추가한다.
+ * - 정리(compaction): 최근 reconcile-hours 시간 구간을 log_board 기준으로 다시 계산해 키당 한 행으로 합치고 오차를 바로잡는다.
+ * - 백필: 기존 로그 전체를 backfill-chunk-days 단위로 다시 계산한다. 끝나기 전까지 통계는 log_board 에서 직접 조회한다.
+ * 재계산(삭제 후 다시 INSERT)과 delta INSERT 가 겹치면 같은 로그가 두 번 세어지므로,
+ * delta 를 넣는 트랜잭션은 커밋될 때까지 읽기 잠금을, 재계산은 쓰기 잠금을 잡는다 (재계산 동안 delta INSERT 는 대기).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ActivityRollupService {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO activity_rollup (bucket_hour, project_id, board_nm, action, cname, activity_count) VALUES ";
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, ?)";
+    private static final int INSERT_CHUNK = 500;
+
+    private final ActivityRollupRepository activityRollupRepository;
+    private final LogBoardRepository logBoardRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${monitoring.rollup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${monitoring.rollup.reconcile-hours:48}")
+    private int reconcileHours;
+
+    @Value("${monitoring.rollup.backfill-chunk-days:7}")
+    private int backfillChunkDays;
+
+    // 백필이 끝나 집계만으로 통계를 낼 수 있는 상태
+    private volatile boolean ready;
+    private final AtomicBoolean backfilling = new AtomicBoolean();
+    // delta INSERT (읽기, 커밋까지) / 재계산 (쓰기) 상호 배제. 같은 스레드의 읽기 재진입은 대기 중인 쓰기보다 우선한다
+    private final ReentrantReadWriteLock recomputeLock = new ReentrantReadWriteLock();
+    private volatile LocalDateTime lastCompactedAt;
+    private final ExecutorService backfillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "activity-rollup-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        if (activityRollupRepository.count() == 0 && logBoardRepository.count() > 0) {
+            // 집계 테이블이 처음 생긴 경우: 기존 로그 백필이 끝날 때까지 log_board 로 조회
+            backfillAsync();
+        } else {
+            ready = true;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backfillExecutor.shutdownNow();
+    }
+
+    /** MonitoringService 가 집계 테이블을 읽어도 되는지 */
+    public boolean isActive() {
+        return enabled && ready;
+    }
+
+    /**
+     * 로그 배치에 대한 증분 집계 행 추가. 로그 INSERT 와 같은 트랜잭션에서 호출해야 한다.
+     */
+    public void appendDeltas(Collection<ActivityLogEvent> events) {
+        if (!enabled || events.isEmpty()) {
+            return;
+        }
+        Map<RollupKey, Long> deltas = new LinkedHashMap<>();
+        for (ActivityLogEvent event : events) {
+            if (event.actionDate() == null) {
+                continue;
+            }
+            RollupKey key = new RollupKey(event.actionDate().truncatedTo(ChronoUnit.HOURS),
+                    event.projectId(), event.boardNm(), event.action(), event.cName());
+            deltas.merge(key, 1L, Long::sum);
+        }
+        Lock lock = recomputeLock.readLock();
+        lock.lock();
+        try {
+            insertRollups(deltas);
+        } finally {
+            // 커밋(또는 롤백) 후에 풀어야 재계산이 아직 보이지 않는 로그와 delta 를 사이에 두고 끼어들지 않는다
+            TransactionHooks.afterCompletion(lock::unlock);
+        }
+    }
+
+    // 키별 건수를 다중 행 INSERT 로 기록 (INSERT_CHUNK 행씩)
+    private void insertRollups(Map<RollupKey, Long> counts) {
+        List<Map.Entry<RollupKey, Long>> entries = new ArrayList<>(counts.entrySet());
+        for (int start = 0; start < entries.size(); start += INSERT_CHUNK) {
+            List<Map.Entry<RollupKey, Long>> chunk = entries.subList(start, Math.min(start + INSERT_CHUNK, entries.size()));
+            StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+            Object[] args = new Object[chunk.size() * 6];
+            int i = 0;
+            for (Map.Entry<RollupKey, Long> entry : chunk) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append(INSERT_ROW);
+                RollupKey key = entry.getKey();
+                args[i++] = key.bucketHour();
+                args[i++] = key.projectId();
+                args[i++] = key.boardNm();
+                args[i++] = key.action();
+                args[i++] = key.cName();
+                args[i++] = entry.getValue();
+            }
+            jdbcTemplate.update(sql.toString(), args);
+        }
+    }
+
+    /**
+     * 최근 닫힌 시간 구간을 log_board 기준으로 다시 계산 (delta 행 병합 + 오차 보정)
+     */
+    @Scheduled(fixedDelayString = "${monitoring.rollup.compaction-interval-ms:600000}",
+            initialDelayString = "${monitoring.rollup.compaction-initial-delay-ms:120000}")
+    public void compact() {
+        if (!enabled || backfilling.get()) {
+            return;
+        }
+        LocalDateTime to = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime from = to.minusHours(reconcileHours);
+        int rows = recompute(from, to);
+        lastCompactedAt = LocalDateTime.now();
+        log.debug("활동 집계 정리 완료: {} ~ {}, {}행", from, to, rows);
+    }
+
+    public boolean backfillAsync() {
+        if (!enabled || !backfilling.compareAndSet(false, true)) {
+            return false;
+        }
+        backfillExecutor.execute(() -> {
+            try {
+                backfill();
+                ready = true;
+            } catch (Exception e) {
+                log.error("활동 집계 백필 실패", e);
+            } finally {
+                backfilling.set(false);
+            }
+        });
+        return true;
+    }
+
+    private void backfill() {
+        LocalDateTime earliest = logBoardRepository.findMinActionDate();
+        if (earliest == null) {
+            return;
+        }
+        // 현재 진행 중인 시간까지 포함해서 계산
+        LocalDateTime end = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(1);
+        LocalDateTime from = earliest.truncatedTo(ChronoUnit.HOURS);
+        long total = 0;
+        while (from.isBefore(end)) {
+            LocalDateTime to = from.plusDays(backfillChunkDays);
+            if (to.isAfter(end)) {
+                to = end;
+            }
+            total += recompute(from, to);
+            from = to;
+        }
+        log.info("활동 집계 백필 완료: {} 부터 {}행", earliest, total);
+    }
+
+    // [from, to) 구간 집계를 지우고 log_board 에서 다시 계산해 넣는다 (커밋까지 delta INSERT 를 멈춘다)
+    private int recompute(LocalDateTime from, LocalDateTime to) {
+        recomputeLock.writeLock().lock();
+        try {
+            return recomputeLocked(from, to);
+        } finally {
+            recomputeLock.writeLock().unlock();
+        }
+    }
+
+    private int recomputeLocked(LocalDateTime from, LocalDateTime to) {
+        Integer inserted = transactionTemplate.execute(status -> {
+            activityRollupRepository.deleteByBucketHourRange(from, to);
+            Map<RollupKey, Long> counts = new LinkedHashMap<>();
+            for (Object[] row : logBoardRepository.aggregateHourly(from, to)) {
+                RollupKey key = new RollupKey(toLocalDate(row[0]).atTime(((Number) row[1]).intValue(), 0),
+                        (Long) row[2], (String) row[3], (String) row[4], (String) row[5]);
+                counts.merge(key, ((Number) row[6]).longValue(), Long::sum);
+            }
+            insertRollups(counts);
+            return counts.size();
+        });
+        return inserted == null ? 0 : inserted;
+    }
+
+    // GROUP BY 날짜 컬럼 값 -> LocalDate (드라이버/방언에 따라 java.sql.Date, LocalDateTime, LocalDate 로 온다)
+    static LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.toLocalDate();
+        }
+        if (value instanceof java.util.Date date) {
+            return new java.sql.Date(date.getTime()).toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("ready", ready);
+        stats.put("backfilling", backfilling.get());
+        stats.put("rows", activityRollupRepository.count());
+        stats.put("lastCompactedAt", lastCompactedAt);
+        return stats;
+    }
+
+    private record RollupKey(LocalDateTime bucketHour, Long projectId, String boardNm, String action, String cName) {
+    }
+}
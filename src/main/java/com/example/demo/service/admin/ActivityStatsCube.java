@@ -0,0 +1,161 @@
+package com.example.demo.service.admin;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 일 x 활동 유형 x 게시판 활동 건수 큐브.
+ * 한 번의 GROUP BY 조회 결과(날짜, action, boardNm, count)를 day-major 순서의 long[] 하나에 채우고,
+ * 모니터링 화면의 일별/유형별/게시판별 집계는 모두 이 배열에서 계산한다.
+ */
+public final class ActivityStatsCube {
+
+    private final LocalDate firstDay;
+    private final int days;
+    private final List<String> actions;
+    private final List<String> boards;
+    private final Map<String, Integer> actionIndex;
+    private final Map<String, Integer> boardIndex;
+    // [day][action][board] -> counts[(day * actions + action) * boards + board]
+    private final long[] counts;
+
+    private ActivityStatsCube(LocalDate firstDay, int days, List<String> actions, List<String> boards) {
+        this.firstDay = firstDay;
+        this.days = days;
+        this.actions = Collections.unmodifiableList(actions);
+        this.boards = Collections.unmodifiableList(boards);
+        this.actionIndex = indexOf(actions);
+        this.boardIndex = indexOf(boards);
+        this.counts = new long[days * actions.size() * boards.size()];
+    }
+
+    /**
+     * @param firstDay     첫 날짜
+     * @param lastDay      마지막 날짜 (포함)
+     * @param knownActions 결과에 없더라도 항상 포함할 활동 유형 (순서 유지)
+     * @param knownBoards  결과에 없더라도 항상 포함할 게시판 (순서 유지)
+     * @param rows         [날짜, action, boardNm, count] 행
+     */
+    public static ActivityStatsCube of(LocalDate firstDay, LocalDate lastDay,
+                                       List<String> knownActions, List<String> knownBoards,
+                                       List<Object[]> rows) {
+        int days = (int) Math.max(0, ChronoUnit.DAYS.between(firstDay, lastDay) + 1);
+        List<String> actions = new ArrayList<>(knownActions);
+        List<String> boards = new ArrayList<>(knownBoards);
+        // 조회 결과에만 있는 유형/게시판도 차원에 추가
+        for (Object[] row : rows) {
+            addIfAbsent(actions, (String) row[1]);
+            addIfAbsent(boards, (String) row[2]);
+        }
+
+        ActivityStatsCube cube = new ActivityStatsCube(firstDay, days, actions, boards);
+        for (Object[] row : rows) {
+            int day = (int) ChronoUnit.DAYS.between(firstDay, ActivityRollupService.toLocalDate(row[0]));
+            if (day < 0 || day >= days) {
+                continue;
+            }
+            int action = cube.actionIndex.get((String) row[1]);
+            int board = cube.boardIndex.get((String) row[2]);
+            cube.counts[cube.offset(day, action, board)] += ((Number) row[3]).longValue();
+        }
+        return cube;
+    }
+
+    public LocalDate getFirstDay() {
+        return firstDay;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public List<String> getActions() {
+        return actions;
+    }
+
+    public List<String> getBoards() {
+        return boards;
+    }
+
+    public long count(int day, int action, int board) {
+        return counts[offset(day, action, board)];
+    }
+
+    /** 활동 유형 하나의 일별 건수 (모든 게시판 합계) */
+    public long[] dailyByAction(String action) {
+        long[] result = new long[days];
+        Integer a = actionIndex.get(action);
+        if (a == null) {
+            return result;
+        }
+        int boardCount = boards.size();
+        for (int day = 0; day < days; day++) {
+            int base = offset(day, a, 0);
+            long sum = 0;
+            for (int b = 0; b < boardCount; b++) {
+                sum += counts[base + b];
+            }
+            result[day] = sum;
+        }
+        return result;
+    }
+
+    /** onlyActions 에 속한 활동 유형들의 일별 합계 */
+    public long[] dailyTotals(List<String> onlyActions) {
+        long[] result = new long[days];
+        for (String action : onlyActions) {
+            long[] daily = dailyByAction(action);
+            for (int day = 0; day < days; day++) {
+                result[day] += daily[day];
+            }
+        }
+        return result;
+    }
+
+    /** 게시판 x 활동 유형 건수 (전체 기간 합계) -> [board][action] */
+    public long[][] boardByAction() {
+        long[][] result = new long[boards.size()][actions.size()];
+        int actionCount = actions.size();
+        int boardCount = boards.size();
+        for (int day = 0; day < days; day++) {
+            for (int a = 0; a < actionCount; a++) {
+                int base = offset(day, a, 0);
+                for (int b = 0; b < boardCount; b++) {
+                    result[b][a] += counts[base + b];
+                }
+            }
+        }
+        return result;
+    }
+
+    public long total() {
+        long sum = 0;
+        for (long count : counts) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    private int offset(int day, int action, int board) {
+        return (day * actions.size() + action) * boards.size() + board;
+    }
+
+    private static Map<String, Integer> indexOf(List<String> values) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            index.put(values.get(i), i);
+        }
+        return index;
+    }
+
+    private static void addIfAbsent(List<String> values, String value) {
+        if (!values.contains(value)) {
+            values.add(value);
+        }
+    }
+}
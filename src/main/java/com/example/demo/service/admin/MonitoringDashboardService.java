@@ -0,0 +1,194 @@
+package com.example.demo.service.admin;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 관리자 모니터링 대시보드 스냅샷.
+ * 대시보드에 필요한 통계 조회들을 전용 스레드 풀에서 동시에 실행해 하나의 스냅샷으로 합치고,
+ * (조회 기간, 추세 일수) 별로 캐시한다 (stale-while-revalidate).
+ * - fresh-seconds 이내: 캐시를 그대로 반환
+ * - max-stale-seconds 이내: 캐시를 반환하고 백그라운드에서 한 번만 갱신
+ * - 그 이후 / 캐시 없음: 갱신을 기다린다. 동시에 들어온 요청은 같은 갱신 결과를 공유한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MonitoringDashboardService {
+
+    private final MonitoringService monitoringService;
+
+    @Value("${monitoring.dashboard.fresh-seconds:30}")
+    private long freshSeconds;
+
+    @Value("${monitoring.dashboard.max-stale-seconds:600}")
+    private long maxStaleSeconds;
+
+    @Value("${monitoring.dashboard.query-threads:6}")
+    private int queryThreads;
+
+    @Value("${monitoring.dashboard.load-timeout-seconds:30}")
+    private long loadTimeoutSeconds;
+
+    private final Map<DashboardKey, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<DashboardKey, CompletableFuture<Snapshot>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder freshHits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    // 개별 통계 쿼리 실행용 (DB 커넥션 풀을 다 차지하지 않도록 크기 제한)
+    private ExecutorService queryExecutor;
+    // 스냅샷 조립용 (쿼리 풀 안에서 쿼리 완료를 기다리지 않도록 분리)
+    private ExecutorService refreshExecutor;
+
+    @PostConstruct
+    void start() {
+        queryExecutor = new ThreadPoolExecutor(queryThreads, queryThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(64), daemonThreads("monitoring-query-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        refreshExecutor = Executors.newFixedThreadPool(2, daemonThreads("monitoring-refresh-"));
+    }
+
+    @PreDestroy
+    void stop() {
+        refreshExecutor.shutdownNow();
+        queryExecutor.shutdownNow();
+    }
+
+    /**
+     * 대시보드 모델 속성 (statistics, recentActivities, activityTrends, hourlyStats, boardStats,
+     * actionTypeStats, topUsers, projectStats, dailyStats)
+     */
+    public Map<String, Object> getDashboard(int rangeDays, int trendDays) {
+        DashboardKey key = new DashboardKey(rangeDays, trendDays);
+        Snapshot cached = snapshots.get(key);
+        LocalDateTime now = LocalDateTime.now();
+
+        if (cached != null && cached.loadedAt().plusSeconds(freshSeconds).isAfter(now)) {
+            freshHits.increment();
+            return cached.attributes();
+        }
+        if (cached != null && cached.loadedAt().plusSeconds(maxStaleSeconds).isAfter(now)) {
+            staleHits.increment();
+            refresh(key);
+            return cached.attributes();
+        }
+
+        misses.increment();
+        try {
+            return refresh(key).get(loadTimeoutSeconds, TimeUnit.SECONDS).attributes();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("모니터링 대시보드 조회가 중단되었습니다.", e);
+        } catch (ExecutionException | TimeoutException e) {
+            if (cached != null) {
+                // 갱신 실패 시 오래된 스냅샷이라도 보여준다
+                log.warn("모니터링 대시보드 갱신 실패, 이전 스냅샷 사용: {}", e.getMessage());
+                return cached.attributes();
+            }
+            throw new RuntimeException("모니터링 대시보드 조회에 실패했습니다.", e);
+        }
+    }
+
+    // 키당 갱신은 하나만 실행한다 (이미 진행 중이면 그 결과를 공유)
+    private CompletableFuture<Snapshot> refresh(DashboardKey key) {
+        CompletableFuture<Snapshot> created = new CompletableFuture<>();
+        CompletableFuture<Snapshot> running = inFlight.putIfAbsent(key, created);
+        if (running != null) {
+            return running;
+        }
+        refreshExecutor.execute(() -> {
+            try {
+                Snapshot snapshot = load(key);
+                snapshots.put(key, snapshot);
+                created.complete(snapshot);
+            } catch (Throwable e) {
+                failures.increment();
+                log.warn("모니터링 대시보드 스냅샷 생성 실패 ({}): {}", key, e.getMessage());
+                created.completeExceptionally(e);
+            } finally {
+                inFlight.remove(key, created);
+            }
+        });
+        return created;
+    }
+
+    private Snapshot load(DashboardKey key) {
+        loads.increment();
+        LocalDateTime endDate = LocalDateTime.now();
+        LocalDateTime startDate = endDate.minusDays(key.rangeDays());
+
+        Map<String, CompletableFuture<?>> tasks = new LinkedHashMap<>();
+        tasks.put("statistics", query(monitoringService::getSystemStatistics));
+        tasks.put("recentActivities", query(() -> monitoringService.getRecentActivities(10)));
+        tasks.put("activityTrends", query(() -> monitoringService.getActivityTrends(key.trendDays())));
+        tasks.put("hourlyStats", query(() -> monitoringService.getHourlyActivityStats(startDate, endDate)));
+        tasks.put("boardStats", query(() -> monitoringService.getBoardActivityStats(startDate, endDate)));
+        tasks.put("actionTypeStats", query(() -> monitoringService.getActionTypeStats(startDate, endDate)));
+        tasks.put("topUsers", query(() -> monitoringService.getTopActiveUsers(startDate, endDate, 5)));
+        tasks.put("projectStats", query(() -> monitoringService.getProjectActivityStats(startDate, endDate, 5)));
+        tasks.put("dailyStats", query(() -> monitoringService.getDailyActivityStats(startDate, endDate)));
+
+        CompletableFuture.allOf(tasks.values().toArray(new CompletableFuture[0])).join();
+
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        tasks.forEach((name, task) -> attributes.put(name, task.join()));
+        return new Snapshot(Collections.unmodifiableMap(attributes), LocalDateTime.now());
+    }
+
+    private <T> CompletableFuture<T> query(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, queryExecutor);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("snapshots", snapshots.size());
+        stats.put("refreshing", inFlight.size());
+        stats.put("freshHits", freshHits.sum());
+        stats.put("staleHits", staleHits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("loads", loads.sum());
+        stats.put("failures", failures.sum());
+        return stats;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record DashboardKey(int rangeDays, int trendDays) {
+    }
+
+    private record Snapshot(Map<String, Object> attributes, LocalDateTime loadedAt) {
+    }
+}
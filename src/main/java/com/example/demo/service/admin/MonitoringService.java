@@ -1,7 +1,12 @@
 package com.example.demo.service.admin;
 
+import com.example.demo.domain.dto.CursorPage;
+import com.example.demo.domain.dto.PageCursor;
 import com.example.demo.domain.entity.*;
 import com.example.demo.repository.*;
+import com.example.demo.service.EstimatedCountCache;
+import com.example.demo.service.sketch.ActivitySketchService;
+import com.example.demo.service.sketch.SpaceSaving;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -10,8 +15,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 
 @Service
@@ -27,6 +34,10 @@ public class MonitoringService {
     private final IssueRepository issueRepository;
     private final CalendarEventRepository calendarEventRepository;
     private final ProjectMemberRepository projectMemberRepository;
+    private final EstimatedCountCache estimatedCountCache;
+    private final ActivityRollupRepository activityRollupRepository;
+    private final ActivityRollupService activityRollupService;
+    private final ActivitySketchService activitySketchService;
 
     // 최근 활동 로그 조회
     public List<LogBoard> getRecentActivities(int limit) {
@@ -78,6 +89,34 @@ public class MonitoringService {
         }
     }
 
+    // 활동 로그 조회 - 커서(키셋) 페이징
+    // 날짜 범위는 필수, boardNm / action 은 선택 (OFFSET, COUNT(*) 없이 (actionDate, logNo) 기준 탐색)
+    public CursorPage<LogBoard> getActivitiesByCursor(String boardNm, String action,
+                                                      LocalDateTime startDateTime, LocalDateTime endDateTime,
+                                                      String cursorToken, int size, boolean withTotal) {
+        String board = boardNm == null ? "" : boardNm;
+        String act = action == null ? "" : action;
+        PageCursor cursor = PageCursor.decode(cursorToken);
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<LogBoard> rows;
+        if (cursor == null) {
+            rows = logBoardRepository.findActivityKeysetFirst(board, act, startDateTime, endDateTime, limit);
+        } else if (cursor.isBackward()) {
+            rows = logBoardRepository.findActivityKeysetBefore(board, act, startDateTime, endDateTime,
+                    cursor.getKey(), cursor.getId(), limit);
+        } else {
+            rows = logBoardRepository.findActivityKeysetAfter(board, act, startDateTime, endDateTime,
+                    cursor.getKey(), cursor.getId(), limit);
+        }
+
+        CursorPage.Total total = withTotal
+                ? estimatedCountCache.estimate("activities:" + board + ":" + act + ":" + startDateTime + ":" + endDateTime,
+                        cap -> logBoardRepository.findActivityLogNos(board, act, startDateTime, endDateTime, cap))
+                : null;
+        return CursorPage.of(rows, cursor, size, LogBoard::getActionDate, LogBoard::getLogNo, logBoard -> logBoard, total);
+    }
+
     // 게시판 유형 목록 조회
     public List<String> getBoardTypes() {
         // 실제 존재하는 게시판 유형 목록을 반환
@@ -109,7 +148,9 @@ public class MonitoringService {
 
         // 활동 통계
         LocalDateTime weekAgo = LocalDateTime.now().minusDays(7);
-        long recentActivities = logBoardRepository.countByActionDateAfter(weekAgo);
+        long recentActivities = useRollups()
+                ? activityRollupRepository.sumSince(hourFloor(weekAgo))
+                : logBoardRepository.countByActionDateAfter(weekAgo);
 
         // 통계 데이터 추가
         statistics.put("totalUsers", totalUsers);
@@ -136,7 +177,9 @@ public class MonitoringService {
 
         // 프로젝트별 활동 통계 (상위 5개)
         Pageable pageable = PageRequest.of(0, 5);
-        List<Object[]> projectActivities = logBoardRepository.countActivitiesByProject(startDateTime, endDateTime, pageable);
+        List<Object[]> projectActivities = useRollups()
+                ? activityRollupRepository.sumByProject(hourFloor(startDateTime), endDateTime, pageable)
+                : logBoardRepository.countActivitiesByProject(startDateTime, endDateTime, pageable);
 
         List<Map<String, Object>> topProjects = new ArrayList<>();
         for (Object[] row : projectActivities) {
@@ -173,7 +216,9 @@ public class MonitoringService {
 
         // 가장 활동적인 사용자 (상위 10명)
         Pageable pageable = PageRequest.of(0, 10);
-        List<Object[]> activeUsers = logBoardRepository.findTopActiveUsers(startDateTime, endDateTime, pageable);
+        List<Object[]> activeUsers = useRollups()
+                ? activityRollupRepository.findTopActiveUsers(hourFloor(startDateTime), endDateTime, pageable)
+                : logBoardRepository.findTopActiveUsers(startDateTime, endDateTime, pageable);
 
         List<Map<String, Object>> topUsers = new ArrayList<>();
         for (Object[] row : activeUsers) {
@@ -203,7 +248,9 @@ public class MonitoringService {
         }
 
         // DB에서 데이터 조회
-        List<Object[]> hourlyStats = logBoardRepository.countHourlyActivities(startDateTime, endDateTime);
+        List<Object[]> hourlyStats = useRollups()
+                ? activityRollupRepository.sumHourlyActivities(hourFloor(startDateTime), endDateTime)
+                : logBoardRepository.countHourlyActivities(startDateTime, endDateTime);
 
         // DB에서 조회한 데이터로 counts 업데이트
         for (Object[] row : hourlyStats) {
@@ -226,7 +273,9 @@ public class MonitoringService {
     public Map<String, Long> getBoardActivityStats(LocalDateTime startDateTime, LocalDateTime endDateTime) {
         Map<String, Long> boardStats = new HashMap<>();
 
-        List<Object[]> boardCounts = logBoardRepository.countByBoardNmGroupBy(startDateTime, endDateTime);
+        List<Object[]> boardCounts = useRollups()
+                ? activityRollupRepository.sumByBoardNm(hourFloor(startDateTime), endDateTime)
+                : logBoardRepository.countByBoardNmGroupBy(startDateTime, endDateTime);
         for (Object[] row : boardCounts) {
             String boardType = (String) row[0];
             Long count = (Long) row[1];
@@ -240,7 +289,9 @@ public class MonitoringService {
     public Map<String, Long> getActionTypeStats(LocalDateTime startDateTime, LocalDateTime endDateTime) {
         Map<String, Long> actionStats = new HashMap<>();
 
-        List<Object[]> actionCounts = logBoardRepository.countByActionGroupBy(startDateTime, endDateTime);
+        List<Object[]> actionCounts = useRollups()
+                ? activityRollupRepository.sumByAction(hourFloor(startDateTime), endDateTime)
+                : logBoardRepository.countByActionGroupBy(startDateTime, endDateTime);
         for (Object[] row : actionCounts) {
             String actionType = (String) row[0];
             Long count = (Long) row[1];
@@ -254,7 +305,9 @@ public class MonitoringService {
     public List<Map<String, Object>> getTopActiveUsers(LocalDateTime startDateTime, LocalDateTime endDateTime, int limit) {
         List<Map<String, Object>> result = new ArrayList<>();
         Pageable pageable = PageRequest.of(0, limit);
-        List<Object[]> topUsers = logBoardRepository.findTopActiveUsers(startDateTime, endDateTime, pageable);
+        List<Object[]> topUsers = useRollups()
+                ? activityRollupRepository.findTopActiveUsers(hourFloor(startDateTime), endDateTime, pageable)
+                : logBoardRepository.findTopActiveUsers(startDateTime, endDateTime, pageable);
 
         for (Object[] row : topUsers) {
             Map<String, Object> userStat = new HashMap<>();
@@ -273,7 +326,9 @@ public class MonitoringService {
     public List<Map<String, Object>> getProjectActivityStats(LocalDateTime startDateTime, LocalDateTime endDateTime, int limit) {
         List<Map<String, Object>> result = new ArrayList<>();
         Pageable pageable = PageRequest.of(0, limit);
-        List<Object[]> projectStats = logBoardRepository.countActivitiesByProject(startDateTime, endDateTime, pageable);
+        List<Object[]> projectStats = useRollups()
+                ? activityRollupRepository.sumByProject(hourFloor(startDateTime), endDateTime, pageable)
+                : logBoardRepository.countActivitiesByProject(startDateTime, endDateTime, pageable);
 
         for (Object[] row : projectStats) {
             Map<String, Object> projectStat = new HashMap<>();
@@ -314,15 +369,17 @@ public class MonitoringService {
         }
 
         // DB에서 데이터 조회
-        List<Object[]> dailyStats = logBoardRepository.countDailyActivities(startDateTime, endDateTime);
+        List<Object[]> dailyStats = useRollups()
+                ? activityRollupRepository.sumDailyActivities(hourFloor(startDateTime), endDateTime)
+                : logBoardRepository.countDailyActivities(startDateTime, endDateTime);
 
         // DB 데이터를 날짜별로 매핑하기 위한 맵 생성
         Map<String, Long> dailyDataMap = new HashMap<>();
         for (Object[] row : dailyStats) {
             try {
-                java.sql.Date date = (java.sql.Date) row[0];
+                LocalDate date = ActivityRollupService.toLocalDate(row[0]);
                 Long count = (Long) row[1];
-                String dateStr = date.toLocalDate().format(formatter);
+                String dateStr = date.format(formatter);
                 dailyDataMap.put(dateStr, count);
             } catch (Exception e) {
                 log.error("일별 활동 통계 데이터 처리 중 오류 발생: {}", e.getMessage());
@@ -352,7 +409,9 @@ public class MonitoringService {
         LocalDateTime startDate = LocalDateTime.now().minusDays(days - 1).toLocalDate().atStartOfDay();
 
         // 일별 활동 수 조회
-        List<Object[]> dailyActivities = logBoardRepository.countDailyActivitiesAfter(startDate);
+        List<Object[]> dailyActivities = useRollups()
+                ? activityRollupRepository.sumDailyActivitiesAfter(startDate)
+                : logBoardRepository.countDailyActivitiesAfter(startDate);
 
         // 데이터 포맷팅
         List<String> labels = new ArrayList<>();
@@ -361,9 +420,9 @@ public class MonitoringService {
         // 현재로부터 N일 전까지의 날짜별 데이터 생성
         Map<String, Long> activityMap = new HashMap<>();
         for (Object[] row : dailyActivities) {
-            java.sql.Date date = (java.sql.Date) row[0];
+            LocalDate date = ActivityRollupService.toLocalDate(row[0]);
             Long count = (Long) row[1];
-            activityMap.put(date.toLocalDate().format(formatter), count);
+            activityMap.put(date.format(formatter), count);
         }
 
         // 날짜 레이블 생성 및 데이터 매핑
@@ -492,9 +551,9 @@ public class MonitoringService {
         if (creationData != null && !creationData.isEmpty()) {
             for (Object[] row : creationData) {
                 try {
-                    java.sql.Date date = (java.sql.Date) row[0];
+                    LocalDate date = ActivityRollupService.toLocalDate(row[0]);
                     Long count = (Long) row[1];
-                    String dateStr = date.toLocalDate().format(formatter);
+                    String dateStr = date.format(formatter);
                     creationDataMap.put(dateStr, count);
                 } catch (Exception e) {
                     log.error("프로젝트 생성 추세 데이터 처리 중 오류 발생: {}", e.getMessage());
@@ -517,81 +576,45 @@ public class MonitoringService {
     }
 
     // 게시판별 활동 유형 통계
-    // 게시판별 활동 유형 통계
+    // 일 x 유형 x 게시판 큐브 한 번 조회로 계산 (게시판마다 쿼리하지 않음)
     public Map<String, Object> getBoardActionTypeStats(LocalDateTime startDateTime, LocalDateTime endDateTime) {
         Map<String, Object> result = new HashMap<>();
 
-        // 게시판 유형 목록 가져오기
-        List<String> boardTypes = getBoardTypes();
-
-        // 액션 유형 목록
-        List<String> actionTypes = getActionTypes();
+        ActivityStatsCube cube = loadCube(startDateTime, endDateTime);
+        List<String> actionTypes = cube.getActions();
+        List<String> cubeBoards = cube.getBoards();
+        long[][] boardByAction = cube.boardByAction();
 
-        // 게시판별 통계 데이터
+        // 화면에 보여주는 게시판 유형만 집계
+        long[] actionTotals = new long[actionTypes.size()];
         Map<String, Map<String, Long>> boardStats = new HashMap<>();
-
-        // 액션 유형별 합계
-        Map<String, Long> actionTotals = new HashMap<>();
-        for (String actionType : actionTypes) {
-            actionTotals.put(actionType, 0L);
-        }
-
-        // 모든 액션 유형 목록을 수집 (DB에서 실제로 사용된 액션 유형도 포함)
-        Set<String> allActionTypes = new HashSet<>(actionTypes);
-
-        // 각 게시판 유형별로 활동 유형 통계 수집
-        for (String boardType : boardTypes) {
+        for (String boardType : getBoardTypes()) {
+            long[] counts = boardByAction[cubeBoards.indexOf(boardType)];
             Map<String, Long> actionCounts = new HashMap<>();
-
-            // 해당 게시판의 활동 유형별 카운트 조회
-            List<Object[]> stats = logBoardRepository.countByBoardNmAndActionGroupBy(boardType, startDateTime, endDateTime);
-
-            for (Object[] row : stats) {
-                String actionType = (String) row[0];
-                Long count = (Long) row[1];
-
-                // 알 수 없는 액션 유형도 목록에 추가
-                allActionTypes.add(actionType);
-
-                actionCounts.put(actionType, count);
-
-                // 액션 유형별 합계 누적
-                // actionTotals에 해당 액션이 없으면 먼저 초기화
-                if (!actionTotals.containsKey(actionType)) {
-                    actionTotals.put(actionType, 0L);
-                }
-                actionTotals.put(actionType, actionTotals.get(actionType) + count);
-            }
-
-            // 모든 액션 유형에 대해 카운트가 없는 경우 0으로 설정
-            for (String action : allActionTypes) {
-                if (!actionCounts.containsKey(action)) {
-                    actionCounts.put(action, 0L);
-                }
+            for (int a = 0; a < actionTypes.size(); a++) {
+                actionCounts.put(actionTypes.get(a), counts[a]);
+                actionTotals[a] += counts[a];
             }
-
             boardStats.put(boardType, actionCounts);
         }
 
-        // 모든 액션 유형을 결과에 포함
-        List<String> updatedActionTypes = new ArrayList<>(allActionTypes);
-
-        // 결과 맵에 데이터 추가
-        result.put("boardStats", boardStats);
-        result.put("actionTypes", updatedActionTypes);
-        result.put("actionTotals", actionTotals);
-
-        // 각 액션 유형의 전체 합계 계산
+        Map<String, Long> actionTotalMap = new HashMap<>();
         long totalActions = 0;
-        for (Long count : actionTotals.values()) {
-            totalActions += count;
+        for (int a = 0; a < actionTypes.size(); a++) {
+            actionTotalMap.put(actionTypes.get(a), actionTotals[a]);
+            totalActions += actionTotals[a];
         }
+
+        result.put("boardStats", boardStats);
+        result.put("actionTypes", new ArrayList<>(actionTypes));
+        result.put("actionTotals", actionTotalMap);
         result.put("totalActions", totalActions);
 
         return result;
     }
 
     // 일별 활동 유형 추세
+    // 날짜 x 유형 건수를 큐브 한 번 조회로 계산 (날짜마다, 유형마다 쿼리하지 않음)
     public Map<String, Object> getDailyActionTypeStats(LocalDateTime startDateTime, LocalDateTime endDateTime) {
         Map<String, Object> result = new HashMap<>();
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM-dd");
@@ -600,49 +623,125 @@ public class MonitoringService {
         List<String> actionTypes = getActionTypes();
         result.put("actionTypes", actionTypes);
 
+        // 시작일 0시 ~ 종료일 다음날 0시 (연도가 바뀌는 구간도 LocalDate 로 계산)
+        LocalDateTime from = startDateTime.toLocalDate().atStartOfDay();
+        LocalDateTime to = endDateTime.toLocalDate().plusDays(1).atStartOfDay();
+        ActivityStatsCube cube = loadCube(from, to);
+
         // 날짜 레이블 준비
         List<String> dateLabels = new ArrayList<>();
-        LocalDateTime currentDate = startDateTime;
-        while (!currentDate.isAfter(endDateTime)) {
-            dateLabels.add(currentDate.format(formatter));
-            currentDate = currentDate.plusDays(1);
+        for (int day = 0; day < cube.getDays(); day++) {
+            dateLabels.add(cube.getFirstDay().plusDays(day).format(formatter));
         }
         result.put("dates", dateLabels);
 
-        // 각 액션 유형별 일별 통계 수집
+        // 각 액션 유형별 일별 통계
         Map<String, List<Long>> actionData = new HashMap<>();
-
-        // 일별 합계 데이터
-        List<Long> dailyTotals = new ArrayList<>();
-        for (int i = 0; i < dateLabels.size(); i++) {
-            dailyTotals.add(0L);
+        for (String actionType : actionTypes) {
+            actionData.put(actionType, toList(cube.dailyByAction(actionType)));
         }
 
-        for (String actionType : actionTypes) {
-            List<Long> counts = new ArrayList<>();
+        result.put("actionData", actionData);
+        result.put("dailyTotals", toList(cube.dailyTotals(actionTypes)));
 
-            // 각 날짜별로 해당 액션의 카운트 조회
-            for (int i = 0; i < dateLabels.size(); i++) {
-                String dateLabel = dateLabels.get(i);
-                LocalDateTime dayStart = LocalDateTime.parse(
-                        LocalDateTime.now().getYear() + "-" + dateLabel + " 00:00:00",
-                        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-                LocalDateTime dayEnd = dayStart.plusDays(1);
+        return result;
+    }
 
-                Long count = logBoardRepository.countByActionAndActionDateBetween(actionType, dayStart, dayEnd);
-                counts.add(count);
+    // [from, to) 구간의 일 x 활동 유형 x 게시판 건수를 한 번의 GROUP BY 로 읽어 큐브로 만든다
+    private ActivityStatsCube loadCube(LocalDateTime from, LocalDateTime to) {
+        List<Object[]> rows = useRollups()
+                ? activityRollupRepository.sumDailyByActionAndBoard(hourFloor(from), to)
+                : logBoardRepository.countDailyByActionAndBoard(from, to);
+        return ActivityStatsCube.of(from.toLocalDate(), to.minusNanos(1).toLocalDate(),
+                getActionTypes(), getBoardTypes(), rows);
+    }
 
-                // 일별 합계에 추가
-                dailyTotals.set(i, dailyTotals.get(i) + count);
-            }
+    private static List<Long> toList(long[] values) {
+        List<Long> list = new ArrayList<>(values.length);
+        for (long value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    /**
+     * 스트리밍 스케치 기반 근사 활동 통계 (DB 조회 없음).
+     * - activeUsers: 일/주/월 고유 사용자 수, 상대 표준 오차 standardError (약 0.8%, 95% 구간은 2배)
+     * - topUsers / topProjects: Space-Saving 상위 K. 실제 빈도는 [count - error, count] 범위에 있다.
+     */
+    public Map<String, Object> getApproximateActivity(int windowDays, int limit) {
+        Map<String, Object> result = new LinkedHashMap<>();
+
+        Map<String, Object> activeUsers = new LinkedHashMap<>();
+        activeUsers.put("daily", activitySketchService.estimateActiveUsers(1));
+        activeUsers.put("weekly", activitySketchService.estimateActiveUsers(7));
+        activeUsers.put("monthly", activitySketchService.estimateActiveUsers(30));
+        activeUsers.put("standardError", activitySketchService.activeUserStandardError());
+        result.put("activeUsers", activeUsers);
+
+        result.put("windowDays", windowDays);
+        result.put("topUsers", toSketchEntries(activitySketchService.topUsers(windowDays, limit), null));
+
+        List<SpaceSaving.Entry> projects = activitySketchService.topProjects(windowDays, limit);
+        Map<String, String> projectNames = new HashMap<>();
+        projectRepository.findAllById(projects.stream().map(entry -> Long.valueOf(entry.item())).toList())
+                .forEach(project -> projectNames.put(String.valueOf(project.getId()), project.getProjectName()));
+        result.put("topProjects", toSketchEntries(projects, projectNames));
+        result.put("status", activitySketchService.getStats());
 
-            actionData.put(actionType, counts);
+        return result;
+    }
+
+    // 스케치 추정값과 log_board 정확 집계 비교 (관리자 점검용, 전체 조회가 일어나므로 필요할 때만 호출)
+    public Map<String, Object> compareApproximateActivity(int windowDays, int limit) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        LocalDateTime since = LocalDateTime.now().toLocalDate().minusDays(windowDays - 1L).atStartOfDay();
+
+        long exactUsers = logBoardRepository.countDistinctUsersSince(since);
+        long estimatedUsers = activitySketchService.estimateActiveUsers(windowDays);
+        result.put("exactActiveUsers", exactUsers);
+        result.put("estimatedActiveUsers", estimatedUsers);
+        result.put("activeUsersRelativeError", exactUsers == 0 ? 0.0 : Math.abs(estimatedUsers - exactUsers) / (double) exactUsers);
+
+        Map<String, Long> estimated = new LinkedHashMap<>();
+        activitySketchService.topUsers(windowDays, limit).forEach(entry -> estimated.put(entry.item(), entry.count()));
+        List<Map<String, Object>> users = new ArrayList<>();
+        for (Object[] row : logBoardRepository.findTopActiveUsers(since, LocalDateTime.now(), PageRequest.of(0, limit))) {
+            Map<String, Object> user = new LinkedHashMap<>();
+            user.put("userName", row[0]);
+            user.put("exactCount", row[1]);
+            user.put("estimatedCount", estimated.get((String) row[0]));
+            users.add(user);
         }
+        result.put("topUsers", users);
 
-        result.put("actionData", actionData);
-        result.put("dailyTotals", dailyTotals);
+        return result;
+    }
 
+    private List<Map<String, Object>> toSketchEntries(List<SpaceSaving.Entry> entries, Map<String, String> names) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (SpaceSaving.Entry entry : entries) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("key", entry.item());
+            if (names != null) {
+                item.put("name", names.get(entry.item()));
+            }
+            item.put("count", entry.count());
+            item.put("guaranteedCount", entry.count() - entry.error());
+            item.put("maxError", entry.error());
+            result.add(item);
+        }
         return result;
     }
 
-}
\ No newline at end of file
+    // 집계 테이블 백필이 끝난 뒤에만 activity_rollup 에서 통계를 읽는다
+    private boolean useRollups() {
+        return activityRollupService.isActive();
+    }
+
+    // 집계는 시간 단위 버킷이므로 시작 시각을 정시로 내린다
+    private static LocalDateTime hourFloor(LocalDateTime dateTime) {
+        return dateTime.truncatedTo(ChronoUnit.HOURS);
+    }
+
+}
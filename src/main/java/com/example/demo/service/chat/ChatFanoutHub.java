@@ -0,0 +1,257 @@
+package com.example.demo.service.chat;
+
+import com.example.demo.config.ProjectAccessCache;
+import com.example.demo.model.ChatMessage;
+import com.example.demo.service.ChatService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 채팅 실시간 전달 허브.
+ * 구독자가 있는 방마다 저장소 구독(ChatStore.subscribe)을 하나만 열고, 받은 메시지를 한 번만 직렬화해
+ * 그 방에 붙은 웹소켓 세션들의 송신 큐(ChatSocketSession)에 넣는다.
+ * 마지막 세션이 떠나면 저장소 구독을 닫는다.
+ * 멤버십이 바뀌면(ProjectAccessCache.AccessChanged) 해당 방의 세션 권한을 다시 확인해 잃은 세션은 떼고 "revoked" 를 보낸다.
+ */
+@Service
+@Slf4j
+public class ChatFanoutHub {
+
+    private final ChatService chatService;
+    private final ProjectAccessCache projectAccessCache;
+    private final ObjectMapper objectMapper;
+    private final int sessionQueueSize;
+    private final int maxRoomsPerSession;
+    private final ExecutorService writers;
+
+    private final Map<String, Room> rooms = new ConcurrentHashMap<>();
+    private final Set<ChatSocketSession> sessions = ConcurrentHashMap.newKeySet();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder fannedOut = new LongAdder();
+    private final LongAdder revoked = new LongAdder();
+    // 닫힌 세션의 카운터 누적 (통계용)
+    private final long[] closedCounters = new long[3];
+
+    public ChatFanoutHub(ChatService chatService,
+                         ProjectAccessCache projectAccessCache,
+                         ObjectMapper objectMapper,
+                         @Value("${chat.fanout.session-queue:256}") int sessionQueueSize,
+                         @Value("${chat.fanout.max-rooms-per-session:32}") int maxRoomsPerSession,
+                         @Value("${chat.fanout.writer-threads:8}") int writerThreads) {
+        this.chatService = chatService;
+        this.projectAccessCache = projectAccessCache;
+        this.objectMapper = objectMapper;
+        this.sessionQueueSize = sessionQueueSize;
+        this.maxRoomsPerSession = maxRoomsPerSession;
+        AtomicInteger sequence = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(writerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "chat-writer-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** 새 연결의 송신 큐를 만든다 (user 는 권한 재확인에 쓰는 이메일) */
+    public ChatSocketSession open(String sessionId, String user, ChatSocketSession.Transport transport) {
+        ChatSocketSession session = new ChatSocketSession(sessionId, user, transport, sessionQueueSize, writers,
+                this::resyncFrame);
+        sessions.add(session);
+        return session;
+    }
+
+    /**
+     * 세션을 방에 붙인다. 방의 첫 세션이면 저장소 구독을 연다.
+     * 세션당 구독 방 수가 한도에 도달했으면 false (resync 프레임 수도 이 한도로 묶인다)
+     */
+    public boolean attach(String roomId, ChatSocketSession session) {
+        if (session.isClosed()) {
+            return true;
+        }
+        if (session.rooms().size() >= maxRoomsPerSession && !session.rooms().contains(roomId)) {
+            return false;
+        }
+        if (!session.rooms().add(roomId)) {
+            return true;
+        }
+        rooms.compute(roomId, (id, room) -> {
+            if (room == null) {
+                room = new Room();
+                room.upstream = chatService.subscribeToMessages(id, message -> broadcast(id, message));
+                log.debug("채팅방 {} 구독 시작", id);
+            }
+            room.sessions.add(session);
+            return room;
+        });
+        // close 와 겹친 경우: close 는 방 목록을 읽기 전에 닫힘 표시를 하므로, 닫힌 것이 보이면 여기서 직접 뗀다
+        // (close 가 먼저 방 목록에서 지웠더라도 방의 세션 집합에는 위에서 다시 들어갔을 수 있음)
+        if (session.isClosed()) {
+            session.rooms().remove(roomId);
+            leave(roomId, session);
+        }
+        return true;
+    }
+
+    /** 세션을 방에서 뗀다. 아직 보내지 않은 그 방 프레임은 버리고, 마지막 세션이면 저장소 구독을 닫는다 */
+    public void detach(String roomId, ChatSocketSession session) {
+        if (!session.rooms().remove(roomId)) {
+            return;
+        }
+        session.discardRoom(roomId);
+        leave(roomId, session);
+    }
+
+    /** 연결 종료: 큐를 비우고 모든 방에서 뗀다 (닫힘 표시가 먼저여야 동시 attach 가 남지 않는다) */
+    public void close(ChatSocketSession session) {
+        session.close();
+        for (String roomId : session.rooms().toArray(new String[0])) {
+            detach(roomId, session);
+        }
+        if (!sessions.remove(session)) {
+            return;
+        }
+        long[] counters = session.counters();
+        synchronized (closedCounters) {
+            for (int i = 0; i < closedCounters.length; i++) {
+                closedCounters[i] += counters[i];
+            }
+        }
+    }
+
+    /** 멤버십 변경 후 (커밋 이후) 영향을 받는 방의 세션 권한을 다시 확인한다 */
+    @EventListener
+    public void onAccessChanged(ProjectAccessCache.AccessChanged change) {
+        for (Map.Entry<String, Room> entry : rooms.entrySet()) {
+            String roomId = entry.getKey();
+            Long projectId = ChatRooms.projectIdOf(roomId);
+            if (projectId == null || (change.projectId() != null && !change.projectId().equals(projectId))) {
+                continue;
+            }
+            for (ChatSocketSession session : entry.getValue().sessions) {
+                if (!projectAccessCache.hasAccess(projectId, session.getUser())) {
+                    detach(roomId, session);
+                    session.sendControl(frame("revoked", roomId, null));
+                    revoked.increment();
+                }
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        long sent;
+        long dropped;
+        long resyncs;
+        synchronized (closedCounters) {
+            sent = closedCounters[0];
+            dropped = closedCounters[1];
+            resyncs = closedCounters[2];
+        }
+        long queued = 0;
+        long maxQueued = 0;
+        int attachments = 0;
+        for (ChatSocketSession session : sessions) {
+            long[] counters = session.counters();
+            sent += counters[0];
+            dropped += counters[1];
+            resyncs += counters[2];
+            queued += counters[3];
+            maxQueued = Math.max(maxQueued, counters[3]);
+            attachments += session.rooms().size();
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("store", chatService.getStoreName());
+        stats.put("rooms", rooms.size());
+        stats.put("sessions", sessions.size());
+        stats.put("roomAttachments", attachments);
+        stats.put("sessionQueueSize", sessionQueueSize);
+        stats.put("received", received.sum());
+        stats.put("fannedOut", fannedOut.sum());
+        stats.put("revoked", revoked.sum());
+        stats.put("sent", sent);
+        stats.put("dropped", dropped);
+        stats.put("resyncs", resyncs);
+        stats.put("queued", queued);
+        stats.put("maxQueued", maxQueued);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rooms.forEach(this::closeUpstream);
+        rooms.clear();
+        writers.shutdown();
+    }
+
+    // ===== 내부 =====
+
+    // 방의 세션 집합에서 빼고, 마지막 세션이었으면 저장소 구독을 닫는다
+    private void leave(String roomId, ChatSocketSession session) {
+        rooms.computeIfPresent(roomId, (id, room) -> {
+            room.sessions.remove(session);
+            if (!room.sessions.isEmpty()) {
+                return room;
+            }
+            closeUpstream(id, room);
+            return null;
+        });
+    }
+
+    private void broadcast(String roomId, ChatMessage message) {
+        received.increment();
+        Room room = rooms.get(roomId);
+        if (room == null || room.sessions.isEmpty()) {
+            return;
+        }
+        String frame = frame("message", roomId, message);
+        for (ChatSocketSession session : room.sessions) {
+            session.offer(roomId, frame);
+        }
+        fannedOut.add(room.sessions.size());
+    }
+
+    private String resyncFrame(String roomId) {
+        return frame("resync", roomId, null);
+    }
+
+    private String frame(String type, String roomId, ChatMessage message) {
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("type", type);
+        frame.put("roomId", roomId);
+        if (message != null) {
+            frame.put("message", message);
+        }
+        try {
+            return objectMapper.writeValueAsString(frame);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("채팅 프레임을 만들 수 없습니다.", e);
+        }
+    }
+
+    private void closeUpstream(String roomId, Room room) {
+        try {
+            room.upstream.close();
+            log.debug("채팅방 {} 구독 종료", roomId);
+        } catch (RuntimeException e) {
+            log.warn("채팅방 {} 구독 해제 실패: {}", roomId, e.getMessage());
+        }
+    }
+
+    private static final class Room {
+        private final Set<ChatSocketSession> sessions = ConcurrentHashMap.newKeySet();
+        private ChatSubscription upstream;
+    }
+}
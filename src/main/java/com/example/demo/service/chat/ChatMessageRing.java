@@ -0,0 +1,162 @@
+package com.example.demo.service.chat;
+
+import com.example.demo.model.ChatMessage;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 채팅방 하나의 최근 메시지 링 버퍼 (messageId 순서 유지, 가득 차면 가장 오래된 것부터 밀려남).
+ * 조회는 버퍼 안에서 답할 수 있을 때만 결과를 돌려주고, 아니면 null (저장소 조회 필요).
+ * 기준 메시지가 버퍼의 가장 새 메시지보다 새로우면 구독 반영이 늦은 것이므로 역시 null 이다.
+ * 동기화하지 않으므로 호출 측에서 잠금을 관리한다.
+ */
+final class ChatMessageRing {
+
+    private final ChatMessage[] slots;
+    private final Comparator<String> order;
+    private int head;
+    private int size;
+    private long bytes;
+    // 방의 첫 메시지부터 모두 들고 있는지 (한 번도 밀려난 적 없고 전체 이력이 capacity 미만)
+    private boolean hasOldest;
+    private boolean overflowed;
+
+    ChatMessageRing(int capacity, Comparator<String> order) {
+        this.slots = new ChatMessage[capacity];
+        this.order = order;
+    }
+
+    /** 순서에 맞는 위치에 넣고 추정 메모리 증감(바이트)을 돌려준다. 이미 있는 메시지면 0 */
+    long insert(ChatMessage message) {
+        String messageId = message.getMessageId();
+        if (messageId == null) {
+            return 0;
+        }
+        // 대부분 맨 뒤에 붙으므로 뒤에서부터 위치를 찾는다
+        int position = size;
+        while (position > 0) {
+            int compared = order.compare(get(position - 1).getMessageId(), messageId);
+            if (compared == 0) {
+                return 0;
+            }
+            if (compared < 0) {
+                break;
+            }
+            position--;
+        }
+
+        long delta = 0;
+        if (size == slots.length) {
+            if (position == 0) {
+                // 버퍼보다 오래된 메시지는 보관하지 않음
+                return 0;
+            }
+            ChatMessage oldest = slots[head];
+            slots[head] = null;
+            head = (head + 1) % slots.length;
+            size--;
+            position--;
+            delta -= estimateBytes(oldest);
+            overflowed = true;
+            hasOldest = false;
+        }
+        for (int i = size; i > position; i--) {
+            slots[index(i)] = get(i - 1);
+        }
+        slots[index(position)] = message;
+        size++;
+        delta += estimateBytes(message);
+        bytes += delta;
+        return delta;
+    }
+
+    /** 저장소에서 방 전체 이력을 읽었음을 표시 (그 사이 밀려난 적이 없을 때만 유효) */
+    void markOldestLoaded() {
+        hasOldest = !overflowed;
+    }
+
+    /** 최근 limit 개 */
+    List<ChatMessage> latest(int limit) {
+        if (limit > size && !hasOldest) {
+            return null;
+        }
+        return slice(Math.max(0, size - limit), size);
+    }
+
+    /** beforeMessageId 보다 앞선 limit 개 */
+    List<ChatMessage> before(String beforeMessageId, int limit) {
+        if (isAhead(beforeMessageId)) {
+            return null;
+        }
+        int end = 0;
+        while (end < size && order.compare(get(end).getMessageId(), beforeMessageId) < 0) {
+            end++;
+        }
+        if (end < limit && !hasOldest) {
+            return null;
+        }
+        return slice(Math.max(0, end - limit), end);
+    }
+
+    /** afterMessageId 다음 limit 개 (버퍼가 기준 메시지와 이어져 있을 때만) */
+    List<ChatMessage> after(String afterMessageId, int limit) {
+        if (isAhead(afterMessageId)) {
+            return null;
+        }
+        int start = 0;
+        while (start < size && order.compare(get(start).getMessageId(), afterMessageId) <= 0) {
+            start++;
+        }
+        if (start == 0 && !hasOldest) {
+            return null;
+        }
+        return slice(start, Math.min(size, start + limit));
+    }
+
+    // 버퍼에 반영된 가장 새 메시지보다 뒤의 메시지인지 (빈 버퍼면 어떤 기준 메시지든 아직 반영 전)
+    private boolean isAhead(String messageId) {
+        return size == 0 || order.compare(get(size - 1).getMessageId(), messageId) < 0;
+    }
+
+    /** 버퍼의 가장 새 메시지 seq (비었거나 seq 가 없으면 null) */
+    Long latestSeq() {
+        return size == 0 ? null : get(size - 1).getSeq();
+    }
+
+    int size() {
+        return size;
+    }
+
+    long bytes() {
+        return bytes;
+    }
+
+    // 문자열 필드 길이 기준 대략적인 힙 사용량 (객체 헤더/참조 포함)
+    static long estimateBytes(ChatMessage message) {
+        long chars = length(message.getMessageId()) + length(message.getSenderId()) + length(message.getSenderName())
+                + length(message.getContent()) + length(message.getRoomId()) + length(message.getProjectId());
+        return 200 + 2 * chars;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private List<ChatMessage> slice(int from, int to) {
+        List<ChatMessage> result = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            result.add(get(i));
+        }
+        return result;
+    }
+
+    private ChatMessage get(int i) {
+        return slots[index(i)];
+    }
+
+    private int index(int i) {
+        return (head + i) % slots.length;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.demo.service.chat;
+
+import com.example.demo.domain.dto.ChatRoomSummaryDTO;
+import com.example.demo.domain.entity.ChatReadMarker;
+import com.example.demo.repository.ChatReadMarkerRepository;
+import com.example.demo.repository.ProjectRepository;
+import com.example.demo.service.ChatService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 채팅 읽음 위치와 안 읽은 수.
+ * 사용자마다 (roomId -> 마지막으로 읽은 seq) 만 저장하고, 안 읽은 수는 방의 최신 seq 와의 차이로 계산한다.
+ * 방 목록의 최신 seq 는 최근 메시지 캐시에 있는 방은 캐시 값, 나머지는 저장소에 동시에 조회한다 (이력 길이와 무관).
+ * 읽음 위치 저장(JPA)은 저장소 콜백 스레드가 아닌 크기 제한 풀(chat.read.db-threads)에서 실행한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChatReadService {
+
+    private final ChatService chatService;
+    private final ChatReadMarkerRepository chatReadMarkerRepository;
+    private final ProjectRepository projectRepository;
+
+    @Value("${chat.read.db-threads:4}")
+    private int dbThreads;
+
+    @Value("${chat.read.db-queue:256}")
+    private int dbQueue;
+
+    // 읽음 위치 DB 기록용. 대기열이 가득 차면 거절 (저장소 콜백 스레드에서 대신 실행하지 않도록)
+    private ExecutorService dbExecutor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger sequence = new AtomicInteger();
+        dbExecutor = new ThreadPoolExecutor(dbThreads, dbThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(dbQueue), runnable -> {
+                    Thread thread = new Thread(runnable, "chat-read-db-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        dbExecutor.shutdown();
+    }
+
+    /** 사용자가 참여한 프로젝트 채팅방 목록 (안 읽은 수 포함) */
+    public CompletableFuture<List<ChatRoomSummaryDTO>> getRooms(Long userId) {
+        Map<String, Long> lastRead = getLastReadSeqs(userId);
+        List<Object[]> projects = projectRepository.findAccessibleProjectNames(userId);
+
+        List<String> roomIds = new ArrayList<>(projects.size());
+        for (Object[] row : projects) {
+            roomIds.add(ChatRooms.ofProject((Long) row[0]));
+        }
+        return chatService.getLatestSeqs(roomIds).thenApply(latestSeqs -> {
+            List<ChatRoomSummaryDTO> summaries = new ArrayList<>(projects.size());
+            for (Object[] row : projects) {
+                Long projectId = (Long) row[0];
+                String roomId = ChatRooms.ofProject(projectId);
+                long latestSeq = latestSeqs.getOrDefault(roomId, 0L);
+                long readSeq = lastRead.getOrDefault(roomId, 0L);
+                summaries.add(ChatRoomSummaryDTO.builder()
+                        .roomId(roomId)
+                        .projectId(projectId)
+                        .projectName((String) row[1])
+                        .latestSeq(latestSeq)
+                        .lastReadSeq(readSeq)
+                        .unreadCount(Math.max(0, latestSeq - readSeq))
+                        .build());
+            }
+            return summaries;
+        });
+    }
+
+    /** 사용자의 방별 마지막 읽은 seq */
+    public Map<String, Long> getLastReadSeqs(Long userId) {
+        Map<String, Long> lastRead = new HashMap<>();
+        for (Object[] row : chatReadMarkerRepository.findSeqsByUserId(userId)) {
+            lastRead.put((String) row[0], (Long) row[1]);
+        }
+        return lastRead;
+    }
+
+    /**
+     * seq 까지 읽음으로 표시한다 (방의 최신 seq 를 넘지 않고, 뒤로는 이동하지 않음).
+     * 저장된 마지막 읽은 seq 를 돌려준다.
+     */
+    public CompletableFuture<Long> markRead(Long userId, String roomId, long seq) {
+        if (seq < 0) {
+            throw new IllegalArgumentException("seq 는 0 이상이어야 합니다.");
+        }
+        // 최신 seq 는 저장소 콜백 스레드에서 오므로 DB 기록은 전용 풀로 넘긴다
+        return chatService.getLatestSeq(roomId).thenApplyAsync(latestSeq -> {
+            long target = Math.min(seq, latestSeq);
+            advance(userId, roomId, target);
+            return chatReadMarkerRepository.findLastReadSeq(userId, roomId).orElse(target);
+        }, dbExecutor);
+    }
+
+    // ===== 내부 =====
+
+    private void advance(Long userId, String roomId, long seq) {
+        LocalDateTime now = LocalDateTime.now();
+        if (chatReadMarkerRepository.advance(userId, roomId, seq, now) > 0
+                || chatReadMarkerRepository.findLastReadSeq(userId, roomId).isPresent()) {
+            return;
+        }
+        try {
+            chatReadMarkerRepository.save(ChatReadMarker.builder()
+                    .userId(userId)
+                    .roomId(roomId)
+                    .lastReadSeq(seq)
+                    .updatedAt(now)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // 동시에 다른 요청이 먼저 만든 경우: 만들어진 행을 앞으로 이동
+            chatReadMarkerRepository.advance(userId, roomId, seq, now);
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.example.demo.service.chat;
+
+import com.example.demo.model.ChatMessage;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 채팅방별 최근 메시지 캐시.
+ * 처음 조회된 방은 저장소 구독을 먼저 연 뒤 최근 room-capacity 개를 읽어 링 버퍼(ChatMessageRing)를 채우고,
+ * 이후 전송 완료와 구독 콜백으로 들어오는 메시지를 순서대로 덧붙인다.
+ * 캐시된 방 전체의 추정 메모리(방마다 고정 오버헤드 포함)가 max-bytes 를 넘거나 방 수가 max-rooms 를 넘으면
+ * 가장 오래 쓰이지 않은 방부터 내리고 구독을 닫는다 (LRU).
+ * 버퍼 범위 안의 조회(최근 / before / after)는 저장소를 거치지 않는다.
+ * 호출 측(ChatController)이 접근 권한을 확인한 방만 들어오며, 메시지가 없는 방(없는 방 포함)은 남겨 두지 않는다.
+ */
+@Service
+@Slf4j
+public class ChatRecentCache {
+
+    private final ChatStore chatStore;
+    private final boolean enabled;
+    private final int roomCapacity;
+    private final long maxBytes;
+    private final int maxRooms;
+
+    // 접근 순서 LinkedHashMap (가장 앞이 가장 오래 쓰이지 않은 방). 아래 필드와 함께 this 잠금으로 보호
+    private final LinkedHashMap<String, Room> rooms = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bypasses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ChatRecentCache(ChatStore chatStore,
+                           @Value("${chat.cache.enabled:true}") boolean enabled,
+                           @Value("${chat.cache.room-capacity:200}") int roomCapacity,
+                           @Value("${chat.cache.max-bytes:33554432}") long maxBytes,
+                           @Value("${chat.cache.max-rooms:1000}") int maxRooms) {
+        this.chatStore = chatStore;
+        this.enabled = enabled;
+        this.roomCapacity = roomCapacity;
+        this.maxBytes = maxBytes;
+        this.maxRooms = maxRooms;
+    }
+
+    // 메시지와 별개로 방 하나가 차지하는 추정 메모리 (링 슬롯 배열 + 방/구독/맵 항목)
+    static long roomOverheadBytes(int roomCapacity) {
+        return 1024 + 8L * roomCapacity;
+    }
+
+    public CompletableFuture<List<ChatMessage>> findLatest(String roomId, int limit) {
+        return lookup(roomId, limit, ring -> ring.latest(limit), () -> chatStore.findLatest(roomId, limit));
+    }
+
+    public CompletableFuture<List<ChatMessage>> findBefore(String roomId, String beforeMessageId, int limit) {
+        return lookup(roomId, limit, ring -> ring.before(beforeMessageId, limit),
+                () -> chatStore.findBefore(roomId, beforeMessageId, limit));
+    }
+
+    public CompletableFuture<List<ChatMessage>> findAfter(String roomId, String afterMessageId, int limit) {
+        return lookup(roomId, limit, ring -> ring.after(afterMessageId, limit),
+                () -> chatStore.findAfter(roomId, afterMessageId, limit));
+    }
+
+    /** 캐시된 방의 마지막 seq (캐시되지 않았거나 아직 적재 중인 방이면 null) */
+    public Long latestSeq(String roomId) {
+        Room room;
+        synchronized (this) {
+            room = rooms.get(roomId);
+        }
+        if (room == null || !room.ready.isDone() || room.ready.isCompletedExceptionally()) {
+            return null;
+        }
+        synchronized (room.ring) {
+            return room.ring.latestSeq();
+        }
+    }
+
+    /** 새 메시지 반영 (전송 완료 / 구독 콜백). 캐시되지 않은 방이면 무시 */
+    public void onMessage(ChatMessage message) {
+        Room room;
+        synchronized (this) {
+            room = rooms.get(message.getRoomId());
+        }
+        if (room != null) {
+            add(room, List.of(message));
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        long requests = hits.sum() + misses.sum() + bypasses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        synchronized (this) {
+            stats.put("rooms", rooms.size());
+            stats.put("estimatedBytes", totalBytes);
+        }
+        stats.put("maxBytes", maxBytes);
+        stats.put("maxRooms", maxRooms);
+        stats.put("roomCapacity", roomCapacity);
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("bypasses", bypasses.sum());
+        stats.put("evictions", evictions.sum());
+        stats.put("hitRatio", requests == 0 ? 0.0 : hits.sum() / (double) requests);
+        return stats;
+    }
+
+    @PreDestroy
+    public void clear() {
+        List<Room> removed;
+        synchronized (this) {
+            removed = new ArrayList<>(rooms.values());
+            rooms.clear();
+            totalBytes = 0;
+        }
+        removed.forEach(this::closeSubscription);
+    }
+
+    // ===== 내부 =====
+
+    // hit: 이미 캐시된 방을 버퍼로 응답 / miss: 방을 새로 적재 / bypass: 버퍼 범위 밖이라 저장소 조회
+    private CompletableFuture<List<ChatMessage>> lookup(String roomId,
+                                                        int limit,
+                                                        Function<ChatMessageRing, List<ChatMessage>> fromRing,
+                                                        Supplier<CompletableFuture<List<ChatMessage>>> fromStore) {
+        if (!enabled || limit > roomCapacity || ChatRooms.projectIdOf(roomId) == null) {
+            bypasses.increment();
+            return fromStore.get();
+        }
+        Room room;
+        boolean created = false;
+        List<Room> evicted = List.of();
+        synchronized (this) {
+            room = rooms.get(roomId);
+            if (room == null) {
+                room = new Room(roomId);
+                rooms.put(roomId, room);
+                room.bytes = roomOverheadBytes(roomCapacity);
+                totalBytes += room.bytes;
+                evicted = evictLocked(room);
+                created = true;
+            }
+        }
+        closeEvicted(evicted);
+        if (created) {
+            load(room);
+        }
+
+        boolean loadedHere = created;
+        return room.ready.thenCompose(ready -> {
+            List<ChatMessage> result;
+            synchronized (ready.ring) {
+                result = fromRing.apply(ready.ring);
+            }
+            if (result == null) {
+                bypasses.increment();
+                return fromStore.get();
+            }
+            (loadedHere ? misses : hits).increment();
+            return CompletableFuture.completedFuture(result);
+        }).exceptionallyCompose(e -> {
+            // 적재 실패 시 저장소로 직접 조회
+            bypasses.increment();
+            return fromStore.get();
+        });
+    }
+
+    // 구독을 먼저 열고 최근 메시지를 읽는다 (그 사이 들어온 메시지도 순서대로 합쳐짐)
+    private void load(Room room) {
+        try {
+            room.subscription = chatStore.subscribe(room.roomId, message -> add(room, List.of(message)));
+        } catch (RuntimeException e) {
+            fail(room, e);
+            return;
+        }
+        synchronized (this) {
+            if (rooms.get(room.roomId) != room) {
+                // 구독을 여는 사이 내려간 방
+                closeSubscription(room);
+                room.ready.completeExceptionally(new IllegalStateException("캐시에서 내려간 채팅방입니다: " + room.roomId));
+                return;
+            }
+        }
+        chatStore.findLatest(room.roomId, roomCapacity).whenComplete((messages, error) -> {
+            if (error != null) {
+                fail(room, error);
+                return;
+            }
+            add(room, messages);
+            if (messages.size() < roomCapacity) {
+                synchronized (room.ring) {
+                    room.ring.markOldestLoaded();
+                }
+            }
+            if (messages.isEmpty()) {
+                // 빈 방(없는 방 포함)은 이번 요청에만 쓰고 남기지 않는다 (구독도 닫음)
+                remove(room);
+            }
+            room.ready.complete(room);
+        });
+    }
+
+    private void fail(Room room, Throwable error) {
+        log.warn("채팅방 {} 최근 메시지 캐시 적재 실패: {}", room.roomId, error.getMessage());
+        remove(room);
+        room.ready.completeExceptionally(error);
+    }
+
+    private void remove(Room room) {
+        synchronized (this) {
+            if (rooms.get(room.roomId) == room) {
+                rooms.remove(room.roomId);
+                totalBytes -= room.bytes;
+            }
+        }
+        closeSubscription(room);
+    }
+
+    private void add(Room room, List<ChatMessage> messages) {
+        long delta = 0;
+        synchronized (room.ring) {
+            for (ChatMessage message : messages) {
+                delta += room.ring.insert(message);
+            }
+        }
+        if (delta == 0) {
+            return;
+        }
+        List<Room> evicted;
+        synchronized (this) {
+            if (rooms.get(room.roomId) != room) {
+                return; // 이미 내려간 방
+            }
+            room.bytes += delta;
+            totalBytes += delta;
+            evicted = evictLocked(room);
+        }
+        closeEvicted(evicted);
+    }
+
+    // 한도를 넘는 동안 방금 갱신한 방은 남기고 오래 쓰이지 않은 방부터 내린다 (this 잠금 안에서 호출)
+    private List<Room> evictLocked(Room keep) {
+        List<Room> evicted = new ArrayList<>();
+        Iterator<Room> iterator = rooms.values().iterator();
+        while ((totalBytes > maxBytes || rooms.size() > maxRooms) && iterator.hasNext()) {
+            Room eldest = iterator.next();
+            if (eldest == keep) {
+                continue;
+            }
+            iterator.remove();
+            totalBytes -= eldest.bytes;
+            evicted.add(eldest);
+        }
+        return evicted;
+    }
+
+    private void closeEvicted(List<Room> evicted) {
+        evictions.add(evicted.size());
+        evicted.forEach(this::closeSubscription);
+    }
+
+    private void closeSubscription(Room room) {
+        ChatSubscription subscription = room.subscription;
+        if (subscription == null) {
+            return;
+        }
+        try {
+            subscription.close();
+        } catch (RuntimeException e) {
+            log.warn("채팅방 {} 캐시 구독 해제 실패: {}", room.roomId, e.getMessage());
+        }
+    }
+
+    private final class Room {
+        private final String roomId;
+        private final ChatMessageRing ring = new ChatMessageRing(roomCapacity, chatStore.messageIdOrder());
+        private final CompletableFuture<Room> ready = new CompletableFuture<>();
+        private volatile ChatSubscription subscription;
+        // this(ChatRecentCache) 잠금으로 보호
+        private long bytes;
+
+        private Room(String roomId) {
+            this.roomId = roomId;
+        }
+    }
+}
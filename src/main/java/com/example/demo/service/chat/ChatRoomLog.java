@@ -0,0 +1,293 @@
+package com.example.demo.service.chat;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongFunction;
+import java.util.zip.CRC32;
+
+/**
+ * 채팅방 하나의 append-only 세그먼트 로그.
+ * 레코드 형식: [int 길이][int CRC32][long seq][payload]. seq 는 1 부터 1 씩 증가한다.
+ * 세그먼트 파일 이름은 첫 seq (20자리) 이며, segmentBytes 를 넘으면 새 세그먼트로 넘어간다.
+ * 메모리에는 seq -> 파일 내 위치 인덱스(long[])만 두고, 읽기는 FileChannel 위치 지정 읽기로 잠금 없이 처리한다.
+ * 기동 시 세그먼트를 순서대로 읽어 인덱스를 다시 만들고, 끝에 잘린 레코드가 있으면 잘라낸다.
+ */
+@Slf4j
+class ChatRoomLog implements AutoCloseable {
+
+    static final int HEADER_BYTES = 16;
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final boolean fsync;
+
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    // positions[seq - 1] = 해당 세그먼트 안에서 레코드 시작 위치
+    private volatile long[] positions = new long[64];
+    private volatile long lastSeq;
+
+    ChatRoomLog(Path directory, long segmentBytes, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    long lastSeq() {
+        return lastSeq;
+    }
+
+    /** 다음 seq 로 encoder 가 만든 payload 를 기록하고 seq 를 돌려준다 (payload 안에 seq 를 넣을 수 있도록 encoder 에 전달) */
+    long append(LongFunction<byte[]> encoder) throws IOException {
+        return appendAll(List.of(encoder));
+    }
+
+    /**
+     * 여러 레코드를 연속된 seq 로 한 번에 기록하고 첫 seq 를 돌려준다.
+     * 같은 세그먼트에 들어가는 레코드는 write 한 번, fsync 한 번으로 처리한다.
+     */
+    synchronized long appendAll(List<LongFunction<byte[]>> encoders) throws IOException {
+        long firstSeq = lastSeq + 1;
+        int next = 0;
+        while (next < encoders.size()) {
+            Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (segment == null || segment.size >= segmentBytes) {
+                if (segment != null && fsync) {
+                    segment.channel.force(false);
+                }
+                segment = openSegment(lastSeq + 1, true);
+            }
+
+            // 세그먼트 크기 한도까지 레코드를 모아 한 번에 쓴다 (최소 1건)
+            List<byte[]> payloads = new ArrayList<>();
+            long batchBytes = 0;
+            while (next < encoders.size() && (payloads.isEmpty() || segment.size + batchBytes < segmentBytes)) {
+                byte[] payload = encoders.get(next++).apply(lastSeq + 1 + payloads.size());
+                payloads.add(payload);
+                batchBytes += HEADER_BYTES + payload.length;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) batchBytes);
+            long seq = lastSeq + 1;
+            for (byte[] payload : payloads) {
+                buffer.putInt(payload.length).putInt(crc(seq, payload)).putLong(seq).put(payload);
+                seq++;
+            }
+            buffer.flip();
+            long start = segment.size;
+            while (buffer.hasRemaining()) {
+                segment.channel.write(buffer, start + buffer.position());
+            }
+            if (fsync) {
+                segment.channel.force(false);
+            }
+
+            long position = start;
+            seq = lastSeq + 1;
+            for (byte[] payload : payloads) {
+                index(seq++, position);
+                position += HEADER_BYTES + payload.length;
+            }
+            segment.size = position;
+            segment.lastSeq = seq - 1;
+            lastSeq = seq - 1; // 읽기 측에 공개
+        }
+        return firstSeq;
+    }
+
+    /** [fromSeq, toSeq] 범위 payload 를 순서대로 읽는다 (범위는 1 ~ lastSeq 로 잘림) */
+    List<byte[]> read(long fromSeq, long toSeq) throws IOException {
+        long last = lastSeq;
+        long from = Math.max(1, fromSeq);
+        long to = Math.min(last, toSeq);
+        List<byte[]> result = new ArrayList<>((int) Math.max(0, to - from + 1));
+        if (from > to) {
+            return result;
+        }
+        long[] index = positions;
+        List<Segment> snapshot = segments;
+        long seq = from;
+        while (seq <= to) {
+            Segment segment = segmentOf(snapshot, seq);
+            long runEnd = Math.min(to, segment.lastSeq);
+            // 세그먼트 안의 연속 구간은 한 번에 읽는다
+            long start = index[(int) (seq - 1)];
+            long end = runEnd < last && runEnd < segment.lastSeq
+                    ? index[(int) runEnd]
+                    : endOf(segment, index[(int) (runEnd - 1)]);
+            ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+            while (buffer.hasRemaining()) {
+                if (segment.channel.read(buffer, start + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+            for (long s = seq; s <= runEnd; s++) {
+                int length = buffer.getInt();
+                buffer.getInt(); // crc (기동 시 검증)
+                buffer.getLong();
+                byte[] payload = new byte[length];
+                buffer.get(payload);
+                result.add(payload);
+            }
+            seq = runEnd + 1;
+        }
+        return result;
+    }
+
+    // 레코드 시작 위치로부터 레코드 끝 위치 계산 (길이 헤더만 읽음)
+    private static long endOf(Segment segment, long position) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        while (length.hasRemaining()) {
+            if (segment.channel.read(length, position + length.position()) < 0) {
+                throw new IOException("채팅 로그 레코드가 잘렸습니다: " + segment.path);
+            }
+        }
+        return position + HEADER_BYTES + length.getInt(0);
+    }
+
+    @Override
+    public synchronized void close() {
+        for (Segment segment : segments) {
+            try {
+                segment.channel.force(false);
+                segment.channel.close();
+            } catch (IOException e) {
+                log.warn("채팅 로그 세그먼트 닫기 실패: {}", segment.path, e);
+            }
+        }
+    }
+
+    // ===== 내부 =====
+
+    private void recover() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null); // 이름이 0 으로 채운 첫 seq 이므로 문자열 정렬 = seq 정렬
+
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            long firstSeq = Long.parseLong(file.getFileName().toString().replace(SEGMENT_SUFFIX, ""));
+            boolean inOrder = firstSeq == lastSeq + 1;
+            boolean usable = inOrder;
+            if (inOrder) {
+                usable = scan(openSegment(firstSeq, false));
+            } else {
+                log.error("채팅 로그 세그먼트 순서가 맞지 않습니다: {}", file);
+            }
+            if (!usable) {
+                // 손상 지점 이후 세그먼트는 따로 보관 (새 seq 세그먼트와 이름이 겹치지 않도록)
+                for (Path rest : files.subList(inOrder ? i + 1 : i, files.size())) {
+                    Files.move(rest, rest.resolveSibling(rest.getFileName() + ".corrupt"));
+                }
+                break;
+            }
+        }
+    }
+
+    // 세그먼트를 처음부터 읽어 인덱스를 만든다. 잘리거나 손상된 꼬리는 잘라내고 false 를 돌려준다
+    private boolean scan(Segment segment) throws IOException {
+        long fileSize = segment.channel.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (position + HEADER_BYTES <= fileSize) {
+            header.clear();
+            segment.channel.read(header, position);
+            header.flip();
+            int length = header.getInt();
+            int crc = header.getInt();
+            long seq = header.getLong();
+            if (length < 0 || seq != lastSeq + 1 || position + HEADER_BYTES + length > fileSize) {
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            segment.channel.read(payload, position + HEADER_BYTES);
+            if (crc(seq, payload.array()) != crc) {
+                break;
+            }
+            index(seq, position);
+            lastSeq = seq;
+            segment.lastSeq = seq;
+            position += HEADER_BYTES + length;
+        }
+        segment.size = position;
+        if (position < fileSize) {
+            log.warn("채팅 로그 {} 의 손상된 꼬리 {}바이트를 잘라냅니다.", segment.path, fileSize - position);
+            segment.channel.truncate(position);
+            return false;
+        }
+        return true;
+    }
+
+    private Segment openSegment(long firstSeq, boolean create) throws IOException {
+        Path path = directory.resolve(String.format("%020d%s", firstSeq, SEGMENT_SUFFIX));
+        FileChannel channel = create
+                ? FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Segment segment = new Segment(firstSeq, path, channel);
+        segment.lastSeq = firstSeq - 1;
+        segments.add(segment);
+        return segment;
+    }
+
+    private void index(long seq, long position) {
+        long[] current = positions;
+        int slot = (int) (seq - 1);
+        if (slot >= current.length) {
+            long[] grown = new long[Math.max(current.length * 2, slot + 1)];
+            System.arraycopy(current, 0, grown, 0, current.length);
+            grown[slot] = position;
+            positions = grown;
+            return;
+        }
+        current[slot] = position;
+    }
+
+    private static Segment segmentOf(List<Segment> segments, long seq) {
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (segments.get(mid).firstSeq <= seq) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return segments.get(low);
+    }
+
+    private static int crc(long seq, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(Long.BYTES).putLong(seq).array());
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static final class Segment {
+        private final long firstSeq;
+        private final Path path;
+        private final FileChannel channel;
+        private volatile long size;
+        private volatile long lastSeq;
+
+        private Segment(long firstSeq, Path path, FileChannel channel) {
+            this.firstSeq = firstSeq;
+            this.path = path;
+            this.channel = channel;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.demo.service.chat;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 채팅방 ID 규칙: 프로젝트 채팅방은 project_{projectId}
+ */
+public final class ChatRooms {
+
+    private static final Pattern PROJECT_ROOM = Pattern.compile("project_(\\d{1,18})");
+
+    private ChatRooms() {
+    }
+
+    public static String ofProject(Long projectId) {
+        return "project_" + projectId;
+    }
+
+    /** 프로젝트 채팅방이면 프로젝트 ID, 아니면 null */
+    public static Long projectIdOf(String roomId) {
+        if (roomId == null) {
+            return null;
+        }
+        Matcher matcher = PROJECT_ROOM.matcher(roomId);
+        return matcher.matches() ? Long.valueOf(matcher.group(1)) : null;
+    }
+}
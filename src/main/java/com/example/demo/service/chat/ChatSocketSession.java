@@ -0,0 +1,226 @@
+package com.example.demo.service.chat;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * 웹소켓 연결 하나의 송신 큐.
+ * 프레임은 capacity 개까지 쌓이고, 공용 writer 스레드가 한 번에 한 스레드만 순서대로 보낸다.
+ * 큐가 가득 차면(느린 소비자) 방별로 쌓인 메시지를 "resync" 프레임 하나로 합치고,
+ * 그 resync 가 전송될 때까지 해당 방의 새 메시지는 버린다. 클라이언트는 resync 를 받으면 REST 로 빠진 메시지를 조회한다.
+ * 제어 프레임(오류/응답)은 MAX_CONTROL_FRAMES 개까지만 쌓고 넘치면 버리며, resync 는 방마다 하나이므로
+ * 큐 길이는 capacity + 구독 방 수 + MAX_CONTROL_FRAMES 를 넘지 않는다.
+ */
+@Slf4j
+public class ChatSocketSession {
+
+    // 한 번 drain 에서 보내는 최대 프레임 수 / 시간 (느린 세션이 writer 스레드를 오래 잡지 않도록)
+    private static final int DRAIN_BATCH = 64;
+    private static final long DRAIN_BUDGET_NANOS = 2_000_000;
+    // 아직 보내지 못한 제어 프레임 최대 수 (요청을 쏟아내는 클라이언트가 큐를 키우지 못하도록)
+    private static final int MAX_CONTROL_FRAMES = 16;
+
+    /** 실제 전송 수단 (웹소켓 세션 등) */
+    public interface Transport {
+        void send(String frame) throws IOException;
+
+        void close();
+    }
+
+    private final String id;
+    // 연결한 사용자 이메일 (권한 재확인용, 인증되지 않은 연결이면 null)
+    private final String user;
+    private final Transport transport;
+    private final int capacity;
+    private final Executor writer;
+    private final Function<String, String> resyncFrame;
+
+    // 아래 필드는 this 잠금으로 보호
+    private final ArrayDeque<Frame> queue = new ArrayDeque<>();
+    private final Set<String> resyncPending = new HashSet<>();
+    private int controlQueued;
+    private long sent;
+    private long dropped;
+    private long resyncs;
+    private boolean closed;
+
+    private final Set<String> rooms = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    ChatSocketSession(String id, String user, Transport transport, int capacity, Executor writer,
+                      Function<String, String> resyncFrame) {
+        this.id = id;
+        this.user = user;
+        this.transport = transport;
+        this.capacity = capacity;
+        this.writer = writer;
+        this.resyncFrame = resyncFrame;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    /** 특정 방과 관계없는 프레임 (오류/응답 등). 합치지 않으며, 보내지 못한 제어 프레임이 한도를 넘으면 버린다 */
+    public void sendControl(String frame) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (controlQueued >= MAX_CONTROL_FRAMES) {
+                dropped++;
+                return;
+            }
+            controlQueued++;
+            queue.add(new Frame(null, frame, false));
+        }
+        scheduleDrain();
+    }
+
+    /** 방 메시지 프레임. 해당 방이 resync 대기 중이면 버린다 */
+    void offer(String roomId, String frame) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (!resyncPending.contains(roomId) && queue.size() >= capacity) {
+                coalesce(roomId);
+            }
+            if (resyncPending.contains(roomId)) {
+                dropped++;
+                return;
+            }
+            queue.add(new Frame(roomId, frame, false));
+        }
+        scheduleDrain();
+    }
+
+    Set<String> rooms() {
+        return rooms;
+    }
+
+    /** 방에서 뗄 때: 아직 보내지 않은 그 방 프레임(메시지 / resync)을 버린다 (전송 중인 한 건은 제외) */
+    void discardRoom(String roomId) {
+        synchronized (this) {
+            int before = queue.size();
+            queue.removeIf(frame -> roomId.equals(frame.roomId));
+            dropped += before - queue.size();
+            resyncPending.remove(roomId);
+        }
+    }
+
+    synchronized long[] counters() {
+        return new long[]{sent, dropped, resyncs, queue.size()};
+    }
+
+    /** 큐를 비우고 더 이상 보내지 않는다 (전송 수단은 닫지 않음) */
+    void close() {
+        synchronized (this) {
+            closed = true;
+            queue.clear();
+            resyncPending.clear();
+            controlQueued = 0;
+        }
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    // ===== 내부 =====
+
+    // 큐에 쌓인 방 메시지를 방마다 첫 위치의 resync 프레임 하나로 바꾸고, 새로 들어온 방도 resync 대기로 둔다
+    private void coalesce(String incomingRoomId) {
+        Iterator<Frame> iterator = queue.iterator();
+        ArrayDeque<Frame> compacted = new ArrayDeque<>(queue.size());
+        while (iterator.hasNext()) {
+            Frame frame = iterator.next();
+            if (frame.roomId == null || frame.resync) {
+                compacted.add(frame);
+            } else if (resyncPending.add(frame.roomId)) {
+                compacted.add(resync(frame.roomId));
+                dropped++;
+            } else {
+                dropped++;
+            }
+        }
+        if (resyncPending.add(incomingRoomId)) {
+            compacted.add(resync(incomingRoomId));
+        }
+        queue.clear();
+        queue.addAll(compacted);
+    }
+
+    private Frame resync(String roomId) {
+        resyncs++;
+        return new Frame(roomId, resyncFrame.apply(roomId), true);
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                writer.execute(this::drain);
+            } catch (RuntimeException e) {
+                draining.set(false);
+                log.warn("채팅 송신 작업을 등록하지 못했습니다 (session {}): {}", id, e.getMessage());
+            }
+        }
+    }
+
+    private void drain() {
+        long deadline = System.nanoTime() + DRAIN_BUDGET_NANOS;
+        for (int i = 0; i < DRAIN_BATCH && System.nanoTime() < deadline; i++) {
+            Frame frame;
+            synchronized (this) {
+                frame = queue.poll();
+                if (frame == null) {
+                    draining.set(false);
+                    return;
+                }
+                if (frame.resync) {
+                    // 이 시점 이후 메시지는 다시 큐에 넣는다 (클라이언트는 resync 수신 후 조회하므로 빠지는 메시지가 없다)
+                    resyncPending.remove(frame.roomId);
+                } else if (frame.roomId == null) {
+                    controlQueued--;
+                }
+            }
+            try {
+                transport.send(frame.payload);
+                synchronized (this) {
+                    sent++;
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug("채팅 프레임 전송 실패, 연결을 닫습니다 (session {}): {}", id, e.getMessage());
+                close();
+                draining.set(false);
+                transport.close();
+                return;
+            }
+        }
+        // 남은 프레임은 다른 세션 뒤로 다시 등록
+        draining.set(false);
+        boolean more;
+        synchronized (this) {
+            more = !queue.isEmpty();
+        }
+        if (more) {
+            scheduleDrain();
+        }
+    }
+
+    private record Frame(String roomId, String payload, boolean resync) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.service.chat;
+
+import com.example.demo.model.ChatMessage;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * 채팅 메시지 저장소.
+ * chat.store 설정으로 구현을 고른다: firebase (기본값, Realtime Database) / embedded (로컬 파일 로그).
+ * 방(roomId) 안의 메시지는 messageId 순서가 곧 전송 순서이며, 범위 조회는 messageId 를 기준으로 한다.
+ */
+public interface ChatStore {
+
+    /** 메시지를 저장하고 부여된 messageId 를 돌려준다 */
+    CompletableFuture<String> append(ChatMessage message);
+
+    /**
+     * 여러 방의 메시지를 한 번에 저장한다. 결과는 입력 순서대로 메시지마다 하나씩 (messageId).
+     * 같은 방의 메시지는 입력 순서대로 seq 가 부여된다. 기본 구현은 한 건씩 저장한다.
+     */
+    default List<CompletableFuture<String>> appendBatch(List<ChatMessage> messages) {
+        List<CompletableFuture<String>> futures = new ArrayList<>(messages.size());
+        for (ChatMessage message : messages) {
+            futures.add(append(message));
+        }
+        return futures;
+    }
+
+    /** 가장 최근 limit 개 (오래된 순) */
+    CompletableFuture<List<ChatMessage>> findLatest(String roomId, int limit);
+
+    /** beforeMessageId 직전의 limit 개 (오래된 순, beforeMessageId 는 제외) */
+    CompletableFuture<List<ChatMessage>> findBefore(String roomId, String beforeMessageId, int limit);
+
+    /** afterMessageId 다음의 limit 개 (오래된 순, afterMessageId 는 제외) */
+    CompletableFuture<List<ChatMessage>> findAfter(String roomId, String afterMessageId, int limit);
+
+    /**
+     * 방의 마지막 seq (메시지가 없으면 0). 안 읽은 수 계산용이므로 이력 길이와 관계없이 싸야 한다.
+     * 기본 구현은 가장 최근 메시지 하나를 읽는다.
+     */
+    default CompletableFuture<Long> latestSeq(String roomId) {
+        return findLatest(roomId, 1).thenApply(messages -> {
+            Long seq = messages.isEmpty() ? null : messages.get(messages.size() - 1).getSeq();
+            return seq == null ? 0L : seq;
+        });
+    }
+
+    /** 이후 저장되는 메시지를 받는다. 반환된 구독을 닫으면 리스너가 해제된다 */
+    ChatSubscription subscribe(String roomId, Consumer<ChatMessage> listener);
+
+    /** 설정 이름 (firebase / embedded) */
+    String getName();
+
+    /** messageId 정렬 순서 (기본: 문자열 순서, Firebase push 키는 생성 시각 순으로 정렬됨) */
+    default Comparator<String> messageIdOrder() {
+        return Comparator.naturalOrder();
+    }
+}
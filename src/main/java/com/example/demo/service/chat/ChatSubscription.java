@@ -0,0 +1,10 @@
+package com.example.demo.service.chat;
+
+/**
+ * ChatStore.subscribe 로 등록한 리스너 핸들. close 하면 더 이상 메시지를 받지 않는다.
+ */
+public interface ChatSubscription extends AutoCloseable {
+
+    @Override
+    void close();
+}
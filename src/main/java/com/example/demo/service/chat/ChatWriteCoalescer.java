@@ -0,0 +1,264 @@
+package com.example.demo.service.chat;
+
+import com.example.demo.model.ChatMessage;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 채팅 메시지 쓰기 묶음 처리.
+ * 전송 요청을 큐에 넣고, 전용 스레드가 첫 메시지 이후 window-ms 동안(최대 max-batch 건) 모인 메시지를
+ * 방에 관계없이 ChatStore.appendBatch 한 번으로 기록한다 (Firebase: 다중 경로 updateChildren / embedded: 방별 일괄 기록).
+ * 한 번에 한 배치만 기록하므로, 저장소가 느린 동안 들어온 메시지는 다음 배치로 자연스럽게 모인다.
+ * timeout-ms 안에 끝나지 않은 배치가 있으면 다음 배치로 넘어가되, 그 배치에 들어 있던 방의 메시지는
+ * 이전 기록이 끝난 뒤에 이어서 기록해 방 안의 순서를 지킨다.
+ * timestamp 는 배치를 만들 때 서버 시각으로 정하고, 방 안의 순서는 저장소가 부여하는 seq 로 정해진다.
+ * 호출자의 future 는 메시지마다 따로, 저장소 콜백 스레드가 아닌 전용 스레드에서 완료된다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChatWriteCoalescer {
+
+    private final ChatStore chatStore;
+
+    @Value("${chat.write.enabled:true}")
+    private boolean enabled;
+
+    @Value("${chat.write.window-ms:5}")
+    private long windowMs;
+
+    @Value("${chat.write.max-batch:256}")
+    private int maxBatch;
+
+    @Value("${chat.write.queue-size:10000}")
+    private int queueSize;
+
+    @Value("${chat.write.timeout-ms:10000}")
+    private long timeoutMs;
+
+    private BlockingQueue<PendingWrite> queue;
+    private Thread flusher;
+    private ExecutorService completions;
+    private volatile boolean running;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private volatile int largestBatch;
+
+    // 시간 초과로 아직 끝나지 않은 기록이 있는 방 -> 그 기록의 완료 (flusher 스레드만 사용)
+    private final Map<String, CompletableFuture<Void>> unfinishedRooms = new HashMap<>();
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueSize);
+        AtomicInteger sequence = new AtomicInteger();
+        completions = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "chat-write-complete-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        flusher = new Thread(this::runFlusher, "chat-write-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        running = false;
+        flusher.interrupt();
+        flusher.join(timeoutMs);
+        // 남은 요청은 실패로 알린다 (클라이언트가 다시 보냄)
+        List<PendingWrite> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        rest.forEach(write -> write.future.completeExceptionally(new IllegalStateException("채팅 서버가 종료 중입니다.")));
+        completions.shutdown();
+    }
+
+    /** 메시지를 다음 배치에 넣고, 저장되면 messageId 로 완료되는 future 를 돌려준다 */
+    public CompletableFuture<String> submit(ChatMessage message) {
+        submitted.increment();
+        if (!enabled) {
+            message.setTimestamp(System.currentTimeMillis());
+            return chatStore.append(message);
+        }
+        PendingWrite write = new PendingWrite(message, new CompletableFuture<>());
+        if (!running || !queue.offer(write)) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new IllegalStateException("채팅 전송 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요."));
+        }
+        return write.future;
+    }
+
+    public Map<String, Object> getStats() {
+        long batchCount = batches.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("submitted", submitted.sum());
+        stats.put("written", written.sum());
+        stats.put("failed", failed.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("queued", queue == null ? 0 : queue.size());
+        stats.put("batches", batchCount);
+        stats.put("averageBatch", batchCount == 0 ? 0.0 : (written.sum() + failed.sum()) / (double) batchCount);
+        stats.put("largestBatch", largestBatch);
+        return stats;
+    }
+
+    // ===== 내부 =====
+
+    private void runFlusher() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // 첫 메시지 이후 window 동안 모은다 (가득 차면 바로 기록)
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMs);
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingWrite next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // 종료 신호: 이미 꺼낸 메시지는 기록하고, 남은 큐는 stop() 에서 실패 처리
+                if (batch.isEmpty()) {
+                    break;
+                }
+            }
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        long now = System.currentTimeMillis();
+        List<ChatMessage> messages = new ArrayList<>(batch.size());
+        for (PendingWrite write : batch) {
+            write.message.setTimestamp(now);
+            messages.add(write.message);
+        }
+        batches.increment();
+        largestBatch = Math.max(largestBatch, batch.size());
+
+        unfinishedRooms.values().removeIf(CompletableFuture::isDone);
+        List<CompletableFuture<String>> results = unfinishedRooms.isEmpty()
+                ? append(messages)
+                : appendAfterUnfinished(messages);
+
+        for (int i = 0; i < batch.size(); i++) {
+            PendingWrite write = batch.get(i);
+            results.get(i).whenCompleteAsync((messageId, error) -> {
+                if (error == null) {
+                    written.increment();
+                    write.future.complete(messageId);
+                } else {
+                    failed.increment();
+                    write.future.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+                }
+            }, completions);
+        }
+
+        // 한 번에 한 배치만 기록 (방 안의 seq 순서 = 배치 순서)
+        try {
+            CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("채팅 메시지 {}건 기록이 {}ms 안에 끝나지 않았습니다.", batch.size(), timeoutMs);
+            // 이 배치의 방들은 기록이 끝날 때까지 다음 배치가 뒤따라 기다린다
+            for (int i = 0; i < messages.size(); i++) {
+                String roomId = messages.get(i).getRoomId();
+                CompletableFuture<Void> done = results.get(i).handle((messageId, error) -> null);
+                unfinishedRooms.merge(roomId, done, CompletableFuture::allOf);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("채팅 메시지 {}건 기록 실패: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private List<CompletableFuture<String>> append(List<ChatMessage> messages) {
+        try {
+            return chatStore.appendBatch(messages);
+        } catch (RuntimeException e) {
+            List<CompletableFuture<String>> results = new ArrayList<>(messages.size());
+            for (int i = 0; i < messages.size(); i++) {
+                results.add(CompletableFuture.failedFuture(e));
+            }
+            return results;
+        }
+    }
+
+    // 이전 기록이 끝나지 않은 방의 메시지는 그 완료 뒤에 따로 기록하고, 나머지는 바로 한 번에 기록한다
+    private List<CompletableFuture<String>> appendAfterUnfinished(List<ChatMessage> messages) {
+        List<ChatMessage> ready = new ArrayList<>();
+        List<Integer> readyIndexes = new ArrayList<>();
+        Map<String, List<Integer>> waitingIndexes = new LinkedHashMap<>();
+        for (int i = 0; i < messages.size(); i++) {
+            String roomId = messages.get(i).getRoomId();
+            if (unfinishedRooms.containsKey(roomId)) {
+                waitingIndexes.computeIfAbsent(roomId, id -> new ArrayList<>()).add(i);
+            } else {
+                ready.add(messages.get(i));
+                readyIndexes.add(i);
+            }
+        }
+
+        List<CompletableFuture<String>> results = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            results.add(null);
+        }
+        List<CompletableFuture<String>> readyResults = append(ready);
+        for (int i = 0; i < readyIndexes.size(); i++) {
+            results.set(readyIndexes.get(i), readyResults.get(i));
+        }
+        waitingIndexes.forEach((roomId, indexes) -> {
+            List<ChatMessage> roomMessages = indexes.stream().map(messages::get).toList();
+            CompletableFuture<List<CompletableFuture<String>>> later = unfinishedRooms.get(roomId)
+                    .thenApplyAsync(previous -> append(roomMessages), completions);
+            for (int i = 0; i < indexes.size(); i++) {
+                int position = i;
+                results.set(indexes.get(i), later.thenCompose(roomResults -> roomResults.get(position)));
+            }
+        });
+        return results;
+    }
+
+    private record PendingWrite(ChatMessage message, CompletableFuture<String> future) {
+    }
+}
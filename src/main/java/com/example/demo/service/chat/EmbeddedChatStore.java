@@ -0,0 +1,376 @@
+package com.example.demo.service.chat;
+
+import com.example.demo.model.ChatMessage;
+import com.example.demo.model.ChatMessageCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.regex.Pattern;
+
+/**
+ * 로컬 파일 기반 채팅 저장소 (chat.store=embedded).
+ * 방마다 chat.embedded.dir/rooms/{roomId}/ 아래 append-only 세그먼트 로그(ChatRoomLog)를 두고,
+ * messageId 는 방 안에서 1 부터 증가하는 seq 이다. 외부 서비스 없이 기동/부하 테스트할 수 있다.
+ * 구독 리스너는 전용 스레드 하나에서 저장 순서대로 호출된다.
+ * 열린 방 로그(파일 채널 + seq 인덱스)는 max-open-rooms 를 넘으면 가장 오래 쓰지 않은 방부터,
+ * idle-close-ms 동안 쓰지 않으면 주기적으로 닫는다. 조회만으로는 방 디렉터리를 만들지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.store", havingValue = "embedded")
+@RequiredArgsConstructor
+@Slf4j
+public class EmbeddedChatStore implements ChatStore {
+
+    private static final Pattern SAFE_ROOM_ID = Pattern.compile("[A-Za-z0-9_-]{1,100}");
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${chat.embedded.dir:./data/chat}")
+    private String baseDirectory;
+
+    @Value("${chat.embedded.segment-bytes:8388608}")
+    private long segmentBytes;
+
+    @Value("${chat.embedded.fsync:false}")
+    private boolean fsync;
+
+    @Value("${chat.embedded.max-open-rooms:256}")
+    private int maxOpenRooms;
+
+    @Value("${chat.embedded.idle-close-ms:600000}")
+    private long idleCloseMillis;
+
+    private final Map<String, OpenRoom> rooms = new ConcurrentHashMap<>();
+    private final Map<String, List<Consumer<ChatMessage>>> listeners = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "chat-dispatch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Override
+    public CompletableFuture<String> append(ChatMessage message) {
+        return appendBatch(List.of(message)).get(0);
+    }
+
+    // 방별로 묶어 방 로그에 한 번씩 기록 (같은 방 메시지는 write / fsync 한 번, 실패는 그 방 메시지에만 전달)
+    @Override
+    public List<CompletableFuture<String>> appendBatch(List<ChatMessage> messages) {
+        Map<String, List<ChatMessage>> byRoom = new LinkedHashMap<>();
+        for (ChatMessage message : messages) {
+            if (message.getTimestamp() == 0) {
+                message.setTimestamp(System.currentTimeMillis());
+            }
+            byRoom.computeIfAbsent(message.getRoomId(), id -> new ArrayList<>()).add(message);
+        }
+        Map<String, Exception> failures = new HashMap<>();
+        for (Map.Entry<String, List<ChatMessage>> entry : byRoom.entrySet()) {
+            try {
+                appendToRoom(entry.getKey(), entry.getValue());
+            } catch (IOException | RuntimeException e) {
+                failures.put(entry.getKey(), e);
+            }
+        }
+        List<CompletableFuture<String>> results = new ArrayList<>(messages.size());
+        for (ChatMessage message : messages) {
+            Exception failure = failures.get(message.getRoomId());
+            results.add(failure == null
+                    ? CompletableFuture.completedFuture(message.getMessageId())
+                    : CompletableFuture.failedFuture(failure));
+        }
+        return results;
+    }
+
+    @Override
+    public CompletableFuture<List<ChatMessage>> findLatest(String roomId, int limit) {
+        return read(roomId, last -> last - limit + 1, last -> last);
+    }
+
+    @Override
+    public CompletableFuture<List<ChatMessage>> findBefore(String roomId, String beforeMessageId, int limit) {
+        long before;
+        try {
+            before = parseSeq(beforeMessageId);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return read(roomId, last -> before - limit, last -> before - 1);
+    }
+
+    @Override
+    public CompletableFuture<List<ChatMessage>> findAfter(String roomId, String afterMessageId, int limit) {
+        long after;
+        try {
+            after = parseSeq(afterMessageId);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return read(roomId, last -> after + 1, last -> after + limit);
+    }
+
+    // 한 번도 기록되지 않은 방은 디렉터리를 만들지 않고 0
+    @Override
+    public CompletableFuture<Long> latestSeq(String roomId) {
+        try {
+            OpenRoom room = acquire(roomId, false);
+            if (room == null) {
+                return CompletableFuture.completedFuture(0L);
+            }
+            try {
+                return CompletableFuture.completedFuture(room.roomLog.lastSeq());
+            } finally {
+                release(room);
+            }
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public ChatSubscription subscribe(String roomId, Consumer<ChatMessage> listener) {
+        listeners.computeIfAbsent(roomId, id -> new CopyOnWriteArrayList<>()).add(listener);
+        // 마지막 구독이 끝나면 방 항목도 지운다
+        return () -> listeners.computeIfPresent(roomId, (id, roomListeners) -> {
+            roomListeners.remove(listener);
+            return roomListeners.isEmpty() ? null : roomListeners;
+        });
+    }
+
+    @Override
+    public String getName() {
+        return "embedded";
+    }
+
+    @Override
+    public Comparator<String> messageIdOrder() {
+        // messageId 는 seq 이므로 숫자 순서
+        return Comparator.comparingLong(EmbeddedChatStore::parseSeq);
+    }
+
+    /** idle-close-ms 동안 쓰지 않은 방 로그를 닫는다 (다음 접근 때 세그먼트를 다시 읽어 연다) */
+    @Scheduled(fixedDelayString = "${chat.embedded.idle-sweep-ms:60000}",
+            initialDelayString = "${chat.embedded.idle-sweep-ms:60000}")
+    public void closeIdleRooms() {
+        long idleBefore = System.currentTimeMillis() - idleCloseMillis;
+        for (OpenRoom room : rooms.values()) {
+            if (room.lastUsed < idleBefore) {
+                tryClose(room);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        dispatcher.shutdown();
+        rooms.values().forEach(room -> room.roomLog.close());
+    }
+
+    // ===== 내부 =====
+
+    private void appendToRoom(String roomId, List<ChatMessage> messages) throws IOException {
+        OpenRoom room = acquire(roomId, true);
+        try {
+            appendToRoom(roomId, room.roomLog, messages);
+        } finally {
+            release(room);
+        }
+    }
+
+    private void appendToRoom(String roomId, ChatRoomLog roomLog, List<ChatMessage> messages) throws IOException {
+        List<LongFunction<byte[]>> encoders = new ArrayList<>(messages.size());
+        for (ChatMessage message : messages) {
+            encoders.add(assigned -> {
+                message.setSeq(assigned);
+                message.setMessageId(String.valueOf(assigned));
+                return encode(message);
+            });
+        }
+        // 같은 방의 리스너 호출 순서가 seq 순서와 같도록 기록과 발행을 함께 잠근다
+        synchronized (roomLog) {
+            roomLog.appendAll(encoders);
+            for (ChatMessage message : messages) {
+                publish(roomId, message);
+            }
+        }
+    }
+
+    private CompletableFuture<List<ChatMessage>> read(String roomId,
+                                                      LongUnaryOperator from,
+                                                      LongUnaryOperator to) {
+        try {
+            OpenRoom room = acquire(roomId, false);
+            if (room == null) {
+                return CompletableFuture.completedFuture(List.of());
+            }
+            List<byte[]> payloads;
+            try {
+                long last = room.roomLog.lastSeq();
+                payloads = room.roomLog.read(from.applyAsLong(last), to.applyAsLong(last));
+            } finally {
+                release(room);
+            }
+            List<ChatMessage> messages = new ArrayList<>(payloads.size());
+            for (byte[] payload : payloads) {
+                messages.add(decode(payload));
+            }
+            return CompletableFuture.completedFuture(messages);
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void publish(String roomId, ChatMessage message) {
+        List<Consumer<ChatMessage>> roomListeners = listeners.get(roomId);
+        if (roomListeners == null || roomListeners.isEmpty()) {
+            return;
+        }
+        dispatcher.execute(() -> {
+            for (Consumer<ChatMessage> listener : roomListeners) {
+                try {
+                    listener.accept(message);
+                } catch (RuntimeException e) {
+                    log.warn("채팅 메시지 리스너 오류 (room {}): {}", roomId, e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * 방 로그를 열어 사용 중으로 표시한다 (끝나면 release). create 가 false 이고 디렉터리가 없으면 null.
+     * 닫히는 중인 방을 잡았으면 새로 연다.
+     */
+    private OpenRoom acquire(String roomId, boolean create) throws IOException {
+        if (roomId == null || roomId.isEmpty()) {
+            throw new IllegalArgumentException("채팅방 ID는 필수입니다.");
+        }
+        while (true) {
+            OpenRoom room = rooms.get(roomId);
+            if (room == null) {
+                if (!create && !Files.isDirectory(roomDirectory(roomId))) {
+                    return null;
+                }
+                try {
+                    room = rooms.computeIfAbsent(roomId, id -> {
+                        try {
+                            return new OpenRoom(roomId, new ChatRoomLog(roomDirectory(id), segmentBytes, fsync));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                if (rooms.size() > maxOpenRooms) {
+                    evictLeastRecentlyUsed(room);
+                }
+            }
+            synchronized (room) {
+                if (!room.closed) {
+                    room.users++;
+                    room.lastUsed = System.currentTimeMillis();
+                    return room;
+                }
+            }
+        }
+    }
+
+    private void release(OpenRoom room) {
+        synchronized (room) {
+            room.users--;
+            room.lastUsed = System.currentTimeMillis();
+        }
+    }
+
+    // 열린 방 수가 한도를 넘으면 가장 오래 쓰지 않은 방부터 닫는다 (사용 중인 방은 건너뜀)
+    private void evictLeastRecentlyUsed(OpenRoom opened) {
+        List<OpenRoom> candidates = new ArrayList<>(rooms.values());
+        candidates.remove(opened);
+        candidates.sort(Comparator.comparingLong(room -> room.lastUsed));
+        for (OpenRoom room : candidates) {
+            if (rooms.size() <= maxOpenRooms) {
+                return;
+            }
+            tryClose(room);
+        }
+    }
+
+    private void tryClose(OpenRoom room) {
+        synchronized (room) {
+            if (room.closed || room.users > 0) {
+                return;
+            }
+            room.closed = true;
+            rooms.remove(room.roomId, room);
+            room.roomLog.close();
+        }
+    }
+
+    // 방 ID 를 디렉터리 이름으로 (허용 문자 외에는 hex 로 바꿔 경로 조작을 막는다)
+    private Path roomDirectory(String roomId) {
+        String name = SAFE_ROOM_ID.matcher(roomId).matches()
+                ? roomId
+                : "~" + HexFormat.of().formatHex(roomId.getBytes(StandardCharsets.UTF_8));
+        return Paths.get(baseDirectory, "rooms", name);
+    }
+
+    private byte[] encode(ChatMessage message) {
+        return ChatMessageCodec.toBytes(message);
+    }
+
+    // 바이너리 레코드, 또는 이전 버전이 남긴 JSON 레코드
+    private ChatMessage decode(byte[] payload) throws IOException {
+        if (ChatMessageCodec.isBinary(payload)) {
+            return ChatMessageCodec.fromBytes(payload);
+        }
+        return ChatMessageCodec.fromMap(null, objectMapper.readValue(payload, Map.class));
+    }
+
+    private static final class OpenRoom {
+        private final String roomId;
+        private final ChatRoomLog roomLog;
+        // 아래는 OpenRoom 모니터로 보호 (lastUsed 는 정리 주기에서 잠금 없이 읽음)
+        private int users;
+        private boolean closed;
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        private OpenRoom(String roomId, ChatRoomLog roomLog) {
+            this.roomId = roomId;
+            this.roomLog = roomLog;
+        }
+    }
+
+    private static long parseSeq(String messageId) {
+        try {
+            return Long.parseLong(messageId);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 메시지 ID 입니다: " + messageId);
+        }
+    }
+}
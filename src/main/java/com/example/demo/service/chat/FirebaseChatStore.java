@@ -0,0 +1,264 @@
+package com.example.demo.service.chat;
+
+import com.example.demo.model.ChatMessage;
+import com.example.demo.model.ChatMessageCodec;
+import com.google.api.core.ApiFuture;
+import com.google.firebase.database.ChildEventListener;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.MutableData;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.Transaction;
+import com.google.firebase.database.ValueEventListener;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Firebase Realtime Database 저장소 (chats/{roomId} 아래 20자리 0 채운 seq 를 키로 저장).
+ * 방별 seq 는 chat_seq/{roomId} 카운터를 트랜잭션으로 늘려 예약한다 (여러 서버에서도 겹치지 않음).
+ * 키가 곧 seq 이므로 키 순서와 seq 순서가 항상 같고, 범위 조회는 orderByKey 로 처리한다.
+ * 이전 버전이 남긴 push 키('-' 로 시작)는 문자열 순서상 seq 키보다 앞에 온다.
+ * latestSeq 는 기본 구현(마지막으로 기록된 메시지의 seq)을 써서, 예약만 되고 기록에 실패한 seq 는 안 읽은 수에 넣지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.store", havingValue = "firebase", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class FirebaseChatStore implements ChatStore {
+
+    // 기록 실패 시 같은 내용으로 다시 쓰는 횟수 (키가 seq 라 다시 써도 중복되지 않는다)
+    private static final int WRITE_ATTEMPTS = 3;
+
+    private final FirebaseDatabase firebaseDatabase;
+
+    @Override
+    public CompletableFuture<String> append(ChatMessage message) {
+        return appendBatch(List.of(message)).get(0);
+    }
+
+    /**
+     * 방마다 seq 를 건수만큼 한 번에 예약한 뒤, 모든 메시지를 updateChildren 한 번(다중 경로, 원자적)으로 기록한다.
+     * 실패하면 같은 경로로 다시 쓴다. 끝내 실패한 seq 는 비어 있게 되며, latestSeq 는 마지막으로 기록된 메시지 기준이다.
+     */
+    @Override
+    public List<CompletableFuture<String>> appendBatch(List<ChatMessage> messages) {
+        Map<String, List<ChatMessage>> byRoom = new LinkedHashMap<>();
+        for (ChatMessage message : messages) {
+            byRoom.computeIfAbsent(message.getRoomId(), id -> new ArrayList<>()).add(message);
+        }
+        List<CompletableFuture<Void>> reservations = new ArrayList<>(byRoom.size());
+        byRoom.forEach((roomId, roomMessages) -> reservations.add(reserveSeq(roomId, roomMessages.size())
+                .thenAccept(firstSeq -> {
+                    for (int i = 0; i < roomMessages.size(); i++) {
+                        roomMessages.get(i).setSeq(firstSeq + i);
+                    }
+                })));
+
+        CompletableFuture<Void> written = CompletableFuture.allOf(reservations.toArray(new CompletableFuture[0]))
+                .thenCompose(reserved -> {
+                    Map<String, Object> updates = new LinkedHashMap<>();
+                    for (Map.Entry<String, List<ChatMessage>> entry : byRoom.entrySet()) {
+                        for (ChatMessage message : entry.getValue()) {
+                            String key = seqKey(message.getSeq());
+                            message.setMessageId(key);
+                            updates.put(entry.getKey() + "/" + key, ChatMessageCodec.toMap(message));
+                        }
+                    }
+                    return write(updates, WRITE_ATTEMPTS);
+                });
+
+        List<CompletableFuture<String>> results = new ArrayList<>(messages.size());
+        for (ChatMessage message : messages) {
+            results.add(written.thenApply(done -> message.getMessageId()));
+        }
+        return results;
+    }
+
+    @Override
+    public CompletableFuture<List<ChatMessage>> findLatest(String roomId, int limit) {
+        // 서버가 부여한 seq 키(20자리) 순서 = 전송 순서 (클라이언트 timestamp 에 의존하지 않음)
+        return read(roomRef(roomId).orderByKey().limitToLast(limit), null);
+    }
+
+    @Override
+    public CompletableFuture<List<ChatMessage>> findBefore(String roomId, String beforeMessageId, int limit) {
+        // endAt 은 기준 키를 포함하므로 하나 더 읽고 제외
+        return read(roomRef(roomId).orderByKey().endAt(beforeMessageId).limitToLast(limit + 1), beforeMessageId)
+                .thenApply(messages -> messages.size() > limit ? messages.subList(messages.size() - limit, messages.size()) : messages);
+    }
+
+    @Override
+    public CompletableFuture<List<ChatMessage>> findAfter(String roomId, String afterMessageId, int limit) {
+        // startAt 은 기준 키를 포함하므로 하나 더 읽고 제외
+        return read(roomRef(roomId).orderByKey().startAt(afterMessageId).limitToFirst(limit + 1), afterMessageId)
+                .thenApply(messages -> messages.size() > limit ? messages.subList(0, limit) : messages);
+    }
+
+    @Override
+    public ChatSubscription subscribe(String roomId, Consumer<ChatMessage> listener) {
+        // 마지막으로 기록된 seq 다음 키부터 구독 (기존 메시지 전체가 child_added 로 다시 오지 않도록).
+        // 그 사이 기록된 메시지는 startAt 범위에 들어 있으므로 구독을 붙일 때 child_added 로 전달된다
+        AtomicBoolean closed = new AtomicBoolean();
+        CompletableFuture<Runnable> detach = latestSeq(roomId).thenApply(seq -> closed.get()
+                ? null
+                : attach(roomId, roomRef(roomId).orderByKey().startAt(seqKey(seq + 1)), listener));
+        detach.exceptionally(e -> {
+            log.warn("채팅방 {} 구독을 시작하지 못했습니다: {}", roomId, e.getMessage());
+            return null;
+        });
+        return () -> {
+            closed.set(true);
+            detach.thenAccept(remove -> {
+                if (remove != null) {
+                    remove.run();
+                }
+            });
+        };
+    }
+
+    private Runnable attach(String roomId, Query query, Consumer<ChatMessage> listener) {
+        ChildEventListener childListener = query.addChildEventListener(new ChildEventListener() {
+            @Override
+            public void onChildAdded(DataSnapshot snapshot, String previousChildName) {
+                ChatMessage message = toMessage(snapshot);
+                if (message != null) {
+                    listener.accept(message);
+                }
+            }
+
+            @Override
+            public void onChildChanged(DataSnapshot snapshot, String previousChildName) {
+                // 메시지 수정은 지원하지 않음
+            }
+
+            @Override
+            public void onChildRemoved(DataSnapshot snapshot) {
+                // 메시지 삭제는 지원하지 않음
+            }
+
+            @Override
+            public void onChildMoved(DataSnapshot snapshot, String previousChildName) {
+                // 키 순서 정렬이므로 발생하지 않음
+            }
+
+            @Override
+            public void onCancelled(DatabaseError error) {
+                log.warn("채팅방 {} 구독이 취소되었습니다: {}", roomId, error.getMessage());
+            }
+        });
+        return () -> query.removeEventListener(childListener);
+    }
+
+    @Override
+    public String getName() {
+        return "firebase";
+    }
+
+    private DatabaseReference roomRef(String roomId) {
+        return firebaseDatabase.getReference("chats/" + roomId);
+    }
+
+    // 20자리로 0 을 채워 문자열 순서 = seq 순서 (0 으로 시작하므로 Firebase 가 정수 키로 취급하지 않음)
+    private static String seqKey(long seq) {
+        return String.format("%020d", seq);
+    }
+
+    // 다중 경로 기록. 실패하면 같은 내용으로 attempts 번까지 다시 쓴다
+    private CompletableFuture<Void> write(Map<String, Object> updates, int attempts) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        ApiFuture<Void> update = firebaseDatabase.getReference("chats").updateChildrenAsync(updates);
+        update.addListener(() -> {
+            try {
+                update.get();
+                future.complete(null);
+            } catch (ExecutionException e) {
+                if (attempts > 1) {
+                    log.warn("채팅 메시지 기록 실패, 다시 시도합니다 (남은 {}회): {}", attempts - 1, e.getCause().getMessage());
+                    write(updates, attempts - 1).whenComplete((done, error) -> {
+                        if (error != null) {
+                            future.completeExceptionally(error);
+                        } else {
+                            future.complete(null);
+                        }
+                    });
+                } else {
+                    future.completeExceptionally(e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.completeExceptionally(e);
+            }
+        }, Runnable::run);
+        return future;
+    }
+
+    // chat_seq/{roomId} 를 count 만큼 늘리고 예약된 첫 seq 를 돌려준다
+    private CompletableFuture<Long> reserveSeq(String roomId, int count) {
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        firebaseDatabase.getReference("chat_seq/" + roomId).runTransaction(new Transaction.Handler() {
+            @Override
+            public Transaction.Result doTransaction(MutableData currentData) {
+                Long current = currentData.getValue(Long.class);
+                currentData.setValue((current == null ? 0L : current) + count);
+                return Transaction.success(currentData);
+            }
+
+            @Override
+            public void onComplete(DatabaseError error, boolean committed, DataSnapshot currentData) {
+                if (error != null) {
+                    future.completeExceptionally(error.toException());
+                } else if (!committed) {
+                    future.completeExceptionally(new IllegalStateException("채팅 순번을 예약하지 못했습니다: " + roomId));
+                } else {
+                    future.complete(currentData.getValue(Long.class) - count + 1);
+                }
+            }
+        });
+        return future;
+    }
+
+    private CompletableFuture<List<ChatMessage>> read(Query query, String excludeKey) {
+        CompletableFuture<List<ChatMessage>> future = new CompletableFuture<>();
+        query.addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(DataSnapshot dataSnapshot) {
+                List<ChatMessage> messages = new ArrayList<>();
+                for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+                    if (snapshot.getKey().equals(excludeKey)) {
+                        continue;
+                    }
+                    ChatMessage message = toMessage(snapshot);
+                    if (message != null) {
+                        messages.add(message);
+                    }
+                }
+                future.complete(messages);
+            }
+
+            @Override
+            public void onCancelled(DatabaseError databaseError) {
+                future.completeExceptionally(databaseError.toException());
+            }
+        });
+        return future;
+    }
+
+    // 리플렉션 매핑(getValue(ChatMessage.class)) 대신 평범한 Map 값을 직접 변환
+    private static ChatMessage toMessage(DataSnapshot snapshot) {
+        Object value = snapshot.getValue();
+        return value instanceof Map<?, ?> map ? ChatMessageCodec.fromMap(snapshot.getKey(), map) : null;
+    }
+}
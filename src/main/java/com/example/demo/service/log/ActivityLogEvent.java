@@ -0,0 +1,18 @@
+package com.example.demo.service.log;
+
+import java.time.LocalDateTime;
+
+/**
+ * 비동기 로그 파이프라인에 넣는 활동 로그 한 건.
+ * 다른 스레드에서 INSERT 하므로 엔티티 대신 projectId 등 값만 보관한다 (디스크 적재 시 JSON 한 줄).
+ */
+public record ActivityLogEvent(Long projectId,
+                               String boardNm,
+                               Long postId,
+                               String createdBy,
+                               String modifiedBy,
+                               String action,
+                               LocalDateTime actionDate,
+                               String cName,
+                               LocalDateTime createdDate) {
+}
@@ -0,0 +1,359 @@
+package com.example.demo.service.log;
+
+import com.example.demo.config.TransactionHooks;
+import com.example.demo.service.ProjectDashboardService;
+import com.example.demo.service.admin.ActivityRollupService;
+import com.example.demo.service.sketch.ActivitySketchService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 활동 로그 write-behind 파이프라인.
+ * 비즈니스 트랜잭션 커밋 후 이벤트를 링 버퍼에 넣고, 전용 스레드가 flush-size 건 또는 flush-interval 마다
+ * 다중 행 INSERT 한 번으로 log_board 에 기록한다.
+ * - 버퍼가 가득 차면 offer-timeout 동안 대기(backpressure) 후 디스크 spool 파일로 넘긴다.
+ * - DB 오류 시 해당 배치를 spool 에 기록하고, retry-backoff 이후 spool 을 다시 적재한다.
+ * - 종료 시 버퍼를 모두 비우며, 적재하지 못한 건은 spool 에 남겨 다음 기동 때 적재한다 (at-least-once).
+ */
+@Component
+@RequiredArgsConstructor
+public class ActivityLogPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityLogPipeline.class);
+
+    private static final String INSERT_PREFIX = "INSERT INTO log_board "
+            + "(project_id, board_nm, post_id, created_by, modified_by, action, action_date, cname, created_date, modified_date) VALUES ";
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String CURRENT_SPOOL = "current.jsonl";
+    private static final String REPLAY_PREFIX = "replay-";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ProjectDashboardService projectDashboardService;
+    private final ActivityRollupService activityRollupService;
+    private final TransactionTemplate transactionTemplate;
+    private final ActivitySketchService activitySketchService;
+
+    @Value("${activity-log.async.enabled:true}")
+    private boolean enabled;
+
+    @Value("${activity-log.buffer-size:8192}")
+    private int bufferSize;
+
+    @Value("${activity-log.flush-size:200}")
+    private int flushSize;
+
+    @Value("${activity-log.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${activity-log.offer-timeout-ms:20}")
+    private long offerTimeoutMs;
+
+    @Value("${activity-log.retry-backoff-ms:5000}")
+    private long retryBackoffMs;
+
+    @Value("${activity-log.shutdown-timeout-ms:15000}")
+    private long shutdownTimeoutMs;
+
+    @Value("${activity-log.spool-dir:./data/activity-log-spool}")
+    private String spoolDirectory;
+
+    private LogEventRingBuffer<ActivityLogEvent> buffer;
+    private Path spoolDir;
+    private Thread flusher;
+    private volatile boolean running;
+    private volatile long retryAfterMillis;
+
+    private final Object spoolLock = new Object();
+    private final AtomicBoolean spoolPending = new AtomicBoolean();
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder spooled = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder backpressureWaits = new LongAdder();
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        buffer = new LogEventRingBuffer<>(bufferSize);
+        spoolDir = Paths.get(spoolDirectory);
+        Files.createDirectories(spoolDir);
+        // 이전 실행에서 남은 spool 이 있으면 기동 직후 적재
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spoolDir, "*.jsonl")) {
+            spoolPending.set(files.iterator().hasNext());
+        }
+        running = true;
+        flusher = new Thread(this::runFlusher, "activity-log-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(flusher);
+        flusher.join(shutdownTimeoutMs);
+        if (flusher.isAlive()) {
+            log.warn("활동 로그 flusher 가 {}ms 안에 종료되지 않았습니다. 남은 로그 {}건", shutdownTimeoutMs, buffer.size());
+            return;
+        }
+        // flusher 종료 직전에 버퍼에 들어온 로그는 spool 로 보관
+        List<ActivityLogEvent> rest = new ArrayList<>();
+        buffer.drainTo(rest, Integer.MAX_VALUE);
+        if (!rest.isEmpty()) {
+            spool(rest);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤에 이벤트를 버퍼에 넣는다 (롤백된 작업은 로그를 남기지 않음)
+     */
+    public void submit(ActivityLogEvent event) {
+        TransactionHooks.afterCommit(() -> enqueue(event));
+    }
+
+    void enqueue(ActivityLogEvent event) {
+        enqueued.increment();
+        if (!running) {
+            // 종료 중에 들어온 로그는 다음 기동 때 적재
+            spool(List.of(event));
+            return;
+        }
+        if (buffer.offer(event)) {
+            if (buffer.size() >= flushSize) {
+                LockSupport.unpark(flusher);
+            }
+            return;
+        }
+
+        // 버퍼 가득 참: flusher 를 깨우고 잠시 대기 (backpressure)
+        backpressureWaits.increment();
+        LockSupport.unpark(flusher);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+            if (buffer.offer(event)) {
+                return;
+            }
+        }
+        // 그래도 자리가 없으면 디스크로 넘김
+        spool(List.of(event));
+    }
+
+    private void runFlusher() {
+        List<ActivityLogEvent> batch = new ArrayList<>(flushSize);
+        while (running || buffer.size() > 0) {
+            batch.clear();
+            buffer.drainTo(batch, flushSize);
+            if (!batch.isEmpty()) {
+                flush(batch);
+            }
+            if (batch.size() < flushSize) {
+                replaySpool();
+                if (running) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMs));
+                }
+            }
+        }
+        // 종료 직전 spool 적재를 한 번 더 시도 (실패하면 파일로 남아 다음 기동 때 적재)
+        replaySpool();
+    }
+
+    private void flush(List<ActivityLogEvent> batch) {
+        if (System.currentTimeMillis() < retryAfterMillis) {
+            // DB 장애 대기 중: 바로 디스크로
+            spool(batch);
+            return;
+        }
+        try {
+            insertSafely(batch);
+        } catch (RuntimeException e) {
+            failedBatches.increment();
+            retryAfterMillis = System.currentTimeMillis() + retryBackoffMs;
+            log.warn("활동 로그 {}건 저장 실패, spool 로 이동: {}", batch.size(), e.getMessage());
+            spool(batch);
+        }
+    }
+
+    // 제약 조건 위반 행이 섞인 배치는 한 건씩 다시 넣어 문제 행만 버린다 (배치 전체가 계속 재시도되지 않도록)
+    private void insertSafely(List<ActivityLogEvent> events) {
+        try {
+            insert(events);
+        } catch (DataIntegrityViolationException e) {
+            for (ActivityLogEvent event : events) {
+                try {
+                    insert(List.of(event));
+                } catch (DataIntegrityViolationException rowError) {
+                    log.warn("저장할 수 없는 활동 로그를 버립니다: {} ({})", event, rowError.getMessage());
+                }
+            }
+        }
+    }
+
+    private void insert(List<ActivityLogEvent> events) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + events.size() * (INSERT_ROW.length() + 2));
+        sql.append(INSERT_PREFIX);
+        Object[] args = new Object[events.size() * 10];
+        int i = 0;
+        Set<Long> projectIds = new HashSet<>();
+        for (ActivityLogEvent event : events) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(INSERT_ROW);
+            args[i++] = event.projectId();
+            args[i++] = event.boardNm();
+            args[i++] = event.postId();
+            args[i++] = event.createdBy();
+            args[i++] = event.modifiedBy();
+            args[i++] = event.action();
+            args[i++] = event.actionDate();
+            args[i++] = event.cName();
+            args[i++] = event.createdDate();
+            args[i++] = event.createdDate();
+            if (event.projectId() != null) {
+                projectIds.add(event.projectId());
+            }
+        }
+        // 로그 행과 시간 단위 집계 delta 를 같은 트랜잭션으로 기록
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(sql.toString(), args);
+            activityRollupService.appendDeltas(events);
+        });
+        activitySketchService.record(events);
+        flushed.add(events.size());
+        batches.increment();
+        // 프로젝트 홈의 최근 로그 스냅샷 무효화
+        projectIds.forEach(projectDashboardService::evict);
+    }
+
+    // ===== 디스크 spool =====
+
+    private void spool(List<ActivityLogEvent> events) {
+        synchronized (spoolLock) {
+            try (BufferedWriter writer = Files.newBufferedWriter(spoolDir.resolve(CURRENT_SPOOL), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (ActivityLogEvent event : events) {
+                    writer.write(objectMapper.writeValueAsString(event));
+                    writer.newLine();
+                }
+                spooled.add(events.size());
+                spoolPending.set(true);
+            } catch (IOException e) {
+                log.error("활동 로그 {}건을 spool 에 기록하지 못했습니다.", events.size(), e);
+            }
+        }
+    }
+
+    private void replaySpool() {
+        if (!spoolPending.get() || System.currentTimeMillis() < retryAfterMillis) {
+            return;
+        }
+        try {
+            synchronized (spoolLock) {
+                Path current = spoolDir.resolve(CURRENT_SPOOL);
+                if (Files.exists(current)) {
+                    Files.move(current, spoolDir.resolve(REPLAY_PREFIX + System.currentTimeMillis() + ".jsonl"),
+                            StandardCopyOption.ATOMIC_MOVE);
+                }
+                spoolPending.set(false);
+            }
+
+            List<Path> files = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(spoolDir, REPLAY_PREFIX + "*.jsonl")) {
+                stream.forEach(files::add);
+            }
+            files.sort(null);
+            for (Path file : files) {
+                List<ActivityLogEvent> chunk = new ArrayList<>(flushSize);
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        chunk.add(objectMapper.readValue(line, ActivityLogEvent.class));
+                    } catch (JsonProcessingException e) {
+                        log.warn("spool 활동 로그 한 줄을 읽지 못해 건너뜁니다: {}", line);
+                        continue;
+                    }
+                    if (chunk.size() == flushSize) {
+                        insertSafely(chunk);
+                        replayed.add(chunk.size());
+                        chunk.clear();
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    insertSafely(chunk);
+                    replayed.add(chunk.size());
+                }
+                Files.delete(file);
+            }
+        } catch (DataAccessException e) {
+            // 파일은 그대로 두고 나중에 재시도 (이미 들어간 행이 다시 들어갈 수 있음: at-least-once)
+            failedBatches.increment();
+            retryAfterMillis = System.currentTimeMillis() + retryBackoffMs;
+            spoolPending.set(true);
+            log.warn("spool 활동 로그 재적재 실패: {}", e.getMessage());
+        } catch (IOException e) {
+            spoolPending.set(true);
+            log.error("spool 활동 로그 파일 처리 실패", e);
+        }
+    }
+
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("enqueued", enqueued.sum());
+        stats.put("flushed", flushed.sum());
+        stats.put("batches", batches.sum());
+        stats.put("buffered", buffer == null ? 0L : buffer.size());
+        stats.put("capacity", buffer == null ? 0L : buffer.capacity());
+        stats.put("spooled", spooled.sum());
+        stats.put("replayed", replayed.sum());
+        stats.put("failedBatches", failedBatches.sum());
+        stats.put("backpressureWaits", backpressureWaits.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,321 @@
+package com.example.demo.service.mail;
+
+import com.example.demo.config.TransactionHooks;
+import com.example.demo.domain.entity.EmailOutbox;
+import com.example.demo.domain.entity.EmailOutboxStatus;
+import com.example.demo.repository.EmailOutboxRepository;
+import com.example.demo.service.EmailService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 메일 outbox 발송.
+ * - enqueue / enqueueAll: 호출한 트랜잭션 안에서 email_outbox 에 저장하고, 커밋되면 발송을 깨운다 (롤백되면 메일도 없음)
+ * - 발송: 보낼 때가 된 행을 batch-size 개씩 가져가(PENDING -> SENDING) 작업 풀에서 한 번의 SMTP 연결로 보낸다
+ * - 실패: backoff-base 부터 두 배씩 (최대 backoff-max) 늦춰 다시 시도하고, max-attempts 번 실패하면 FAILED 로 남긴다
+ * 요청 스레드는 SMTP 서버를 기다리지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxService {
+
+    private static final int ERROR_LENGTH = 500;
+    private static final String INSERT_PREFIX = "INSERT INTO email_outbox "
+            + "(kind, recipient, subject, body, status, attempts, next_attempt_at, created_at) VALUES ";
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int INSERT_CHUNK = 200;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${mail.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${mail.outbox.threads:2}")
+    private int threads;
+
+    @Value("${mail.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${mail.outbox.backoff-base-seconds:30}")
+    private long backoffBaseSeconds;
+
+    @Value("${mail.outbox.backoff-max-seconds:3600}")
+    private long backoffMaxSeconds;
+
+    // SENDING 인 채로 이 시간이 지나면 보내다 멈춘 것으로 보고 다시 보낸다
+    @Value("${mail.outbox.stale-minutes:10}")
+    private long staleMinutes;
+
+    // 행을 가져가는 스레드 (하나) 와 실제로 보내는 작업 풀
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "email-outbox-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ExecutorService senders;
+    // 작업 풀이 처리 중인 묶음 수 제한 (보내는 속도보다 빨리 가져가지 않도록)
+    private Semaphore sendSlots;
+    // 깨우기 요청이 이미 대기 중이면 합친다
+    private final AtomicBoolean wakeUpQueued = new AtomicBoolean();
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder sendNanos = new LongAdder();
+
+    @PostConstruct
+    void start() {
+        AtomicInteger sequence = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "email-outbox-sender-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        sendSlots = new Semaphore(threads);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        senders.shutdown();
+    }
+
+    // 이전 실행에서 남은 메일
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        wakeUp();
+    }
+
+    /**
+     * 메일을 outbox 에 넣는다. 호출한 트랜잭션이 커밋된 뒤에 발송한다
+     */
+    public EmailOutbox enqueue(String kind, String recipient, EmailService.MailContent content) {
+        LocalDateTime now = LocalDateTime.now();
+        EmailOutbox saved = emailOutboxRepository.save(EmailOutbox.builder()
+                .kind(kind)
+                .recipient(recipient)
+                .subject(content.subject())
+                .body(content.html())
+                .status(EmailOutboxStatus.PENDING)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+        enqueued.increment();
+        // 롤백되면 보낼 메일도 없으므로 커밋된 뒤에 깨운다
+        TransactionHooks.afterCommit(this::wakeUp);
+        return saved;
+    }
+
+    /**
+     * 여러 메일을 다중 행 INSERT 로 한 번에 outbox 에 넣는다 (recipients 와 contents 는 같은 순서)
+     */
+    public int enqueueAll(String kind, List<String> recipients, List<EmailService.MailContent> contents) {
+        if (recipients.size() != contents.size()) {
+            throw new IllegalArgumentException("받는 사람과 메일 본문 수가 다릅니다.");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (int start = 0; start < recipients.size(); start += INSERT_CHUNK) {
+            int end = Math.min(start + INSERT_CHUNK, recipients.size());
+            StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+            Object[] args = new Object[(end - start) * 8];
+            int i = 0;
+            for (int row = start; row < end; row++) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append(INSERT_ROW);
+                args[i++] = kind;
+                args[i++] = recipients.get(row);
+                args[i++] = contents.get(row).subject();
+                args[i++] = contents.get(row).html();
+                args[i++] = EmailOutboxStatus.PENDING.name();
+                args[i++] = 0;
+                args[i++] = now;
+                args[i++] = now;
+            }
+            jdbcTemplate.update(sql.toString(), args);
+        }
+        enqueued.add(recipients.size());
+        TransactionHooks.afterCommit(this::wakeUp);
+        return recipients.size();
+    }
+
+    /** 재시도 시각이 된 메일과 멈춘 발송을 주기적으로 확인 */
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval-ms:15000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        for (EmailOutboxStatus status : EmailOutboxStatus.values()) {
+            stats.put(status.name().toLowerCase(), emailOutboxRepository.countByStatus(status));
+        }
+        stats.put("enqueued", enqueued.sum());
+        stats.put("sent", sent.sum());
+        stats.put("retried", retried.sum());
+        stats.put("failed", failed.sum());
+        stats.put("batches", batches.sum());
+        long batchCount = batches.sum();
+        stats.put("avgBatchMillis", batchCount == 0 ? 0 : sendNanos.sum() / batchCount / 1_000_000);
+        return stats;
+    }
+
+    /** attempts 번째 실패 뒤 다음 시도까지 기다릴 시간 (base, 2 x base, 4 x base ... 최대 max) */
+    static Duration retryDelay(int attempts, long baseSeconds, long maxSeconds) {
+        int shift = Math.min(Math.max(attempts - 1, 0), 30);
+        return Duration.ofSeconds(Math.min(baseSeconds << shift, maxSeconds));
+    }
+
+    // ===== 내부 =====
+
+    private void wakeUp() {
+        if (!enabled || !wakeUpQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            dispatcher.execute(this::dispatch);
+        } catch (RejectedExecutionException e) {
+            // 종료 중: 다음 기동 때 보낸다
+            wakeUpQueued.set(false);
+        }
+    }
+
+    // 보낼 메일이 없을 때까지 묶음을 가져가 작업 풀에 넘긴다
+    private void dispatch() {
+        wakeUpQueued.set(false);
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusMinutes(staleMinutes);
+            Integer released = transactionTemplate.execute(status ->
+                    emailOutboxRepository.releaseStale(EmailOutboxStatus.PENDING, EmailOutboxStatus.SENDING, cutoff));
+            if (released != null && released > 0) {
+                log.warn("발송 중 멈춘 메일 {}건을 다시 보냅니다.", released);
+            }
+
+            while (true) {
+                sendSlots.acquire();
+                List<EmailOutbox> batch;
+                try {
+                    batch = claimBatch();
+                } catch (RuntimeException e) {
+                    sendSlots.release();
+                    throw e;
+                }
+                if (batch.isEmpty()) {
+                    sendSlots.release();
+                    return;
+                }
+                senders.execute(() -> {
+                    try {
+                        send(batch);
+                    } finally {
+                        sendSlots.release();
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("메일 outbox 처리 실패", e);
+        }
+    }
+
+    private List<EmailOutbox> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutbox> claimed = new ArrayList<>();
+            for (EmailOutbox mail : emailOutboxRepository.findDue(EmailOutboxStatus.PENDING, now, PageRequest.of(0, batchSize))) {
+                if (emailOutboxRepository.claim(mail.getId(), EmailOutboxStatus.PENDING, EmailOutboxStatus.SENDING, now) == 1) {
+                    claimed.add(mail);
+                }
+            }
+            return claimed;
+        });
+    }
+
+    private void send(List<EmailOutbox> batch) {
+        long started = System.nanoTime();
+        Map<Long, Exception> failures;
+        try {
+            failures = emailService.sendBatch(batch);
+        } catch (RuntimeException e) {
+            failures = new LinkedHashMap<>();
+            for (EmailOutbox mail : batch) {
+                failures.put(mail.getId(), e);
+            }
+        }
+        sendNanos.add(System.nanoTime() - started);
+        batches.increment();
+
+        LocalDateTime now = LocalDateTime.now();
+        for (EmailOutbox mail : batch) {
+            Exception error = failures.get(mail.getId());
+            mail.setAttempts(mail.getAttempts() + 1);
+            mail.setClaimedAt(null);
+            if (error == null) {
+                mail.setStatus(EmailOutboxStatus.SENT);
+                mail.setSentAt(now);
+                mail.setLastError(null);
+                sent.increment();
+            } else if (mail.getAttempts() >= maxAttempts) {
+                mail.setStatus(EmailOutboxStatus.FAILED);
+                mail.setLastError(describe(error));
+                failed.increment();
+                log.error("메일 발송 포기: outboxId={}, to={}, attempts={} - {}",
+                        mail.getId(), mail.getRecipient(), mail.getAttempts(), error.getMessage());
+            } else {
+                mail.setStatus(EmailOutboxStatus.PENDING);
+                mail.setNextAttemptAt(now.plus(retryDelay(mail.getAttempts(), backoffBaseSeconds, backoffMaxSeconds)));
+                mail.setLastError(describe(error));
+                retried.increment();
+                log.warn("메일 발송 실패, 나중에 다시 시도: outboxId={}, attempts={} - {}",
+                        mail.getId(), mail.getAttempts(), error.getMessage());
+            }
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> emailOutboxRepository.saveAll(batch));
+        } catch (RuntimeException e) {
+            // 상태를 못 남긴 행은 SENDING 으로 남아 stale-minutes 뒤 다시 보낸다
+            log.error("메일 발송 결과 저장 실패: {}건", batch.size(), e);
+        }
+    }
+
+    private static String describe(Exception error) {
+        String message = error.getClass().getSimpleName() + ": " + error.getMessage();
+        return message.length() > ERROR_LENGTH ? message.substring(0, ERROR_LENGTH) : message;
+    }
+}
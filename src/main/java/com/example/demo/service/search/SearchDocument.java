@@ -0,0 +1,26 @@
+package com.example.demo.service.search;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 검색 색인 단위 문서.
+ * type 은 Board.boardNm 과 같은 값(issues, noticeboard, comment, calendar)을 쓴다.
+ * 색인에는 본문 전체 대신 snippet 만 보관하고, 토큰화는 색인 시점의 title/content 로 한다.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class SearchDocument {
+
+    private final String type;
+    private final Long id;
+    private final Long projectId;
+    // 댓글이 달린 이슈 id (댓글 검색 결과를 이슈 상세로 연결하기 위함)
+    private final Long parentId;
+    private final String title;
+    private final String content;
+    private final String cName;
+    private final LocalDateTime createdDate;
+}
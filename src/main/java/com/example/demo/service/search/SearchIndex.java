@@ -0,0 +1,381 @@
+package com.example.demo.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * 메모리 역색인.
+ * 문서마다 증가하는 ordinal 을 부여하고, 토큰별 posting(ordinal 오름차순, tf)을 배열로 보관한다.
+ * 수정은 삭제 + 재추가, 삭제는 tombstone 처리 후 삭제 비율이 커지면 compact() 로 정리한다.
+ * 검색은 모든 토큰을 포함하는 문서(AND)를 BM25 점수로 정렬한다.
+ * 한 글자 한글 검색어는 그 글자를 포함한 2-gram 들의 posting 을 합쳐서 찾는다.
+ */
+public class SearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // 제목 토큰은 본문보다 가중치를 준다
+    private static final int TITLE_WEIGHT = 2;
+    private static final int SNIPPET_LENGTH = 160;
+    private static final int COMPACT_MIN_DELETED = 10_000;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    // type -> (id -> ordinal)
+    private final Map<String, Map<Long, Integer>> ordinals = new HashMap<>();
+    // 글자 -> 그 글자를 포함한 2-gram 토큰 (한 글자 검색용)
+    private final Map<Character, Set<String>> gramsByChar = new HashMap<>();
+
+    private SearchDocument[] docs = new SearchDocument[1024];
+    private int[] lengths = new int[1024];
+    private final BitSet deleted = new BitSet();
+    private int size;
+    private int liveCount;
+    private long totalLength;
+
+    public void add(SearchDocument document) {
+        Map<String, Integer> termFreqs = new HashMap<>();
+        int length = 0;
+        for (String token : SearchTokenizer.tokenize(document.getTitle())) {
+            termFreqs.merge(token, TITLE_WEIGHT, Integer::sum);
+            length += TITLE_WEIGHT;
+        }
+        for (String token : SearchTokenizer.tokenize(document.getContent())) {
+            termFreqs.merge(token, 1, Integer::sum);
+            length++;
+        }
+        SearchDocument stored = document.toBuilder().content(snippet(document.getContent())).build();
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(document.getType(), document.getId());
+            // 수정(삭제 + 재추가)만 반복돼도 tombstone 이 쌓이므로 추가 전에 정리한다
+            compactIfNeeded();
+            int ordinal = size++;
+            ensureCapacity(size);
+            docs[ordinal] = stored;
+            lengths[ordinal] = length;
+            for (Map.Entry<String, Integer> entry : termFreqs.entrySet()) {
+                String token = entry.getKey();
+                Postings list = postings.get(token);
+                if (list == null) {
+                    list = new Postings();
+                    postings.put(token, list);
+                    if (SearchTokenizer.isGram(token)) {
+                        gramsByChar.computeIfAbsent(token.charAt(0), key -> new HashSet<>()).add(token);
+                        gramsByChar.computeIfAbsent(token.charAt(1), key -> new HashSet<>()).add(token);
+                    }
+                }
+                list.append(ordinal, entry.getValue());
+            }
+            ordinals.computeIfAbsent(document.getType(), key -> new HashMap<>()).put(document.getId(), ordinal);
+            liveCount++;
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String type, Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(type, id);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 프로젝트 삭제 시 해당 프로젝트 문서 전체 제거
+    public void removeProject(Long projectId) {
+        lock.writeLock().lock();
+        try {
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                SearchDocument doc = docs[ordinal];
+                if (!deleted.get(ordinal) && doc != null && projectId.equals(doc.getProjectId())) {
+                    removeInternal(doc.getType(), doc.getId());
+                }
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeInternal(String type, Long id) {
+        Map<Long, Integer> byId = ordinals.get(type);
+        Integer ordinal = byId == null ? null : byId.remove(id);
+        if (ordinal == null) {
+            return;
+        }
+        deleted.set(ordinal);
+        docs[ordinal] = null;
+        totalLength -= lengths[ordinal];
+        liveCount--;
+    }
+
+    /**
+     * @param query          검색어
+     * @param type           문서 종류 필터 (null 이면 전체)
+     * @param projectFilter  접근 가능한 프로젝트만 통과시키는 필터 (읽기 잠금 안에서 호출되므로 DB 조회 없이 판정할 것)
+     * @param offset         건너뛸 결과 수
+     * @param limit          반환할 결과 수
+     */
+    public SearchResult search(String query, String type, LongPredicate projectFilter, int offset, int limit) {
+        Collection<String> terms = SearchTokenizer.queryTerms(query);
+        if (terms.isEmpty()) {
+            return new SearchResult(0, List.of());
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Postings list = SearchTokenizer.isSingleGram(term) ? containing(term.charAt(0)) : postings.get(term);
+                if (list == null) {
+                    return new SearchResult(0, List.of());
+                }
+                lists.add(list);
+            }
+            // 가장 짧은 posting 을 기준으로 나머지를 이진 탐색 (AND 교집합)
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            double[] idf = new double[lists.size()];
+            for (int i = 0; i < lists.size(); i++) {
+                int df = lists.get(i).size;
+                idf[i] = Math.log(1 + (liveCount - df + 0.5) / (df + 0.5));
+            }
+            double avgLength = liveCount == 0 ? 1 : Math.max(1.0, (double) totalLength / liveCount);
+
+            int wanted = offset + limit;
+            PriorityQueue<ScoredOrdinal> top = new PriorityQueue<>(Comparator.comparingDouble(ScoredOrdinal::score));
+            int total = 0;
+
+            Postings first = lists.get(0);
+            int[] cursors = new int[lists.size()];
+            for (int p = 0; p < first.size; p++) {
+                int ordinal = first.ordinals[p];
+                if (deleted.get(ordinal)) {
+                    continue;
+                }
+                double score = bm25(first.freqs[p], lengths[ordinal], avgLength, idf[0]);
+                boolean matched = true;
+                for (int i = 1; i < lists.size() && matched; i++) {
+                    Postings other = lists.get(i);
+                    int pos = Arrays.binarySearch(other.ordinals, cursors[i], other.size, ordinal);
+                    if (pos < 0) {
+                        cursors[i] = -pos - 1;
+                        matched = false;
+                    } else {
+                        cursors[i] = pos;
+                        score += bm25(other.freqs[pos], lengths[ordinal], avgLength, idf[i]);
+                    }
+                }
+                if (!matched) {
+                    continue;
+                }
+                SearchDocument doc = docs[ordinal];
+                if (type != null && !type.equals(doc.getType())) {
+                    continue;
+                }
+                if (doc.getProjectId() == null || !projectFilter.test(doc.getProjectId())) {
+                    continue;
+                }
+                total++;
+                if (top.size() < wanted) {
+                    top.add(new ScoredOrdinal(ordinal, score));
+                } else if (wanted > 0 && top.peek().score() < score) {
+                    top.poll();
+                    top.add(new ScoredOrdinal(ordinal, score));
+                }
+            }
+
+            List<ScoredOrdinal> ranked = new ArrayList<>(top);
+            ranked.sort(Comparator.comparingDouble(ScoredOrdinal::score).reversed());
+            List<Hit> hits = new ArrayList<>();
+            for (int i = offset; i < ranked.size(); i++) {
+                ScoredOrdinal scored = ranked.get(i);
+                hits.add(new Hit(docs[scored.ordinal()], scored.score()));
+            }
+            return new SearchResult(total, hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 한 글자 검색: 그 글자 단독 토큰과 그 글자를 포함한 2-gram 들의 posting 합집합 (없으면 null)
+    private Postings containing(char ch) {
+        List<Postings> lists = new ArrayList<>();
+        Postings single = postings.get(String.valueOf(ch));
+        if (single != null) {
+            lists.add(single);
+        }
+        for (String gram : gramsByChar.getOrDefault(ch, Set.of())) {
+            Postings list = postings.get(gram);
+            if (list != null) {
+                lists.add(list);
+            }
+        }
+        if (lists.isEmpty()) {
+            return null;
+        }
+        if (lists.size() == 1) {
+            return lists.get(0);
+        }
+        int count = 0;
+        for (Postings list : lists) {
+            count += list.size;
+        }
+        // (ordinal << 32 | freq) 로 묶어 정렬한 뒤 같은 문서의 tf 를 더한다
+        long[] packed = new long[count];
+        int n = 0;
+        for (Postings list : lists) {
+            for (int i = 0; i < list.size; i++) {
+                packed[n++] = ((long) list.ordinals[i] << 32) | list.freqs[i];
+            }
+        }
+        Arrays.sort(packed);
+        Postings union = new Postings();
+        for (long entry : packed) {
+            int ordinal = (int) (entry >>> 32);
+            int freq = (int) entry;
+            if (union.size > 0 && union.ordinals[union.size - 1] == ordinal) {
+                union.freqs[union.size - 1] += freq;
+            } else {
+                union.append(ordinal, freq);
+            }
+        }
+        return union;
+    }
+
+    private static double bm25(int tf, int length, double avgLength, double idf) {
+        return idf * (tf * (K1 + 1)) / (tf + K1 * (1 - B + B * length / avgLength));
+    }
+
+    private void compactIfNeeded() {
+        int deletedCount = size - liveCount;
+        if (deletedCount >= COMPACT_MIN_DELETED && deletedCount > liveCount / 4) {
+            compact();
+        }
+    }
+
+    // tombstone 정리: 살아있는 문서만 앞으로 당기고 posting 의 ordinal 을 다시 매긴다
+    void compact() {
+        int[] remap = new int[size];
+        int next = 0;
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            if (deleted.get(ordinal)) {
+                remap[ordinal] = -1;
+            } else {
+                remap[ordinal] = next;
+                docs[next] = docs[ordinal];
+                lengths[next] = lengths[ordinal];
+                next++;
+            }
+        }
+        Arrays.fill(docs, next, size, null);
+
+        postings.values().removeIf(list -> {
+            list.remap(remap);
+            return list.size == 0;
+        });
+        gramsByChar.values().removeIf(grams -> {
+            grams.removeIf(gram -> !postings.containsKey(gram));
+            return grams.isEmpty();
+        });
+        for (Map<Long, Integer> byId : ordinals.values()) {
+            byId.replaceAll((id, ordinal) -> remap[ordinal]);
+        }
+        deleted.clear();
+        size = next;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > docs.length) {
+            int newLength = Math.max(capacity, docs.length * 2);
+            docs = Arrays.copyOf(docs, newLength);
+            lengths = Arrays.copyOf(lengths, newLength);
+        }
+    }
+
+    private static String snippet(String content) {
+        if (content == null) {
+            return null;
+        }
+        String flat = content.replaceAll("\\s+", " ").trim();
+        return flat.length() > SNIPPET_LENGTH ? flat.substring(0, SNIPPET_LENGTH) + "…" : flat;
+    }
+
+    public Map<String, Long> getStats() {
+        lock.readLock().lock();
+        try {
+            long postingCount = 0;
+            for (Postings list : postings.values()) {
+                postingCount += list.size;
+            }
+            Map<String, Long> stats = new LinkedHashMap<>();
+            stats.put("documents", (long) liveCount);
+            stats.put("deleted", (long) (size - liveCount));
+            stats.put("terms", (long) postings.size());
+            stats.put("postings", postingCount);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        return liveCount;
+    }
+
+    // 토큰 하나의 posting: ordinal 오름차순으로만 추가된다
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        void append(int ordinal, int freq) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            ordinals[size] = ordinal;
+            freqs[size] = freq;
+            size++;
+        }
+
+        void remap(int[] remap) {
+            int next = 0;
+            for (int i = 0; i < size; i++) {
+                int mapped = remap[ordinals[i]];
+                if (mapped >= 0) {
+                    ordinals[next] = mapped;
+                    freqs[next] = freqs[i];
+                    next++;
+                }
+            }
+            size = next;
+        }
+    }
+
+    private record ScoredOrdinal(int ordinal, double score) {
+    }
+
+    public record Hit(SearchDocument document, double score) {
+    }
+
+    public record SearchResult(int total, List<Hit> hits) {
+    }
+}
@@ -0,0 +1,308 @@
+package com.example.demo.service.search;
+
+import com.example.demo.config.ProjectAccessCache;
+import com.example.demo.config.TransactionHooks;
+import com.example.demo.domain.dto.SearchHitDTO;
+import com.example.demo.domain.entity.CalendarEvent;
+import com.example.demo.domain.entity.Issue;
+import com.example.demo.domain.entity.IssueComment;
+import com.example.demo.domain.entity.NoticeBoard;
+import com.example.demo.domain.entity.User;
+import com.example.demo.repository.CalendarEventRepository;
+import com.example.demo.repository.IssueCommentRepository;
+import com.example.demo.repository.IssueRepository;
+import com.example.demo.repository.NoticeBoardRepository;
+import com.example.demo.repository.ProjectRepository;
+import com.example.demo.security.CurrentUser;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+
+/**
+ * 프로젝트 전체 검색(이슈 / 공지 / 댓글 / 일정) 서비스.
+ * 각 서비스의 생성/수정/삭제 경로에서 index / remove 를 호출하면 커밋 이후 메모리 역색인에 반영된다.
+ * 서버 시작 시와 관리자 요청 시 DB 전체를 id 순서로 읽어 새 색인을 만든 뒤 교체한다(rebuild).
+ */
+@Service
+@RequiredArgsConstructor
+public class SearchIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexService.class);
+
+    public static final String TYPE_ISSUE = "issues";
+    public static final String TYPE_NOTICE = "noticeboard";
+    public static final String TYPE_COMMENT = "comment";
+    public static final String TYPE_CALENDAR = "calendar";
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_RESULT_WINDOW = 1000;
+
+    private final IssueRepository issueRepository;
+    private final NoticeBoardRepository noticeBoardRepository;
+    private final IssueCommentRepository issueCommentRepository;
+    private final CalendarEventRepository calendarEventRepository;
+    private final ProjectAccessCache projectAccessCache;
+    private final ProjectRepository projectRepository;
+    private final CurrentUser currentUser;
+
+    @Value("${search.index.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    @Value("${search.index.batch-size:1000}")
+    private int batchSize;
+
+    private volatile SearchIndex index = new SearchIndex();
+
+    // rebuild 중에 들어온 변경 사항: 새 색인으로 교체하기 직전에 다시 적용한다
+    private final Object writeLock = new Object();
+    private List<Consumer<SearchIndex>> pendingDuringRebuild;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile long lastRebuildMillis = -1;
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuildAsync();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    // ===== 색인 반영 (트랜잭션 안에서는 커밋 이후) =====
+
+    public void index(Issue issue) {
+        SearchDocument document = toDocument(issue);
+        afterCommit(target -> target.add(document));
+    }
+
+    public void index(NoticeBoard noticeBoard) {
+        SearchDocument document = toDocument(noticeBoard);
+        afterCommit(target -> target.add(document));
+    }
+
+    public void index(IssueComment comment) {
+        SearchDocument document = toDocument(comment);
+        afterCommit(target -> target.add(document));
+    }
+
+    public void index(CalendarEvent event) {
+        SearchDocument document = toDocument(event);
+        afterCommit(target -> target.add(document));
+    }
+
+    public void remove(String type, Long id) {
+        afterCommit(target -> target.remove(type, id));
+    }
+
+    // 이슈 삭제 시 cascade 로 함께 지워지는 댓글/답글까지 제거
+    public void removeIssue(Issue issue) {
+        List<Long> commentIds = issue.getComments() == null ? List.of()
+                : issue.getComments().stream().map(IssueComment::getId).collect(Collectors.toList());
+        Long issueId = issue.getId();
+        afterCommit(target -> {
+            target.remove(TYPE_ISSUE, issueId);
+            commentIds.forEach(commentId -> target.remove(TYPE_COMMENT, commentId));
+        });
+    }
+
+    // 댓글 삭제 시 cascade 로 함께 지워지는 답글까지 제거
+    public void removeComment(IssueComment comment) {
+        List<Long> commentIds = new ArrayList<>();
+        collectCommentIds(comment, commentIds);
+        afterCommit(target -> commentIds.forEach(commentId -> target.remove(TYPE_COMMENT, commentId)));
+    }
+
+    private void collectCommentIds(IssueComment comment, List<Long> commentIds) {
+        commentIds.add(comment.getId());
+        if (comment.getReplies() != null) {
+            comment.getReplies().forEach(reply -> collectCommentIds(reply, commentIds));
+        }
+    }
+
+    public void removeProject(Long projectId) {
+        afterCommit(target -> target.removeProject(projectId));
+    }
+
+    private void afterCommit(Consumer<SearchIndex> op) {
+        TransactionHooks.afterCommit(() -> apply(op));
+    }
+
+    private void apply(Consumer<SearchIndex> op) {
+        synchronized (writeLock) {
+            op.accept(index);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(op);
+            }
+        }
+    }
+
+    // ===== 검색 =====
+
+    /**
+     * 로그인 사용자가 접근 가능한 프로젝트 범위에서 검색한다.
+     * projectId 가 있으면 해당 프로젝트만, 없으면 사용자가 속한 모든 프로젝트가 대상이다.
+     */
+    public Page<SearchHitDTO> search(String query, Long projectId, String type, int page, int size) {
+        User user = currentUser.requireUser();
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        // page * pageSize 가 int 를 넘지 않도록 long 으로 계산한다 (page=Integer.MAX_VALUE 등)
+        long offset = (long) Math.max(page, 0) * pageSize;
+        Pageable pageable = PageRequest.of(Math.max(page, 0), pageSize);
+        if (query == null || query.isBlank() || offset >= MAX_RESULT_WINDOW) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+
+        // 접근 가능한 프로젝트는 색인 잠금을 잡기 전에 확정한다 (잠금 안에서 DB 를 기다리면 색인 쓰기가 밀림)
+        Set<Long> accessible;
+        if (projectId != null) {
+            if (!projectAccessCache.hasAccess(projectId, user.getId())) {
+                throw new AccessDeniedException("프로젝트에 접근할 권한이 없습니다.");
+            }
+            accessible = Set.of(projectId);
+        } else {
+            accessible = new HashSet<>(projectRepository.findAccessibleProjectIds(user.getId()));
+        }
+        if (accessible.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+        LongPredicate projectFilter = accessible::contains;
+
+        SearchIndex.SearchResult result = index.search(query, blankToNull(type), projectFilter, (int) offset, pageSize);
+        List<SearchHitDTO> hits = result.hits().stream()
+                .map(hit -> SearchHitDTO.from(hit.document(), hit.score()))
+                .collect(Collectors.toList());
+        return new PageImpl<>(hits, pageable, result.total());
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    // ===== 전체 재색인 =====
+
+    public boolean rebuildAsync() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        rebuildExecutor.execute(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.error("검색 색인 재구성 실패", e);
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+        return true;
+    }
+
+    private void rebuild() {
+        long started = System.currentTimeMillis();
+        synchronized (writeLock) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+        SearchIndex fresh = new SearchIndex();
+        try {
+            // OFFSET 없이 id 순서로 batchSize 씩 읽는다
+            loadAll(fresh, lastId -> issueRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, batchSize)),
+                    Issue::getId, this::toDocument);
+            loadAll(fresh, lastId -> noticeBoardRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, batchSize)),
+                    NoticeBoard::getId, this::toDocument);
+            loadAll(fresh, lastId -> issueCommentRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, batchSize)),
+                    IssueComment::getId, this::toDocument);
+            loadAll(fresh, lastId -> calendarEventRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, batchSize)),
+                    CalendarEvent::getId, this::toDocument);
+        } catch (RuntimeException e) {
+            synchronized (writeLock) {
+                pendingDuringRebuild = null;
+            }
+            throw e;
+        }
+
+        synchronized (writeLock) {
+            pendingDuringRebuild.forEach(op -> op.accept(fresh));
+            pendingDuringRebuild = null;
+            index = fresh;
+        }
+        lastRebuildMillis = System.currentTimeMillis() - started;
+        log.info("검색 색인 재구성 완료: 문서 {}건, {}ms", fresh.size(), lastRebuildMillis);
+    }
+
+    private <E> void loadAll(SearchIndex target, Function<Long, List<E>> batchLoader,
+                             Function<E, Long> idOf, Function<E, SearchDocument> mapper) {
+        long lastId = 0L;
+        List<E> batch;
+        do {
+            batch = batchLoader.apply(lastId);
+            for (E entity : batch) {
+                target.add(mapper.apply(entity));
+                lastId = idOf.apply(entity);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    private SearchDocument toDocument(Issue issue) {
+        return SearchDocument.builder().type(TYPE_ISSUE).id(issue.getId()).projectId(issue.getProject().getId())
+                .title(issue.getTitle()).content(issue.getContent())
+                .cName(issue.getCName()).createdDate(issue.getCreatedDate()).build();
+    }
+
+    private SearchDocument toDocument(NoticeBoard noticeBoard) {
+        return SearchDocument.builder().type(TYPE_NOTICE).id(noticeBoard.getId()).projectId(noticeBoard.getProject().getId())
+                .title(noticeBoard.getTitle()).content(noticeBoard.getContents())
+                .cName(noticeBoard.getCName()).createdDate(noticeBoard.getCreatedDate()).build();
+    }
+
+    private SearchDocument toDocument(IssueComment comment) {
+        return SearchDocument.builder().type(TYPE_COMMENT).id(comment.getId()).projectId(comment.getProject().getId())
+                .parentId(comment.getIssue().getId()).content(comment.getContents())
+                .cName(comment.getCName()).createdDate(comment.getCreatedDate()).build();
+    }
+
+    private SearchDocument toDocument(CalendarEvent event) {
+        return SearchDocument.builder().type(TYPE_CALENDAR).id(event.getId()).projectId(event.getProject().getId())
+                .title(event.getTitle()).content(event.getDescription())
+                .cName(event.getCName()).createdDate(event.getCreatedDate()).build();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.putAll(index.getStats());
+        stats.put("rebuilding", rebuilding.get());
+        stats.put("lastRebuildMillis", lastRebuildMillis);
+        return stats;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.demo.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 검색 색인용 토크나이저.
+ * 한글/한자/가나 구간은 글자 2-gram(한 글자 구간은 그대로)으로, 영문/숫자 구간은 단어 단위로 자른다.
+ * 형태소 분석 없이도 "회의록" 검색이 "주간회의록정리" 같은 붙여쓰기 본문과 매칭된다.
+ */
+public final class SearchTokenizer {
+
+    // 비정상적으로 긴 단어(URL, 해시 등)는 색인 크기만 키우므로 잘라서 보관
+    private static final int MAX_WORD_LENGTH = 40;
+
+    private SearchTokenizer() {
+    }
+
+    /** 색인용: 중복 포함 토큰 목록 (tf 계산용) */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+
+        StringBuilder word = new StringBuilder();
+        StringBuilder gram = new StringBuilder();
+        for (int i = 0; i < normalized.length(); i++) {
+            char ch = normalized.charAt(i);
+            if (isGramChar(ch)) {
+                flushWord(word, tokens);
+                gram.append(ch);
+            } else if (Character.isLetterOrDigit(ch)) {
+                flushGram(gram, tokens);
+                word.append(ch);
+            } else {
+                flushWord(word, tokens);
+                flushGram(gram, tokens);
+            }
+        }
+        flushWord(word, tokens);
+        flushGram(gram, tokens);
+        return tokens;
+    }
+
+    /** 검색어용: 중복 제거된 토큰 (입력 순서 유지) */
+    public static Set<String> queryTerms(String query) {
+        return new LinkedHashSet<>(tokenize(query));
+    }
+
+    /** 한글/한자/가나 2-gram 토큰 여부 */
+    static boolean isGram(String token) {
+        return token.length() == 2 && isGramChar(token.charAt(0)) && isGramChar(token.charAt(1));
+    }
+
+    /** 한 글자 한글/한자/가나 토큰 여부 (색인에는 한 글자 구간에서만 생기므로 검색 시 2-gram 으로 넓혀 찾는다) */
+    static boolean isSingleGram(String token) {
+        return token.length() == 1 && isGramChar(token.charAt(0));
+    }
+
+    private static boolean isGramChar(char ch) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(ch);
+        return script == Character.UnicodeScript.HANGUL
+                || script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA;
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        if (word.length() > 0) {
+            tokens.add(word.length() > MAX_WORD_LENGTH ? word.substring(0, MAX_WORD_LENGTH) : word.toString());
+            word.setLength(0);
+        }
+    }
+
+    private static void flushGram(StringBuilder gram, List<String> tokens) {
+        if (gram.length() == 1) {
+            tokens.add(gram.toString());
+        } else {
+            for (int i = 0; i + 1 < gram.length(); i++) {
+                tokens.add(gram.substring(i, i + 2));
+            }
+        }
+        gram.setLength(0);
+    }
+}
@@ -0,0 +1,301 @@
+package com.example.demo.service.sketch;
+
+import com.example.demo.config.TransactionHooks;
+import com.example.demo.service.log.ActivityLogEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 활동 로그 스트리밍 스케치 (일 단위).
+ * - HyperLogLog: 고유 사용자 수 (DAU / WAU / MAU), 사용자 키는 작성자 이메일(createdBy)
+ * - Space-Saving: 활동 많은 사용자(cName) / 프로젝트 상위 K
+ * 로그가 DB 에 커밋된 뒤 record 로 반영되고, 여러 날 조회는 일별 스케치를 합쳐 계산한다.
+ * snapshot-interval 마다, 그리고 종료 시 디스크에 저장해 재기동 후에도 이어서 사용한다.
+ * 스냅샷이 없으면 기동 시 최근 retention-days 의 log_board 를 한 번 읽어 채운다.
+ * 이때 재생 직전에 정한 기준 시각으로 나눠, created_date 가 그 이전인 로그는 재생에서만, 이후인 로그는 record 에서만 센다
+ * (재생 조회의 스냅샷 시점과 실시간 반영 시작 시점 사이에 커밋된 로그를 두 번 세지 않도록).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ActivitySketchService {
+
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final String SNAPSHOT_FILE = "activity-sketches.bin";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${activity-sketch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${activity-sketch.hll-precision:14}")
+    private int hllPrecision;
+
+    @Value("${activity-sketch.top-k-capacity:256}")
+    private int topKCapacity;
+
+    @Value("${activity-sketch.retention-days:35}")
+    private int retentionDays;
+
+    @Value("${activity-sketch.snapshot-dir:./data/activity-sketch}")
+    private String snapshotDirectory;
+
+    private final Map<LocalDate, DaySketch> days = new ConcurrentHashMap<>();
+    private final LongAdder recorded = new LongAdder();
+    private volatile boolean warmedUp;
+    // 실시간 record 반영 여부: 스냅샷을 읽었거나 log_board 재생 기준 시각을 정한 뒤부터 true
+    private volatile boolean live;
+    // log_board 재생 기준 시각: created_date 가 이보다 이른 로그는 재생에서 센다 (스냅샷을 읽었으면 null)
+    private volatile LocalDateTime replayBefore;
+    private volatile LocalDateTime lastSnapshotAt;
+
+    @PostConstruct
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        Path file = Paths.get(snapshotDirectory, SNAPSHOT_FILE);
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != SNAPSHOT_VERSION) {
+                log.warn("활동 스케치 스냅샷 버전이 달라 무시합니다: {}", file);
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                LocalDate day = LocalDate.ofEpochDay(in.readLong());
+                HyperLogLog users = HyperLogLog.readFrom(in);
+                if (users.getPrecision() > hllPrecision) {
+                    // 설정에서 precision 을 낮춘 경우: 접어서 맞춘다 (높인 경우는 그 날짜가 보관 기간을 지날 때까지 낮은 precision 유지)
+                    users = users.foldTo(hllPrecision);
+                }
+                days.put(day, new DaySketch(users, SpaceSaving.readFrom(in), SpaceSaving.readFrom(in)));
+            }
+            warmedUp = true;
+            live = true;
+            log.info("활동 스케치 스냅샷 로드: {}일", count);
+        } catch (IOException | RuntimeException e) {
+            days.clear();
+            log.warn("활동 스케치 스냅샷을 읽지 못했습니다. log_board 에서 다시 채웁니다: {}", e.getMessage());
+        }
+    }
+
+    // 스냅샷이 없으면 최근 로그로 채운다 (한 번만, 백그라운드)
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        if (warmedUp) {
+            live = true;
+            return;
+        }
+        Thread thread = new Thread(this::warmUpFromLogs, "activity-sketch-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void warmUpFromLogs() {
+        LocalDateTime since = LocalDate.now().minusDays(retentionDays - 1L).atStartOfDay();
+        LongAdder rows = new LongAdder();
+        RowCallbackHandler handler = resultSet -> {
+            Timestamp actionDate = resultSet.getTimestamp(1);
+            long projectId = resultSet.getLong(4);
+            Long project = resultSet.wasNull() ? null : projectId;
+            add(actionDate != null ? actionDate.toLocalDateTime() : null,
+                    resultSet.getString(2), resultSet.getString(3), project);
+            rows.increment();
+        };
+        try {
+            // 기준 시각을 live 보다 먼저 정한다. 초 단위로 자르는 것은 DB 가 created_date 의 소수 초를 버려도 같은 쪽에 남도록
+            LocalDateTime before = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+            replayBefore = before;
+            live = true;
+            jdbcTemplate.query("SELECT action_date, created_by, cname, project_id FROM log_board "
+                            + "WHERE action_date >= ? AND created_date < ?",
+                    handler, Timestamp.valueOf(since), Timestamp.valueOf(before));
+            warmedUp = true;
+            log.info("활동 스케치 초기화 완료: {}건", rows.sum());
+        } catch (RuntimeException e) {
+            log.error("활동 스케치 초기화 실패", e);
+        }
+    }
+
+    /** 커밋된 로그 배치를 반영한다 */
+    public void record(Collection<ActivityLogEvent> events) {
+        if (!enabled || !live) {
+            // 재생 조회 시작 전: 이미 커밋된 로그이므로 재생에서 센다
+            return;
+        }
+        LocalDateTime before = replayBefore;
+        for (ActivityLogEvent event : events) {
+            if (before != null && event.createdDate() != null && event.createdDate().isBefore(before)) {
+                // 재생 조회가 센다
+                continue;
+            }
+            add(event.actionDate(), event.createdBy(), event.cName(), event.projectId());
+        }
+    }
+
+    /** 현재 트랜잭션이 커밋된 뒤에 반영한다 (롤백된 로그는 세지 않음) */
+    public void recordAfterCommit(ActivityLogEvent event) {
+        if (!enabled) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> record(List.of(event)));
+    }
+
+    private void add(LocalDateTime actionDate, String userKey, String userName, Long projectId) {
+        if (actionDate == null) {
+            return;
+        }
+        LocalDate day = actionDate.toLocalDate();
+        if (day.isBefore(LocalDate.now().minusDays(retentionDays - 1L))) {
+            return;
+        }
+        DaySketch sketch = days.computeIfAbsent(day, d -> newDaySketch());
+        synchronized (sketch) {
+            sketch.users.add(userKey != null ? userKey : userName);
+            sketch.topUsers.add(userName, 1);
+            sketch.topProjects.add(projectId != null ? projectId.toString() : null, 1);
+        }
+        recorded.increment();
+    }
+
+    /** 최근 windowDays 일(오늘 포함) 고유 사용자 수 추정 */
+    public long estimateActiveUsers(int windowDays) {
+        // precision 설정을 바꾼 직후에는 날짜마다 precision 이 다를 수 있으므로 가장 낮은 쪽으로 접어서 합친다
+        int[] precision = {hllPrecision};
+        forEachDay(windowDays, sketch -> precision[0] = Math.min(precision[0], sketch.users.getPrecision()));
+        HyperLogLog merged = new HyperLogLog(precision[0]);
+        forEachDay(windowDays, sketch -> merged.merge(sketch.users));
+        return merged.estimate();
+    }
+
+    /** 최근 windowDays 일(오늘 포함) 활동 많은 사용자(cName) 상위 limit */
+    public List<SpaceSaving.Entry> topUsers(int windowDays, int limit) {
+        SpaceSaving merged = new SpaceSaving(topKCapacity);
+        forEachDay(windowDays, sketch -> merged.merge(sketch.topUsers));
+        return merged.top(limit);
+    }
+
+    /** 최근 windowDays 일(오늘 포함) 활동 많은 프로젝트(id) 상위 limit */
+    public List<SpaceSaving.Entry> topProjects(int windowDays, int limit) {
+        SpaceSaving merged = new SpaceSaving(topKCapacity);
+        forEachDay(windowDays, sketch -> merged.merge(sketch.topProjects));
+        return merged.top(limit);
+    }
+
+    /** HyperLogLog 추정의 상대 표준 오차 (precision 14 에서 약 0.0081) */
+    public double activeUserStandardError() {
+        return 1.04 / Math.sqrt(1 << hllPrecision);
+    }
+
+    private void forEachDay(int windowDays, Consumer<DaySketch> action) {
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < windowDays; i++) {
+            DaySketch sketch = days.get(today.minusDays(i));
+            if (sketch != null) {
+                synchronized (sketch) {
+                    action.accept(sketch);
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${activity-sketch.snapshot-interval-ms:60000}",
+            initialDelayString = "${activity-sketch.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        if (!enabled || !warmedUp) {
+            return;
+        }
+        // 보관 기간이 지난 날짜 정리
+        LocalDate oldest = LocalDate.now().minusDays(retentionDays - 1L);
+        days.keySet().removeIf(day -> day.isBefore(oldest));
+
+        List<Map.Entry<LocalDate, DaySketch>> copies = new ArrayList<>();
+        days.forEach((day, sketch) -> {
+            synchronized (sketch) {
+                copies.add(Map.entry(day, sketch.copy()));
+            }
+        });
+        try {
+            Path dir = Paths.get(snapshotDirectory);
+            Files.createDirectories(dir);
+            Path temp = dir.resolve(SNAPSHOT_FILE + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeInt(copies.size());
+                for (Map.Entry<LocalDate, DaySketch> entry : copies) {
+                    out.writeLong(entry.getKey().toEpochDay());
+                    entry.getValue().users.writeTo(out);
+                    entry.getValue().topUsers.writeTo(out);
+                    entry.getValue().topProjects.writeTo(out);
+                }
+            }
+            Files.move(temp, dir.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            lastSnapshotAt = LocalDateTime.now();
+        } catch (IOException e) {
+            log.warn("활동 스케치 스냅샷 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshot();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("warmedUp", warmedUp);
+        stats.put("live", live);
+        stats.put("days", days.size());
+        stats.put("recorded", recorded.sum());
+        stats.put("lastSnapshotAt", lastSnapshotAt);
+        return stats;
+    }
+
+    private DaySketch newDaySketch() {
+        return new DaySketch(new HyperLogLog(hllPrecision), new SpaceSaving(topKCapacity), new SpaceSaving(topKCapacity));
+    }
+
+    private record DaySketch(HyperLogLog users, SpaceSaving topUsers, SpaceSaving topProjects) {
+        DaySketch copy() {
+            return new DaySketch(users.copy(), topUsers.copy(), topProjects.copy());
+        }
+    }
+}
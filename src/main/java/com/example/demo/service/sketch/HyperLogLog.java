@@ -0,0 +1,150 @@
+package com.example.demo.service.sketch;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * HyperLogLog 고유 개수 추정.
+ * 레지스터 2^precision 개 (precision 14 = 16KB), 표준 오차는 약 1.04 / sqrt(2^precision) (precision 14 에서 약 0.81%).
+ * 작은 개수 구간은 linear counting 으로 보정한다. merge 는 레지스터별 max 로 합치며,
+ * precision 이 더 높은 쪽은 foldTo 로 낮은 precision 으로 접어서 합친다 (접은 결과는 처음부터 낮은 precision 으로 센 것과 같다).
+ * 동기화하지 않으므로 호출 측에서 잠금을 관리한다.
+ */
+public class HyperLogLog {
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("precision 은 4 ~ 18 사이여야 합니다: " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    public void add(String value) {
+        if (value == null) {
+            return;
+        }
+        long hash = hash64(value);
+        int index = (int) (hash >>> (64 - precision));
+        // 나머지 비트에서 첫 1 의 위치 (모두 0 이면 최대값)
+        long rest = hash << precision;
+        int rank = rest == 0 ? 64 - precision + 1 : Long.numberOfLeadingZeros(rest) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            // 작은 개수 구간: linear counting
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /** other 의 precision 이 같거나 높아야 한다 (높으면 이 precision 으로 접어서 합친다) */
+    public void merge(HyperLogLog other) {
+        if (other.precision < precision) {
+            throw new IllegalArgumentException("precision 이 더 낮은 HyperLogLog 는 합칠 수 없습니다. 낮은 쪽으로 접어서 합치세요.");
+        }
+        byte[] source = other.precision == precision ? other.registers : other.foldTo(precision).registers;
+        for (int i = 0; i < registers.length; i++) {
+            if (source[i] > registers[i]) {
+                registers[i] = source[i];
+            }
+        }
+    }
+
+    /**
+     * 낮은 precision 으로 접는다. 잘려 나가는 인덱스 하위 비트가 나머지 비트의 앞부분이 되므로
+     * 그 비트에 1 이 있으면 rank 는 그 위치, 모두 0 이면 (잘린 비트 수 + 기존 rank) 이다.
+     */
+    public HyperLogLog foldTo(int targetPrecision) {
+        if (targetPrecision > precision) {
+            throw new IllegalArgumentException("더 높은 precision 으로는 바꿀 수 없습니다: " + precision + " -> " + targetPrecision);
+        }
+        if (targetPrecision == precision) {
+            return copy();
+        }
+        HyperLogLog folded = new HyperLogLog(targetPrecision);
+        int dropped = precision - targetPrecision;
+        int droppedMask = (1 << dropped) - 1;
+        for (int i = 0; i < registers.length; i++) {
+            if (registers[i] == 0) {
+                continue;
+            }
+            int low = i & droppedMask;
+            int rank = low != 0 ? dropped - (31 - Integer.numberOfLeadingZeros(low)) : dropped + registers[i];
+            int index = i >>> dropped;
+            if (rank > folded.registers[index]) {
+                folded.registers[index] = (byte) rank;
+            }
+        }
+        return folded;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public HyperLogLog copy() {
+        HyperLogLog copy = new HyperLogLog(precision);
+        System.arraycopy(registers, 0, copy.registers, 0, registers.length);
+        return copy;
+    }
+
+    /** 추정값의 상대 표준 오차 */
+    public double standardError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeByte(precision);
+        out.write(registers);
+    }
+
+    public static HyperLogLog readFrom(DataInput in) throws IOException {
+        HyperLogLog hll = new HyperLogLog(in.readByte());
+        in.readFully(hll.registers);
+        return hll;
+    }
+
+    private static double alpha(int m) {
+        return switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+    }
+
+    // FNV-1a 64 + MurmurHash3 finalizer (짧은 문자열도 상위 비트가 고르게 퍼지도록)
+    static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.demo.service.sketch;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Space-Saving 빈도 상위 K 추정 (Metwally et al.).
+ * 카운터 capacity 개만 유지하고, 가득 찬 상태에서 새 항목이 오면 가장 작은 카운터를 넘겨받는다.
+ * 카운터는 count 기준 최소 힙으로 관리해 갱신/교체가 O(log capacity) 이다.
+ * - 각 항목의 count 는 실제 빈도 이상이며, count - error 는 실제 빈도 이하다.
+ * - 실제 빈도가 total / capacity 를 넘는 항목은 반드시 포함된다.
+ * 동기화하지 않으므로 호출 측에서 잠금을 관리한다.
+ */
+public class SpaceSaving {
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    // count 기준 최소 힙 (heap[0] 이 가장 작은 카운터)
+    private final Counter[] heap;
+    private long total;
+
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity 는 1 이상이어야 합니다: " + capacity);
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+        this.heap = new Counter[capacity];
+    }
+
+    public void add(String item, long increment) {
+        if (item == null || increment <= 0) {
+            return;
+        }
+        total += increment;
+        Counter counter = counters.get(item);
+        if (counter != null) {
+            counter.count += increment;
+            siftDown(counter.heapIndex);
+            return;
+        }
+        if (counters.size() < capacity) {
+            insert(new Counter(item, increment, 0));
+            return;
+        }
+        // 가장 작은 카운터를 새 항목에 넘긴다 (이전 값은 오차로 남김)
+        Counter min = heap[0];
+        counters.remove(min.item);
+        Counter replacement = new Counter(item, min.count + increment, min.count);
+        replacement.heapIndex = 0;
+        heap[0] = replacement;
+        counters.put(item, replacement);
+        siftDown(0);
+    }
+
+    /** 빈도 내림차순 상위 limit 개 */
+    public List<Entry> top(int limit) {
+        List<Counter> sorted = new ArrayList<>(counters.values());
+        sorted.sort(Comparator.comparingLong((Counter counter) -> counter.count).reversed());
+        List<Entry> result = new ArrayList<>(Math.min(limit, sorted.size()));
+        for (int i = 0; i < sorted.size() && i < limit; i++) {
+            Counter counter = sorted.get(i);
+            result.add(new Entry(counter.item, counter.count, counter.error));
+        }
+        return result;
+    }
+
+    /**
+     * 다른 요약을 합친다. 한쪽에 없는 항목은 그쪽이 가득 찬 경우 최소 카운터만큼 과대 추정으로 더하고,
+     * 합친 뒤 상위 capacity 개만 남긴다 (count >= 실제 빈도, count - error <= 실제 빈도 유지).
+     */
+    public void merge(SpaceSaving other) {
+        long thisMin = maxMissingCount();
+        long otherMin = other.maxMissingCount();
+
+        Set<String> items = new HashSet<>(counters.keySet());
+        items.addAll(other.counters.keySet());
+        List<Counter> merged = new ArrayList<>(items.size());
+        for (String item : items) {
+            Counter mine = counters.get(item);
+            Counter theirs = other.counters.get(item);
+            long count = (mine != null ? mine.count : thisMin) + (theirs != null ? theirs.count : otherMin);
+            long error = (mine != null ? mine.error : thisMin) + (theirs != null ? theirs.error : otherMin);
+            merged.add(new Counter(item, count, error));
+        }
+        merged.sort(Comparator.comparingLong((Counter counter) -> counter.count).reversed());
+
+        clear();
+        for (int i = 0; i < merged.size() && i < capacity; i++) {
+            insert(merged.get(i));
+        }
+        total += other.total;
+    }
+
+    public SpaceSaving copy() {
+        SpaceSaving copy = new SpaceSaving(capacity);
+        counters.values().forEach(counter -> copy.insert(new Counter(counter.item, counter.count, counter.error)));
+        copy.total = total;
+        return copy;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    /** 요약에 없는 항목의 빈도 상한 (가득 차지 않았으면 0) */
+    public long maxMissingCount() {
+        return counters.size() < capacity ? 0 : heap[0].count;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(capacity);
+        out.writeLong(total);
+        out.writeInt(counters.size());
+        for (Counter counter : counters.values()) {
+            out.writeUTF(counter.item);
+            out.writeLong(counter.count);
+            out.writeLong(counter.error);
+        }
+    }
+
+    public static SpaceSaving readFrom(DataInput in) throws IOException {
+        SpaceSaving summary = new SpaceSaving(in.readInt());
+        summary.total = in.readLong();
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            summary.insert(new Counter(in.readUTF(), in.readLong(), in.readLong()));
+        }
+        return summary;
+    }
+
+    private void insert(Counter counter) {
+        int index = counters.size();
+        counters.put(counter.item, counter);
+        heap[index] = counter;
+        counter.heapIndex = index;
+        siftUp(index);
+    }
+
+    private void clear() {
+        counters.clear();
+        Arrays.fill(heap, null);
+    }
+
+    private void siftUp(int index) {
+        Counter counter = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(counter, index);
+    }
+
+    private void siftDown(int index) {
+        int size = counters.size();
+        Counter counter = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+                child++;
+            }
+            if (counter.count <= heap[child].count) {
+                break;
+            }
+            place(heap[child], index);
+            index = child;
+        }
+        place(counter, index);
+    }
+
+    private void place(Counter counter, int index) {
+        heap[index] = counter;
+        counter.heapIndex = index;
+    }
+
+    /** count: 추정 빈도(상한), error: 최대 과대 추정량 (실제 빈도는 count - error 이상) */
+    public record Entry(String item, long count, long error) {
+    }
+
+    private static final class Counter {
+        private final String item;
+        private long count;
+        private final long error;
+        private int heapIndex;
+
+        private Counter(String item, long count, long error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
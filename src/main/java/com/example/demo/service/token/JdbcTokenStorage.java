@@ -0,0 +1,94 @@
+package com.example.demo.service.token;
+
+import com.example.demo.domain.dto.OAuth2UserInfo;
+import com.example.demo.domain.entity.SignupToken;
+import com.example.demo.repository.SignupTokenRepository;
+import com.example.demo.service.TemporaryTokenStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DB 임시 토큰 저장소 (oauth2.token-store=jdbc).
+ * 로드 밸런서 뒤에 서버가 여러 대일 때 OAuth2 로그인 콜백을 받은 서버와 회원가입 요청을 받은 서버가 달라도 토큰을 찾는다.
+ * 만료된 행은 purge-interval-ms 마다 한 번의 DELETE 로 지운다.
+ */
+@Component
+@ConditionalOnProperty(name = "oauth2.token-store", havingValue = "jdbc")
+@RequiredArgsConstructor
+@Slf4j
+public class JdbcTokenStorage implements TemporaryTokenStorage {
+
+    private final SignupTokenRepository signupTokenRepository;
+
+    @Value("${oauth2.token-store.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    private final LongAdder stored = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    @Override
+    public void store(String token, OAuth2UserInfo userInfo) {
+        signupTokenRepository.save(SignupToken.builder()
+                .token(token)
+                .email(userInfo.getEmail())
+                .name(userInfo.getName())
+                .provider(userInfo.getProvider())
+                .providerId(userInfo.getProviderId())
+                .expiresAt(LocalDateTime.now().plusMinutes(ttlMinutes))
+                .build());
+        stored.increment();
+    }
+
+    @Override
+    public OAuth2UserInfo get(String token) {
+        SignupToken saved = signupTokenRepository.findById(token)
+                .filter(t -> t.getExpiresAt().isAfter(LocalDateTime.now()))
+                .orElse(null);
+        if (saved == null) {
+            misses.increment();
+            log.warn("[GET] 없거나 만료된 임시 토큰");
+            throw new IllegalArgumentException("유효하지 않은 토큰입니다.");
+        }
+        hits.increment();
+        return OAuth2UserInfo.builder()
+                .email(saved.getEmail())
+                .name(saved.getName())
+                .provider(saved.getProvider())
+                .providerId(saved.getProviderId())
+                .build();
+    }
+
+    @Override
+    public void remove(String token) {
+        signupTokenRepository.deleteByToken(token);
+    }
+
+    @Scheduled(fixedDelayString = "${oauth2.token-store.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        int deleted = signupTokenRepository.deleteExpired(LocalDateTime.now());
+        expirations.add(deleted);
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("type", "jdbc");
+        stats.put("size", signupTokenRepository.count());
+        stats.put("stored", stored.sum());
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("expirations", expirations.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,266 @@
+package com.example.demo.service.token;
+
+import com.example.demo.domain.dto.OAuth2UserInfo;
+import com.example.demo.service.TemporaryTokenStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 메모리 임시 토큰 저장소 (oauth2.token-store=memory, 기본값).
+ * - 만료: tick-ms 간격의 해시 타이밍 휠. 토큰은 만료 tick 의 칸에 들어가고, 매 tick 에 그 칸만 비우므로
+ *   아무도 조회하지 않은 (가입을 포기한) 토큰도 건당 O(1) 로 사라진다.
+ * - 상한: max-entries 에 닿으면 가장 먼저 만료될 토큰부터 밀어낸다 (evictions 로 집계).
+ * - 값은 사용자 정보를 길이 접두 UTF-8 바이트 배열 하나로 줄여 보관한다.
+ */
+@Component
+@ConditionalOnProperty(name = "oauth2.token-store", havingValue = "memory", matchIfMissing = true)
+@Slf4j
+public class TimingWheelTokenStorage implements TemporaryTokenStorage {
+
+    private static final int NULL_FIELD = 0xFFFF;
+
+    private final long ttlMillis;
+    private final long tickMillis;
+    private final int maxEntries;
+    private final LongSupplier clock;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // 만료 tick % 칸 수 -> 토큰
+    private final Set<String>[] wheel;
+    private final int mask;
+    private final AtomicInteger size = new AtomicInteger();
+    // 마지막으로 비운 tick (sweep 은 한 스레드씩)
+    private long sweptTick;
+    private final Object sweepLock = new Object();
+
+    private final LongAdder stored = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private record Entry(byte[] value, long expireTick) {
+    }
+
+    @Autowired
+    public TimingWheelTokenStorage(@Value("${oauth2.token-store.ttl-minutes:30}") long ttlMinutes,
+                                   @Value("${oauth2.token-store.tick-ms:1000}") long tickMillis,
+                                   @Value("${oauth2.token-store.max-entries:10000}") int maxEntries) {
+        this(ttlMinutes * 60_000, tickMillis, maxEntries, System::currentTimeMillis);
+    }
+
+    @SuppressWarnings("unchecked")
+    TimingWheelTokenStorage(long ttlMillis, long tickMillis, int maxEntries, LongSupplier clock) {
+        this.ttlMillis = ttlMillis;
+        this.tickMillis = tickMillis;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        // TTL 전체를 한 바퀴 안에 담는 2의 거듭제곱 칸 수
+        int slots = Integer.highestOneBit((int) Math.max(1, Math.min(ttlMillis / tickMillis + 1, 1 << 20)) * 2 - 1);
+        this.wheel = new Set[slots];
+        for (int i = 0; i < slots; i++) {
+            wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.mask = slots - 1;
+        this.sweptTick = currentTick();
+    }
+
+    @Override
+    public void store(String token, OAuth2UserInfo userInfo) {
+        long expireTick = (clock.getAsLong() + ttlMillis + tickMillis - 1) / tickMillis;
+        Entry entry = new Entry(encode(userInfo), expireTick);
+        // 자리를 먼저 잡고 넣는다 (상한 확인과 put 사이에 다른 스레드가 끼어 상한을 넘지 않도록)
+        int reserved = size.incrementAndGet();
+        Entry previous;
+        try {
+            if (reserved > maxEntries && !entries.containsKey(token)) {
+                evictOverflow(token);
+            }
+            previous = entries.put(token, entry);
+        } catch (RuntimeException e) {
+            size.decrementAndGet();
+            throw e;
+        }
+        if (previous != null) {
+            // 같은 토큰을 다시 저장: 개수는 그대로
+            size.decrementAndGet();
+        } else if (size.get() > maxEntries) {
+            // 확인한 뒤에 이전 토큰이 밀려나 새로 넣은 셈이 된 경우
+            evictOverflow(token);
+        }
+        wheel[(int) (expireTick & mask)].add(token);
+        stored.increment();
+        log.debug("[STORE] 임시 토큰 저장: {}", mask(token));
+    }
+
+    @Override
+    public OAuth2UserInfo get(String token) {
+        Entry entry = entries.get(token);
+        if (entry == null || entry.expireTick() <= currentTick()) {
+            misses.increment();
+            log.warn("[GET] 없거나 만료된 임시 토큰: {}", mask(token));
+            throw new IllegalArgumentException("유효하지 않은 토큰입니다.");
+        }
+        hits.increment();
+        return decode(entry.value());
+    }
+
+    @Override
+    public void remove(String token) {
+        Entry entry = entries.remove(token);
+        if (entry != null) {
+            size.decrementAndGet();
+            wheel[(int) (entry.expireTick() & mask)].remove(token);
+        }
+    }
+
+    /** 지난 tick 의 칸들을 비운다 */
+    @Scheduled(fixedRateString = "${oauth2.token-store.tick-ms:1000}")
+    public void expire() {
+        long now = currentTick();
+        synchronized (sweepLock) {
+            // 오래 멈췄어도 한 바퀴만 돌면 모든 칸을 본다
+            for (long tick = Math.max(sweptTick + 1, now - mask); tick <= now; tick++) {
+                sweep((int) (tick & mask), now);
+            }
+            sweptTick = Math.max(sweptTick, now);
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("type", "memory");
+        stats.put("size", size.get());
+        stats.put("maxEntries", maxEntries);
+        stats.put("stored", stored.sum());
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("expirations", expirations.sum());
+        stats.put("evictions", evictions.sum());
+        return stats;
+    }
+
+    // ===== 내부 =====
+
+    private long currentTick() {
+        return clock.getAsLong() / tickMillis;
+    }
+
+    private void sweep(int index, long now) {
+        Iterator<String> tokens = wheel[index].iterator();
+        while (tokens.hasNext()) {
+            String token = tokens.next();
+            Entry entry = entries.get(token);
+            if (entry == null || (entry.expireTick() & mask) != index) {
+                // 삭제되었거나 다시 저장되어 다른 칸으로 옮겨진 토큰
+                tokens.remove();
+            } else if (entry.expireTick() <= now) {
+                tokens.remove();
+                if (entries.remove(token, entry)) {
+                    size.decrementAndGet();
+                    expirations.increment();
+                }
+            }
+        }
+    }
+
+    // 상한 아래로 내려갈 때까지 가장 먼저 만료될 토큰부터 밀어낸다 (keep 은 지금 저장하는 토큰)
+    private void evictOverflow(String keep) {
+        while (size.get() > maxEntries && evictOne(keep)) {
+            // 한 건씩
+        }
+    }
+
+    // 다음에 비울 칸부터 찾아 토큰 하나를 밀어낸다 (밀어낼 것이 없으면 false)
+    private boolean evictOne(String keep) {
+        long start = currentTick();
+        for (long tick = start; tick <= start + mask; tick++) {
+            int slot = (int) (tick & mask);
+            for (String token : wheel[slot]) {
+                Entry entry = entries.get(token);
+                // 다시 저장되어 다른 칸으로 옮겨진 토큰은 이 칸의 순서로 밀어내지 않는다
+                if (entry == null || (entry.expireTick() & mask) != slot || token.equals(keep)) {
+                    continue;
+                }
+                if (entries.remove(token, entry)) {
+                    size.decrementAndGet();
+                    wheel[slot].remove(token);
+                    evictions.increment();
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String mask(String token) {
+        return token == null || token.length() <= 8 ? "****" : token.substring(0, 8) + "****";
+    }
+
+    // 필드마다 2바이트 길이 + UTF-8 (null 은 0xFFFF)
+    static byte[] encode(OAuth2UserInfo userInfo) {
+        byte[][] fields = {
+                bytes(userInfo.getEmail()), bytes(userInfo.getName()),
+                bytes(userInfo.getProvider()), bytes(userInfo.getProviderId())};
+        int length = 0;
+        for (byte[] field : fields) {
+            length += 2 + (field == null ? 0 : field.length);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        for (byte[] field : fields) {
+            if (field == null) {
+                buffer.putShort((short) NULL_FIELD);
+            } else {
+                buffer.putShort((short) field.length).put(field);
+            }
+        }
+        return buffer.array();
+    }
+
+    static OAuth2UserInfo decode(byte[] value) {
+        ByteBuffer buffer = ByteBuffer.wrap(value);
+        return OAuth2UserInfo.builder()
+                .email(string(buffer))
+                .name(string(buffer))
+                .provider(string(buffer))
+                .providerId(string(buffer))
+                .build();
+    }
+
+    private static byte[] bytes(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= NULL_FIELD) {
+            throw new IllegalArgumentException("사용자 정보가 너무 깁니다.");
+        }
+        return bytes;
+    }
+
+    private static String string(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        if (length == NULL_FIELD) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.demo.service.upload;
+
+import com.example.demo.domain.entity.IssuePostFile;
+import com.example.demo.repository.IssuePostFileRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * 이전 방식(업로드 디렉토리 한 곳에 UUID_파일명)으로 저장된 첨부를 BlobStore 로 옮긴다.
+ * 옮기기 전후로 디스크 사용량, 디렉토리당 최대 항목 수, 저장 위치 조회(Files.exists) 평균 비용을 측정해 남긴다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BlobMigrationService {
+
+    private final IssuePostFileRepository issuePostFileRepository;
+    private final BlobStore blobStore;
+
+    @Value("${upload.path:/var/app/current/uploads}")
+    private String uploadDir;
+
+    // 조회 비용 측정에 쓰는 저장 위치 수
+    @Value("${upload.blob.lookup-sample:2000}")
+    private int lookupSample;
+
+    // 한 번에 읽어 옮기는 행 수
+    @Value("${upload.blob.migration-batch-size:500}")
+    private int batchSize;
+
+    private final AtomicBoolean migrating = new AtomicBoolean();
+    private volatile Map<String, Object> lastReport;
+    private final ExecutorService migrationExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "file-blob-migration");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    public void shutdown() {
+        migrationExecutor.shutdownNow();
+    }
+
+    /**
+     * 백그라운드로 옮긴다. 이미 실행 중이면 false
+     */
+    public boolean migrateAsync() {
+        if (!migrating.compareAndSet(false, true)) {
+            return false;
+        }
+        migrationExecutor.execute(() -> {
+            try {
+                lastReport = migrate();
+            } catch (Exception e) {
+                log.error("첨부 파일 blob 이전 실패", e);
+            } finally {
+                migrating.set(false);
+            }
+        });
+        return true;
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("migrating", migrating.get());
+        status.put("legacyFiles", issuePostFileRepository.countByBlobHashIsNull());
+        status.put("lastReport", lastReport);
+        return status;
+    }
+
+    private Map<String, Object> migrate() throws IOException {
+        LocalDateTime startedAt = LocalDateTime.now();
+        Map<String, Object> before = measure(storedPaths());
+
+        int migrated = 0;
+        int duplicates = 0;
+        int missing = 0;
+        // 옮긴 행은 조건에서 빠지므로 OFFSET 대신 마지막 id 다음부터 읽는다 (실패한 행은 다음 실행에서 다시 시도)
+        long lastId = 0;
+        List<IssuePostFile> batch;
+        while (!(batch = issuePostFileRepository.findByBlobHashIsNullAndIdGreaterThanOrderByIdAsc(
+                lastId, PageRequest.of(0, batchSize))).isEmpty()) {
+            lastId = batch.get(batch.size() - 1).getId();
+            for (IssuePostFile file : batch) {
+                Path path = Paths.get(file.getFilePath()).toAbsolutePath().normalize();
+                if (!Files.isRegularFile(path)) {
+                    missing++;
+                    log.warn("blob 이전 대상 파일이 없습니다: id={}, path={}", file.getId(), path);
+                    continue;
+                }
+                BlobStore.StoredBlob blob = blobStore.adopt(path);
+                file.setFilePath(blob.path().toString());
+                file.setFileSize(blob.size());
+                file.setChecksum(blob.hash());
+                file.setBlobHash(blob.hash());
+                try {
+                    issuePostFileRepository.save(file);
+                } catch (RuntimeException e) {
+                    // 행이 이전 경로를 가리키므로 파일을 되돌려 두고 참조를 돌려준다 (다음 실행에서 다시 시도)
+                    log.error("blob 이전 후 첨부 정보 저장 실패: id={}, hash={}", file.getId(), blob.hash(), e);
+                    Files.copy(blob.path(), path);
+                    blobStore.release(blob.hash());
+                    continue;
+                }
+                migrated++;
+                if (blob.duplicate()) {
+                    duplicates++;
+                }
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", startedAt);
+        report.put("finishedAt", LocalDateTime.now());
+        report.put("migrated", migrated);
+        report.put("duplicates", duplicates);
+        report.put("missing", missing);
+        report.put("before", before);
+        report.put("after", measure(storedPaths()));
+        log.info("첨부 파일 blob 이전 완료: {}", report);
+        return report;
+    }
+
+    private List<String> storedPaths() {
+        if (lookupSample <= 0) {
+            return List.of();
+        }
+        return issuePostFileRepository.findFilePaths(PageRequest.of(0, lookupSample));
+    }
+
+    /**
+     * 업로드 디렉토리 전체 (.partial 제외) 사용량과 디렉토리 크기, 저장 위치 조회 비용
+     */
+    private Map<String, Object> measure(List<String> storedPaths) throws IOException {
+        Path root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Path partial = blobStore.partialDirectory();
+        long files = 0;
+        long bytes = 0;
+        long directories = 0;
+        long largestDirectory = 0;
+        if (Files.isDirectory(root)) {
+            List<Path> directoryList;
+            try (Stream<Path> walk = Files.walk(root)) {
+                directoryList = walk.filter(Files::isDirectory).filter(dir -> !dir.startsWith(partial)).toList();
+            }
+            for (Path directory : directoryList) {
+                directories++;
+                long entries = 0;
+                try (Stream<Path> list = Files.list(directory)) {
+                    for (Path entry : (Iterable<Path>) list::iterator) {
+                        entries++;
+                        if (Files.isRegularFile(entry)) {
+                            files++;
+                            bytes += Files.size(entry);
+                        }
+                    }
+                }
+                largestDirectory = Math.max(largestDirectory, entries);
+            }
+        }
+
+        Map<String, Object> measured = new LinkedHashMap<>();
+        measured.put("files", files);
+        measured.put("bytes", bytes);
+        measured.put("directories", directories);
+        measured.put("largestDirectoryEntries", largestDirectory);
+        measured.put("lookupNanos", lookupNanos(storedPaths));
+        return measured;
+    }
+
+    // 저장 위치 Files.exists 평균 시간 (표본을 두 번 돌려 두 번째만 잰다)
+    private long lookupNanos(List<String> storedPaths) {
+        List<Path> sample = storedPaths.stream()
+                .map(Paths::get)
+                .toList();
+        if (sample.isEmpty()) {
+            return 0;
+        }
+        sample.forEach(Files::exists);
+        long start = System.nanoTime();
+        for (Path path : sample) {
+            Files.exists(path);
+        }
+        return (System.nanoTime() - start) / sample.size();
+    }
+}
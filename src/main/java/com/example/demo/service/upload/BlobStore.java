@@ -0,0 +1,283 @@
+package com.example.demo.service.upload;
+
+import com.example.demo.domain.entity.FileBlob;
+import com.example.demo.repository.FileBlobRepository;
+import com.example.demo.repository.IssuePostFileRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 내용 주소(SHA-256) 첨부 저장소.
+ * 업로드는 .partial 아래 임시 파일로 받으면서 해시를 계산하고, 같은 내용의 blob 이 이미 있으면 임시 파일을 버리고 참조 수만 올린다.
+ * 새 내용이면 blobs/ab/cd/{hash} 로 이름만 바꿔 옮긴다 (한 디렉토리에 파일이 몰리지 않도록 두 단계로 나눔).
+ * 참조 수가 0 이 된 blob 은 유예 시간이 지난 뒤 수거기가 지운다. 수거 전 실제 첨부 행 수로 참조 수를 바로잡으므로
+ * cascade 삭제처럼 release 를 거치지 않은 경로도 결국 정리된다.
+ * 같은 hash 에 대한 생성 / 수거는 서버 안에서 hash 별 잠금으로 직렬화한다.
+ * blob 행은 호출한 쪽(이슈 저장 등) 트랜잭션과 따로, 잠금을 쥔 채 커밋한 뒤 파일을 옮긴다. 그래서 행 없는 blob 파일이 생기지 않고,
+ * 호출한 쪽이 롤백되어 남은 참조 수는 수거기의 보정으로 0 이 되어 파일과 행이 함께 지워진다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BlobStore {
+
+    private static final String BLOB_DIRECTORY = "blobs";
+    private static final String PARTIAL_DIRECTORY = ".partial";
+    private static final int LOCK_STRIPES = 64;
+
+    private final FileBlobRepository fileBlobRepository;
+    private final IssuePostFileRepository issuePostFileRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${upload.path:/var/app/current/uploads}")
+    private String uploadDir;
+
+    // 참조가 0 이 된 뒤 실제로 지우기까지 기다리는 시간 (삭제 직후 같은 파일을 다시 올리는 경우 재사용)
+    @Value("${upload.blob.gc-grace-minutes:60}")
+    private long gcGraceMinutes;
+
+    private final Object[] locks = newLocks();
+    // blob 행 등록 전용 (호출한 쪽 트랜잭션이 열려 있어도 잠금을 풀기 전에 커밋)
+    private TransactionTemplate newTransaction;
+
+    private final LongAdder stored = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder duplicateBytes = new LongAdder();
+    private final LongAdder collected = new LongAdder();
+    private volatile LocalDateTime lastCollectedAt;
+
+    @PostConstruct
+    void init() {
+        newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /** 저장 결과. duplicate 면 기존 blob 을 재사용했다 */
+    public record StoredBlob(String hash, Path path, long size, boolean duplicate) {
+    }
+
+    public Path blobPath(String hash) {
+        return root().resolve(BLOB_DIRECTORY).resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    /** blob 옆에 두는 파생 파일 (예: {hash}.thumb.jpg). blob 이 수거될 때 함께 지워진다 */
+    public Path derivativePath(String hash, String suffix) {
+        return blobPath(hash).resolveSibling(hash + "." + suffix);
+    }
+
+    /** 업로드 중인 임시 파일 디렉토리 (blob 과 같은 파일시스템이라 이름 바꾸기로 옮길 수 있음) */
+    public Path partialDirectory() throws IOException {
+        return Files.createDirectories(root().resolve(PARTIAL_DIRECTORY));
+    }
+
+    public Path newPartialFile() throws IOException {
+        return Files.createFile(partialDirectory().resolve(UUID.randomUUID().toString()));
+    }
+
+    /**
+     * 스트림을 임시 파일로 받으면서 해시를 계산한 뒤 blob 으로 등록한다. 빈 본문이나 maxBytes 초과는 IllegalArgumentException
+     */
+    public StoredBlob ingest(InputStream in, long maxBytes) throws IOException {
+        Path partial = newPartialFile();
+        MessageDigest digest = UploadFiles.newDigest();
+        long size;
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.WRITE)) {
+            size = UploadFiles.write(channel, 0, in, digest, maxBytes);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        if (size == 0) {
+            Files.deleteIfExists(partial);
+            throw new IllegalArgumentException("파일을 선택해주세요.");
+        }
+        return adopt(partial, UploadFiles.hex(digest), size);
+    }
+
+    /** 이미 디스크에 있는 파일의 해시를 계산해 blob 으로 등록한다 (파일은 옮겨지거나 지워짐) */
+    public StoredBlob adopt(Path file) throws IOException {
+        MessageDigest digest = UploadFiles.newDigest();
+        long size = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer.clear()) >= 0) {
+                buffer.flip();
+                size += buffer.remaining();
+                digest.update(buffer);
+            }
+        }
+        return adopt(file, UploadFiles.hex(digest), size);
+    }
+
+    /**
+     * 해시가 계산된 파일을 blob 으로 등록하고 참조 하나를 더한다.
+     * 같은 내용이 이미 있으면 파일을 지우고(쓰기 생략) 기존 blob 을 쓰고, 없으면 행을 먼저 커밋한 뒤 blob 위치로 옮긴다.
+     */
+    public StoredBlob adopt(Path file, String hash, long size) throws IOException {
+        Path target = blobPath(hash);
+        synchronized (lockFor(hash)) {
+            boolean created = register(hash, size);
+            if (!created && Files.exists(target)) {
+                Files.deleteIfExists(file);
+                duplicates.increment();
+                duplicateBytes.add(size);
+                return new StoredBlob(hash, target, size, true);
+            }
+            if (!created) {
+                // 행은 있는데 파일이 없는 경우 (유실, 또는 다른 서버가 행만 등록하고 옮기는 중): 이번 파일로 채운다
+                log.warn("blob 파일이 없어 새로 받은 파일로 복구합니다: {}", hash);
+            }
+            moveInto(file, target);
+            if (created) {
+                stored.increment();
+            }
+            return new StoredBlob(hash, target, size, false);
+        }
+    }
+
+    /** 첨부 하나가 blob 을 더 이상 참조하지 않는다 (실제 삭제는 수거기가) */
+    public void release(String hash) {
+        if (hash != null) {
+            fileBlobRepository.releaseReference(hash, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * 참조 수를 첨부 행 기준으로 바로잡고, 유예 시간이 지난 참조 0 blob 을 지운다
+     */
+    @Scheduled(fixedDelayString = "${upload.blob.gc-interval-ms:3600000}",
+            initialDelayString = "${upload.blob.gc-initial-delay-ms:600000}")
+    public int collectGarbage() {
+        LocalDateTime now = LocalDateTime.now();
+        int corrected = fileBlobRepository.reconcileReferences();
+        fileBlobRepository.markReleased(now);
+        if (corrected > 0) {
+            log.info("blob 참조 수 보정: {}건", corrected);
+        }
+
+        int removed = 0;
+        for (String hash : fileBlobRepository.findCollectable(now.minusMinutes(gcGraceMinutes))) {
+            synchronized (lockFor(hash)) {
+                if (fileBlobRepository.deleteIfUnreferenced(hash) == 0) {
+                    continue; // 그 사이 다시 참조됨
+                }
+                try {
+                    Files.deleteIfExists(blobPath(hash));
+                    deleteDerivatives(hash);
+                    removed++;
+                } catch (IOException e) {
+                    log.warn("blob 파일 삭제 실패: {} - {}", hash, e.getMessage());
+                }
+            }
+        }
+        collected.add(removed);
+        lastCollectedAt = now;
+        if (removed > 0) {
+            log.info("참조 없는 blob {}개 삭제", removed);
+        }
+        return removed;
+    }
+
+    public Map<String, Object> getStats() {
+        List<Object[]> rows = fileBlobRepository.summarize();
+        Object[] summary = rows.isEmpty() ? new Object[]{0L, 0L, 0L} : rows.get(0);
+        long storedBytes = ((Number) summary[1]).longValue();
+        long logicalBytes = issuePostFileRepository.sumBlobBackedFileSize();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("blobs", ((Number) summary[0]).longValue());
+        stats.put("storedBytes", storedBytes);
+        stats.put("references", ((Number) summary[2]).longValue());
+        stats.put("logicalBytes", logicalBytes);
+        stats.put("savedBytes", Math.max(0, logicalBytes - storedBytes));
+        stats.put("storedSinceStart", stored.sum());
+        stats.put("duplicatesSinceStart", duplicates.sum());
+        stats.put("duplicateBytesSinceStart", duplicateBytes.sum());
+        stats.put("collected", collected.sum());
+        stats.put("lastCollectedAt", lastCollectedAt);
+        return stats;
+    }
+
+    // ===== 내부 =====
+
+    private Path root() {
+        return Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+
+    // 참조를 더하거나 새 행을 만들어 바로 커밋한다. 새 행을 만들었으면 true
+    private boolean register(String hash, long size) {
+        try {
+            return Boolean.TRUE.equals(newTransaction.execute(status -> {
+                if (fileBlobRepository.addReference(hash) > 0) {
+                    return false;
+                }
+                fileBlobRepository.saveAndFlush(FileBlob.builder()
+                        .hash(hash)
+                        .size(size)
+                        .refCount(1)
+                        .createdAt(LocalDateTime.now())
+                        .build());
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 서버가 같은 내용을 먼저 등록
+            newTransaction.executeWithoutResult(status -> fileBlobRepository.addReference(hash));
+            return false;
+        }
+    }
+
+    private void moveInto(Path file, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Files.move(file, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void deleteDerivatives(String hash) throws IOException {
+        Path directory = blobPath(hash).getParent();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> derivatives = Files.newDirectoryStream(directory, hash + ".*")) {
+            for (Path derivative : derivatives) {
+                Files.deleteIfExists(derivative);
+            }
+        }
+    }
+
+    private Object lockFor(String hash) {
+        return locks[Math.floorMod(hash.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static Object[] newLocks() {
+        Object[] locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+}
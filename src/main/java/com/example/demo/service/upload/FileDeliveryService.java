@@ -0,0 +1,258 @@
+package com.example.demo.service.upload;
+
+import com.example.demo.domain.entity.IssuePostFile;
+import com.example.demo.service.FileUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 첨부 파일 응답.
+ * - ETag: 저장된 SHA-256 이 있으면 강한 ETag, 없으면(이전 방식 파일) 크기와 수정 시각으로 만든 약한 ETag
+ * - If-None-Match / If-Modified-Since 는 304, Range(여러 구간 포함)와 If-Range 는 206 / 416
+ * - blob 과 축소본은 내용이 바뀌지 않으므로 오래 캐시하게 하고, 이전 방식 파일은 매번 재검증하게 한다
+ * - 브라우저가 형식을 추측하지 않도록 항상 nosniff 를 붙이고, inline 은 래스터 이미지에만 허용한다
+ * - 본문은 Tomcat sendfile 로 넘기고 (지원하지 않는 커넥터나 여러 구간이면 FileChannel.transferTo) 힙 버퍼로 읽어 쓰지 않는다
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FileDeliveryService {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+    private static final String IMMUTABLE_CACHE = "private, max-age=31536000, immutable";
+    private static final String REVALIDATE_CACHE = "private, no-cache";
+
+    private final FileUploadService fileUploadService;
+
+    // 이보다 작은 응답은 sendfile 대신 바로 쓴다 (Tomcat DefaultServlet 기본값과 같음)
+    @Value("${download.sendfile-min-size:49152}")
+    private long sendfileMinSize;
+
+    @Value("${download.max-ranges:16}")
+    private int maxRanges;
+
+    /**
+     * 첨부 파일을 응답으로 보낸다. inline 이면 브라우저에서 바로 열도록 한다 (래스터 이미지만, 나머지는 항상 attachment)
+     */
+    public void deliver(IssuePostFile file, boolean inline, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        deliver(file, inline, file.getBlobHash() != null, request, response);
+    }
+
+    /**
+     * immutable 이 false 면 오래 캐시하지 않게 한다 (축소본 대신 원본을 보내는 경우 등)
+     */
+    public void deliver(IssuePostFile file, boolean inline, boolean immutable,
+                        HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String etag = file.getChecksum() != null ? "\"" + file.getChecksum() + "\"" : null;
+        String contentType = file.getFileType() != null ? file.getFileType() : DEFAULT_CONTENT_TYPE;
+        // SVG 나 HTML 을 같은 origin 에서 열면 스크립트가 실행되므로 inline 요청이어도 내려받게 한다
+        boolean safeInline = inline && UploadFiles.isInlineSafe(contentType);
+        send(fileUploadService.resolveStoredPath(file), etag, immutable, contentType, file.getFileName(), safeInline,
+                request, response);
+    }
+
+    /**
+     * 이미지 축소본을 보낸다 (축소본마다 따로 캐시되도록 ETag 를 구분)
+     */
+    public void deliverDerivative(IssuePostFile file, ImageDerivativeService.Derivative derivative,
+                                  HttpServletRequest request, HttpServletResponse response) throws IOException {
+        send(derivative.path(), "\"" + derivative.cacheKey() + "\"", true, derivative.contentType(),
+                file.getFileName(), true, request, response);
+    }
+
+    // ===== 내부 =====
+
+    // etag 가 null 이면 크기와 수정 시각으로 약한 ETag 를 만든다
+    private void send(Path path, String etag, boolean immutable, String contentType, String fileName, boolean inline,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            log.error("❌ 파일이 존재하지 않음: {}", path);
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "파일을 찾을 수 없습니다.");
+            return;
+        }
+        long length = Files.size(path);
+        // HTTP 날짜는 초 단위라 비교를 위해 밀리초는 버린다
+        long lastModified = Files.getLastModifiedTime(path).toMillis() / 1000 * 1000;
+        if (etag == null) {
+            etag = "W/\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+        }
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, immutable ? IMMUTABLE_CACHE : REVALIDATE_CACHE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+
+        if (notModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.builder(inline ? "inline" : "attachment")
+                .filename(fileName, StandardCharsets.UTF_8)
+                .build()
+                .toString());
+
+        List<ByteRanges.Range> ranges = requestedRanges(request, etag, lastModified, length);
+        if (ranges != null && ranges.isEmpty()) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+        boolean head = "HEAD".equals(request.getMethod());
+
+        if (ranges == null || ranges.size() == 1) {
+            ByteRanges.Range range = ranges == null ? new ByteRanges.Range(0, length - 1) : ranges.get(0);
+            if (ranges != null) {
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, range.contentRange(length));
+            }
+            response.setContentType(contentType);
+            response.setContentLengthLong(length == 0 ? 0 : range.length());
+            if (!head && length > 0) {
+                sendRange(path, range, request, response);
+            }
+            return;
+        }
+
+        sendMultipart(path, ranges, length, contentType, head, response);
+    }
+
+    // If-None-Match 가 있으면 그것만 보고 (약한 비교), 없을 때만 If-Modified-Since 를 본다
+    private static boolean notModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            String opaque = opaqueTag(etag);
+            for (String candidate : ifNoneMatch.split(",")) {
+                candidate = candidate.trim();
+                if (candidate.equals("*") || opaqueTag(candidate).equals(opaque)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && lastModified <= ifModifiedSince;
+    }
+
+    // Range 를 적용할 구간. If-Range 가 현재 표현과 다르면 전체를 보낸다 (null)
+    private List<ByteRanges.Range> requestedRanges(HttpServletRequest request, String etag, long lastModified, long length) {
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null) {
+            ifRange = ifRange.trim();
+            boolean matches = ifRange.startsWith("\"")
+                    ? !etag.startsWith("W/") && ifRange.equals(etag) // 강한 비교
+                    : dateHeader(request, HttpHeaders.IF_RANGE) == lastModified;
+            if (!matches) {
+                return null;
+            }
+        }
+        return ByteRanges.parse(range, length, maxRanges);
+    }
+
+    // 한 구간: Tomcat sendfile 이 가능하면 커넥터에 넘기고, 아니면 transferTo 로 응답 스트림에 쓴다
+    private void sendRange(Path path, ByteRanges.Range range, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT)) && range.length() >= sendfileMinSize) {
+            request.setAttribute(SENDFILE_FILENAME, path.toRealPath().toString());
+            request.setAttribute(SENDFILE_START, range.start());
+            request.setAttribute(SENDFILE_END, range.end() + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            transfer(channel, range, Channels.newChannel(response.getOutputStream()));
+        } catch (IOException e) {
+            // 탐색(seek) 중인 미디어 플레이어 등 클라이언트가 먼저 끊는 경우가 흔하다
+            log.debug("파일 전송 중단: {} - {}", path, e.getMessage());
+        }
+    }
+
+    // 여러 구간: multipart/byteranges (각 구간은 transferTo 로 쓴다)
+    private void sendMultipart(Path path, List<ByteRanges.Range> ranges, long length, String contentType,
+                               boolean head, HttpServletResponse response) throws IOException {
+        String boundary = UUID.randomUUID().toString().replace("-", "");
+        List<byte[]> partHeaders = new ArrayList<>(ranges.size());
+        long contentLength = 0;
+        for (ByteRanges.Range range : ranges) {
+            byte[] partHeader = ("\r\n--" + boundary + "\r\n"
+                    + HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+                    + HttpHeaders.CONTENT_RANGE + ": " + range.contentRange(length) + "\r\n\r\n")
+                    .getBytes(StandardCharsets.ISO_8859_1);
+            partHeaders.add(partHeader);
+            contentLength += partHeader.length + range.length();
+        }
+        byte[] closing = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.ISO_8859_1);
+        contentLength += closing.length;
+
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        if (head) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            for (int i = 0; i < ranges.size(); i++) {
+                out.write(partHeaders.get(i));
+                transfer(channel, ranges.get(i), target);
+            }
+            out.write(closing);
+        } catch (IOException e) {
+            log.debug("파일 전송 중단: {} - {}", path, e.getMessage());
+        }
+    }
+
+    private static void transfer(FileChannel channel, ByteRanges.Range range, WritableByteChannel target) throws IOException {
+        long position = range.start();
+        long remaining = range.length();
+        while (remaining > 0) {
+            long sent = channel.transferTo(position, remaining, target);
+            if (sent <= 0) {
+                throw new EOFException("파일이 예상보다 짧습니다.");
+            }
+            position += sent;
+            remaining -= sent;
+        }
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    // 형식이 잘못된 날짜는 없는 것으로 본다
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.demo.service.upload;
+
+import com.example.demo.domain.entity.IssuePostFile;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 이미지 첨부의 축소본(thumb / preview) 생성.
+ * 업로드 직후 전용 작업 풀에 작업을 넣고, 결과는 blob 옆에 {hash}.{크기}.jpg|png 로 저장한다 (blob 과 같이 내용이 바뀌지 않음).
+ * 같은 blob 은 한 번만 만든다. 아직 없으면 조회 시 다시 예약하고 원본으로 대신한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImageDerivativeService {
+
+    private static final Set<String> SUPPORTED_TYPES = Set.of("image/jpeg", "image/jpg", "image/png", "image/gif", "image/bmp");
+    private static final String[] FORMATS = {"jpg", "png"};
+
+    /** 긴 변 기준 최대 크기. 큰 것부터 만들고 작은 것은 앞 결과에서 줄인다 */
+    public enum Variant {
+        PREVIEW("preview", 1280),
+        THUMB("thumb", 320);
+
+        private final String key;
+        private final int maxSize;
+
+        Variant(String key, int maxSize) {
+            this.key = key;
+            this.maxSize = maxSize;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        /** 요청 파라미터 값 (없으면 null = 원본) */
+        public static Variant from(String value) {
+            if (value == null || value.isBlank() || value.equalsIgnoreCase("original")) {
+                return null;
+            }
+            for (Variant variant : values()) {
+                if (variant.key.equalsIgnoreCase(value)) {
+                    return variant;
+                }
+            }
+            throw new IllegalArgumentException("지원하지 않는 이미지 크기입니다: " + value);
+        }
+    }
+
+    /** 저장된 축소본 (cacheKey 는 ETag 로 쓴다) */
+    public record Derivative(Path path, String contentType, String cacheKey) {
+    }
+
+    private final BlobStore blobStore;
+
+    @Value("${upload.derivatives.enabled:true}")
+    private boolean enabled;
+
+    @Value("${upload.derivatives.threads:2}")
+    private int threads;
+
+    @Value("${upload.derivatives.queue-size:256}")
+    private int queueSize;
+
+    // 디코딩 전에 거르는 픽셀 수 (압축 폭탄 방지)
+    @Value("${upload.derivatives.max-pixels:100000000}")
+    private long maxPixels;
+
+    @Value("${upload.derivatives.jpeg-quality:0.82}")
+    private float jpegQuality;
+
+    private ThreadPoolExecutor workers;
+    // 생성 대기 / 진행 중인 blob
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    // 읽을 수 없었던 blob (재시작 전까지 다시 시도하지 않음)
+    private final Set<String> failed = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder sourceBytes = new LongAdder();
+    private final Map<Variant, LongAdder> derivativeBytes = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void start() {
+        AtomicInteger sequence = new AtomicInteger();
+        workers = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+            Thread thread = new Thread(runnable, "image-derivative-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            // 요청 처리 스레드보다 뒤로
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        workers.shutdownNow();
+    }
+
+    /** blob 으로 저장된, ImageIO 가 읽을 수 있는 이미지인지 */
+    public boolean supports(IssuePostFile file) {
+        return enabled && file.getBlobHash() != null && file.getFileType() != null
+                && SUPPORTED_TYPES.contains(file.getFileType().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * 모든 크기의 축소본 생성을 예약한다 (이미 있거나 진행 중이면 무시, 큐가 차면 다음 조회 때 다시 예약)
+     */
+    public void enqueue(IssuePostFile file) {
+        if (!supports(file)) {
+            return;
+        }
+        String hash = file.getBlobHash();
+        if (failed.contains(hash) || find(hash, Variant.THUMB) != null || !pending.add(hash)) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    generate(hash, file.getFileSize());
+                } finally {
+                    pending.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(hash);
+            rejected.increment();
+        }
+    }
+
+    /**
+     * 저장된 축소본. 없으면 생성을 예약하고 empty (호출한 쪽은 원본을 보낸다)
+     */
+    public Optional<Derivative> lookup(IssuePostFile file, Variant variant) {
+        if (!supports(file)) {
+            return Optional.empty();
+        }
+        Derivative derivative = find(file.getBlobHash(), variant);
+        if (derivative == null) {
+            fallbacks.increment();
+            enqueue(file);
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(derivative);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("queued", workers.getQueue().size());
+        stats.put("active", workers.getActiveCount());
+        stats.put("generated", generated.sum());
+        stats.put("failures", failures.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("hits", hits.sum());
+        stats.put("fallbacks", fallbacks.sum());
+        stats.put("sourceBytes", sourceBytes.sum());
+        for (Variant variant : Variant.values()) {
+            stats.put(variant.key + "Bytes", derivativeBytes.computeIfAbsent(variant, v -> new LongAdder()).sum());
+        }
+        return stats;
+    }
+
+    // ===== 내부 =====
+
+    private Derivative find(String hash, Variant variant) {
+        for (String format : FORMATS) {
+            Path path = blobStore.derivativePath(hash, variant.key + "." + format);
+            if (Files.exists(path)) {
+                return new Derivative(path, "png".equals(format) ? "image/png" : "image/jpeg", hash + "-" + variant.key);
+            }
+        }
+        return null;
+    }
+
+    private void generate(String hash, long size) {
+        Path source = blobStore.blobPath(hash);
+        try {
+            int orientation = ImageThumbnails.exifOrientation(source);
+            // 가장 큰 크기 기준으로 한 번만 디코딩
+            BufferedImage image = ImageThumbnails.read(source, Variant.PREVIEW.maxSize, maxPixels);
+            if (image == null) {
+                failed.add(hash);
+                failures.increment();
+                log.debug("축소본을 만들 수 없는 이미지 형식: {}", hash);
+                return;
+            }
+            String format = ImageThumbnails.hasAlpha(image) ? "png" : "jpg";
+            for (Variant variant : Variant.values()) {
+                image = ImageThumbnails.fit(image, variant.maxSize);
+                store(hash, variant, ImageThumbnails.orient(image, orientation), format);
+            }
+            sourceBytes.add(size);
+            generated.increment();
+        } catch (IOException | RuntimeException e) {
+            failed.add(hash);
+            failures.increment();
+            log.warn("이미지 축소본 생성 실패: {} - {}", hash, e.getMessage());
+        }
+    }
+
+    // 임시 파일에 쓴 뒤 이름을 바꿔 넣는다 (조회하는 쪽이 쓰다 만 파일을 보지 않도록)
+    private void store(String hash, Variant variant, BufferedImage image, String format) throws IOException {
+        Path partial = blobStore.newPartialFile();
+        try {
+            ImageThumbnails.write(image, format, jpegQuality, partial);
+            Path target = blobStore.derivativePath(hash, variant.key + "." + format);
+            long bytes = Files.size(partial);
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            derivativeBytes.computeIfAbsent(variant, v -> new LongAdder()).add(bytes);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+    }
+}
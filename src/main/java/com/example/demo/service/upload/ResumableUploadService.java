@@ -0,0 +1,250 @@
+package com.example.demo.service.upload;
+
+import com.example.demo.domain.entity.FileUploadSession;
+import com.example.demo.domain.entity.Issue;
+import com.example.demo.domain.entity.IssuePostFile;
+import com.example.demo.repository.FileUploadSessionRepository;
+import com.example.demo.repository.IssueRepository;
+import com.example.demo.service.FileUploadService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 이어받기 가능한 분할 업로드 (init -> PUT chunk(offset) -> complete).
+ * 조각은 {upload.path}/.partial/{uploadId} 에 offset 위치로 바로 기록하고, 완료 시 BlobStore 로 넘긴다
+ * (같은 파일시스템 안에서 이름만 바꿔 옮기거나, 같은 내용이 이미 있으면 버림).
+ * 조각 하나는 전부 기록되거나 전혀 기록되지 않은 것으로 처리되므로(실패 시 이전 offset 으로 잘라냄),
+ * 끊긴 클라이언트는 상태 조회로 받은 offset 부터 다시 보내면 된다.
+ * SHA-256 은 조각을 받으면서 이어서 계산하고, 서버 재시작 등으로 계산 상태가 없으면 부분 파일을 한 번 다시 읽는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResumableUploadService {
+
+    private final FileUploadSessionRepository fileUploadSessionRepository;
+    private final IssueRepository issueRepository;
+    private final FileUploadService fileUploadService;
+    private final BlobStore blobStore;
+
+    @Value("${upload.resumable.max-size:5368709120}")
+    private long maxSize;
+
+    @Value("${upload.resumable.expire-hours:24}")
+    private long expireHours;
+
+    // 업로드별 진행 중 SHA-256 상태 (receivedBytes 까지 반영)
+    private final Map<String, DigestState> digests = new ConcurrentHashMap<>();
+    // 같은 업로드에 조각이 동시에 들어오지 않도록
+    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    public FileUploadSession start(Issue issue, Long userId, String fileName, String contentType, long totalSize) throws IOException {
+        if (totalSize <= 0 || totalSize > maxSize) {
+            throw new IllegalArgumentException("파일 크기는 1 ~ " + maxSize + " bytes 여야 합니다.");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        FileUploadSession session = FileUploadSession.builder()
+                .id(UUID.randomUUID().toString())
+                .issueId(issue.getId())
+                .userId(userId)
+                .fileName(FileUploadService.cleanFileName(fileName))
+                .contentType(UploadFiles.normalize(contentType))
+                .totalSize(totalSize)
+                .receivedBytes(0)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        Files.createFile(partialPath(session.getId()));
+        digests.put(session.getId(), new DigestState(UploadFiles.newDigest(), 0));
+        return fileUploadSessionRepository.save(session);
+    }
+
+    public FileUploadSession getSession(String uploadId, Long userId) {
+        FileUploadSession session = fileUploadSessionRepository.findById(uploadId)
+                .orElseThrow(() -> new IllegalArgumentException("업로드를 찾을 수 없습니다: " + uploadId));
+        if (!session.getUserId().equals(userId)) {
+            throw new IllegalArgumentException("업로드를 찾을 수 없습니다: " + uploadId);
+        }
+        return session;
+    }
+
+    /**
+     * offset 위치에 조각을 기록한다. offset 은 지금까지 받은 크기와 같아야 한다 (다르면 IllegalStateException).
+     */
+    public FileUploadSession appendChunk(String uploadId, Long userId, long offset, InputStream body) throws IOException {
+        ReentrantLock lock = lockFor(getSession(uploadId, userId));
+        if (!lock.tryLock()) {
+            throw new IllegalStateException("같은 업로드의 다른 조각을 받는 중입니다.");
+        }
+        try {
+            FileUploadSession session = getSession(uploadId, userId);
+            long received = session.getReceivedBytes();
+            if (offset != received) {
+                throw new IllegalStateException("offset 이 맞지 않습니다. 현재 받은 크기: " + received);
+            }
+            Path partial = partialPath(uploadId);
+            DigestState state = digestAt(uploadId, partial, received);
+            MessageDigest digest = cloneDigest(state.digest);
+
+            long written;
+            try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.WRITE)) {
+                try {
+                    written = UploadFiles.write(channel, received, body, digest, session.getTotalSize() - received);
+                } catch (IOException | RuntimeException e) {
+                    // 조각 단위로 되돌린다 (일부만 기록된 바이트는 버림)
+                    channel.truncate(received);
+                    throw e;
+                }
+                if (written == 0) {
+                    return session;
+                }
+            }
+
+            digests.put(uploadId, new DigestState(digest, received + written));
+            session.setReceivedBytes(received + written);
+            session.setUpdatedAt(LocalDateTime.now());
+            return fileUploadSessionRepository.save(session);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 모두 받았으면 blob 으로 등록하고 이슈 첨부로 등록한다. expectedSha256 을 주면 검증한다.
+     */
+    public IssuePostFile complete(String uploadId, Long userId, String expectedSha256) throws IOException {
+        ReentrantLock lock = lockFor(getSession(uploadId, userId));
+        if (!lock.tryLock()) {
+            throw new IllegalStateException("같은 업로드의 조각을 받는 중입니다.");
+        }
+        try {
+            FileUploadSession session = getSession(uploadId, userId);
+            if (session.getReceivedBytes() != session.getTotalSize()) {
+                throw new IllegalStateException("아직 모두 받지 못했습니다: "
+                        + session.getReceivedBytes() + " / " + session.getTotalSize() + " bytes");
+            }
+            Issue issue = issueRepository.findById(session.getIssueId())
+                    .orElseThrow(() -> new IllegalArgumentException("이슈를 찾을 수 없습니다."));
+
+            Path partial = partialPath(uploadId);
+            String checksum = UploadFiles.hex(cloneDigest(digestAt(uploadId, partial, session.getTotalSize()).digest));
+            if (expectedSha256 != null && !expectedSha256.equalsIgnoreCase(checksum)) {
+                discard(session);
+                throw new IllegalArgumentException("체크섬이 일치하지 않습니다. 업로드를 다시 시작해주세요.");
+            }
+
+            // 같은 내용이 이미 있으면 부분 파일은 버리고 기존 blob 을 참조한다
+            BlobStore.StoredBlob blob = blobStore.adopt(partial, checksum, session.getTotalSize());
+            IssuePostFile saved;
+            try {
+                saved = fileUploadService.registerFile(issue, session.getFileName(), blob, session.getContentType());
+            } catch (RuntimeException e) {
+                blobStore.release(blob.hash());
+                throw e;
+            }
+            fileUploadSessionRepository.delete(session);
+            forget(uploadId);
+            log.info("분할 업로드 완료: {} ({} bytes, 중복: {})", blob.path(), blob.size(), blob.duplicate());
+            return saved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void abort(String uploadId, Long userId) throws IOException {
+        discard(getSession(uploadId, userId));
+    }
+
+    /**
+     * 오래 갱신되지 않은 업로드 정리
+     */
+    @Scheduled(fixedDelayString = "${upload.resumable.cleanup-interval-ms:3600000}",
+            initialDelayString = "${upload.resumable.cleanup-initial-delay-ms:300000}")
+    public void cleanupExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(expireHours);
+        for (FileUploadSession session : fileUploadSessionRepository.findByUpdatedAtBefore(cutoff)) {
+            try {
+                discard(session);
+                log.info("중단된 업로드 정리: {} ({})", session.getId(), session.getFileName());
+            } catch (IOException | RuntimeException e) {
+                log.warn("중단된 업로드 정리 실패: {} - {}", session.getId(), e.getMessage());
+            }
+        }
+    }
+
+    // ===== 내부 =====
+
+    private void discard(FileUploadSession session) throws IOException {
+        Files.deleteIfExists(partialPath(session.getId()));
+        fileUploadSessionRepository.delete(session);
+        forget(session.getId());
+    }
+
+    // 존재가 확인된 업로드에만 잠금을 만든다 (잠금 안에서 상태를 다시 읽음)
+    private ReentrantLock lockFor(FileUploadSession session) {
+        return locks.computeIfAbsent(session.getId(), id -> new ReentrantLock());
+    }
+
+    private void forget(String uploadId) {
+        digests.remove(uploadId);
+        locks.remove(uploadId);
+    }
+
+    // received 까지의 해시 상태. 메모리에 없거나 어긋나 있으면 부분 파일 앞부분을 다시 읽어 만든다
+    private DigestState digestAt(String uploadId, Path partial, long received) throws IOException {
+        DigestState state = digests.get(uploadId);
+        if (state != null && state.length == received) {
+            return state;
+        }
+        MessageDigest digest = UploadFiles.newDigest();
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.READ)) {
+            long position = 0;
+            while (position < received) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), received - position));
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new IllegalStateException("부분 파일이 기록된 크기보다 작습니다: " + uploadId);
+                }
+                buffer.flip();
+                digest.update(buffer);
+                position += read;
+            }
+        }
+        state = new DigestState(digest, received);
+        digests.put(uploadId, state);
+        return state;
+    }
+
+    private static MessageDigest cloneDigest(MessageDigest digest) {
+        try {
+            return (MessageDigest) digest.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("해시 상태를 복사할 수 없습니다.", e);
+        }
+    }
+
+    private Path partialPath(String uploadId) throws IOException {
+        return blobStore.partialDirectory().resolve(uploadId);
+    }
+
+    private record DigestState(MessageDigest digest, long length) {
+    }
+}
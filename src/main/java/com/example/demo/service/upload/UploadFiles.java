@@ -0,0 +1,160 @@
+package com.example.demo.service.upload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 업로드 본문을 파일에 바로 기록하는 공용 도구.
+ * 요청 스트림을 FileChannel.transferFrom 으로 목표 위치에 쓰면서 SHA-256 과 크기를 함께 계산한다
+ * (multipart 처럼 임시 파일에 한 번 쓰고 다시 복사하지 않음).
+ * 저장할 Content-Type 도 여기서 정한다 (클라이언트가 보낸 값은 믿지 않음).
+ */
+public final class UploadFiles {
+
+    public static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    // 래스터 이미지는 내용 앞부분으로 직접 판별한다. 이 형식만 inline 으로 보낸다
+    private static final String PNG = "image/png";
+    private static final String JPEG = "image/jpeg";
+    private static final String GIF = "image/gif";
+    private static final String WEBP = "image/webp";
+    private static final String BMP = "image/bmp";
+    private static final Set<String> RASTER_TYPES = Set.of(PNG, JPEG, GIF, WEBP, BMP);
+
+    // 그 밖에 선언 값을 그대로 저장해도 되는 형식 (항상 attachment 로 내려간다). 나머지는 application/octet-stream
+    private static final Set<String> ALLOWED_TYPES = Set.of(
+            "application/pdf",
+            "application/zip",
+            "application/json",
+            "text/plain",
+            "text/csv",
+            "application/msword",
+            "application/vnd.ms-excel",
+            "application/vnd.ms-powerpoint",
+            "application/vnd.openxmlformats-officedocument.wordprocessingml.document",
+            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+            "application/vnd.openxmlformats-officedocument.presentationml.presentation",
+            "application/x-hwp",
+            "application/haansofthwp");
+
+    private static final int SNIFF_BYTES = 12;
+
+    private UploadFiles() {
+    }
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+
+    public static String hex(MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * in 을 끝까지 읽어 channel 의 position 부터 기록하고 기록한 바이트 수를 돌려준다.
+     * maxBytes 를 넘으면 IllegalArgumentException (호출 측에서 기록분을 정리한다).
+     */
+    public static long write(FileChannel channel, long position, InputStream in, MessageDigest digest, long maxBytes)
+            throws IOException {
+        ReadableByteChannel source = Channels.newChannel(new DigestInputStream(in, digest));
+        long written = 0;
+        // 한도 + 1 바이트까지만 읽어 초과를 확인. 0 이 돌아오면 EOF
+        while (written <= maxBytes) {
+            long transferred = channel.transferFrom(source, position + written, maxBytes + 1 - written);
+            if (transferred <= 0) {
+                break;
+            }
+            written += transferred;
+        }
+        if (written > maxBytes) {
+            throw new IllegalArgumentException("업로드 크기가 허용 범위를 넘었습니다: " + maxBytes + " bytes");
+        }
+        return written;
+    }
+
+    /**
+     * 저장된 내용과 클라이언트가 선언한 형식으로 저장할 Content-Type 을 정한다.
+     * 래스터 이미지는 내용으로 판별한 형식을 쓰고, 그 밖에는 허용 목록에 있는 선언 값만 쓴다
+     * (image/svg+xml, text/html 같은 값은 application/octet-stream 이 된다).
+     */
+    public static String contentType(String declared, Path stored) throws IOException {
+        String raster = sniffRaster(stored);
+        if (raster != null) {
+            return raster;
+        }
+        String type = normalize(declared);
+        return type != null && ALLOWED_TYPES.contains(type) ? type : DEFAULT_CONTENT_TYPE;
+    }
+
+    /**
+     * 브라우저에서 바로 열어도 되는 형식인지 (래스터 이미지만)
+     */
+    public static boolean isInlineSafe(String contentType) {
+        String type = normalize(contentType);
+        return type != null && RASTER_TYPES.contains(type);
+    }
+
+    /**
+     * 파라미터를 떼고 소문자로 (image/jpg 는 image/jpeg 로). 비었으면 null
+     */
+    public static String normalize(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        int semicolon = contentType.indexOf(';');
+        String type = (semicolon >= 0 ? contentType.substring(0, semicolon) : contentType).trim().toLowerCase(Locale.ROOT);
+        if (type.isEmpty()) {
+            return null;
+        }
+        return "image/jpg".equals(type) || "image/pjpeg".equals(type) ? JPEG : type;
+    }
+
+    private static String sniffRaster(Path stored) throws IOException {
+        byte[] head;
+        try (InputStream in = Files.newInputStream(stored)) {
+            head = in.readNBytes(SNIFF_BYTES);
+        }
+        if (startsWith(head, 0, (byte) 0x89, (byte) 'P', (byte) 'N', (byte) 'G', (byte) 0x0D, (byte) 0x0A, (byte) 0x1A, (byte) 0x0A)) {
+            return PNG;
+        }
+        if (startsWith(head, 0, (byte) 0xFF, (byte) 0xD8, (byte) 0xFF)) {
+            return JPEG;
+        }
+        if (startsWith(head, 0, ascii("GIF87a")) || startsWith(head, 0, ascii("GIF89a"))) {
+            return GIF;
+        }
+        if (startsWith(head, 0, ascii("RIFF")) && startsWith(head, 8, ascii("WEBP"))) {
+            return WEBP;
+        }
+        if (startsWith(head, 0, ascii("BM")) && head.length >= SNIFF_BYTES) {
+            return BMP;
+        }
+        return null;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static boolean startsWith(byte[] head, int offset, byte... prefix) {
+        return head.length >= offset + prefix.length
+                && Arrays.equals(head, offset, offset + prefix.length, prefix, 0, prefix.length);
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.demo.service.upload;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 여러 첨부를 ZIP 으로 응답 스트림에 바로 쓴다 (메모리나 임시 파일에 압축본을 만들지 않음).
+ * 다음 prefetch-window 개 파일은 작업 풀에서 미리 열고 앞부분(prefetch-bytes)을 읽어 두므로,
+ * 작은 첨부가 많아도 파일마다 디스크 대기를 순서대로 기다리지 않는다. 큰 파일의 나머지는 쓰는 쪽이 이어서 읽는다.
+ * 메모리는 (prefetch-window + 1) x prefetch-bytes 정도로 고정된다.
+ * 이미 압축된 형식(이미지, 영상, 압축 파일, Office 문서 등)은 압축 수준 0 의 DEFLATED 로 담는다.
+ * STORED 는 항목 앞에 CRC 와 크기가 있어야 해서 파일을 두 번 읽어야 하므로 쓰지 않는다.
+ * 압축 수준 0 은 64KB 마다 5바이트 정도만 늘고, CRC 는 쓰면서 계산해 항목 뒤(data descriptor)에 둔다. 파일마다 한 번만 읽는다.
+ */
+@Service
+@Slf4j
+public class ZipExportService {
+
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of(
+            "jpg", "jpeg", "png", "gif", "webp", "heic", "avif",
+            "mp4", "mov", "avi", "mkv", "webm", "mp3", "m4a", "aac", "ogg", "flac",
+            "zip", "7z", "rar", "gz", "tgz", "bz2", "xz", "zst",
+            "docx", "xlsx", "pptx", "hwpx", "odt", "ods", "odp", "pdf");
+    private static final String MISSING_LIST = "누락된_파일.txt";
+    private static final int COPY_BUFFER = 64 * 1024;
+
+    private final int prefetchWindow;
+    private final int prefetchBytes;
+    private final ExecutorService readers;
+
+    // 미리 읽어 둔 바이트 합의 최댓값 (메모리 상한 확인용)
+    private final AtomicLong bufferedBytes = new AtomicLong();
+    private final AtomicLong peakBufferedBytes = new AtomicLong();
+
+    /** ZIP 에 담을 파일 */
+    public record ZipItem(String name, Path path) {
+    }
+
+    public ZipExportService(@Value("${upload.zip.reader-threads:4}") int readerThreads,
+                            @Value("${upload.zip.prefetch-window:8}") int prefetchWindow,
+                            @Value("${upload.zip.prefetch-bytes:1048576}") int prefetchBytes) {
+        this.prefetchWindow = prefetchWindow;
+        this.prefetchBytes = prefetchBytes;
+        AtomicInteger sequence = new AtomicInteger();
+        this.readers = Executors.newFixedThreadPool(readerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "zip-export-reader-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        readers.shutdownNow();
+    }
+
+    /**
+     * items 를 순서대로 ZIP 에 담아 out 에 쓴다 (out 은 닫지 않음). 이름이 겹치면 " (2)" 처럼 번호를 붙이고,
+     * 읽을 수 없는 파일은 건너뛴 뒤 마지막에 목록 파일로 남긴다. 담은 원본 바이트 수를 돌려준다.
+     */
+    public long export(List<ZipItem> items, OutputStream out) throws IOException {
+        Deque<Future<Prefetched>> window = new ArrayDeque<>();
+        Iterator<ZipItem> pending = items.iterator();
+        Set<String> usedNames = new HashSet<>();
+        List<String> missing = new ArrayList<>();
+        byte[] buffer = new byte[COPY_BUFFER];
+        long written = 0;
+
+        ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(new NonClosingOutputStream(out), COPY_BUFFER),
+                StandardCharsets.UTF_8);
+        boolean finished = false;
+        try {
+            fill(window, pending);
+            while (!window.isEmpty()) {
+                Prefetched prefetched = await(window.poll());
+                fill(window, pending);
+                try (prefetched) {
+                    if (prefetched.error != null) {
+                        log.warn("ZIP 에 담을 파일을 읽을 수 없습니다: {} - {}", prefetched.item.path(), prefetched.error.getMessage());
+                        missing.add(prefetched.item.name());
+                        continue;
+                    }
+                    written += writeEntry(zip, prefetched, uniqueName(prefetched.item.name(), usedNames), buffer);
+                }
+            }
+            if (!missing.isEmpty()) {
+                zip.putNextEntry(new ZipEntry(uniqueName(MISSING_LIST, usedNames)));
+                zip.write(String.join("\n", missing).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+            zip.close();
+            finished = true;
+            return written;
+        } finally {
+            if (!finished) {
+                abort(zip, window);
+            }
+        }
+    }
+
+    /** 지금까지 미리 읽어 둔 바이트 합의 최댓값 */
+    public long getPeakBufferedBytes() {
+        return peakBufferedBytes.get();
+    }
+
+    static boolean isCompressed(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 && COMPRESSED_EXTENSIONS.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    // ===== 내부 =====
+
+    private long writeEntry(ZipOutputStream zip, Prefetched prefetched, String name, byte[] buffer) throws IOException {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setTime(prefetched.lastModified);
+        zip.setLevel(isCompressed(prefetched.item.name()) ? Deflater.NO_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+        zip.putNextEntry(entry);
+
+        zip.write(prefetched.head, 0, prefetched.headLength);
+        long written = prefetched.headLength;
+        if (prefetched.channel != null) {
+            ByteBuffer wrapped = ByteBuffer.wrap(buffer);
+            int read;
+            while ((read = prefetched.channel.read(wrapped.clear())) > 0) {
+                zip.write(buffer, 0, read);
+                written += read;
+            }
+        }
+        zip.closeEntry();
+        return written;
+    }
+
+    // 중간에 끊긴 경우 (클라이언트 종료 등): 미리 연 파일을 닫고 압축기를 정리한다
+    private static void abort(ZipOutputStream zip, Deque<Future<Prefetched>> window) {
+        for (Future<Prefetched> future : window) {
+            try {
+                future.get().close();
+            } catch (ExecutionException | RuntimeException e) {
+                // 미리 읽기 자체가 실패한 경우
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            zip.close();
+        } catch (IOException ignored) {
+            // 이미 끊긴 응답
+        }
+    }
+
+    private void fill(Deque<Future<Prefetched>> window, Iterator<ZipItem> pending) {
+        while (window.size() < prefetchWindow && pending.hasNext()) {
+            ZipItem item = pending.next();
+            window.add(readers.submit(() -> prefetch(item)));
+        }
+    }
+
+    // 파일을 열고 앞부분을 읽는다. 더 남았으면 채널을 열어 둔 채로 넘긴다
+    private Prefetched prefetch(ZipItem item) {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(item.path(), StandardOpenOption.READ);
+            long size = channel.size();
+            byte[] head = new byte[(int) Math.min(size, prefetchBytes)];
+            ByteBuffer buffer = ByteBuffer.wrap(head);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            int headLength = buffer.position();
+            long lastModified = item.path().toFile().lastModified();
+            Prefetched prefetched = new Prefetched(item, head, headLength,
+                    headLength < size ? channel : null, lastModified, null);
+            if (prefetched.channel == null) {
+                channel.close();
+            }
+            return prefetched;
+        } catch (IOException e) {
+            closeQuietly(channel);
+            return new Prefetched(item, new byte[0], 0, null, 0, e);
+        }
+    }
+
+    private static Prefetched await(Future<Prefetched> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("ZIP 내보내기가 중단되었습니다.");
+        } catch (ExecutionException e) {
+            throw new IOException("ZIP 에 담을 파일을 읽지 못했습니다.", e.getCause());
+        }
+    }
+
+    private static String uniqueName(String name, Set<String> usedNames) {
+        if (usedNames.add(name)) {
+            return name;
+        }
+        int dot = name.lastIndexOf('.');
+        int slash = name.lastIndexOf('/');
+        boolean hasExtension = dot > slash + 1;
+        String base = hasExtension ? name.substring(0, dot) : name;
+        String extension = hasExtension ? name.substring(dot) : "";
+        for (int i = 2; ; i++) {
+            String candidate = base + " (" + i + ")" + extension;
+            if (usedNames.add(candidate)) {
+                return candidate;
+            }
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // 읽기 전용 채널
+            }
+        }
+    }
+
+    // 미리 읽은 파일 (close 시 채널과 버퍼 계산을 정리)
+    private final class Prefetched implements AutoCloseable {
+        private final ZipItem item;
+        private final byte[] head;
+        private final int headLength;
+        private final FileChannel channel;
+        private final long lastModified;
+        private final IOException error;
+
+        private Prefetched(ZipItem item, byte[] head, int headLength, FileChannel channel, long lastModified,
+                           IOException error) {
+            this.item = item;
+            this.head = head;
+            this.headLength = headLength;
+            this.channel = channel;
+            this.lastModified = lastModified;
+            this.error = error;
+            long buffered = bufferedBytes.addAndGet(head.length);
+            peakBufferedBytes.accumulateAndGet(buffered, Math::max);
+        }
+
+        @Override
+        public void close() {
+            bufferedBytes.addAndGet(-head.length);
+            closeQuietly(channel);
+        }
+    }
+
+    // 응답 스트림은 서블릿 컨테이너가 닫는다
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        private NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.demo.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatMessageCodecTest {
+
+    @Test
+    @DisplayName("바이너리 / Map / JSON 왕복 변환 후 모든 필드가 같다")
+    void roundTrips() throws Exception {
+        ChatMessage message = new ChatMessage("user-1", "홍길동", "안녕하세요 👋", "project_7", "7");
+        message.setMessageId("42");
+        message.setSeq(42L);
+        message.setTimestamp(1_700_000_000_123L);
+        message.setType(ChatMessage.MessageType.SYSTEM);
+
+        assertSame(message, ChatMessageCodec.fromBytes(ChatMessageCodec.toBytes(message)));
+        assertSame(message, ChatMessageCodec.fromMap("42", ChatMessageCodec.toMap(message)));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        String json = objectMapper.writeValueAsString(message);
+        assertThat(json).contains("\"timestamp\":1700000000123").contains("\"type\":\"SYSTEM\"");
+        assertSame(message, objectMapper.readValue(json, ChatMessage.class));
+
+        assertThat(ChatMessageCodec.toMap(message)).containsEntry("type", "S").doesNotContainKey("messageId");
+    }
+
+    @Test
+    @DisplayName("null 필드와 seq 없는 메시지도 바이너리로 보존된다")
+    void keepsNullFields() {
+        ChatMessage message = new ChatMessage();
+        message.setContent("hi");
+
+        ChatMessage decoded = ChatMessageCodec.fromBytes(ChatMessageCodec.toBytes(message));
+
+        assertThat(decoded.getSeq()).isNull();
+        assertThat(decoded.getSenderId()).isNull();
+        assertThat(decoded.getContent()).isEqualTo("hi");
+        assertThat(decoded.getType()).isEqualTo(ChatMessage.MessageType.TEXT);
+    }
+
+    @Test
+    @DisplayName("이전 형식(Date 객체 / ISO 문자열 timestamp, 이름으로 된 type)을 읽는다")
+    void readsLegacyValues() {
+        Map<String, Object> dateObject = new HashMap<>();
+        dateObject.put("time", 1_700_000_000_000L);
+        Map<String, Object> firebaseValue = new HashMap<>();
+        firebaseValue.put("content", "old");
+        firebaseValue.put("timestamp", dateObject);
+        firebaseValue.put("type", "FILE");
+
+        ChatMessage fromFirebase = ChatMessageCodec.fromMap("-Nabc", firebaseValue);
+        assertThat(fromFirebase.getMessageId()).isEqualTo("-Nabc");
+        assertThat(fromFirebase.getTimestamp()).isEqualTo(1_700_000_000_000L);
+        assertThat(fromFirebase.getType()).isEqualTo(ChatMessage.MessageType.FILE);
+
+        Map<String, Object> embeddedJson = new HashMap<>();
+        embeddedJson.put("messageId", "3");
+        embeddedJson.put("timestamp", "2023-11-14T22:13:20.000+00:00");
+
+        ChatMessage fromEmbedded = ChatMessageCodec.fromMap(null, embeddedJson);
+        assertThat(fromEmbedded.getMessageId()).isEqualTo("3");
+        assertThat(fromEmbedded.getTimestamp()).isEqualTo(1_700_000_000_000L);
+        assertThat(ChatMessageCodec.isBinary("{\"content\":\"old\"}".getBytes())).isFalse();
+    }
+
+    @Test
+    @DisplayName("JSON 의 알려진 필드에 객체 / 배열이 와도 건너뛰고 다음 필드를 제대로 읽는다")
+    void skipsStructuredValuesInKnownFields() throws Exception {
+        String json = "{\"content\":{\"text\":\"x\",\"nested\":[1,{\"a\":2}]},"
+                + "\"senderName\":[\"a\",\"b\"],"
+                + "\"timestamp\":{\"time\":1700000000000},"
+                + "\"seq\":[7],"
+                + "\"roomId\":\"project_1\",\"type\":\"FILE\"}";
+
+        ChatMessage message = new ObjectMapper().readValue(json, ChatMessage.class);
+
+        assertThat(message.getContent()).isNull();
+        assertThat(message.getSenderName()).isNull();
+        assertThat(message.getSeq()).isNull();
+        assertThat(message.getTimestamp()).isEqualTo(1_700_000_000_000L);
+        assertThat(message.getRoomId()).isEqualTo("project_1");
+        assertThat(message.getType()).isEqualTo(ChatMessage.MessageType.FILE);
+    }
+
+    private static void assertSame(ChatMessage expected, ChatMessage actual) {
+        assertThat(actual.getMessageId()).isEqualTo(expected.getMessageId());
+        assertThat(actual.getSeq()).isEqualTo(expected.getSeq());
+        assertThat(actual.getSenderId()).isEqualTo(expected.getSenderId());
+        assertThat(actual.getSenderName()).isEqualTo(expected.getSenderName());
+        assertThat(actual.getContent()).isEqualTo(expected.getContent());
+        assertThat(actual.getTimestamp()).isEqualTo(expected.getTimestamp());
+        assertThat(actual.getRoomId()).isEqualTo(expected.getRoomId());
+        assertThat(actual.getProjectId()).isEqualTo(expected.getProjectId());
+        assertThat(actual.getType()).isEqualTo(expected.getType());
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.demo.security;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtTokenProviderTest {
+
+    private static final String OLD_KEY = key(1);
+    private static final String NEW_KEY = key(2);
+
+    @Test
+    @DisplayName("키를 교체해도 이전 kid 로 서명된 토큰은 검증되고, 새 토큰은 새 kid 로 서명된다")
+    void verifiesTokensSignedWithPreviousKid() {
+        JwtTokenProvider before = provider("k1:" + OLD_KEY, "k1");
+        String oldToken = before.createAccessToken("a@example.com", "USER");
+
+        JwtTokenProvider after = provider("k1:" + OLD_KEY + ",k2:" + NEW_KEY, "k2");
+
+        JwtTokenProvider.VerifiedToken verified = after.verifyAccessToken(oldToken);
+        assertThat(verified.subject()).isEqualTo("a@example.com");
+        assertThat(verified.role()).isEqualTo("USER");
+        // 이전 키만 아는 서버는 새 키로 서명된 토큰을 거부한다
+        assertThatThrownBy(() -> before.verifyAccessToken(after.createAccessToken("a@example.com", "USER")))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    @DisplayName("refresh 토큰은 access 토큰으로 쓸 수 없고 그 반대도 안 된다")
+    void rejectsWrongTokenType() {
+        JwtTokenProvider provider = provider("k1:" + OLD_KEY, "k1");
+
+        assertThatThrownBy(() -> provider.verifyAccessToken(provider.createRefreshToken("a@example.com")))
+                .isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> provider.verifyRefreshToken(provider.createAccessToken("a@example.com", "USER")))
+                .isInstanceOf(JwtException.class);
+        assertThat(provider.verifyRefreshToken(provider.createRefreshToken("a@example.com"))).isEqualTo("a@example.com");
+    }
+
+    @Test
+    @DisplayName("같은 토큰의 두 번째 검증은 캐시에서 처리하고, 변조된 토큰은 거부한다")
+    void cachesVerifiedTokens() {
+        JwtTokenProvider provider = provider("k1:" + OLD_KEY, "k1");
+        String token = provider.createAccessToken("a@example.com", "ADMIN");
+
+        provider.verifyAccessToken(token);
+        provider.verifyAccessToken(token);
+        assertThatThrownBy(() -> provider.verifyAccessToken(token.substring(0, token.length() - 2) + "xx"))
+                .isInstanceOf(JwtException.class);
+
+        assertThat(provider.getStats())
+                .containsEntry("cacheHits", 1L)
+                .containsEntry("cacheMisses", 2L)
+                .containsEntry("rejected", 1L);
+    }
+
+    private static JwtTokenProvider provider(String keys, String activeKid) {
+        return new JwtTokenProvider(new JwtKeyRing(keys, activeKid, "", "", "PKCS12"), 900, 1209600, 100);
+    }
+
+    private static String key(int seed) {
+        byte[] secret = new byte[32];
+        for (int i = 0; i < secret.length; i++) {
+            secret[i] = (byte) (seed * 31 + i);
+        }
+        return Base64.getEncoder().encodeToString(secret);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.dto.BulkInvitationResultDTO;
+import com.example.demo.domain.dto.BulkInvitationResultDTO.Outcome;
+import com.example.demo.domain.entity.InvitationStatus;
+import com.example.demo.domain.entity.Project;
+import com.example.demo.domain.entity.User;
+import com.example.demo.repository.InvitationRepository;
+import com.example.demo.repository.ProjectMemberRepository;
+import com.example.demo.service.mail.EmailOutboxService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class InvitationServiceTest {
+
+    @InjectMocks
+    private InvitationService invitationService;
+
+    @Mock
+    private InvitationRepository invitationRepository;
+
+    @Mock
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private EmailOutboxService emailOutboxService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final Project project = new Project();
+    private final User inviter = User.builder().id(1L).email("leader@test.com").name("리더").build();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(invitationService, "bulkMax", 500);
+        project.setId(10L);
+    }
+
+    @Test
+    @DisplayName("CSV 텍스트에서 '@' 가 있는 칸만 이메일로 읽는다")
+    void parsesEmailsFromCsv() {
+        String csv = "이름,이메일\r\n홍길동,\"Hong@Test.com\"\nkim@test.com; lee@test.com\t\n";
+
+        assertThat(InvitationService.parseEmails(csv))
+                .containsExactly("Hong@Test.com", "kim@test.com", "lee@test.com");
+        assertThat(InvitationService.parseEmails(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("형식 오류를 먼저, 요청 안 중복을 다음으로 판정하고 나머지만 초대한다")
+    void classifiesEachRequestedEmail() {
+        given(projectMemberRepository.findMemberEmails(eq(10L), any())).willReturn(List.of("member@test.com"));
+        given(invitationRepository.findInvitedEmails(eq(10L), eq(InvitationStatus.PENDING), any(LocalDateTime.class), any()))
+                .willReturn(List.of("pending@test.com"));
+        given(emailService.invitationTemplate(project))
+                .willReturn(new EmailService.InvitationTemplate("초대", "<a>", "</a>"));
+
+        BulkInvitationResultDTO result = invitationService.createInvitations(Arrays.asList(
+                "not-an-email", "New@Test.com", " new@test.com ", "member@test.com", "member@test.com",
+                "pending@test.com", "not-an-email", null, "other@test.com"), project, inviter);
+
+        assertThat(result.getResults()).extracting(BulkInvitationResultDTO.EmailResult::getOutcome).containsExactly(
+                Outcome.INVALID, Outcome.INVITED, Outcome.DUPLICATE, Outcome.ALREADY_MEMBER, Outcome.DUPLICATE,
+                Outcome.ALREADY_INVITED, Outcome.INVALID, Outcome.INVALID, Outcome.INVITED);
+        assertThat(result.getRequested()).isEqualTo(9);
+        assertThat(result.getInvited()).isEqualTo(2);
+        verify(emailOutboxService).enqueueAll(eq("INVITATION"), eq(List.of("new@test.com", "other@test.com")), anyList());
+    }
+
+    @Test
+    @DisplayName("조회 뒤 동시 요청이 먼저 넣은 초대는 유니크 키 충돌로 걸러 ALREADY_INVITED 로 돌려준다")
+    void reportsConcurrentlyInvitedEmailsAsAlreadyInvited() {
+        given(emailService.invitationTemplate(project))
+                .willReturn(new EmailService.InvitationTemplate("초대", "<a>", "</a>"));
+        // 묶음 INSERT 실패 -> 한 건씩: 첫 행은 충돌, 둘째 행은 성공
+        given(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .willThrow(new DuplicateKeyException("uk_invitation_pending"))
+                .willThrow(new DuplicateKeyException("uk_invitation_pending"))
+                .willReturn(1);
+
+        BulkInvitationResultDTO result = invitationService.createInvitations(
+                List.of("raced@test.com", "fresh@test.com"), project, inviter);
+
+        assertThat(result.getResults()).extracting(BulkInvitationResultDTO.EmailResult::getOutcome)
+                .containsExactly(Outcome.ALREADY_INVITED, Outcome.INVITED);
+        assertThat(result.getInvited()).isEqualTo(1);
+        verify(invitationRepository).releaseExpiredPendingEmails(eq(10L), eq(List.of("raced@test.com", "fresh@test.com")),
+                any(LocalDateTime.class));
+        verify(emailOutboxService).enqueueAll(eq("INVITATION"), eq(List.of("fresh@test.com")), anyList());
+    }
+}
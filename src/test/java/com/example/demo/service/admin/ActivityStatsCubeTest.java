@@ -0,0 +1,49 @@
+package com.example.demo.service.admin;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActivityStatsCubeTest {
+
+    private Object[] row(String date, String action, String board, long count) {
+        return new Object[]{Date.valueOf(date), action, board, count};
+    }
+
+    @Test
+    @DisplayName("연도가 바뀌는 구간도 날짜 순서대로 집계")
+    void dailyAcrossNewYear() {
+        ActivityStatsCube cube = ActivityStatsCube.of(
+                LocalDate.of(2024, 12, 30), LocalDate.of(2025, 1, 2),
+                List.of("ADD", "Update"), List.of("issues", "noticeboard"),
+                List.of(row("2024-12-31", "ADD", "issues", 3),
+                        row("2025-01-01", "ADD", "noticeboard", 2),
+                        row("2025-01-01", "Update", "issues", 4)));
+
+        assertThat(cube.getDays()).isEqualTo(4);
+        assertThat(cube.dailyByAction("ADD")).containsExactly(0, 3, 2, 0);
+        assertThat(cube.dailyTotals(List.of("ADD", "Update"))).containsExactly(0, 3, 6, 0);
+    }
+
+    @Test
+    @DisplayName("조회 결과에만 있는 활동 유형도 게시판별 집계에 포함")
+    void boardByActionWithUnknownAction() {
+        ActivityStatsCube cube = ActivityStatsCube.of(
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 2),
+                List.of("ADD", "Update"), List.of("issues", "comment"),
+                List.of(row("2025-03-01", "DELETE", "comment", 1),
+                        row("2025-03-01", "ADD", "issues", 2),
+                        row("2025-03-02", "ADD", "issues", 5)));
+
+        assertThat(cube.getActions()).containsExactly("ADD", "Update", "DELETE");
+        long[][] boardByAction = cube.boardByAction();
+        assertThat(boardByAction[0]).containsExactly(7, 0, 0);
+        assertThat(boardByAction[1]).containsExactly(0, 0, 1);
+        assertThat(cube.total()).isEqualTo(8);
+    }
+}
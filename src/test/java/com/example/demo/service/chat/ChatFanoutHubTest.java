@@ -0,0 +1,266 @@
+package com.example.demo.service.chat;
+
+import com.example.demo.config.ProjectAccessCache;
+import com.example.demo.model.ChatMessage;
+import com.example.demo.repository.ProjectRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.ChatService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class ChatFanoutHubTest {
+
+    private final FakeChatStore store = new FakeChatStore();
+    private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ChatFanoutHub hub = new ChatFanoutHub(
+            new ChatService(store, new ChatRecentCache(store, false, 0, 0, 0), new ChatWriteCoalescer(store)),
+            new ProjectAccessCache(projectRepository, userRepository, event -> { }), new ObjectMapper(), 8, 4, 2);
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    @DisplayName("방마다 저장소 구독은 하나이고, 마지막 세션이 떠나면 해제된다")
+    void oneUpstreamSubscriptionPerRoom() throws Exception {
+        RecordingTransport first = new RecordingTransport(null);
+        RecordingTransport second = new RecordingTransport(null);
+        ChatSocketSession firstSession = hub.open("s1", null, first);
+        ChatSocketSession secondSession = hub.open("s2", null, second);
+
+        hub.attach("project_1", firstSession);
+        hub.attach("project_1", secondSession);
+        assertThat(store.listeners).containsOnlyKeys("project_1");
+        assertThat(store.listeners.get("project_1")).hasSize(1);
+
+        store.publish("project_1", "hello");
+        first.await(1);
+        second.await(1);
+        assertThat(first.frames.get(0)).contains("\"type\":\"message\"").contains("hello");
+
+        hub.detach("project_1", firstSession);
+        assertThat(store.listeners.get("project_1")).hasSize(1);
+        hub.close(secondSession);
+        assertThat(store.listeners.get("project_1")).isEmpty();
+        assertThat(hub.getStats()).containsEntry("rooms", 0).containsEntry("sessions", 1);
+    }
+
+    @Test
+    @DisplayName("느린 세션은 큐가 넘치면 resync 로 합쳐지고, 다른 세션은 모두 받는다")
+    void slowSessionIsCoalescedIntoResync() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        RecordingTransport slow = new RecordingTransport(blocked);
+        RecordingTransport fast = new RecordingTransport(null);
+        hub.attach("project_1", hub.open("slow", null, slow));
+        hub.attach("project_1", hub.open("fast", null, fast));
+
+        // 빠른 세션이 받는 속도에 맞춰 보내면 빠른 세션 큐는 넘치지 않는다
+        for (int i = 0; i < 50; i++) {
+            store.publish("project_1", "message-" + i);
+            fast.await(i + 1);
+        }
+        blocked.countDown();
+        slow.awaitFrame(frame -> frame.contains("\"type\":\"resync\""));
+
+        assertThat(fast.frames).hasSize(50);
+        assertThat(slow.frames).hasSizeLessThan(50);
+        assertThat(slow.frames).filteredOn(frame -> frame.contains("\"type\":\"resync\"")).hasSize(1);
+        Map<String, Object> stats = hub.getStats();
+        assertThat((Long) stats.get("dropped")).isPositive();
+        assertThat(stats.get("resyncs")).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("멤버십을 잃은 세션은 방에서 떼어지고 revoked 를 받는다")
+    void revokedMemberIsDetached() throws Exception {
+        given(userRepository.findIdByEmail("member@example.com")).willReturn(Optional.of(1L));
+        given(userRepository.findIdByEmail("leaver@example.com")).willReturn(Optional.of(2L));
+        given(projectRepository.existsAccessByProjectIdAndUserId(1L, 1L)).willReturn(true);
+        given(projectRepository.existsAccessByProjectIdAndUserId(1L, 2L)).willReturn(true);
+        RecordingTransport member = new RecordingTransport(null);
+        RecordingTransport leaver = new RecordingTransport(null);
+        ChatSocketSession memberSession = hub.open("member", "member@example.com", member);
+        ChatSocketSession leaverSession = hub.open("leaver", "leaver@example.com", leaver);
+        hub.attach("project_1", memberSession);
+        hub.attach("project_1", leaverSession);
+
+        given(projectRepository.existsAccessByProjectIdAndUserId(1L, 2L)).willReturn(false);
+        hub.onAccessChanged(new ProjectAccessCache.AccessChanged(1L, 2L));
+        leaver.awaitFrame(frame -> frame.contains("\"type\":\"revoked\""));
+
+        assertThat(leaverSession.rooms()).isEmpty();
+        assertThat(memberSession.rooms()).containsExactly("project_1");
+        store.publish("project_1", "after");
+        member.await(1);
+        assertThat(leaver.frames).hasSize(1);
+        assertThat(hub.getStats()).containsEntry("revoked", 1L);
+    }
+
+    @Test
+    @DisplayName("권한을 잃으면 그 방에 쌓여 있던 메시지는 보내지 않는다")
+    void revokeDiscardsQueuedFrames() throws Exception {
+        given(userRepository.findIdByEmail("leaver@example.com")).willReturn(Optional.of(2L));
+        given(projectRepository.existsAccessByProjectIdAndUserId(1L, 2L)).willReturn(true);
+        CountDownLatch blocked = new CountDownLatch(1);
+        RecordingTransport leaver = new RecordingTransport(blocked);
+        ChatSocketSession leaverSession = hub.open("leaver", "leaver@example.com", leaver);
+        hub.attach("project_1", leaverSession);
+        hub.attach("project_2", leaverSession);
+
+        // 첫 메시지는 전송 중(blocked), 나머지는 큐에 남는다
+        store.publish("project_1", "in-flight");
+        Thread.sleep(50);
+        store.publish("project_1", "queued-1");
+        store.publish("project_2", "other-room");
+        store.publish("project_1", "queued-2");
+
+        given(projectRepository.existsAccessByProjectIdAndUserId(1L, 2L)).willReturn(false);
+        hub.onAccessChanged(new ProjectAccessCache.AccessChanged(1L, 2L));
+        blocked.countDown();
+        leaver.awaitFrame(frame -> frame.contains("\"type\":\"revoked\""));
+
+        assertThat(leaver.frames).hasSize(3);
+        assertThat(leaver.frames.get(0)).contains("in-flight");
+        assertThat(leaver.frames.get(1)).contains("other-room");
+        assertThat(leaver.frames).noneMatch(frame -> frame.contains("queued-"));
+        assertThat(leaverSession.rooms()).containsExactly("project_2");
+    }
+
+    @Test
+    @DisplayName("닫힌 세션은 방에 다시 붙지 않는다")
+    void closedSessionDoesNotAttach() {
+        ChatSocketSession session = hub.open("closed", null, new RecordingTransport(null));
+        hub.attach("project_1", session);
+        hub.close(session);
+
+        hub.attach("project_2", session);
+
+        assertThat(session.rooms()).isEmpty();
+        assertThat(store.listeners.get("project_1")).isEmpty();
+        assertThat(store.listeners).doesNotContainKey("project_2");
+        assertThat(hub.getStats()).containsEntry("rooms", 0);
+    }
+
+    @Test
+    @DisplayName("구독 방 수와 쌓이는 제어 프레임 수는 한도를 넘지 않는다")
+    void controlFramesAndRoomsAreBounded() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        RecordingTransport transport = new RecordingTransport(blocked);
+        ChatSocketSession session = hub.open("noisy", null, transport);
+        for (int i = 1; i <= 4; i++) {
+            assertThat(hub.attach("project_" + i, session)).isTrue();
+        }
+        assertThat(hub.attach("project_5", session)).isFalse();
+
+        for (int i = 0; i < 100; i++) {
+            session.sendControl("{\"type\":\"error\"}");
+        }
+        blocked.countDown();
+        transport.await(17);
+        Thread.sleep(50);
+        // 전송 중이던 1개 + 큐 한도 16개
+        assertThat(transport.frames).hasSizeLessThanOrEqualTo(17);
+        assertThat(session.counters()[1]).isPositive();
+    }
+
+    private static final class RecordingTransport implements ChatSocketSession.Transport {
+        private final List<String> frames = new CopyOnWriteArrayList<>();
+        private final CountDownLatch blocked;
+
+        private RecordingTransport(CountDownLatch blocked) {
+            this.blocked = blocked;
+        }
+
+        @Override
+        public void send(String frame) {
+            if (blocked != null) {
+                try {
+                    blocked.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            frames.add(frame);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private void await(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (frames.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+        }
+
+        private void awaitFrame(Predicate<String> condition) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (frames.stream().noneMatch(condition) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+        }
+    }
+
+    private static final class FakeChatStore implements ChatStore {
+        private final Map<String, List<Consumer<ChatMessage>>> listeners = new ConcurrentHashMap<>();
+        private int sequence;
+
+        void publish(String roomId, String content) {
+            ChatMessage message = new ChatMessage("user", "사용자", content, roomId, "1");
+            message.setMessageId(String.valueOf(++sequence));
+            listeners.getOrDefault(roomId, List.of()).forEach(listener -> listener.accept(message));
+        }
+
+        @Override
+        public CompletableFuture<String> append(ChatMessage message) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<List<ChatMessage>> findLatest(String roomId, int limit) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        @Override
+        public CompletableFuture<List<ChatMessage>> findBefore(String roomId, String beforeMessageId, int limit) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        @Override
+        public CompletableFuture<List<ChatMessage>> findAfter(String roomId, String afterMessageId, int limit) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        @Override
+        public ChatSubscription subscribe(String roomId, Consumer<ChatMessage> listener) {
+            List<Consumer<ChatMessage>> roomListeners = listeners.computeIfAbsent(roomId, id -> new CopyOnWriteArrayList<>());
+            roomListeners.add(listener);
+            return () -> roomListeners.remove(listener);
+        }
+
+        @Override
+        public String getName() {
+            return "fake";
+        }
+    }
+}
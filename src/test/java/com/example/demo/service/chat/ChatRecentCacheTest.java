@@ -0,0 +1,185 @@
+package com.example.demo.service.chat;
+
+import com.example.demo.model.ChatMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatRecentCacheTest {
+
+    @Test
+    @DisplayName("처음 조회만 저장소를 읽고, 이후 새 메시지와 범위 조회는 버퍼로 응답한다")
+    void servesHistoryFromRingAfterWarmUp() {
+        SeqChatStore store = new SeqChatStore();
+        for (int i = 0; i < 30; i++) {
+            store.append(message("project_1", "m" + i));
+        }
+        ChatRecentCache cache = new ChatRecentCache(store, true, 20, 1 << 20, 100);
+
+        assertThat(contents(cache.findLatest("project_1", 5).join())).containsExactly("m25", "m26", "m27", "m28", "m29");
+        assertThat(store.reads.get()).isEqualTo(1);
+
+        // 구독 콜백으로 새 메시지가 버퍼에 붙는다
+        store.append(message("project_1", "m30"));
+        assertThat(contents(cache.findLatest("project_1", 2).join())).containsExactly("m29", "m30");
+        assertThat(contents(cache.findBefore("project_1", "29", 3).join())).containsExactly("m25", "m26", "m27");
+        assertThat(contents(cache.findAfter("project_1", "29", 10).join())).containsExactly("m29", "m30");
+        assertThat(store.reads.get()).isEqualTo(1);
+
+        // 버퍼(최근 20개) 밖은 저장소로
+        assertThat(contents(cache.findBefore("project_1", "5", 3).join())).containsExactly("m1", "m2", "m3");
+        assertThat(store.reads.get()).isEqualTo(2);
+        assertThat(cache.getStats()).containsEntry("hits", 3L).containsEntry("misses", 1L).containsEntry("bypasses", 1L);
+    }
+
+    @Test
+    @DisplayName("메모리 상한을 넘으면 가장 오래 쓰이지 않은 방을 내리고 구독을 닫는다")
+    void evictsLeastRecentlyUsedRoom() {
+        SeqChatStore store = new SeqChatStore();
+        for (String roomId : List.of("project_1", "project_2", "project_3")) {
+            for (int i = 0; i < 10; i++) {
+                store.append(message(roomId, "메시지 " + i));
+            }
+        }
+        long roomBytes = ChatRecentCache.roomOverheadBytes(50) + 10 * ChatMessageRing.estimateBytes(message("project_1", "메시지 0"));
+        ChatRecentCache cache = new ChatRecentCache(store, true, 50, roomBytes * 2 + roomBytes / 2, 100);
+
+        cache.findLatest("project_1", 10).join();
+        cache.findLatest("project_2", 10).join();
+        cache.findLatest("project_1", 10).join();
+        cache.findLatest("project_3", 10).join();
+
+        assertThat(cache.getStats()).containsEntry("rooms", 2).containsEntry("evictions", 1L);
+        assertThat(store.listenerCount("project_2")).isZero();
+        assertThat(store.listenerCount("project_1")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("빈 방과 없는 방은 남기지 않고, 방 수 상한을 넘으면 오래된 방부터 내린다")
+    void boundsRoomCount() {
+        SeqChatStore store = new SeqChatStore();
+        for (int room = 1; room <= 4; room++) {
+            store.append(message("project_" + room, "안녕"));
+        }
+        ChatRecentCache cache = new ChatRecentCache(store, true, 20, 1 << 20, 2);
+
+        for (int missing = 100; missing < 200; missing++) {
+            assertThat(cache.findLatest("project_" + missing, 10).join()).isEmpty();
+        }
+        assertThat(cache.getStats()).containsEntry("rooms", 0);
+        assertThat(store.listenerCount("project_100")).isZero();
+
+        for (int room = 1; room <= 4; room++) {
+            cache.findLatest("project_" + room, 10).join();
+        }
+        assertThat(cache.getStats()).containsEntry("rooms", 2).containsEntry("evictions", 2L);
+        assertThat(store.listenerCount("project_1")).isZero();
+        assertThat(store.listenerCount("project_4")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("버퍼에 아직 반영되지 않은 기준 메시지로 after 조회하면 저장소로 넘어간다")
+    void afterBeyondHighWaterFallsThroughToStore() {
+        SeqChatStore store = new SeqChatStore();
+        for (int i = 0; i < 5; i++) {
+            store.append(message("project_1", "m" + i));
+        }
+        ChatRecentCache cache = new ChatRecentCache(store, true, 20, 1 << 20, 100);
+        cache.findLatest("project_1", 5).join();
+
+        // 구독 콜백보다 먼저 저장된 메시지 (다른 경로로 기준 messageId 7 을 받은 클라이언트)
+        store.appendSilently(message("project_1", "m5"));
+        store.appendSilently(message("project_1", "m6"));
+        store.appendSilently(message("project_1", "m7"));
+        int reads = store.reads.get();
+
+        assertThat(contents(cache.findAfter("project_1", "7", 10).join())).containsExactly("m7");
+        assertThat(store.reads.get()).isEqualTo(reads + 1);
+    }
+
+    private static ChatMessage message(String roomId, String content) {
+        return new ChatMessage("user", "사용자", content, roomId, "1");
+    }
+
+    private static List<String> contents(List<ChatMessage> messages) {
+        return messages.stream().map(ChatMessage::getContent).toList();
+    }
+
+    // 방마다 1 부터 seq 를 붙이는 메모리 저장소
+    private static final class SeqChatStore implements ChatStore {
+        private final Map<String, List<ChatMessage>> messages = new HashMap<>();
+        private final Map<String, List<Consumer<ChatMessage>>> listeners = new HashMap<>();
+        private final AtomicInteger reads = new AtomicInteger();
+
+        @Override
+        public CompletableFuture<String> append(ChatMessage message) {
+            appendSilently(message);
+            listeners.getOrDefault(message.getRoomId(), List.of()).forEach(listener -> listener.accept(message));
+            return CompletableFuture.completedFuture(message.getMessageId());
+        }
+
+        // 구독 콜백 없이 저장 (콜백이 늦게 오는 상황)
+        void appendSilently(ChatMessage message) {
+            List<ChatMessage> room = messages.computeIfAbsent(message.getRoomId(), id -> new ArrayList<>());
+            message.setMessageId(String.valueOf(room.size() + 1));
+            room.add(message);
+        }
+
+        @Override
+        public CompletableFuture<List<ChatMessage>> findLatest(String roomId, int limit) {
+            List<ChatMessage> room = messages.getOrDefault(roomId, List.of());
+            return read(room.subList(Math.max(0, room.size() - limit), room.size()));
+        }
+
+        @Override
+        public CompletableFuture<List<ChatMessage>> findBefore(String roomId, String beforeMessageId, int limit) {
+            List<ChatMessage> room = messages.getOrDefault(roomId, List.of());
+            int end = Integer.parseInt(beforeMessageId) - 1;
+            return read(room.subList(Math.max(0, end - limit), end));
+        }
+
+        @Override
+        public CompletableFuture<List<ChatMessage>> findAfter(String roomId, String afterMessageId, int limit) {
+            List<ChatMessage> room = messages.getOrDefault(roomId, List.of());
+            int start = Integer.parseInt(afterMessageId);
+            return read(room.subList(start, Math.min(room.size(), start + limit)));
+        }
+
+        @Override
+        public ChatSubscription subscribe(String roomId, Consumer<ChatMessage> listener) {
+            List<Consumer<ChatMessage>> roomListeners = listeners.computeIfAbsent(roomId, id -> new CopyOnWriteArrayList<>());
+            roomListeners.add(listener);
+            return () -> roomListeners.remove(listener);
+        }
+
+        @Override
+        public String getName() {
+            return "memory";
+        }
+
+        @Override
+        public Comparator<String> messageIdOrder() {
+            return Comparator.comparingLong(Long::parseLong);
+        }
+
+        int listenerCount(String roomId) {
+            return listeners.getOrDefault(roomId, List.of()).size();
+        }
+
+        private CompletableFuture<List<ChatMessage>> read(List<ChatMessage> result) {
+            reads.incrementAndGet();
+            return CompletableFuture.completedFuture(new ArrayList<>(result));
+        }
+    }
+}
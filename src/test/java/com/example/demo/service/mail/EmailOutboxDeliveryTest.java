@@ -0,0 +1,76 @@
+package com.example.demo.service.mail;
+
+import com.example.demo.domain.entity.EmailOutbox;
+import com.example.demo.service.EmailService;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailOutboxDeliveryTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Test
+    @DisplayName("묶음의 메일을 한 번에 보내고 제목과 본문이 그대로 도착한다")
+    void sendsBatchThroughSmtp() throws Exception {
+        EmailService emailService = emailService(ServerSetupTest.SMTP.getPort());
+
+        Map<Long, Exception> failures = emailService.sendBatch(List.of(
+                mail(1L, "a@example.com"), mail(2L, "b@example.com"), mail(3L, "c@example.com")));
+
+        assertThat(failures).isEmpty();
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received.length).isEqualTo(3);
+        assertThat(received[0].getSubject()).isEqualTo("프로젝트 초대 메일");
+        assertThat(GreenMailUtil.getBody(received[0])).contains("초대 수락하기");
+    }
+
+    @Test
+    @DisplayName("SMTP 서버에 연결할 수 없으면 묶음 전체를 실패로 돌려준다")
+    void reportsAllAsFailedWhenServerIsDown() {
+        // 아무도 듣지 않는 포트
+        EmailService emailService = emailService(ServerSetupTest.SMTP.getPort() + 1000);
+
+        Map<Long, Exception> failures = emailService.sendBatch(List.of(mail(1L, "a@example.com"), mail(2L, "b@example.com")));
+
+        assertThat(failures).containsOnlyKeys(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("재시도 간격은 두 배씩 늘고 최댓값에서 멈춘다")
+    void backsOffExponentially() {
+        assertThat(EmailOutboxService.retryDelay(1, 30, 3600)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(EmailOutboxService.retryDelay(3, 30, 3600)).isEqualTo(Duration.ofSeconds(120));
+        assertThat(EmailOutboxService.retryDelay(10, 30, 3600)).isEqualTo(Duration.ofSeconds(3600));
+        assertThat(EmailOutboxService.retryDelay(100, 30, 3600)).isEqualTo(Duration.ofSeconds(3600));
+    }
+
+    private static EmailService emailService(int port) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("localhost");
+        sender.setPort(port);
+        return new EmailService(sender, "noreply@example.com", "http://localhost:5000");
+    }
+
+    private static EmailOutbox mail(Long id, String recipient) {
+        return EmailOutbox.builder()
+                .id(id)
+                .kind("INVITATION")
+                .recipient(recipient)
+                .subject("프로젝트 초대 메일")
+                .body("<p><a href=\"http://localhost:5000/projects/1/management/invitations/accept?token=t\">초대 수락하기</a></p>")
+                .build();
+    }
+}
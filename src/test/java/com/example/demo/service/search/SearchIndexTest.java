@@ -0,0 +1,87 @@
+package com.example.demo.service.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchIndexTest {
+
+    private SearchDocument doc(String type, long id, long projectId, String title, String content) {
+        return SearchDocument.builder()
+                .type(type)
+                .id(id)
+                .projectId(projectId)
+                .title(title)
+                .content(content)
+                .createdDate(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("한글은 2-gram, 영문은 단어 단위로 토큰화")
+    void tokenize() {
+        assertThat(SearchTokenizer.tokenize("주간회의록 Login-Bug"))
+                .containsExactly("주간", "간회", "회의", "의록", "login", "bug");
+    }
+
+    @Test
+    @DisplayName("붙여쓴 한글 본문도 부분 검색되고 제목 일치가 더 높은 점수")
+    void searchKoreanSubstring() {
+        SearchIndex index = new SearchIndex();
+        index.add(doc("issues", 1L, 10L, "로그인 오류", "주간회의록에 정리"));
+        index.add(doc("noticeboard", 2L, 10L, "회의록 공유", "다음 회의 안건"));
+        index.add(doc("issues", 3L, 10L, "배포 일정", "내용 없음"));
+
+        SearchIndex.SearchResult result = index.search("회의록", null, projectId -> true, 0, 10);
+
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.hits().get(0).document().getId()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("접근 불가 프로젝트와 삭제된 문서는 결과에서 제외")
+    void filterAndRemove() {
+        SearchIndex index = new SearchIndex();
+        index.add(doc("issues", 1L, 10L, "deploy failed", null));
+        index.add(doc("issues", 2L, 20L, "deploy failed", null));
+        index.add(doc("comment", 3L, 10L, null, "deploy failed again"));
+
+        assertThat(index.search("deploy", null, projectId -> projectId == 10L, 0, 10).total()).isEqualTo(2);
+
+        index.remove("issues", 1L);
+        index.compact();
+        SearchIndex.SearchResult result = index.search("deploy failed", null, projectId -> projectId == 10L, 0, 10);
+        assertThat(result.total()).isEqualTo(1);
+        assertThat(result.hits().get(0).document().getType()).isEqualTo("comment");
+    }
+
+    @Test
+    @DisplayName("한 글자 한글 검색어는 그 글자를 포함한 문서와 매칭")
+    void searchSingleHangulCharacter() {
+        SearchIndex index = new SearchIndex();
+        index.add(doc("issues", 1L, 10L, "회의록", null));
+        index.add(doc("issues", 2L, 10L, "주간 보고", "내일 회 식"));
+        index.add(doc("issues", 3L, 10L, "배포 일정", null));
+
+        SearchIndex.SearchResult result = index.search("회", null, projectId -> true, 0, 10);
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(index.search("록", null, projectId -> true, 0, 10).total()).isEqualTo(1);
+        assertThat(index.search("회 배포", null, projectId -> true, 0, 10).total()).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 문서 수정만 반복해도 tombstone 이 정리된다")
+    void compactsOnRepeatedUpdates() {
+        SearchIndex index = new SearchIndex();
+        for (int i = 0; i < 30_000; i++) {
+            index.add(doc("issues", (long) (i % 10), 10L, "deploy " + i, null));
+        }
+
+        assertThat(index.size()).isEqualTo(10);
+        assertThat(index.getStats().get("deleted")).isLessThan(10_000L);
+        assertThat(index.search("deploy", null, projectId -> true, 0, 20).total()).isEqualTo(10);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.demo.service.sketch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActivitySketchAccuracyTest {
+
+    @Test
+    @DisplayName("HyperLogLog 고유 개수 추정은 표준 오차의 4배 이내")
+    void hyperLogLogWithinErrorBound() {
+        HyperLogLog first = new HyperLogLog(14);
+        HyperLogLog second = new HyperLogLog(14);
+        for (int i = 0; i < 60_000; i++) {
+            first.add("user" + i + "@example.com");
+        }
+        // 절반은 겹치는 사용자
+        for (int i = 30_000; i < 100_000; i++) {
+            second.add("user" + i + "@example.com");
+        }
+
+        double bound = 4 * first.standardError();
+        assertThat(relativeError(first.estimate(), 60_000)).isLessThan(bound);
+
+        first.merge(second);
+        assertThat(relativeError(first.estimate(), 100_000)).isLessThan(bound);
+
+        HyperLogLog small = new HyperLogLog(14);
+        for (int i = 0; i < 50; i++) {
+            small.add("user" + i);
+            small.add("user" + i);
+        }
+        assertThat(small.estimate()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("높은 precision HyperLogLog 를 접으면 처음부터 낮은 precision 으로 센 것과 같고, 섞어서 합칠 수 있다")
+    void hyperLogLogFoldsToLowerPrecision() {
+        HyperLogLog high = new HyperLogLog(14);
+        HyperLogLog low = new HyperLogLog(12);
+        for (int i = 0; i < 40_000; i++) {
+            high.add("user" + i + "@example.com");
+            low.add("user" + i + "@example.com");
+        }
+
+        HyperLogLog folded = high.foldTo(12);
+        assertThat(folded.getPrecision()).isEqualTo(12);
+        assertThat(folded.estimate()).isEqualTo(low.estimate());
+
+        // 낮은 쪽에 높은 쪽을 합치면 접어서 합친다
+        HyperLogLog other = new HyperLogLog(14);
+        for (int i = 20_000; i < 50_000; i++) {
+            other.add("user" + i + "@example.com");
+        }
+        low.merge(other);
+        assertThat(relativeError(low.estimate(), 50_000)).isLessThan(4 * low.standardError());
+    }
+
+    @Test
+    @DisplayName("Space-Saving 상위 항목은 정확한 빈도를 [count - error, count] 범위로 포함")
+    void spaceSavingBoundsExactCounts() {
+        Random random = new Random(42);
+        SpaceSaving firstDay = new SpaceSaving(256);
+        SpaceSaving secondDay = new SpaceSaving(256);
+        Map<String, Long> exact = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            // 치우친 분포: 소수 사용자가 대부분의 활동을 만든다
+            String user = "user" + (int) Math.floor(Math.pow(random.nextDouble(), 3) * 2_000);
+            (i % 2 == 0 ? firstDay : secondDay).add(user, 1);
+            exact.merge(user, 1L, Long::sum);
+        }
+
+        firstDay.merge(secondDay);
+        List<SpaceSaving.Entry> top = firstDay.top(10);
+
+        assertThat(top).hasSize(10);
+        for (SpaceSaving.Entry entry : top) {
+            long actual = exact.get(entry.item());
+            assertThat(actual).isBetween(entry.count() - entry.error(), entry.count());
+        }
+        // 실제 1위 사용자는 추정 상위 목록에 포함
+        String heaviest = exact.entrySet().stream().max(Map.Entry.comparingByValue()).orElseThrow().getKey();
+        assertThat(top).extracting(SpaceSaving.Entry::item).contains(heaviest);
+    }
+
+    private static double relativeError(long estimate, long actual) {
+        return Math.abs(estimate - actual) / (double) actual;
+    }
+}
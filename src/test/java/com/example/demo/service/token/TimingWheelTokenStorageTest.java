@@ -0,0 +1,132 @@
+package com.example.demo.service.token;
+
+import com.example.demo.domain.dto.OAuth2UserInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimingWheelTokenStorageTest {
+
+    private static final long TTL = 30 * 60_000;
+    private static final long TICK = 1000;
+
+    private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+
+    @Test
+    @DisplayName("아무도 조회하지 않은 토큰도 만료 tick 에 지워진다")
+    void expiresUnreadTokens() {
+        TimingWheelTokenStorage storage = new TimingWheelTokenStorage(TTL, TICK, 100, now::get);
+        storage.store("abandoned", userInfo("a@example.com"));
+        storage.store("later", userInfo("b@example.com"));
+
+        now.addAndGet(TTL / 2);
+        storage.store("later", userInfo("b@example.com"));
+        now.addAndGet(TTL / 2 + TICK);
+        storage.expire();
+
+        assertThat(storage.getStats().get("size")).isEqualTo(1);
+        assertThat(storage.getStats().get("expirations")).isEqualTo(1L);
+        assertThat(storage.get("later").getEmail()).isEqualTo("b@example.com");
+        assertThatThrownBy(() -> storage.get("abandoned")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("상한에 닿으면 가장 먼저 만료될 토큰을 밀어낸다")
+    void evictsSoonestExpiringWhenFull() {
+        TimingWheelTokenStorage storage = new TimingWheelTokenStorage(TTL, TICK, 2, now::get);
+        storage.store("first", userInfo("1@example.com"));
+        now.addAndGet(5 * TICK);
+        storage.store("second", userInfo("2@example.com"));
+        now.addAndGet(5 * TICK);
+        storage.store("third", userInfo("3@example.com"));
+
+        assertThat(storage.getStats().get("size")).isEqualTo(2);
+        assertThat(storage.getStats().get("evictions")).isEqualTo(1L);
+        assertThatThrownBy(() -> storage.get("first")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(storage.get("third").getEmail()).isEqualTo("3@example.com");
+    }
+
+    @Test
+    @DisplayName("다시 저장되어 만료가 늦춰진 토큰은 이전 칸의 순서로 밀어내지 않는다")
+    void skipsRestoredTokensInOldSlot() {
+        TimingWheelTokenStorage storage = new TimingWheelTokenStorage(TTL, TICK, 2, now::get);
+        storage.store("first", userInfo("1@example.com"));
+        now.addAndGet(5 * TICK);
+        storage.store("second", userInfo("2@example.com"));
+        now.addAndGet(5 * TICK);
+        storage.store("first", userInfo("1@example.com"));
+        storage.store("third", userInfo("3@example.com"));
+
+        assertThat(storage.getStats().get("size")).isEqualTo(2);
+        assertThat(storage.getStats().get("evictions")).isEqualTo(1L);
+        assertThat(storage.get("first").getEmail()).isEqualTo("1@example.com");
+        assertThatThrownBy(() -> storage.get("second")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 저장해도 상한을 넘지 않는다")
+    void staysWithinCapUnderConcurrentStores() throws Exception {
+        int max = 50;
+        TimingWheelTokenStorage storage = new TimingWheelTokenStorage(TTL, TICK, max, now::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        storage.store("token-" + thread + "-" + i, userInfo(i + "@example.com"));
+                        // 같은 토큰을 다시 저장해도 개수는 늘지 않는다
+                        storage.store("token-" + thread + "-" + i, userInfo(i + "@example.com"));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int stored = 0;
+        for (int t = 0; t < 8; t++) {
+            for (int i = 0; i < 500; i++) {
+                try {
+                    storage.get("token-" + t + "-" + i);
+                    stored++;
+                } catch (IllegalArgumentException e) {
+                    // 밀려난 토큰
+                }
+            }
+        }
+        assertThat(storage.getStats().get("size")).isEqualTo(stored);
+        assertThat(stored).isLessThanOrEqualTo(max);
+    }
+
+    @Test
+    @DisplayName("사용자 정보를 바이트 배열 하나로 줄였다가 그대로 되살린다")
+    void encodesUserInfoCompactly() {
+        OAuth2UserInfo info = OAuth2UserInfo.builder()
+                .email("kim@example.com").name("김철수").provider("kakao").providerId(null).build();
+
+        OAuth2UserInfo decoded = TimingWheelTokenStorage.decode(TimingWheelTokenStorage.encode(info));
+
+        assertThat(decoded.getEmail()).isEqualTo("kim@example.com");
+        assertThat(decoded.getName()).isEqualTo("김철수");
+        assertThat(decoded.getProvider()).isEqualTo("kakao");
+        assertThat(decoded.getProviderId()).isNull();
+    }
+
+    private static OAuth2UserInfo userInfo(String email) {
+        return OAuth2UserInfo.builder().email(email).name("user").provider("google").providerId("1").build();
+    }
+}
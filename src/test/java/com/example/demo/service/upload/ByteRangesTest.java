@@ -0,0 +1,41 @@
+package com.example.demo.service.upload;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ByteRangesTest {
+
+    @Test
+    @DisplayName("시작-끝, 열린 끝, 마지막 n 바이트 구간을 파일 크기에 맞춰 자른다")
+    void parsesRangeForms() {
+        assertThat(ByteRanges.parse("bytes=0-99", 1000, 16)).containsExactly(new ByteRanges.Range(0, 99));
+        assertThat(ByteRanges.parse("bytes=900-", 1000, 16)).containsExactly(new ByteRanges.Range(900, 999));
+        assertThat(ByteRanges.parse("bytes=-100", 1000, 16)).containsExactly(new ByteRanges.Range(900, 999));
+        assertThat(ByteRanges.parse("bytes=990-2000", 1000, 16)).containsExactly(new ByteRanges.Range(990, 999));
+        assertThat(ByteRanges.parse("bytes=-5000", 1000, 16)).containsExactly(new ByteRanges.Range(0, 999));
+    }
+
+    @Test
+    @DisplayName("겹치거나 맞닿은 구간은 합치고 시작 위치 순으로 정렬한다")
+    void coalescesRanges() {
+        List<ByteRanges.Range> ranges = ByteRanges.parse("bytes=500-599, 0-99,100-199,550-650", 1000, 16);
+
+        assertThat(ranges).containsExactly(new ByteRanges.Range(0, 199), new ByteRanges.Range(500, 650));
+        assertThat(ranges.get(1).contentRange(1000)).isEqualTo("bytes 500-650/1000");
+    }
+
+    @Test
+    @DisplayName("만족할 수 없는 구간은 빈 목록, 잘못된 형식이나 너무 많은 구간은 null(전체 응답)")
+    void rejectsInvalidRanges() {
+        assertThat(ByteRanges.parse("bytes=1000-", 1000, 16)).isEmpty();
+        assertThat(ByteRanges.parse("bytes=-0", 1000, 16)).isEmpty();
+        assertThat(ByteRanges.parse("bytes=5-1", 1000, 16)).isNull();
+        assertThat(ByteRanges.parse("bytes=abc", 1000, 16)).isNull();
+        assertThat(ByteRanges.parse("items=0-1", 1000, 16)).isNull();
+        assertThat(ByteRanges.parse("bytes=0-1,3-4,6-7", 1000, 2)).isNull();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.demo.service.upload;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageThumbnailsTest {
+
+    private static final int RED = 0xFF0000;
+    private static final int BLUE = 0x0000FF;
+
+    @Test
+    @DisplayName("긴 변 기준으로 비율을 유지하며 줄이고, 이미 작은 이미지는 키우지 않는다")
+    void fitsWithinBounds() {
+        BufferedImage photo = new BufferedImage(4032, 3024, BufferedImage.TYPE_INT_RGB);
+
+        BufferedImage thumb = ImageThumbnails.fit(photo, 320);
+        assertThat(thumb.getWidth()).isEqualTo(320);
+        assertThat(thumb.getHeight()).isEqualTo(240);
+
+        BufferedImage small = ImageThumbnails.fit(new BufferedImage(100, 50, BufferedImage.TYPE_INT_RGB), 320);
+        assertThat(small.getWidth()).isEqualTo(100);
+        assertThat(small.getHeight()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("EXIF 방향 6(시계 방향 90도)과 8(반시계 방향 90도)을 적용한다")
+    void appliesOrientation() {
+        // 왼쪽 빨강, 오른쪽 파랑
+        BufferedImage image = new BufferedImage(2, 1, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, RED);
+        image.setRGB(1, 0, BLUE);
+
+        BufferedImage clockwise = ImageThumbnails.orient(image, 6);
+        assertThat(clockwise.getWidth()).isEqualTo(1);
+        assertThat(clockwise.getRGB(0, 0) & 0xFFFFFF).isEqualTo(RED);
+        assertThat(clockwise.getRGB(0, 1) & 0xFFFFFF).isEqualTo(BLUE);
+
+        BufferedImage counterClockwise = ImageThumbnails.orient(image, 8);
+        assertThat(counterClockwise.getRGB(0, 0) & 0xFFFFFF).isEqualTo(BLUE);
+        assertThat(counterClockwise.getRGB(0, 1) & 0xFFFFFF).isEqualTo(RED);
+
+        assertThat(ImageThumbnails.orient(image, 1)).isSameAs(image);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.demo.service.upload;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UploadFilesTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("조각을 이어 쓰면 전체 내용과 SHA-256 이 한 번에 쓴 것과 같다")
+    void appendsChunksWithRunningDigest() throws Exception {
+        byte[] content = "hello, resumable upload".getBytes(StandardCharsets.UTF_8);
+        Path target = directory.resolve("file");
+        MessageDigest digest = UploadFiles.newDigest();
+
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long first = UploadFiles.write(channel, 0, new ByteArrayInputStream(content, 0, 10), digest, content.length);
+            long second = UploadFiles.write(channel, first, new ByteArrayInputStream(content, 10, content.length - 10),
+                    digest, content.length - first);
+            assertThat(first + second).isEqualTo((long) content.length);
+        }
+
+        assertThat(Files.readAllBytes(target)).isEqualTo(content);
+        assertThat(UploadFiles.hex(digest))
+                .isEqualTo(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content)));
+    }
+
+    @Test
+    @DisplayName("허용 크기를 넘는 본문은 거절한다")
+    void rejectsOversizedBody() throws Exception {
+        Path target = directory.resolve("file");
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            assertThatThrownBy(() -> UploadFiles.write(channel, 0, new ByteArrayInputStream(new byte[11]),
+                    UploadFiles.newDigest(), 10))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("저장 형식은 선언 값이 아니라 내용과 허용 목록으로 정한다")
+    void decidesContentTypeFromContent() throws Exception {
+        Path png = directory.resolve("png");
+        Files.write(png, new byte[]{(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0x0D});
+        Path svg = directory.resolve("svg");
+        Files.writeString(svg, "<svg xmlns=\"http://www.w3.org/2000/svg\"><script>alert(1)</script></svg>");
+
+        assertThat(UploadFiles.contentType("image/svg+xml", png)).isEqualTo("image/png");
+        assertThat(UploadFiles.contentType("image/png", svg)).isEqualTo(UploadFiles.DEFAULT_CONTENT_TYPE);
+        assertThat(UploadFiles.contentType("image/svg+xml", svg)).isEqualTo(UploadFiles.DEFAULT_CONTENT_TYPE);
+        assertThat(UploadFiles.contentType("text/html", svg)).isEqualTo(UploadFiles.DEFAULT_CONTENT_TYPE);
+        assertThat(UploadFiles.contentType("Application/PDF; charset=binary", svg)).isEqualTo("application/pdf");
+    }
+
+    @Test
+    @DisplayName("inline 은 래스터 이미지에만 허용한다")
+    void allowsInlineOnlyForRasterImages() {
+        assertThat(UploadFiles.isInlineSafe("image/png")).isTrue();
+        assertThat(UploadFiles.isInlineSafe("image/jpg")).isTrue();
+        assertThat(UploadFiles.isInlineSafe("image/svg+xml")).isFalse();
+        assertThat(UploadFiles.isInlineSafe("text/html")).isFalse();
+        assertThat(UploadFiles.isInlineSafe(null)).isFalse();
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.demo.service.upload;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ZipExportServiceTest {
+
+    private static final int WINDOW = 4;
+    private static final int PREFETCH_BYTES = 256 * 1024;
+    private static final long FILE_SIZE = 16L * 1024 * 1024;
+
+    private final Path directory = createDirectory();
+    private final ZipExportService service = new ZipExportService(2, WINDOW, PREFETCH_BYTES);
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        service.shutdown();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("이미 압축된 큰 파일은 압축 수준 0 으로 담고, CRC 와 크기는 항목 뒤에 둔다")
+    void storesCompressedFilesAtLevelZero() throws Exception {
+        List<ZipExportService.ZipItem> items = new ArrayList<>();
+        long total = 0;
+        for (int i = 0; i < 16; i++) {
+            // 16 x 16MB (sparse 파일이라 디스크는 거의 쓰지 않음)
+            Path file = directory.resolve("photo-" + i + ".jpg");
+            try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+                raf.setLength(FILE_SIZE);
+            }
+            items.add(new ZipExportService.ZipItem(file.getFileName().toString(), file));
+            total += Files.size(file);
+        }
+        // 결과를 메모리에 모으지 않고 파이프로 바로 읽어 확인한다
+        PipedInputStream pipe = new PipedInputStream(64 * 1024);
+        CountingOutputStream out = new CountingOutputStream(new PipedOutputStream(pipe));
+        CompletableFuture<Long> export = CompletableFuture.supplyAsync(() -> {
+            try (out) {
+                return service.export(items, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        List<String> names = new ArrayList<>();
+        long expectedCrc = zeroCrc(FILE_SIZE);
+        byte[] buffer = new byte[64 * 1024];
+        try (ZipInputStream zip = new ZipInputStream(pipe, StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                names.add(entry.getName());
+                // 파일을 한 번만 읽으므로 머리글에는 CRC 와 크기가 없다
+                assertThat(entry.getMethod()).isEqualTo(ZipEntry.DEFLATED);
+                assertThat(entry.getCrc()).isEqualTo(-1L);
+                CRC32 crc = new CRC32();
+                long size = 0;
+                int read;
+                while ((read = zip.read(buffer)) > 0) {
+                    crc.update(buffer, 0, read);
+                    size += read;
+                }
+                assertThat(size).isEqualTo(FILE_SIZE);
+                assertThat(crc.getValue()).isEqualTo(expectedCrc);
+                // 항목 끝의 data descriptor 값 (압축 수준 0 이라 0 으로 채운 파일도 줄어들지 않는다)
+                assertThat(entry.getSize()).isEqualTo(FILE_SIZE);
+                assertThat(entry.getCrc()).isEqualTo(expectedCrc);
+                assertThat(entry.getCompressedSize()).isBetween(FILE_SIZE, FILE_SIZE + FILE_SIZE / 1000);
+            }
+        }
+
+        assertThat(export.get()).isEqualTo(total);
+        assertThat(names).hasSize(16);
+        // 압축 수준 0 은 원본에 블록 머리글과 항목 머리글만 더해진다
+        assertThat(out.count).isGreaterThanOrEqualTo(total);
+        assertThat(out.count).isLessThan(total + total / 1000 + 64 * 1024);
+    }
+
+    @Test
+    @DisplayName("겹치는 이름은 번호를 붙이고, 읽을 수 없는 파일은 목록으로 남긴다")
+    void renamesDuplicatesAndListsMissingFiles() throws IOException {
+        Path first = Files.writeString(directory.resolve("a.txt"), "first");
+        Path second = Files.writeString(directory.resolve("b.txt"), "second");
+        List<ZipExportService.ZipItem> items = List.of(
+                new ZipExportService.ZipItem("note.txt", first),
+                new ZipExportService.ZipItem("note.txt", second),
+                new ZipExportService.ZipItem("gone.txt", directory.resolve("gone.txt")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export(items, out);
+
+        List<String> names = new ArrayList<>();
+        List<String> contents = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()), StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                names.add(entry.getName());
+                contents.add(new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertThat(names).containsExactly("note.txt", "note (2).txt", "누락된_파일.txt");
+        assertThat(contents).containsExactly("first", "second", "gone.txt");
+    }
+
+    @Test
+    @DisplayName("이미 압축된 형식만 압축 없이 담는다")
+    void detectsCompressedFormats() {
+        assertThat(ZipExportService.isCompressed("사진.JPG")).isTrue();
+        assertThat(ZipExportService.isCompressed("folder/report.docx")).isTrue();
+        assertThat(ZipExportService.isCompressed("log.txt")).isFalse();
+        assertThat(ZipExportService.isCompressed("README")).isFalse();
+    }
+
+    private static Path createDirectory() {
+        try {
+            return Files.createTempDirectory("zip-export-test");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long zeroCrc(long size) {
+        CRC32 crc = new CRC32();
+        byte[] zeros = new byte[64 * 1024];
+        for (long left = size; left > 0; left -= zeros.length) {
+            crc.update(zeros, 0, (int) Math.min(zeros.length, left));
+        }
+        return crc.getValue();
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}